@@ -1,9 +1,20 @@
 package com.armikom.zen.config;
 
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.time.Duration;
 
 @Configuration
 public class CloudflareConfig {
@@ -23,15 +34,85 @@ public class CloudflareConfig {
     @Value("${cloudflare.api.base-url:https://api.cloudflare.com/client/v4}")
     private String baseUrl;
 
+    @Value("${cloudflare.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${cloudflare.http.pending-acquire-timeout:PT30S}")
+    private Duration pendingAcquireTimeout;
+
+    @Value("${cloudflare.http.max-idle-time:PT30S}")
+    private Duration maxIdleTime;
+
+    @Value("${cloudflare.http.response-timeout:PT30S}")
+    private Duration responseTimeout;
+
+    @Value("${cloudflare.retry.max-attempts:3}")
+    private int retryMaxAttempts;
+
+    @Value("${cloudflare.retry.min-backoff:PT0.5S}")
+    private Duration retryMinBackoff;
+
     @Bean
-    public WebClient cloudflareWebClient() {
+    public WebClient cloudflareWebClient(CloudflareRateLimiter cloudflareRateLimiter) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("cloudflare")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .evictInBackground(maxIdleTime)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10_000)
+                .responseTimeout(responseTimeout);
+
         return WebClient.builder()
                 .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(cloudflareRateLimiter)
                 .defaultHeader("Authorization", "Bearer " + apiToken)
                 .defaultHeader("Content-Type", "application/json")
                 .build();
     }
 
+    /**
+     * Retry policy for Cloudflare calls: jittered exponential backoff on rate limiting (429), server errors (5xx)
+     * and connection failures. The original error is rethrown once the attempts are exhausted.
+     */
+    public Retry retrySpec() {
+        return Retry.backoff(retryMaxAttempts, retryMinBackoff)
+                .maxBackoff(Duration.ofSeconds(10))
+                .jitter(0.5)
+                .filter(CloudflareConfig::isRetryable)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    /**
+     * Retry policy for calls that are not idempotent, such as creating a record: only rate limiting (429) and
+     * failures to connect are retried, since the request has then not been processed
+     */
+    public Retry resendRetrySpec() {
+        return Retry.backoff(retryMaxAttempts, retryMinBackoff)
+                .maxBackoff(Duration.ofSeconds(10))
+                .jitter(0.5)
+                .filter(CloudflareConfig::isSafeToResend)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    public static boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientResponseException) {
+            int status = ((WebClientResponseException) error).getStatusCode().value();
+            return status == 429 || status >= 500;
+        }
+        return error instanceof WebClientRequestException;
+    }
+
+    static boolean isSafeToResend(Throwable error) {
+        if (error instanceof WebClientResponseException) {
+            return ((WebClientResponseException) error).getStatusCode().value() == 429;
+        }
+        return error instanceof WebClientRequestException
+                && (error.getCause() instanceof ConnectException || error.getCause() instanceof UnknownHostException);
+    }
+
     public String getApiToken() {
         return apiToken;
     }
@@ -51,4 +132,4 @@ public class CloudflareConfig {
     public String getBaseUrl() {
         return baseUrl;
     }
-}
\ No newline at end of file
+}
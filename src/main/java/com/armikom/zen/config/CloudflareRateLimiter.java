@@ -0,0 +1,178 @@
+package com.armikom.zen.config;
+
+import com.armikom.zen.enums.CloudflareRequestPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side rate limit for the Cloudflare API token, applied as a {@link org.springframework.web.reactive.function.client.WebClient} filter.
+ * Every request (including retries) waits for a permit from a {@link PriorityTokenBucket} sized to the token's
+ * budget. Requests are {@link CloudflareRequestPriority#INTERACTIVE} unless they carry {@link #PRIORITY_ATTRIBUTE}
+ * as a request attribute or in their Reactor context.
+ * A 429 response pauses all requests for its {@code Retry-After}.
+ */
+@Component
+public class CloudflareRateLimiter implements ExchangeFilterFunction {
+
+    private static final Logger logger = LoggerFactory.getLogger(CloudflareRateLimiter.class);
+
+    /**
+     * Request attribute holding the {@link CloudflareRequestPriority} of a request; also read from the Reactor
+     * context, so a caller can lower the priority of every request made by a reactive pipeline
+     */
+    public static final String PRIORITY_ATTRIBUTE = CloudflareRateLimiter.class.getName() + ".priority";
+
+    private final PriorityTokenBucket bucket;
+    private final Duration defaultRetryAfter;
+    private final ScheduledExecutorService scheduler;
+    private final Counter throttledCounter;
+
+    private final Object scheduleLock = new Object();
+    private ScheduledFuture<?> scheduledDrain;
+    private long scheduledDrainNanos;
+
+    public CloudflareRateLimiter(
+            @Value("${cloudflare.rate-limit.requests-per-window:1200}") int requestsPerWindow,
+            @Value("${cloudflare.rate-limit.window:PT5M}") Duration window,
+            @Value("${cloudflare.rate-limit.burst:50}") int burst,
+            @Value("${cloudflare.rate-limit.bulk-reserve:10}") int bulkReserve,
+            @Value("${cloudflare.rate-limit.default-retry-after:PT30S}") Duration defaultRetryAfter,
+            MeterRegistry meterRegistry) {
+        double permitsPerSecond = requestsPerWindow / (double) window.toSeconds();
+        this.bucket = new PriorityTokenBucket(permitsPerSecond, burst, bulkReserve, System::nanoTime);
+        this.defaultRetryAfter = defaultRetryAfter;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "cloudflare-rate-limiter");
+            t.setDaemon(true);
+            return t;
+        });
+
+        if (meterRegistry != null) {
+            Gauge.builder("cloudflare.ratelimit.tokens", bucket, PriorityTokenBucket::getAvailableTokens)
+                    .description("Cloudflare API requests that can be sent without waiting")
+                    .register(meterRegistry);
+            for (CloudflareRequestPriority priority : CloudflareRequestPriority.values()) {
+                Gauge.builder("cloudflare.ratelimit.queued", bucket, b -> b.getQueued(priority))
+                        .description("Cloudflare API requests waiting for a permit")
+                        .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry);
+            }
+            this.throttledCounter = Counter.builder("cloudflare.ratelimit.throttled")
+                    .description("Cloudflare API responses with status 429")
+                    .register(meterRegistry);
+        } else {
+            this.throttledCounter = null;
+        }
+        logger.info("Cloudflare rate limit: {} requests per {} (burst {}, {} reserved for interactive requests)",
+                requestsPerWindow, window, burst, bulkReserve);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            CloudflareRequestPriority priority = request.attribute(PRIORITY_ATTRIBUTE)
+                    .or(() -> context.getOrEmpty(PRIORITY_ATTRIBUTE))
+                    .map(CloudflareRequestPriority.class::cast)
+                    .orElse(CloudflareRequestPriority.INTERACTIVE);
+            return acquire(priority)
+                    .then(Mono.defer(() -> next.exchange(request)))
+                    .doOnNext(response -> {
+                        if (response.statusCode().value() == 429) {
+                            onRateLimited(request, response);
+                        }
+                    });
+        });
+    }
+
+    private Mono<Void> acquire(CloudflareRequestPriority priority) {
+        return Mono.create(sink -> {
+            PriorityTokenBucket.Waiter waiter = bucket.acquire(priority, sink::success);
+            sink.onCancel(waiter::cancel);
+            if (bucket.getQueued(priority) > 0) {
+                drainAndReschedule();
+            }
+        });
+    }
+
+    private void onRateLimited(ClientRequest request, ClientResponse response) {
+        Duration retryAfter = parseRetryAfter(response.headers().asHttpHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        logger.warn("Cloudflare rate limit hit on {} {}; pausing requests for {}",
+                request.method(), request.url().getPath(), retryAfter);
+        if (throttledCounter != null) {
+            throttledCounter.increment();
+        }
+        bucket.pause(retryAfter);
+        drainAndReschedule();
+    }
+
+    Duration parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return defaultRetryAfter;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            // HTTP-date form
+            try {
+                Duration until = Duration.between(ZonedDateTime.now(),
+                        ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                return until.isNegative() ? Duration.ZERO : until;
+            } catch (DateTimeParseException ignored) {
+                return defaultRetryAfter;
+            }
+        }
+    }
+
+    private void drainAndReschedule() {
+        long delayNanos = bucket.drain();
+        if (delayNanos < 0) {
+            return;
+        }
+        synchronized (scheduleLock) {
+            long due = System.nanoTime() + delayNanos;
+            if (scheduledDrain != null && !scheduledDrain.isDone()) {
+                if (scheduledDrainNanos - due <= 0) {
+                    return;
+                }
+                scheduledDrain.cancel(false);
+            }
+            scheduledDrainNanos = due;
+            scheduledDrain = scheduler.schedule(this::runScheduledDrain,
+                    Math.max(delayNanos, TimeUnit.MILLISECONDS.toNanos(1)), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void runScheduledDrain() {
+        synchronized (scheduleLock) {
+            scheduledDrain = null;
+        }
+        drainAndReschedule();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,49 @@
+package com.armikom.zen.config;
+
+import com.armikom.zen.enums.CircuitBreakerState;
+import com.armikom.zen.enums.DatabaseEnvironment;
+import com.armikom.zen.service.DatabaseHealthMonitor;
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exposes the cached state of the {@link DatabaseHealthMonitor} as the {@code databaseServers} health contributor,
+ * with one indicator per environment (e.g. {@code /actuator/health/databaseServers/preview}).
+ * Reading the health endpoint never touches the database servers.
+ */
+@Configuration
+public class DatabaseHealthConfig {
+
+    @Bean
+    public CompositeHealthContributor databaseServers(DatabaseHealthMonitor healthMonitor) {
+        Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+        for (DatabaseEnvironment environment : DatabaseEnvironment.values()) {
+            indicators.put(environment.getValue(), () -> health(healthMonitor.getStatus(environment)));
+        }
+        return CompositeHealthContributor.fromMap(indicators);
+    }
+
+    static Health health(DatabaseHealthMonitor.Status status) {
+        if (status.lastProbeAt() == null) {
+            return Health.unknown().withDetail("circuit", status.state()).build();
+        }
+        Health.Builder builder = status.state() == CircuitBreakerState.OPEN ? Health.down() : Health.up();
+        builder.withDetail("circuit", status.state())
+                .withDetail("latencyMs", status.lastLatency().toMillis())
+                .withDetail("lastProbeAt", status.lastProbeAt().toString());
+        if (status.lastSuccessAt() != null) {
+            builder.withDetail("lastSuccessAt", status.lastSuccessAt().toString());
+        }
+        // The error text itself is only logged: the endpoint is public, and driver messages name logins and hosts
+        if (status.lastError() != null) {
+            builder.withDetail("consecutiveFailures", status.consecutiveFailures());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.armikom.zen.config;
+
+import com.armikom.zen.service.DatabaseService;
+import com.armikom.zen.service.TimedDatabaseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Wraps the {@link DatabaseService} bean in a {@link TimedDatabaseService}, so that every database call is timed
+ * without touching its implementation.
+ */
+@Configuration
+public class DatabaseMetricsConfig {
+
+    /**
+     * Static, and resolving the registry lazily, so that post-processors are registered before any meter registry
+     * or database bean is created
+     */
+    @Bean
+    public static BeanPostProcessor timedDatabaseServicePostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DatabaseService databaseService) {
+                    return TimedDatabaseService.wrap(databaseService, meterRegistry::getIfAvailable);
+                }
+                return bean;
+            }
+        };
+    }
+}
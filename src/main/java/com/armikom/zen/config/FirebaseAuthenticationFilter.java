@@ -0,0 +1,70 @@
+package com.armikom.zen.config;
+
+import com.armikom.zen.service.ProjectService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authenticates requests to the endpoints that require a user and carry a Firebase ID token in the
+ * {@code Authorization} header. The principal is the Firebase user ID, available to controllers through
+ * {@code @AuthenticationPrincipal String userId}. Requests without a valid token continue unauthenticated and are
+ * rejected by {@link SecurityConfig}. Other endpoints are skipped, so that their own bearer tokens are not verified.
+ * Time spent verifying tokens is recorded under {@code auth.verification}, tagged with the outcome.
+ * <p>
+ * Not a component, so that it only runs inside the security filter chain and not a second time as a servlet filter.
+ */
+public class FirebaseAuthenticationFilter extends OncePerRequestFilter {
+
+    private final ProjectService projectService;
+    private final MeterRegistry meterRegistry;
+    private final RequestMatcher authenticatedEndpoints;
+
+    public FirebaseAuthenticationFilter(ProjectService projectService, MeterRegistry meterRegistry,
+                                        RequestMatcher authenticatedEndpoints) {
+        this.projectService = projectService;
+        this.meterRegistry = meterRegistry;
+        this.authenticatedEndpoints = authenticatedEndpoints;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !authenticatedEndpoints.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && !authHeader.isBlank()) {
+            long start = System.nanoTime();
+            String userId = projectService.validateAuthToken(authHeader);
+            if (meterRegistry != null) {
+                Timer.builder("auth.verification")
+                        .description("Duration of Firebase ID token verification, including cache hits")
+                        .tag("outcome", userId != null ? "success" : "rejected")
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            if (userId != null) {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(userId, null, List.of()));
+                SecurityContextHolder.setContext(context);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,168 @@
+package com.armikom.zen.config;
+
+import com.armikom.zen.service.PreviewRoutingTable;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reverse proxy for preview hostnames in wildcard routing mode.
+ * Requests whose {@code Host} is a running preview are streamed to its container; other previews get 503 and all
+ * other hosts continue to the backend's own endpoints. WebSocket upgrades are not proxied, so SignalR clients fall
+ * back to server-sent events or long polling.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PreviewProxyFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreviewProxyFilter.class);
+
+    // Hop-by-hop headers plus the ones the JDK client sets itself
+    private static final Set<String> EXCLUDED_REQUEST_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization", "te", "trailer",
+            "transfer-encoding", "upgrade", "host", "content-length", "expect", "http2-settings");
+    private static final Set<String> EXCLUDED_RESPONSE_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization", "te", "trailer",
+            "transfer-encoding", "upgrade", ":status");
+
+    private final PreviewRoutingTable routingTable;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+
+    public PreviewProxyFilter(PreviewRoutingTable routingTable,
+                              @Value("${preview.proxy.connect-timeout:PT5S}") Duration connectTimeout,
+                              @Value("${preview.proxy.timeout:PT5M}") Duration timeout) {
+        this.routingTable = routingTable;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !routingTable.isWildcard();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String host = request.getHeader("Host");
+        URI target = routingTable.resolve(host);
+        if (target == null) {
+            if (routingTable.isPreviewHost(host)) {
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Preview is not running");
+                return;
+            }
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if ("websocket".equalsIgnoreCase(request.getHeader("Upgrade"))) {
+            response.sendError(HttpServletResponse.SC_NOT_IMPLEMENTED, "WebSocket is not supported for previews");
+            return;
+        }
+        proxy(request, response, host, target);
+    }
+
+    private void proxy(HttpServletRequest request, HttpServletResponse response, String host, URI target)
+            throws IOException {
+        String query = request.getQueryString();
+        URI uri = URI.create(target + request.getRequestURI() + (query != null ? "?" + query : ""));
+
+        boolean hasBody = request.getContentLengthLong() > 0 || request.getHeader("Transfer-Encoding") != null;
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .method(request.getMethod(), hasBody
+                        ? HttpRequest.BodyPublishers.ofInputStream(() -> inputStream(request))
+                        : HttpRequest.BodyPublishers.noBody());
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (EXCLUDED_REQUEST_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            for (String value : Collections.list(request.getHeaders(name))) {
+                builder.header(name, value);
+            }
+        }
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        builder.setHeader("X-Forwarded-For", forwardedFor != null ? forwardedFor + ", " + request.getRemoteAddr() : request.getRemoteAddr());
+        builder.setHeader("X-Forwarded-Host", host);
+        if (request.getHeader("X-Forwarded-Proto") == null) {
+            builder.setHeader("X-Forwarded-Proto", request.getScheme());
+        }
+
+        HttpResponse<InputStream> upstream;
+        try {
+            upstream = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (HttpTimeoutException e) {
+            logger.warn("Preview {} timed out: {}", host, e.getMessage());
+            response.sendError(HttpServletResponse.SC_GATEWAY_TIMEOUT, "Preview did not respond in time");
+            return;
+        } catch (ConnectException e) {
+            logger.warn("Preview {} is not reachable at {}: {}", host, target, e.getMessage());
+            response.sendError(HttpServletResponse.SC_BAD_GATEWAY, "Preview is not reachable");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+
+        response.setStatus(upstream.statusCode());
+        for (Map.Entry<String, List<String>> header : upstream.headers().map().entrySet()) {
+            if (EXCLUDED_RESPONSE_HEADERS.contains(header.getKey().toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            for (String value : header.getValue()) {
+                response.addHeader(header.getKey(), value);
+            }
+        }
+
+        // Flush every chunk so streamed responses such as server-sent events are not held back
+        try (InputStream body = upstream.body()) {
+            OutputStream out = response.getOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                if (body.available() == 0) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        }
+    }
+
+    private static InputStream inputStream(HttpServletRequest request) {
+        try {
+            return request.getInputStream();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read request body", e);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.armikom.zen.config;
+
+import com.armikom.zen.enums.CloudflareRequestPriority;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket with two FIFO wait queues.
+ * Interactive waiters are granted whenever a token is available; bulk waiters only when no interactive request is
+ * waiting and more than the reserved number of tokens is available, so background work can not starve users.
+ * Grants run outside the internal lock.
+ */
+public class PriorityTokenBucket {
+
+    private final double permitsPerNano;
+    private final int capacity;
+    private final int bulkReserve;
+    private final LongSupplier nanoClock;
+
+    private final Object lock = new Object();
+    private final Deque<Waiter> interactive = new ArrayDeque<>();
+    private final Deque<Waiter> bulk = new ArrayDeque<>();
+    private double tokens;
+    private long lastRefillNanos;
+    private long pausedUntilNanos;
+
+    /**
+     * @param permitsPerSecond Sustained request rate
+     * @param capacity Maximum burst; the bucket starts full
+     * @param bulkReserve Tokens kept for interactive requests
+     * @param nanoClock Time source, {@code System::nanoTime} outside of tests
+     */
+    public PriorityTokenBucket(double permitsPerSecond, int capacity, int bulkReserve, LongSupplier nanoClock) {
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000d;
+        this.capacity = capacity;
+        this.bulkReserve = Math.min(bulkReserve, capacity - 1);
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefillNanos = nanoClock.getAsLong();
+        this.pausedUntilNanos = lastRefillNanos;
+    }
+
+    /**
+     * Requests a permit; {@code onGranted} runs immediately if one is available, otherwise on a later {@link #drain()}
+     * @return Handle to withdraw the request while it is queued
+     */
+    public Waiter acquire(CloudflareRequestPriority priority, Runnable onGranted) {
+        Waiter waiter = new Waiter(priority, onGranted);
+        boolean granted;
+        synchronized (lock) {
+            long now = refill();
+            granted = queueFor(priority).isEmpty()
+                    && (priority == CloudflareRequestPriority.INTERACTIVE || interactive.isEmpty())
+                    && canGrant(priority, now);
+            if (granted) {
+                tokens--;
+            } else {
+                queueFor(priority).addLast(waiter);
+            }
+        }
+        if (granted) {
+            onGranted.run();
+        }
+        return waiter;
+    }
+
+    /**
+     * Grants queued requests as far as the budget allows
+     * @return Nanoseconds until the next queued request can be granted, or -1 if nothing is queued
+     */
+    public long drain() {
+        List<Waiter> granted = new ArrayList<>();
+        long delay;
+        synchronized (lock) {
+            long now = refill();
+            while (true) {
+                Deque<Waiter> queue = !interactive.isEmpty() ? interactive : bulk;
+                Waiter head = queue.peekFirst();
+                if (head == null || !canGrant(head.priority, now)) {
+                    break;
+                }
+                queue.removeFirst();
+                tokens--;
+                granted.add(head);
+            }
+            delay = nanosUntilNextGrant(now);
+        }
+        for (Waiter waiter : granted) {
+            waiter.onGranted.run();
+        }
+        return delay;
+    }
+
+    /**
+     * Stops granting permits for the given duration and empties the bucket, e.g. after a 429 with Retry-After
+     */
+    public void pause(Duration duration) {
+        synchronized (lock) {
+            long now = refill();
+            pausedUntilNanos = Math.max(pausedUntilNanos, now + duration.toNanos());
+            tokens = 0;
+        }
+    }
+
+    public double getAvailableTokens() {
+        synchronized (lock) {
+            refill();
+            return tokens;
+        }
+    }
+
+    public int getQueued(CloudflareRequestPriority priority) {
+        synchronized (lock) {
+            return queueFor(priority).size();
+        }
+    }
+
+    private boolean canGrant(CloudflareRequestPriority priority, long now) {
+        return now - pausedUntilNanos >= 0 && tokens >= required(priority);
+    }
+
+    private int required(CloudflareRequestPriority priority) {
+        return priority == CloudflareRequestPriority.INTERACTIVE ? 1 : 1 + bulkReserve;
+    }
+
+    private long nanosUntilNextGrant(long now) {
+        Waiter head = !interactive.isEmpty() ? interactive.peekFirst() : bulk.peekFirst();
+        if (head == null) {
+            return -1;
+        }
+        long untilResume = Math.max(0, pausedUntilNanos - now);
+        long untilTokens = (long) Math.ceil(Math.max(0, required(head.priority) - tokens) / permitsPerNano);
+        // Tokens do not accumulate while paused
+        return untilResume + untilTokens;
+    }
+
+    private long refill() {
+        long now = nanoClock.getAsLong();
+        long from = Math.max(lastRefillNanos, pausedUntilNanos);
+        if (now - from > 0) {
+            tokens = Math.min(capacity, tokens + (now - from) * permitsPerNano);
+        }
+        lastRefillNanos = Math.max(lastRefillNanos, now);
+        return now;
+    }
+
+    private Deque<Waiter> queueFor(CloudflareRequestPriority priority) {
+        return priority == CloudflareRequestPriority.INTERACTIVE ? interactive : bulk;
+    }
+
+    private void remove(Waiter waiter) {
+        synchronized (lock) {
+            queueFor(waiter.priority).remove(waiter);
+        }
+    }
+
+    /**
+     * A queued permit request
+     */
+    public final class Waiter {
+        private final CloudflareRequestPriority priority;
+        private final Runnable onGranted;
+
+        private Waiter(CloudflareRequestPriority priority, Runnable onGranted) {
+            this.priority = priority;
+            this.onGranted = onGranted;
+        }
+
+        /**
+         * Withdraws the request if it has not been granted yet
+         */
+        public void cancel() {
+            remove(this);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.armikom.zen.config;
+
+import com.armikom.zen.service.ProjectService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.stream.Stream;
+
+/**
+ * Stateless security filter chain. Firebase ID tokens are verified once per request by
+ * {@link FirebaseAuthenticationFilter}, and project and preview endpoints reject unauthenticated requests with 401
+ * before they are dispatched, so that no request body is parsed for them. All other endpoints stay open as before.
+ * No session, CSRF token or login page is involved.
+ */
+@Configuration
+public class SecurityConfig {
+
+    /**
+     * Endpoints that require a signed-in user; tokens sent to any other endpoint are not verified
+     */
+    static final RequestMatcher AUTHENTICATED_ENDPOINTS = new OrRequestMatcher(
+            Stream.of("/api/preview/**", "/api/projects/retrieve", "/api/projects/sign-out")
+                    .<RequestMatcher>map(PathPatternRequestMatcher.withDefaults()::matcher)
+                    .toList());
+
+    private static final String UNAUTHORIZED_BODY =
+            "{\"success\":false,\"message\":\"Invalid or missing authorization token\"}";
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, ProjectService projectService,
+                                                   ObjectProvider<MeterRegistry> meterRegistry) throws Exception {
+        return http
+                .csrf(AbstractHttpConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .httpBasic(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(requests -> requests
+                        .requestMatchers(AUTHENTICATED_ENDPOINTS).authenticated()
+                        .anyRequest().permitAll())
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint((request, response, e) -> {
+                            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+                            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                            response.getWriter().write(UNAUTHORIZED_BODY);
+                        }))
+                .addFilterBefore(new FirebaseAuthenticationFilter(projectService, meterRegistry.getIfAvailable(),
+                                AUTHENTICATED_ENDPOINTS),
+                        UsernamePasswordAuthenticationFilter.class)
+                .build();
+    }
+}
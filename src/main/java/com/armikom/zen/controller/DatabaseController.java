@@ -2,6 +2,8 @@ package com.armikom.zen.controller;
 
 import com.armikom.zen.dto.*;
 import com.armikom.zen.enums.DatabaseEnvironment;
+import com.armikom.zen.service.DatabaseMetricsCollector;
+import com.armikom.zen.service.DatabaseOperationService;
 import com.armikom.zen.service.DatabaseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -11,9 +13,17 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 
 /**
  * REST Controller for database management operations
@@ -24,10 +34,17 @@ import org.springframework.web.bind.annotation.*;
 public class DatabaseController {
 
     private static final Logger logger = LoggerFactory.getLogger(DatabaseController.class);
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final long OPERATION_STREAM_TIMEOUT_MS = 30 * 60 * 1000L;
     private final DatabaseService databaseService;
+    private final DatabaseOperationService operationService;
+    private final DatabaseMetricsCollector metricsCollector;
 
-    public DatabaseController(DatabaseService databaseService) {
+    public DatabaseController(DatabaseService databaseService, DatabaseOperationService operationService,
+                              DatabaseMetricsCollector metricsCollector) {
         this.databaseService = databaseService;
+        this.operationService = operationService;
+        this.metricsCollector = metricsCollector;
     }
 
     @PostMapping("/create")
@@ -83,12 +100,15 @@ public class DatabaseController {
     @Operation(summary = "Truncate all tables in a database")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Tables truncated successfully"),
+        @ApiResponse(responseCode = "202", description = "Truncation started in the background"),
         @ApiResponse(responseCode = "400", description = "Invalid database name"),
-        @ApiResponse(responseCode = "500", description = "Table truncation failed")
+        @ApiResponse(responseCode = "500", description = "Table truncation failed"),
+        @ApiResponse(responseCode = "503", description = "Too many background operations waiting")
     })
     public ResponseEntity<DatabaseOperationResponse> trimAllTables(
             @Valid @RequestBody TrimTablesRequest request,
-            BindingResult bindingResult) {
+            BindingResult bindingResult,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         
         if (bindingResult.hasErrors()) {
             String errorMessage = bindingResult.getAllErrors().get(0).getDefaultMessage();
@@ -98,7 +118,13 @@ public class DatabaseController {
         }
         
         try {
-            boolean success = databaseService.trimAllTables(request.getEnvironment(), request.getDatabaseName());
+            if (Boolean.TRUE.equals(request.getAsync())) {
+                DatabaseOperationStatus status = operationService.startTrimTables(request, idempotencyKey);
+                return accepted(status, "Table truncation started");
+            }
+
+            boolean success = databaseService.trimAllTables(request.getEnvironment(), request.getDatabaseName(),
+                    Boolean.TRUE.equals(request.getReseedIdentities()));
             
             if (success) {
                 DatabaseOperationResponse response = DatabaseOperationResponse
@@ -110,6 +136,9 @@ public class DatabaseController {
                         .body(DatabaseOperationResponse.error("Failed to truncate tables"));
             }
             
+        } catch (RejectedExecutionException e) {
+            return busy();
+
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid database name for table truncation: {}", e.getMessage());
             return ResponseEntity.badRequest()
@@ -126,12 +155,15 @@ public class DatabaseController {
     @Operation(summary = "Drop all tables from a database")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Tables dropped successfully"),
+        @ApiResponse(responseCode = "202", description = "Dropping started in the background"),
         @ApiResponse(responseCode = "400", description = "Invalid database name"),
-        @ApiResponse(responseCode = "500", description = "Table dropping failed")
+        @ApiResponse(responseCode = "500", description = "Table dropping failed"),
+        @ApiResponse(responseCode = "503", description = "Too many background operations waiting")
     })
     public ResponseEntity<DatabaseOperationResponse> dropAllTables(
             @Valid @RequestBody DropTablesRequest request,
-            BindingResult bindingResult) {
+            BindingResult bindingResult,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         
         if (bindingResult.hasErrors()) {
             String errorMessage = bindingResult.getAllErrors().get(0).getDefaultMessage();
@@ -141,6 +173,11 @@ public class DatabaseController {
         }
         
         try {
+            if (Boolean.TRUE.equals(request.getAsync())) {
+                DatabaseOperationStatus status = operationService.startDropTables(request, idempotencyKey);
+                return accepted(status, "Table dropping started");
+            }
+
             boolean success = databaseService.dropAllTables(request.getEnvironment(), request.getDatabaseName());
             
             if (success) {
@@ -153,6 +190,9 @@ public class DatabaseController {
                         .body(DatabaseOperationResponse.error("Failed to drop tables"));
             }
             
+        } catch (RejectedExecutionException e) {
+            return busy();
+
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid database name for dropping tables: {}", e.getMessage());
             return ResponseEntity.badRequest()
@@ -169,12 +209,15 @@ public class DatabaseController {
     @Operation(summary = "Create a backup of a database")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Backup created successfully"),
+        @ApiResponse(responseCode = "202", description = "Backup started in the background"),
         @ApiResponse(responseCode = "400", description = "Invalid parameters"),
-        @ApiResponse(responseCode = "500", description = "Backup creation failed")
+        @ApiResponse(responseCode = "500", description = "Backup creation failed"),
+        @ApiResponse(responseCode = "503", description = "Too many background operations waiting")
     })
     public ResponseEntity<DatabaseOperationResponse> createBackup(
             @Valid @RequestBody BackupRequest request,
-            BindingResult bindingResult) {
+            BindingResult bindingResult,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         
         if (bindingResult.hasErrors()) {
             String errorMessage = bindingResult.getAllErrors().get(0).getDefaultMessage();
@@ -184,22 +227,21 @@ public class DatabaseController {
         }
         
         try {
-            boolean success = databaseService.createBackup(
-                    request.getEnvironment(),
-                    request.getDatabaseName(), 
-                    request.getBackupFilePath());
-            
-            if (success) {
-                DatabaseOperationResponse response = DatabaseOperationResponse
-                        .success("Backup created successfully")
-                        .withDatabaseName(request.getDatabaseName())
-                        .withFilePath(request.getBackupFilePath());
-                return ResponseEntity.ok(response);
-            } else {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(DatabaseOperationResponse.error("Failed to create backup"));
+            if (Boolean.TRUE.equals(request.getAsync())) {
+                DatabaseOperationStatus status = operationService.startBackup(request, idempotencyKey);
+                return accepted(status, "Backup started");
             }
+
+            operationService.backup(request);
+            DatabaseOperationResponse response = DatabaseOperationResponse
+                    .success("Backup created successfully")
+                    .withDatabaseName(request.getDatabaseName())
+                    .withFilePath(request.getBackupFilePath());
+            return ResponseEntity.ok(response);
             
+        } catch (RejectedExecutionException e) {
+            return busy();
+
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid parameters for backup creation: {}", e.getMessage());
             return ResponseEntity.badRequest()
@@ -217,12 +259,15 @@ public class DatabaseController {
     @Operation(summary = "Restore a database from backup")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Database restored successfully"),
+        @ApiResponse(responseCode = "202", description = "Restore started in the background"),
         @ApiResponse(responseCode = "400", description = "Invalid parameters"),
-        @ApiResponse(responseCode = "500", description = "Database restoration failed")
+        @ApiResponse(responseCode = "500", description = "Database restoration failed"),
+        @ApiResponse(responseCode = "503", description = "Too many background operations waiting")
     })
     public ResponseEntity<DatabaseOperationResponse> restoreDatabase(
             @Valid @RequestBody RestoreRequest request,
-            BindingResult bindingResult) {
+            BindingResult bindingResult,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         
         if (bindingResult.hasErrors()) {
             String errorMessage = bindingResult.getAllErrors().get(0).getDefaultMessage();
@@ -232,22 +277,21 @@ public class DatabaseController {
         }
         
         try {
-            boolean success = databaseService.restoreDatabase(
-                    request.getEnvironment(),
-                    request.getDatabaseName(), 
-                    request.getBackupFilePath());
-            
-            if (success) {
-                DatabaseOperationResponse response = DatabaseOperationResponse
-                        .success("Database restored successfully")
-                        .withDatabaseName(request.getDatabaseName())
-                        .withFilePath(request.getBackupFilePath());
-                return ResponseEntity.ok(response);
-            } else {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                        .body(DatabaseOperationResponse.error("Failed to restore database"));
+            if (Boolean.TRUE.equals(request.getAsync())) {
+                DatabaseOperationStatus status = operationService.startRestore(request, idempotencyKey);
+                return accepted(status, "Restore started");
             }
+
+            operationService.restore(request);
+            DatabaseOperationResponse response = DatabaseOperationResponse
+                    .success("Database restored successfully")
+                    .withDatabaseName(request.getDatabaseName())
+                    .withFilePath(request.getBackupFilePath());
+            return ResponseEntity.ok(response);
             
+        } catch (RejectedExecutionException e) {
+            return busy();
+
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid parameters for database restoration: {}", e.getMessage());
             return ResponseEntity.badRequest()
@@ -261,6 +305,116 @@ public class DatabaseController {
         }
     }
 
+    @PostMapping("/seed")
+    @Operation(summary = "Load generated sample data into the empty tables of a database")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Sample data loaded successfully"),
+        @ApiResponse(responseCode = "202", description = "Loading started in the background"),
+        @ApiResponse(responseCode = "400", description = "Invalid parameters or no model to seed from"),
+        @ApiResponse(responseCode = "500", description = "Loading sample data failed"),
+        @ApiResponse(responseCode = "503", description = "Too many background operations waiting")
+    })
+    public ResponseEntity<DatabaseOperationResponse> seedDatabase(
+            @Valid @RequestBody SeedDatabaseRequest request,
+            BindingResult bindingResult,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+
+        if (bindingResult.hasErrors()) {
+            String errorMessage = bindingResult.getAllErrors().get(0).getDefaultMessage();
+            logger.warn("Validation error for database seeding: {}", errorMessage);
+            return ResponseEntity.badRequest()
+                    .body(DatabaseOperationResponse.error("Validation failed: " + errorMessage));
+        }
+
+        try {
+            if (Boolean.TRUE.equals(request.getAsync())) {
+                DatabaseOperationStatus status = operationService.startSeed(request, idempotencyKey);
+                return accepted(status, "Loading sample data started");
+            }
+
+            DatabaseOperationStatus status = operationService.seed(request);
+            DatabaseOperationResponse response = DatabaseOperationResponse
+                    .success(status.getMessage())
+                    .withDatabaseName(request.getDatabaseName());
+            return ResponseEntity.ok(response);
+
+        } catch (RejectedExecutionException e) {
+            return busy();
+
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid parameters for database seeding: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(DatabaseOperationResponse.error("Invalid parameters", e.getMessage()));
+
+        } catch (Exception e) {
+            logger.error("Failed to seed database '{}'", request.getDatabaseName(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(DatabaseOperationResponse.error("Loading sample data failed", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/operations/{operationId}")
+    @Operation(summary = "Get the progress of a background database operation")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Operation status returned"),
+        @ApiResponse(responseCode = "404", description = "Operation not found or expired")
+    })
+    public ResponseEntity<DatabaseOperationStatus> getOperation(@PathVariable String operationId) {
+        DatabaseOperationStatus status = operationService.getOperation(operationId);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(status);
+    }
+
+    @GetMapping(value = "/operations/{operationId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream the progress of a background database operation as server-sent events")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Status events until the operation finishes"),
+        @ApiResponse(responseCode = "404", description = "Operation not found or expired")
+    })
+    public ResponseEntity<SseEmitter> streamOperation(@PathVariable String operationId) {
+        SseEmitter emitter = new SseEmitter(OPERATION_STREAM_TIMEOUT_MS);
+        Consumer<DatabaseOperationStatus> listener = status -> sendStatus(emitter, status);
+        DatabaseOperationStatus status = operationService.subscribe(operationId, listener);
+        if (status == null) {
+            return ResponseEntity.notFound().build();
+        }
+        emitter.onCompletion(() -> operationService.unsubscribe(operationId, listener));
+        emitter.onTimeout(emitter::complete);
+        sendStatus(emitter, status);
+        return ResponseEntity.ok(emitter);
+    }
+
+    private void sendStatus(SseEmitter emitter, DatabaseOperationStatus status) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(status, MediaType.APPLICATION_JSON));
+            if (status.getState().isFinished()) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the stream already completed
+            logger.debug("Stopped streaming operation {}: {}", status.getOperationId(), e.getMessage());
+            emitter.complete();
+        }
+    }
+
+    private ResponseEntity<DatabaseOperationResponse> busy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(DatabaseOperationResponse.error("Too many database operations in progress, retry later"));
+    }
+
+    private ResponseEntity<DatabaseOperationResponse> accepted(DatabaseOperationStatus status, String message) {
+        DatabaseOperationResponse response = DatabaseOperationResponse
+                .success(message)
+                .withDatabaseName(status.getDatabaseName())
+                .withFilePath(status.getFilePath())
+                .withOperationId(status.getOperationId());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/database/operations/" + status.getOperationId()))
+                .body(response);
+    }
+
     @PostMapping("/change-password")
     @Operation(summary = "Change password for a database user")
     @ApiResponses(value = {
@@ -344,4 +498,20 @@ public class DatabaseController {
             return ResponseEntity.ok(response);
         }
     }
+
+    @GetMapping("/usage")
+    @Operation(summary = "List the databases of a server by size, as last sampled for the database metrics")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Databases returned, largest first"),
+        @ApiResponse(responseCode = "400", description = "Unknown environment")
+    })
+    public ResponseEntity<List<DatabaseUsage>> getDatabaseUsage(
+            @RequestParam(defaultValue = "PREVIEW") String environment) {
+        try {
+            return ResponseEntity.ok(metricsCollector.getUsage(DatabaseEnvironment.fromValue(environment)));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid environment for database usage: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
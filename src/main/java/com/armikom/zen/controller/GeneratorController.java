@@ -1,30 +1,201 @@
 package com.armikom.zen.controller;
 
+import com.armikom.zen.dto.BatchGenerationResult;
+import com.armikom.zen.dto.ModelDiagnostic;
+import com.armikom.zen.service.BatchGenerationService;
+import com.armikom.zen.service.CodeGenerationService;
+import com.armikom.zen.service.PlantUmlModelValidator;
 import com.armikom.zen.service.PlantUmlToCSharpService;
+import com.armikom.zen.service.generator.XafEfCoreTarget;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 @RestController
 @RequestMapping("/api/generator")
 public class GeneratorController {
 
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+
     private final PlantUmlToCSharpService plantUmlToCSharpService;
+    private final PlantUmlModelValidator plantUmlModelValidator;
+    private final CodeGenerationService codeGenerationService;
+    private final BatchGenerationService batchGenerationService;
+    private final ObjectMapper objectMapper;
 
-    public GeneratorController(PlantUmlToCSharpService plantUmlToCSharpService) {
+    public GeneratorController(PlantUmlToCSharpService plantUmlToCSharpService,
+                               PlantUmlModelValidator plantUmlModelValidator,
+                               CodeGenerationService codeGenerationService,
+                               BatchGenerationService batchGenerationService,
+                               ObjectMapper objectMapper) {
         this.plantUmlToCSharpService = plantUmlToCSharpService;
+        this.plantUmlModelValidator = plantUmlModelValidator;
+        this.codeGenerationService = codeGenerationService;
+        this.batchGenerationService = batchGenerationService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/plantuml-to-csharp")
-    public ResponseEntity<Map<String, String>> generateCSharp(@RequestBody String plantUml) {
+    public ResponseEntity<?> generateCSharp(@RequestBody String plantUml) {
         if (plantUml == null || plantUml.trim().isEmpty()) {
             return ResponseEntity.badRequest().build();
         }
+        ResponseEntity<?> invalid = validationFailure(plantUml);
+        if (invalid != null) {
+            return invalid;
+        }
         Map<String, String> generatedFiles = plantUmlToCSharpService.generate(plantUml);
         return ResponseEntity.ok(generatedFiles);
     }
+
+    @GetMapping("/targets")
+    public ResponseEntity<List<String>> getTargets() {
+        return ResponseEntity.ok(codeGenerationService.getTargetNames());
+    }
+
+    /**
+     * Generates files for one or more targets from a single parse of the model
+     */
+    @PostMapping("/generate")
+    public ResponseEntity<?> generate(@RequestParam List<String> targets, @RequestBody String plantUml) {
+        if (plantUml == null || plantUml.trim().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        for (String target : targets) {
+            if (!codeGenerationService.hasTarget(target)) {
+                Map<String, Object> errorResponse = new HashMap<>();
+                errorResponse.put("error", "Unknown target: " + target);
+                errorResponse.put("targets", codeGenerationService.getTargetNames());
+                return ResponseEntity.badRequest().body(errorResponse);
+            }
+        }
+        ResponseEntity<?> invalid = validationFailure(plantUml);
+        if (invalid != null) {
+            return invalid;
+        }
+        return ResponseEntity.ok(codeGenerationService.generate(plantUml, targets));
+    }
+
+    /**
+     * Generates many models in one streaming request.
+     * The body is NDJSON of {@code {"projectId": ..., "plantUml": ...}}. Results are streamed back in completion
+     * order, either as NDJSON (default) or, with {@code format=zip} or {@code Accept: application/zip}, as a zip with
+     * the files of each item under {@code <projectId>/<target>/} and failures in {@code <projectId>/error.json}.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<StreamingResponseBody> batch(
+            @RequestParam(defaultValue = XafEfCoreTarget.NAME) List<String> targets,
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletRequest request) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        for (String target : targets) {
+            if (!codeGenerationService.hasTarget(target)) {
+                errorResponse.put("error", "Unknown target: " + target);
+                errorResponse.put("targets", codeGenerationService.getTargetNames());
+            }
+        }
+        if (format != null && !format.equals("zip") && !format.equals("ndjson")) {
+            errorResponse.put("error", "Unknown format: " + format + " (expected ndjson or zip)");
+        }
+        if (!errorResponse.isEmpty()) {
+            return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> out.write(objectMapper.writeValueAsBytes(errorResponse)));
+        }
+
+        boolean zip = format != null ? format.equals("zip") : accept != null && accept.contains(APPLICATION_ZIP.toString());
+        StreamingResponseBody body = out -> {
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+            if (!zip) {
+                batchGenerationService.process(reader, targets, result -> {
+                    out.write(objectMapper.writeValueAsBytes(result));
+                    out.write('\n');
+                    out.flush();
+                });
+                return;
+            }
+            ZipOutputStream zipOut = new ZipOutputStream(out, StandardCharsets.UTF_8);
+            Set<String> folders = new HashSet<>();
+            batchGenerationService.process(reader, targets, result -> {
+                String folder = zipFolder(result, folders);
+                if (result.isSuccess()) {
+                    for (Map.Entry<String, Map<String, String>> target : result.getFiles().entrySet()) {
+                        for (Map.Entry<String, String> file : target.getValue().entrySet()) {
+                            zipOut.putNextEntry(new ZipEntry(folder + "/" + target.getKey() + "/" + file.getKey()));
+                            zipOut.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+                            zipOut.closeEntry();
+                        }
+                    }
+                } else {
+                    zipOut.putNextEntry(new ZipEntry(folder + "/error.json"));
+                    zipOut.write(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(result));
+                    zipOut.closeEntry();
+                }
+                zipOut.flush();
+            });
+            zipOut.finish();
+        };
+
+        if (zip) {
+            return ResponseEntity.ok().contentType(APPLICATION_ZIP)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"generated.zip\"")
+                    .body(body);
+        }
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    @PostMapping("/validate")
+    public ResponseEntity<List<ModelDiagnostic>> validate(@RequestBody(required = false) String plantUml) {
+        return ResponseEntity.ok(plantUmlModelValidator.validate(plantUml));
+    }
+
+    /**
+     * Zip folder for a batch item: the project ID reduced to safe path characters, made unique within the archive
+     */
+    private static String zipFolder(BatchGenerationResult result, Set<String> used) {
+        String folder = result.getProjectId() == null ? "" : result.getProjectId().replaceAll("[^A-Za-z0-9._-]", "_");
+        if (folder.isEmpty() || folder.matches("\\.+")) {
+            folder = "item-" + result.getIndex();
+        }
+        if (!used.add(folder)) {
+            folder = folder + "-" + result.getIndex();
+            used.add(folder);
+        }
+        return folder;
+    }
+
+    private ResponseEntity<?> validationFailure(String plantUml) {
+        List<ModelDiagnostic> diagnostics = plantUmlModelValidator.validate(plantUml);
+        if (!PlantUmlModelValidator.hasErrors(diagnostics)) {
+            return null;
+        }
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", "PlantUML model is invalid");
+        errorResponse.put("diagnostics", diagnostics);
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
+    }
 }
@@ -4,6 +4,7 @@ import com.armikom.zen.service.PreviewService;
 import com.armikom.zen.service.ProjectService;
 import com.armikom.zen.model.Project;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,28 +29,19 @@ public class PreviewController {
     /**
      * Generate a preview for a project
      * @param projectId The project ID
-     * @param authHeader The authorization header containing Firebase token
+     * @param userId The authenticated user ID
      * @return Response with preview location or error
      */
     @PostMapping("/generate/{projectId}")
     public ResponseEntity<Map<String, Object>> generatePreview(
             @PathVariable String projectId,
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal String userId) {
         
         Map<String, Object> response = new HashMap<>();
         
         try {
             logger.info("Preview generation requested for project: {}", projectId);
 
-            // Validate auth token and get user ID
-            String userId = projectService.validateAuthToken(authHeader);
-            if (userId == null) {
-                logger.warn("Invalid auth token for preview generation");
-                response.put("success", false);
-                response.put("message", "Unauthorized");
-                return ResponseEntity.status(401).body(response);
-            }
-
             // Get project to validate access and get business model
             Project project = projectService.retrieveAndLogProject(projectId, userId);
             if (project == null) {
@@ -94,25 +86,17 @@ public class PreviewController {
     /**
      * Get preview status and location for a project
      * @param projectId The project ID
-     * @param authHeader The authorization header containing Firebase token
+     * @param userId The authenticated user ID
      * @return Response with preview information
      */
     @GetMapping("/status/{projectId}")
     public ResponseEntity<Map<String, Object>> getPreviewStatus(
             @PathVariable String projectId,
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal String userId) {
         
         Map<String, Object> response = new HashMap<>();
         
         try {
-            // Validate auth token
-            String userId = projectService.validateAuthToken(authHeader);
-            if (userId == null) {
-                response.put("success", false);
-                response.put("message", "Unauthorized");
-                return ResponseEntity.status(401).body(response);
-            }
-
             // Validate project access
             Project project = projectService.retrieveAndLogProject(projectId, userId);
             if (project == null) {
@@ -142,25 +126,17 @@ public class PreviewController {
     /**
      * Clean up preview files for a project
      * @param projectId The project ID
-     * @param authHeader The authorization header containing Firebase token
+     * @param userId The authenticated user ID
      * @return Response indicating success or failure
      */
     @DeleteMapping("/cleanup/{projectId}")
     public ResponseEntity<Map<String, Object>> cleanupPreview(
             @PathVariable String projectId,
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal String userId) {
         
         Map<String, Object> response = new HashMap<>();
         
         try {
-            // Validate auth token
-            String userId = projectService.validateAuthToken(authHeader);
-            if (userId == null) {
-                response.put("success", false);
-                response.put("message", "Unauthorized");
-                return ResponseEntity.status(401).body(response);
-            }
-
             // Validate project access
             Project project = projectService.retrieveAndLogProject(projectId, userId);
             if (project == null) {
@@ -15,6 +15,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -44,21 +45,12 @@ public class ProjectController {
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     public ResponseEntity<ProjectResponse> retrieveProject(
-            @Parameter(description = "Authorization token", required = true, example = "Bearer eyJhbGciOiJSUzI1NiIsImtpZCI6...")
-            @RequestHeader("Authorization") String authToken,
+            @Parameter(hidden = true) @AuthenticationPrincipal String userId,
             @Parameter(description = "Project request containing project ID")
             @Valid @RequestBody ProjectRequest request) {
         
         logger.info("Received project retrieval request for project: {}", request.getProjectId());
         
-        // Validate auth token
-        String userId = projectService.validateAuthToken(authToken);
-        if (userId == null) {
-            logger.warn("Invalid or missing auth token for project: {}", request.getProjectId());
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                .body(new ProjectResponse(false, "Invalid or missing authorization token", request.getProjectId()));
-        }
-        
         // Retrieve and log project
         com.armikom.zen.model.Project project = projectService.retrieveAndLogProject(request.getProjectId(), userId);
         
@@ -75,6 +67,27 @@ public class ProjectController {
         }
     }
     
+    @PostMapping("/sign-out")
+    @Operation(
+        summary = "Sign Out Everywhere",
+        description = "Revokes the authenticated user's tokens, so that every session of the user has to sign in again",
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Tokens revoked successfully"),
+        @ApiResponse(responseCode = "401", description = "Invalid or missing authorization token"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ProjectResponse> signOut(@Parameter(hidden = true) @AuthenticationPrincipal String userId) {
+        logger.info("Received sign-out request for user: {}", userId);
+
+        if (projectService.revokeAuthTokens(userId)) {
+            return ResponseEntity.ok(new ProjectResponse(true, "Signed out of all sessions", null));
+        }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(new ProjectResponse(false, "Failed to revoke tokens", null));
+    }
+
     @GetMapping("/firebase/status")
     @Operation(
         summary = "Check Firebase Status", 
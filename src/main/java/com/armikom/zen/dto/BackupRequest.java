@@ -27,6 +27,19 @@ public class BackupRequest {
     @Schema(description = "File path where backup will be saved", example = "/tmp/backup_my_project_db.sql")
     private String backupFilePath;
 
+    @Schema(description = "Whether the backup is compressed (not available on SQL Server Express)", example = "false")
+    private Boolean compression;
+
+    @Schema(description = "Whether page checksums are verified and a backup checksum is written", example = "true")
+    private Boolean checksum;
+
+    @Pattern(regexp = "^[a-zA-Z0-9_.-]+(/[a-zA-Z0-9_.-]+)*$", message = "Object key can only contain letters, numbers, underscores, dots, hyphens and slashes")
+    @Schema(description = "Key under which a copy of the backup is kept in the object store", example = "my_project_db/2024-01-15.bak")
+    private String objectKey;
+
+    @Schema(description = "Whether the backup runs in the background; poll the returned operation for progress", example = "true")
+    private Boolean async;
+
     // Default constructor
     public BackupRequest() {}
 
@@ -62,12 +75,48 @@ public class BackupRequest {
         this.backupFilePath = backupFilePath;
     }
 
+    public Boolean getCompression() {
+        return compression;
+    }
+
+    public void setCompression(Boolean compression) {
+        this.compression = compression;
+    }
+
+    public Boolean getChecksum() {
+        return checksum;
+    }
+
+    public void setChecksum(Boolean checksum) {
+        this.checksum = checksum;
+    }
+
+    public String getObjectKey() {
+        return objectKey;
+    }
+
+    public void setObjectKey(String objectKey) {
+        this.objectKey = objectKey;
+    }
+
+    public Boolean getAsync() {
+        return async;
+    }
+
+    public void setAsync(Boolean async) {
+        this.async = async;
+    }
+
     @Override
     public String toString() {
         return "BackupRequest{" +
                 "environment=" + environment +
                 ", databaseName='" + databaseName + '\'' +
                 ", backupFilePath='" + backupFilePath + '\'' +
+                ", compression=" + compression +
+                ", checksum=" + checksum +
+                ", objectKey='" + objectKey + '\'' +
+                ", async=" + async +
                 '}';
     }
 }
@@ -0,0 +1,46 @@
+package com.armikom.zen.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * One line of a batch generation NDJSON request
+ */
+@Schema(description = "Model to generate in a batch request")
+public class BatchGenerationItem {
+
+    @Schema(description = "Project the model belongs to", example = "project-123")
+    private String projectId;
+
+    @Schema(description = "PlantUML class diagram", example = "@startuml\nclass Customer {\n  + Name: string\n}\n@enduml")
+    private String plantUml;
+
+    public BatchGenerationItem() {}
+
+    public BatchGenerationItem(String projectId, String plantUml) {
+        this.projectId = projectId;
+        this.plantUml = plantUml;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(String projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getPlantUml() {
+        return plantUml;
+    }
+
+    public void setPlantUml(String plantUml) {
+        this.plantUml = plantUml;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchGenerationItem{" +
+                "projectId='" + projectId + '\'' +
+                '}';
+    }
+}
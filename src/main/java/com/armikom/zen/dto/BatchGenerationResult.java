@@ -0,0 +1,113 @@
+package com.armikom.zen.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of one item of a batch generation request; results are streamed in completion order
+ */
+@Schema(description = "Result of one model in a batch generation request")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchGenerationResult {
+
+    @Schema(description = "0-based position of the item in the request stream", example = "0")
+    private int index;
+
+    @Schema(description = "Project the model belongs to", example = "project-123")
+    private String projectId;
+
+    @Schema(description = "Whether generation succeeded", example = "true")
+    private boolean success;
+
+    @Schema(description = "Generated files per target, keyed by target name and file name")
+    private Map<String, Map<String, String>> files;
+
+    @Schema(description = "Error message if generation failed", example = "PlantUML model is invalid")
+    private String error;
+
+    @Schema(description = "Validation diagnostics if the model is invalid")
+    private List<ModelDiagnostic> diagnostics;
+
+    public BatchGenerationResult() {}
+
+    public static BatchGenerationResult success(int index, String projectId, Map<String, Map<String, String>> files) {
+        BatchGenerationResult result = new BatchGenerationResult();
+        result.index = index;
+        result.projectId = projectId;
+        result.success = true;
+        result.files = files;
+        return result;
+    }
+
+    public static BatchGenerationResult failure(int index, String projectId, String error,
+                                                List<ModelDiagnostic> diagnostics) {
+        BatchGenerationResult result = new BatchGenerationResult();
+        result.index = index;
+        result.projectId = projectId;
+        result.success = false;
+        result.error = error;
+        result.diagnostics = diagnostics;
+        return result;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(String projectId) {
+        this.projectId = projectId;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public Map<String, Map<String, String>> getFiles() {
+        return files;
+    }
+
+    public void setFiles(Map<String, Map<String, String>> files) {
+        this.files = files;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public List<ModelDiagnostic> getDiagnostics() {
+        return diagnostics;
+    }
+
+    public void setDiagnostics(List<ModelDiagnostic> diagnostics) {
+        this.diagnostics = diagnostics;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchGenerationResult{" +
+                "index=" + index +
+                ", projectId='" + projectId + '\'' +
+                ", success=" + success +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
@@ -20,6 +20,9 @@ public class CloudflareApiResponse<T> {
     @JsonProperty("result")
     private T result;
     
+    @JsonProperty("result_info")
+    private ResultInfo resultInfo;
+    
     public CloudflareApiResponse() {}
     
     public Boolean getSuccess() {
@@ -54,6 +57,76 @@ public class CloudflareApiResponse<T> {
         this.result = result;
     }
     
+    public ResultInfo getResultInfo() {
+        return resultInfo;
+    }
+    
+    public void setResultInfo(ResultInfo resultInfo) {
+        this.resultInfo = resultInfo;
+    }
+    
+    /**
+     * Pagination details returned by list endpoints
+     */
+    public static class ResultInfo {
+        @JsonProperty("page")
+        private Integer page;
+        
+        @JsonProperty("per_page")
+        private Integer perPage;
+        
+        @JsonProperty("count")
+        private Integer count;
+        
+        @JsonProperty("total_count")
+        private Integer totalCount;
+        
+        @JsonProperty("total_pages")
+        private Integer totalPages;
+        
+        public ResultInfo() {}
+        
+        public Integer getPage() {
+            return page;
+        }
+        
+        public void setPage(Integer page) {
+            this.page = page;
+        }
+        
+        public Integer getPerPage() {
+            return perPage;
+        }
+        
+        public void setPerPage(Integer perPage) {
+            this.perPage = perPage;
+        }
+        
+        public Integer getCount() {
+            return count;
+        }
+        
+        public void setCount(Integer count) {
+            this.count = count;
+        }
+        
+        public Integer getTotalCount() {
+            return totalCount;
+        }
+        
+        public void setTotalCount(Integer totalCount) {
+            this.totalCount = totalCount;
+        }
+        
+        public Integer getTotalPages() {
+            return totalPages;
+        }
+        
+        public void setTotalPages(Integer totalPages) {
+            this.totalPages = totalPages;
+        }
+    }
+    
     public static class CloudflareError {
         @JsonProperty("code")
         private Integer code;
@@ -0,0 +1,30 @@
+package com.armikom.zen.dto;
+
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.util.List;
+
+/**
+ * Shared response types for Cloudflare API calls; each {@link ParameterizedTypeReference} resolves its generic type
+ * once, instead of on every request
+ */
+public final class CloudflareApiTypes {
+
+    public static final ParameterizedTypeReference<CloudflareApiResponse<Object>> OBJECT =
+            new ParameterizedTypeReference<CloudflareApiResponse<Object>>() {};
+
+    public static final ParameterizedTypeReference<CloudflareApiResponse<CloudflareDnsRecord>> DNS_RECORD =
+            new ParameterizedTypeReference<CloudflareApiResponse<CloudflareDnsRecord>>() {};
+
+    public static final ParameterizedTypeReference<CloudflareApiResponse<List<CloudflareDnsRecord>>> DNS_RECORD_LIST =
+            new ParameterizedTypeReference<CloudflareApiResponse<List<CloudflareDnsRecord>>>() {};
+
+    public static final ParameterizedTypeReference<CloudflareApiResponse<TunnelConfigurationEnvelope<SimpleTunnelConfiguration>>> SIMPLE_TUNNEL_CONFIGURATION =
+            new ParameterizedTypeReference<CloudflareApiResponse<TunnelConfigurationEnvelope<SimpleTunnelConfiguration>>>() {};
+
+    public static final ParameterizedTypeReference<CloudflareApiResponse<TunnelConfigurationEnvelope<CloudflareTunnelConfiguration>>> TUNNEL_CONFIGURATION =
+            new ParameterizedTypeReference<CloudflareApiResponse<TunnelConfigurationEnvelope<CloudflareTunnelConfiguration>>>() {};
+
+    private CloudflareApiTypes() {
+    }
+}
@@ -25,6 +25,9 @@ public class DatabaseOperationResponse {
     @Schema(description = "File path for backup/restore operations", example = "/tmp/backup_my_project_db.sql")
     private String filePath;
 
+    @Schema(description = "ID of a background operation, to query its progress", example = "3f2c8a1e-5b7d-4e9a-9c1f-2d6b8e4a7c10")
+    private String operationId;
+
     @Schema(description = "Error details if operation failed")
     private String errorDetails;
 
@@ -94,6 +97,11 @@ public class DatabaseOperationResponse {
         return this;
     }
 
+    public DatabaseOperationResponse withOperationId(String operationId) {
+        this.operationId = operationId;
+        return this;
+    }
+
     public DatabaseOperationResponse withErrorDetails(String errorDetails) {
         this.errorDetails = errorDetails;
         return this;
@@ -140,6 +148,14 @@ public class DatabaseOperationResponse {
         this.filePath = filePath;
     }
 
+    public String getOperationId() {
+        return operationId;
+    }
+
+    public void setOperationId(String operationId) {
+        this.operationId = operationId;
+    }
+
     public String getErrorDetails() {
         return errorDetails;
     }
@@ -164,6 +180,7 @@ public class DatabaseOperationResponse {
                 ", databaseName='" + databaseName + '\'' +
                 ", username='" + username + '\'' +
                 ", filePath='" + filePath + '\'' +
+                ", operationId='" + operationId + '\'' +
                 ", errorDetails='" + errorDetails + '\'' +
                 ", timestamp='" + timestamp + '\'' +
                 '}';
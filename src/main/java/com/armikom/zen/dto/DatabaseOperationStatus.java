@@ -0,0 +1,135 @@
+package com.armikom.zen.dto;
+
+import com.armikom.zen.enums.DatabaseOperationState;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Snapshot of an asynchronous database operation such as a backup or restore
+ */
+@Schema(description = "Status of an asynchronous database operation")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DatabaseOperationStatus {
+
+    @Schema(description = "Operation id", example = "3f1c2d4e-5a6b-4c7d-8e9f-0a1b2c3d4e5f")
+    private String operationId;
+
+    @Schema(description = "Operation type", example = "backup")
+    private String type;
+
+    @Schema(description = "Current state", example = "RUNNING")
+    private DatabaseOperationState state;
+
+    @Schema(description = "Name of the database involved in the operation", example = "my_project_db")
+    private String databaseName;
+
+    @Schema(description = "Backup file path on the database server", example = "/var/opt/mssql/backup/my_project_db.bak")
+    private String filePath;
+
+    @Schema(description = "Key of the backup copy in the object store", example = "my_project_db/2024-01-15.bak")
+    private String objectKey;
+
+    @Schema(description = "Percentage completed", example = "45")
+    private int percentComplete;
+
+    @Schema(description = "Progress or result message", example = "Backing up database")
+    private String message;
+
+    @Schema(description = "Start time", example = "2024-01-15T10:30:00Z")
+    private String startedAt;
+
+    @Schema(description = "Completion time", example = "2024-01-15T10:31:12Z")
+    private String finishedAt;
+
+    public String getOperationId() {
+        return operationId;
+    }
+
+    public void setOperationId(String operationId) {
+        this.operationId = operationId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public DatabaseOperationState getState() {
+        return state;
+    }
+
+    public void setState(DatabaseOperationState state) {
+        this.state = state;
+    }
+
+    public String getDatabaseName() {
+        return databaseName;
+    }
+
+    public void setDatabaseName(String databaseName) {
+        this.databaseName = databaseName;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public String getObjectKey() {
+        return objectKey;
+    }
+
+    public void setObjectKey(String objectKey) {
+        this.objectKey = objectKey;
+    }
+
+    public int getPercentComplete() {
+        return percentComplete;
+    }
+
+    public void setPercentComplete(int percentComplete) {
+        this.percentComplete = percentComplete;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(String startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public String getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(String finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "DatabaseOperationStatus{" +
+                "operationId='" + operationId + '\'' +
+                ", type='" + type + '\'' +
+                ", state=" + state +
+                ", databaseName='" + databaseName + '\'' +
+                ", percentComplete=" + percentComplete +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
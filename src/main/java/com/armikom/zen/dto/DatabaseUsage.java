@@ -0,0 +1,106 @@
+package com.armikom.zen.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Size and activity of one database on a database server
+ */
+@Schema(description = "Size and activity of a database")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DatabaseUsage {
+
+    @Schema(description = "Name of the database", example = "tour-buddy")
+    private String databaseName;
+
+    @Schema(description = "Size of the data files in bytes", example = "16777216")
+    private long dataBytes;
+
+    @Schema(description = "Size of the log files in bytes", example = "8388608")
+    private long logBytes;
+
+    @Schema(description = "User sessions connected to the database", example = "3")
+    private int connections;
+
+    @Schema(description = "When the database was created", example = "2024-01-15T10:30:00Z")
+    private String createdAt;
+
+    @Schema(description = "Last read or write of a table since the server started; absent if there was none",
+            example = "2024-01-15T11:02:13Z")
+    private String lastActivityAt;
+
+    // Default constructor
+    public DatabaseUsage() {}
+
+    // Constructor
+    public DatabaseUsage(String databaseName, long dataBytes, long logBytes, int connections, String createdAt,
+                         String lastActivityAt) {
+        this.databaseName = databaseName;
+        this.dataBytes = dataBytes;
+        this.logBytes = logBytes;
+        this.connections = connections;
+        this.createdAt = createdAt;
+        this.lastActivityAt = lastActivityAt;
+    }
+
+    // Getters and setters
+    public String getDatabaseName() {
+        return databaseName;
+    }
+
+    public void setDatabaseName(String databaseName) {
+        this.databaseName = databaseName;
+    }
+
+    public long getDataBytes() {
+        return dataBytes;
+    }
+
+    public void setDataBytes(long dataBytes) {
+        this.dataBytes = dataBytes;
+    }
+
+    public long getLogBytes() {
+        return logBytes;
+    }
+
+    public void setLogBytes(long logBytes) {
+        this.logBytes = logBytes;
+    }
+
+    public int getConnections() {
+        return connections;
+    }
+
+    public void setConnections(int connections) {
+        this.connections = connections;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    public void setLastActivityAt(String lastActivityAt) {
+        this.lastActivityAt = lastActivityAt;
+    }
+
+    @Override
+    public String toString() {
+        return "DatabaseUsage{" +
+                "databaseName='" + databaseName + '\'' +
+                ", dataBytes=" + dataBytes +
+                ", logBytes=" + logBytes +
+                ", connections=" + connections +
+                ", createdAt='" + createdAt + '\'' +
+                ", lastActivityAt='" + lastActivityAt + '\'' +
+                '}';
+    }
+}
@@ -23,6 +23,10 @@ public class DropTablesRequest {
     @Schema(description = "Name of the database to drop all tables from", example = "my_project_db")
     private String databaseName;
 
+    @Schema(description = "Whether the tables are dropped in the background; poll the returned operation for progress",
+            example = "false")
+    private Boolean async;
+
     // Default constructor
     public DropTablesRequest() {}
 
@@ -49,11 +53,20 @@ public class DropTablesRequest {
         this.databaseName = databaseName;
     }
 
+    public Boolean getAsync() {
+        return async;
+    }
+
+    public void setAsync(Boolean async) {
+        this.async = async;
+    }
+
     @Override
     public String toString() {
         return "DropTablesRequest{" +
                 "environment=" + environment +
                 ", databaseName='" + databaseName + '\'' +
+                ", async=" + async +
                 '}';
     }
 }
@@ -0,0 +1,99 @@
+package com.armikom.zen.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * A single validation finding for a PlantUML business model
+ */
+@Schema(description = "Validation diagnostic for a PlantUML model")
+public class ModelDiagnostic {
+
+    public enum Severity {
+        ERROR,
+        WARNING
+    }
+
+    @Schema(description = "Diagnostic severity", example = "ERROR")
+    private Severity severity;
+
+    @Schema(description = "Machine readable diagnostic code", example = "UNRESOLVED_TYPE")
+    private String code;
+
+    @Schema(description = "Human readable message", example = "Unknown type 'Adress' for property 'Address' of class 'Customer'")
+    private String message;
+
+    @Schema(description = "1-based line number in the PlantUML text", example = "4")
+    private int line;
+
+    @Schema(description = "1-based column number in the PlantUML text", example = "15")
+    private int column;
+
+    public ModelDiagnostic() {}
+
+    public ModelDiagnostic(Severity severity, String code, String message, int line, int column) {
+        this.severity = severity;
+        this.code = code;
+        this.message = message;
+        this.line = line;
+        this.column = column;
+    }
+
+    public static ModelDiagnostic error(String code, String message, int line, int column) {
+        return new ModelDiagnostic(Severity.ERROR, code, message, line, column);
+    }
+
+    public static ModelDiagnostic warning(String code, String message, int line, int column) {
+        return new ModelDiagnostic(Severity.WARNING, code, message, line, column);
+    }
+
+    @JsonIgnore
+    public boolean isError() {
+        return severity == Severity.ERROR;
+    }
+
+    public Severity getSeverity() {
+        return severity;
+    }
+
+    public void setSeverity(Severity severity) {
+        this.severity = severity;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public void setLine(int line) {
+        this.line = line;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    public void setColumn(int column) {
+        this.column = column;
+    }
+
+    @Override
+    public String toString() {
+        return severity + " " + code + " at " + line + ":" + column + " - " + message;
+    }
+}
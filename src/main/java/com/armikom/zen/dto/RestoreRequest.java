@@ -27,6 +27,16 @@ public class RestoreRequest {
     @Schema(description = "File path of the backup to restore from", example = "/tmp/backup_my_project_db.sql")
     private String backupFilePath;
 
+    @Schema(description = "Whether the backup checksum is verified", example = "true")
+    private Boolean checksum;
+
+    @Pattern(regexp = "^[a-zA-Z0-9_.-]+(/[a-zA-Z0-9_.-]+)*$", message = "Object key can only contain letters, numbers, underscores, dots, hyphens and slashes")
+    @Schema(description = "Key of a backup in the object store to copy to the backup file path before restoring", example = "my_project_db/2024-01-15.bak")
+    private String objectKey;
+
+    @Schema(description = "Whether the restore runs in the background; poll the returned operation for progress", example = "true")
+    private Boolean async;
+
     // Default constructor
     public RestoreRequest() {}
 
@@ -62,12 +72,39 @@ public class RestoreRequest {
         this.backupFilePath = backupFilePath;
     }
 
+    public Boolean getChecksum() {
+        return checksum;
+    }
+
+    public void setChecksum(Boolean checksum) {
+        this.checksum = checksum;
+    }
+
+    public String getObjectKey() {
+        return objectKey;
+    }
+
+    public void setObjectKey(String objectKey) {
+        this.objectKey = objectKey;
+    }
+
+    public Boolean getAsync() {
+        return async;
+    }
+
+    public void setAsync(Boolean async) {
+        this.async = async;
+    }
+
     @Override
     public String toString() {
         return "RestoreRequest{" +
                 "environment=" + environment +
                 ", databaseName='" + databaseName + '\'' +
                 ", backupFilePath='" + backupFilePath + '\'' +
+                ", checksum=" + checksum +
+                ", objectKey='" + objectKey + '\'' +
+                ", async=" + async +
                 '}';
     }
 }
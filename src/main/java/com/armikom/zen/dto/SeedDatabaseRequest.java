@@ -0,0 +1,99 @@
+package com.armikom.zen.dto;
+
+import com.armikom.zen.enums.DatabaseEnvironment;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Request DTO for loading generated sample data into a database
+ */
+@Schema(description = "Request to load generated sample data into the tables of a database")
+public class SeedDatabaseRequest {
+
+    @NotNull(message = "Database environment is required")
+    @Schema(description = "Database environment (preview or production)", example = "PREVIEW")
+    private DatabaseEnvironment environment;
+
+    @NotBlank(message = "Database name is required")
+    @Size(min = 3, max = 64, message = "Database name must be between 3 and 64 characters")
+    @Pattern(regexp = "^[a-zA-Z0-9_-]+$", message = "Database name can only contain letters, numbers, underscores, and hyphens")
+    @Schema(description = "Name of the database to seed", example = "my_project_db")
+    private String databaseName;
+
+    @Schema(description = "PlantUML model the database schema was created from; defaults to the last model applied to the database")
+    private String plantUml;
+
+    @Min(value = 1, message = "Rows per table must be at least 1")
+    @Max(value = 1_000_000, message = "Rows per table must be at most 1000000")
+    @Schema(description = "Rows to load per entity table; join tables get at most as many", example = "1000")
+    private Integer rowsPerTable;
+
+    @Schema(description = "Whether the data is loaded in the background; poll the returned operation for progress",
+            example = "false")
+    private Boolean async;
+
+    // Default constructor
+    public SeedDatabaseRequest() {}
+
+    // Constructor
+    public SeedDatabaseRequest(DatabaseEnvironment environment, String databaseName) {
+        this.environment = environment;
+        this.databaseName = databaseName;
+    }
+
+    // Getters and setters
+    public DatabaseEnvironment getEnvironment() {
+        return environment;
+    }
+
+    public void setEnvironment(DatabaseEnvironment environment) {
+        this.environment = environment;
+    }
+
+    public String getDatabaseName() {
+        return databaseName;
+    }
+
+    public void setDatabaseName(String databaseName) {
+        this.databaseName = databaseName;
+    }
+
+    public String getPlantUml() {
+        return plantUml;
+    }
+
+    public void setPlantUml(String plantUml) {
+        this.plantUml = plantUml;
+    }
+
+    public Integer getRowsPerTable() {
+        return rowsPerTable;
+    }
+
+    public void setRowsPerTable(Integer rowsPerTable) {
+        this.rowsPerTable = rowsPerTable;
+    }
+
+    public Boolean getAsync() {
+        return async;
+    }
+
+    public void setAsync(Boolean async) {
+        this.async = async;
+    }
+
+    @Override
+    public String toString() {
+        return "SeedDatabaseRequest{" +
+                "environment=" + environment +
+                ", databaseName='" + databaseName + '\'' +
+                ", rowsPerTable=" + rowsPerTable +
+                ", async=" + async +
+                '}';
+    }
+}
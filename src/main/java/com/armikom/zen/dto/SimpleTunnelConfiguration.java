@@ -1,5 +1,7 @@
 package com.armikom.zen.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
 import java.util.ArrayList;
@@ -8,6 +10,7 @@ import java.util.ArrayList;
  * Simplified DTO for Cloudflare tunnel configuration
  * Avoids complex OriginRequest settings that cause JSON parsing issues
  */
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class SimpleTunnelConfiguration {
     
     @JsonProperty("ingress")
@@ -46,6 +49,8 @@ public class SimpleTunnelConfiguration {
         ingress.removeIf(rule -> hostname.equals(rule.getHostname()));
     }
     
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonIgnoreProperties(ignoreUnknown = true)
     public static class SimpleIngressRule {
         @JsonProperty("hostname")
         private String hostname;
@@ -81,5 +86,10 @@ public class SimpleTunnelConfiguration {
         public void setPath(String path) {
             this.path = path;
         }
+
+        @Override
+        public String toString() {
+            return (hostname != null ? hostname : "*") + (path != null ? path : "") + " -> " + service;
+        }
     }
 }
\ No newline at end of file
@@ -23,6 +23,14 @@ public class TrimTablesRequest {
     @Schema(description = "Name of the database to trim tables", example = "my_project_db")
     private String databaseName;
 
+    @Schema(description = "Whether identity columns of tables that are deleted rather than truncated are reset to their seed",
+            example = "false")
+    private Boolean reseedIdentities;
+
+    @Schema(description = "Whether the tables are truncated in the background; poll the returned operation for progress",
+            example = "false")
+    private Boolean async;
+
     // Default constructor
     public TrimTablesRequest() {}
 
@@ -49,11 +57,29 @@ public class TrimTablesRequest {
         this.databaseName = databaseName;
     }
 
+    public Boolean getReseedIdentities() {
+        return reseedIdentities;
+    }
+
+    public void setReseedIdentities(Boolean reseedIdentities) {
+        this.reseedIdentities = reseedIdentities;
+    }
+
+    public Boolean getAsync() {
+        return async;
+    }
+
+    public void setAsync(Boolean async) {
+        this.async = async;
+    }
+
     @Override
     public String toString() {
         return "TrimTablesRequest{" +
                 "environment=" + environment +
                 ", databaseName='" + databaseName + '\'' +
+                ", reseedIdentities=" + reseedIdentities +
+                ", async=" + async +
                 '}';
     }
 }
@@ -0,0 +1,54 @@
+package com.armikom.zen.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Tunnel configuration as sent to and returned by the {@code cfd_tunnel/<id>/configurations} endpoint.
+ * Requests only carry {@code config}; responses also carry the version, which increments on every update.
+ * @param <C> Configuration type, e.g. {@link SimpleTunnelConfiguration} or {@link CloudflareTunnelConfiguration}
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TunnelConfigurationEnvelope<C> {
+
+    @JsonProperty("config")
+    private C config;
+
+    @JsonProperty("version")
+    private Long version;
+
+    @JsonProperty("source")
+    private String source;
+
+    public TunnelConfigurationEnvelope() {}
+
+    public TunnelConfigurationEnvelope(C config) {
+        this.config = config;
+    }
+
+    public C getConfig() {
+        return config;
+    }
+
+    public void setConfig(C config) {
+        this.config = config;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+}
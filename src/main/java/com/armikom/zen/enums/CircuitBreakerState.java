@@ -0,0 +1,19 @@
+package com.armikom.zen.enums;
+
+/**
+ * State of the circuit breaker guarding a database server
+ */
+public enum CircuitBreakerState {
+    /**
+     * The server is healthy and requests go through
+     */
+    CLOSED,
+    /**
+     * The server failed repeatedly; requests fail fast until it recovers
+     */
+    OPEN,
+    /**
+     * The open period elapsed and a single trial request is let through to test the server
+     */
+    HALF_OPEN
+}
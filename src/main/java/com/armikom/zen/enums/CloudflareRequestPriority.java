@@ -0,0 +1,15 @@
+package com.armikom.zen.enums;
+
+/**
+ * Scheduling priority of a Cloudflare API request under the client-side rate limit
+ */
+public enum CloudflareRequestPriority {
+    /**
+     * A user is waiting, e.g. route setup for a preview; served first
+     */
+    INTERACTIVE,
+    /**
+     * Background work such as zone syncs and reconciliation; only uses budget above the interactive reserve
+     */
+    BULK
+}
@@ -0,0 +1,18 @@
+package com.armikom.zen.enums;
+
+/**
+ * Lifecycle state of an asynchronous database operation
+ */
+public enum DatabaseOperationState {
+    /**
+     * Accepted and waiting for a free worker
+     */
+    PENDING,
+    RUNNING,
+    SUCCEEDED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
@@ -0,0 +1,16 @@
+package com.armikom.zen.enums;
+
+/**
+ * How preview hostnames reach their containers through the Cloudflare tunnel
+ */
+public enum PreviewRoutingMode {
+    /**
+     * A DNS record and an ingress rule per preview, written while the preview is generated
+     */
+    DEDICATED,
+    /**
+     * One wildcard DNS record and ingress rule point at this backend, which proxies each preview hostname to its
+     * container; previews are activated without any Cloudflare API call
+     */
+    WILDCARD
+}
@@ -0,0 +1,305 @@
+package com.armikom.zen.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parsed PlantUML business model shared by the validator and all code generation targets.
+ * Keeps every declaration as written (including duplicates and unresolved references) together with
+ * its 1-based source position, plus a resolved view where navigations are attached to their classes.
+ */
+public class UmlModel {
+
+    public enum AssociationKind {
+        /** Employee "Vehicles" *-- "Employee" Vehicle */
+        LABELED,
+        /** Legacy syntax: Employee "*Vehicles" <--> "Employee" Vehicle */
+        LEGACY_LABELED,
+        /** Employee *-- Vehicle, property names derived from the class names */
+        UNLABELED
+    }
+
+    private final List<UmlClass> declarations = new ArrayList<>();
+    private final List<UmlAssociation> associations = new ArrayList<>();
+    private final List<SourcePosition> unrecognizedRelationships = new ArrayList<>();
+    private final Map<String, UmlClass> classes = new LinkedHashMap<>();
+
+    /**
+     * Adds a class declaration. A later declaration with the same name replaces the earlier one in the resolved view.
+     */
+    public void addDeclaration(UmlClass umlClass) {
+        declarations.add(umlClass);
+        classes.put(umlClass.getName(), umlClass);
+    }
+
+    /**
+     * Adds an association and attaches its navigations to both classes if they are declared
+     */
+    public void addAssociation(UmlAssociation association) {
+        associations.add(association);
+        UmlClass source = classes.get(association.getSourceClass());
+        UmlClass target = classes.get(association.getTargetClass());
+        if (source == null || target == null) {
+            return;
+        }
+        source.addNavigation(new UmlNavigation(association.getSourceProperty(), association.getTargetClass(),
+                association.isSourceCollection(), association.getTargetProperty()));
+        target.addNavigation(new UmlNavigation(association.getTargetProperty(), association.getSourceClass(),
+                association.isTargetCollection(), association.getSourceProperty()));
+    }
+
+    public void addUnrecognizedRelationship(SourcePosition position) {
+        unrecognizedRelationships.add(position);
+    }
+
+    /**
+     * All class declarations in source order, including duplicates
+     */
+    public List<UmlClass> getDeclarations() {
+        return Collections.unmodifiableList(declarations);
+    }
+
+    /**
+     * Distinct classes in order of first declaration
+     */
+    public List<UmlClass> getClasses() {
+        return List.copyOf(classes.values());
+    }
+
+    public UmlClass findClass(String name) {
+        return classes.get(name);
+    }
+
+    public boolean hasClass(String name) {
+        return classes.containsKey(name);
+    }
+
+    public List<UmlAssociation> getAssociations() {
+        return Collections.unmodifiableList(associations);
+    }
+
+    /**
+     * Lines outside class bodies that look like relationships but match no supported syntax
+     */
+    public List<SourcePosition> getUnrecognizedRelationships() {
+        return Collections.unmodifiableList(unrecognizedRelationships);
+    }
+
+    /**
+     * 1-based line and column in the parsed text
+     */
+    public static class SourcePosition {
+        private final int line;
+        private final int column;
+
+        public SourcePosition(int line, int column) {
+            this.line = line;
+            this.column = column;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public int getColumn() {
+            return column;
+        }
+
+        @Override
+        public String toString() {
+            return line + ":" + column;
+        }
+    }
+
+    public static class UmlClass {
+        private final String name;
+        private final SourcePosition position;
+        private final List<UmlAttribute> attributes = new ArrayList<>();
+        private final List<UmlNavigation> navigations = new ArrayList<>();
+
+        public UmlClass(String name, SourcePosition position) {
+            this.name = name;
+            this.position = position;
+        }
+
+        public void addAttribute(UmlAttribute attribute) {
+            attributes.add(attribute);
+        }
+
+        void addNavigation(UmlNavigation navigation) {
+            navigations.add(navigation);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public SourcePosition getPosition() {
+            return position;
+        }
+
+        public List<UmlAttribute> getAttributes() {
+            return Collections.unmodifiableList(attributes);
+        }
+
+        public List<UmlNavigation> getNavigations() {
+            return Collections.unmodifiableList(navigations);
+        }
+
+        public UmlNavigation getNavigation(String propertyName) {
+            return navigations.stream()
+                    .filter(n -> n.getPropertyName().equals(propertyName))
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+
+    public static class UmlAttribute {
+        private final String name;
+        private final String type;
+        private final SourcePosition position;
+        private final SourcePosition typePosition;
+
+        public UmlAttribute(String name, String type, SourcePosition position, SourcePosition typePosition) {
+            this.name = name;
+            this.type = type;
+            this.position = position;
+            this.typePosition = typePosition;
+        }
+
+        /**
+         * Attribute name as written in the model
+         */
+        public String getName() {
+            return name;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public SourcePosition getPosition() {
+            return position;
+        }
+
+        public SourcePosition getTypePosition() {
+            return typePosition;
+        }
+    }
+
+    /**
+     * A navigation property on a class, as seen from that class
+     */
+    public static class UmlNavigation {
+        private final String propertyName;
+        private final String targetClass;
+        private final boolean collection;
+        private final String inversePropertyName;
+
+        public UmlNavigation(String propertyName, String targetClass, boolean collection, String inversePropertyName) {
+            this.propertyName = propertyName;
+            this.targetClass = targetClass;
+            this.collection = collection;
+            this.inversePropertyName = inversePropertyName;
+        }
+
+        public String getPropertyName() {
+            return propertyName;
+        }
+
+        public String getTargetClass() {
+            return targetClass;
+        }
+
+        public boolean isCollection() {
+            return collection;
+        }
+
+        public String getInversePropertyName() {
+            return inversePropertyName;
+        }
+    }
+
+    /**
+     * A single association line. The source side owns {@code sourceProperty} (pointing at the target class)
+     * and the target side owns {@code targetProperty} (pointing back at the source class).
+     */
+    public static class UmlAssociation {
+        private final AssociationKind kind;
+        private final String sourceClass;
+        private final SourcePosition sourceClassPosition;
+        private final String sourceProperty;
+        private final SourcePosition sourcePropertyPosition;
+        private final boolean sourceCollection;
+        private final String targetClass;
+        private final SourcePosition targetClassPosition;
+        private final String targetProperty;
+        private final SourcePosition targetPropertyPosition;
+        private final boolean targetCollection;
+
+        public UmlAssociation(AssociationKind kind,
+                              String sourceClass, SourcePosition sourceClassPosition,
+                              String sourceProperty, SourcePosition sourcePropertyPosition, boolean sourceCollection,
+                              String targetClass, SourcePosition targetClassPosition,
+                              String targetProperty, SourcePosition targetPropertyPosition, boolean targetCollection) {
+            this.kind = kind;
+            this.sourceClass = sourceClass;
+            this.sourceClassPosition = sourceClassPosition;
+            this.sourceProperty = sourceProperty;
+            this.sourcePropertyPosition = sourcePropertyPosition;
+            this.sourceCollection = sourceCollection;
+            this.targetClass = targetClass;
+            this.targetClassPosition = targetClassPosition;
+            this.targetProperty = targetProperty;
+            this.targetPropertyPosition = targetPropertyPosition;
+            this.targetCollection = targetCollection;
+        }
+
+        public AssociationKind getKind() {
+            return kind;
+        }
+
+        public String getSourceClass() {
+            return sourceClass;
+        }
+
+        public SourcePosition getSourceClassPosition() {
+            return sourceClassPosition;
+        }
+
+        public String getSourceProperty() {
+            return sourceProperty;
+        }
+
+        public SourcePosition getSourcePropertyPosition() {
+            return sourcePropertyPosition;
+        }
+
+        public boolean isSourceCollection() {
+            return sourceCollection;
+        }
+
+        public String getTargetClass() {
+            return targetClass;
+        }
+
+        public SourcePosition getTargetClassPosition() {
+            return targetClassPosition;
+        }
+
+        public String getTargetProperty() {
+            return targetProperty;
+        }
+
+        public SourcePosition getTargetPropertyPosition() {
+            return targetPropertyPosition;
+        }
+
+        public boolean isTargetCollection() {
+            return targetCollection;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.armikom.zen.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.regex.Pattern;
+
+/**
+ * Directory-backed stand-in for an object store holding copies of database backups.
+ * Objects are streamed in and out, never loaded into memory, and only become visible once fully written.
+ * Backup files are read from and written to the path the database server used, so that path must be shared with
+ * this backend (e.g. a mounted volume).
+ */
+@Service
+public class BackupObjectStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(BackupObjectStore.class);
+
+    private static final Pattern VALID_KEY_PATTERN = Pattern.compile("^[a-zA-Z0-9_.-]+(/[a-zA-Z0-9_.-]+)*$");
+
+    private final boolean enabled;
+    private final Path root;
+
+    public BackupObjectStore(@Value("${database.backup.object-store.enabled:false}") boolean enabled,
+                             @Value("${database.backup.object-store.path:}") String path) {
+        this.enabled = enabled;
+        this.root = (path == null || path.isBlank())
+                ? Paths.get(System.getProperty("user.home"), "zen", "backups")
+                : Paths.get(path);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Copies a file into the store
+     * @return Number of bytes stored
+     */
+    public long upload(String key, Path source) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            long size;
+            try (InputStream in = Files.newInputStream(source);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                size = in.transferTo(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Stored {} ({} bytes) as {}", source, size, key);
+            return size;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Copies an object out of the store to a file
+     * @return Number of bytes copied
+     */
+    public long download(String key, Path target) throws IOException {
+        Path source = resolve(key);
+        if (!Files.exists(source)) {
+            throw new IOException("Backup object does not exist: " + key);
+        }
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        long size;
+        try (InputStream in = Files.newInputStream(source);
+             OutputStream out = Files.newOutputStream(target)) {
+            size = in.transferTo(out);
+        }
+        logger.info("Copied {} ({} bytes) to {}", key, size, target);
+        return size;
+    }
+
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    private Path resolve(String key) {
+        if (key == null || !VALID_KEY_PATTERN.matcher(key).matches() || key.contains("..")) {
+            throw new IllegalArgumentException("Invalid object key: " + key);
+        }
+        return root.resolve(key);
+    }
+}
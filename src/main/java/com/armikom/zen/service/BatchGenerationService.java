@@ -0,0 +1,173 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.dto.BatchGenerationItem;
+import com.armikom.zen.dto.BatchGenerationResult;
+import com.armikom.zen.dto.ModelDiagnostic;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates code for a stream of models, one JSON object per line.
+ * Items run in parallel on a fixed pool; at most twice the pool size is in flight, so an arbitrarily long
+ * request is never buffered in memory. Failures are reported per item and never abort the batch.
+ */
+@Service
+public class BatchGenerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchGenerationService.class);
+
+    /**
+     * Receives batch results; it is always called on the thread that invoked {@link #process}
+     */
+    @FunctionalInterface
+    public interface ResultSink {
+        void accept(BatchGenerationResult result) throws IOException;
+    }
+
+    private final CodeGenerationService codeGenerationService;
+    private final PlantUmlModelValidator plantUmlModelValidator;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final int concurrency;
+    private final ExecutorService executor;
+
+    /**
+     * @param concurrency Number of models generated in parallel; 0 uses one thread per available processor
+     */
+    public BatchGenerationService(CodeGenerationService codeGenerationService,
+                                  PlantUmlModelValidator plantUmlModelValidator,
+                                  @Value("${generator.batch.concurrency:0}") int concurrency) {
+        this.codeGenerationService = codeGenerationService;
+        this.plantUmlModelValidator = plantUmlModelValidator;
+        this.concurrency = concurrency > 0 ? concurrency : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "batch-generator-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.info("Batch generation initialized with concurrency {}", this.concurrency);
+    }
+
+    /**
+     * Reads NDJSON items until the end of the stream and hands each result to the sink as soon as it completes
+     * @param reader NDJSON of {@link BatchGenerationItem}; blank lines are ignored
+     * @param targets Names of the targets to generate for every item
+     * @param sink Receives one result per item, in completion order
+     * @return Number of items processed
+     * @throws IOException if reading the request or writing to the sink fails
+     */
+    public int process(BufferedReader reader, List<String> targets, ResultSink sink) throws IOException {
+        CompletionService<BatchGenerationResult> completionService = new ExecutorCompletionService<>(executor);
+        int submitted = 0;
+        int delivered = 0;
+        int failed = 0;
+        long startTime = System.currentTimeMillis();
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            // Keep the pool busy while bounding the number of buffered items and results
+            while (submitted - delivered >= concurrency * 2) {
+                failed += deliver(take(completionService), sink);
+                delivered++;
+            }
+            int index = submitted;
+            String itemLine = line;
+            completionService.submit(() -> processItem(index, itemLine, targets));
+            submitted++;
+
+            Future<BatchGenerationResult> done;
+            while ((done = completionService.poll()) != null) {
+                failed += deliver(result(done), sink);
+                delivered++;
+            }
+        }
+        while (delivered < submitted) {
+            failed += deliver(take(completionService), sink);
+            delivered++;
+        }
+
+        logger.info("Batch generation of {} items for targets {} finished in {} ms ({} failed)",
+                submitted, targets, System.currentTimeMillis() - startTime, failed);
+        return submitted;
+    }
+
+    private BatchGenerationResult processItem(int index, String line, List<String> targets) {
+        BatchGenerationItem item;
+        try {
+            item = objectMapper.readValue(line, BatchGenerationItem.class);
+        } catch (JsonProcessingException e) {
+            return BatchGenerationResult.failure(index, null, "Invalid JSON: " + e.getOriginalMessage(), null);
+        }
+
+        String projectId = item.getProjectId();
+        if (item.getPlantUml() == null || item.getPlantUml().trim().isEmpty()) {
+            return BatchGenerationResult.failure(index, projectId, "plantUml is required", null);
+        }
+
+        try {
+            List<ModelDiagnostic> diagnostics = plantUmlModelValidator.validate(item.getPlantUml());
+            if (PlantUmlModelValidator.hasErrors(diagnostics)) {
+                return BatchGenerationResult.failure(index, projectId, "PlantUML model is invalid", diagnostics);
+            }
+            return BatchGenerationResult.success(index, projectId,
+                    codeGenerationService.generate(item.getPlantUml(), targets));
+        } catch (Exception e) {
+            logger.error("Batch generation failed for item {} (project {})", index, projectId, e);
+            return BatchGenerationResult.failure(index, projectId, e.getMessage(), null);
+        }
+    }
+
+    private static int deliver(BatchGenerationResult result, ResultSink sink) throws IOException {
+        sink.accept(result);
+        return result.isSuccess() ? 0 : 1;
+    }
+
+    private static BatchGenerationResult take(CompletionService<BatchGenerationResult> completionService)
+            throws IOException {
+        try {
+            return result(completionService.take());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Batch generation interrupted");
+        }
+    }
+
+    private static BatchGenerationResult result(Future<BatchGenerationResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Batch generation interrupted");
+        } catch (ExecutionException e) {
+            // processItem reports its own failures, so this is unexpected
+            throw new IllegalStateException("Batch item failed unexpectedly", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,282 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.config.CloudflareConfig;
+import com.armikom.zen.config.CloudflareRateLimiter;
+import com.armikom.zen.dto.CloudflareApiResponse;
+import com.armikom.zen.dto.CloudflareApiTypes;
+import com.armikom.zen.dto.CloudflareDnsRecord;
+import com.armikom.zen.enums.CloudflareRequestPriority;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Local index of the zone's DNS records by hostname.
+ * The index is filled by a paginated full sync that is repeated once the TTL has expired; misses in between are
+ * resolved with Cloudflare's {@code name=} filter. {@link CloudflareService} writes created, updated and deleted
+ * records through, so route setup never has to download the whole zone.
+ */
+@Service
+public class CloudflareDnsIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CloudflareDnsIndex.class);
+
+    private final WebClient webClient;
+    private final CloudflareConfig cloudflareConfig;
+    private final long ttlNanos;
+    private final int pageSize;
+
+    /**
+     * Indexed records by lower-cased hostname; deleted records stay as tombstones (null record) until the next sync
+     * so that a sync running concurrently with the delete can not bring them back
+     */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Object syncLock = new Object();
+    private final AtomicBoolean backgroundSync = new AtomicBoolean();
+    private volatile long lastSyncNanos;
+    private volatile boolean synced;
+
+    public CloudflareDnsIndex(WebClient cloudflareWebClient, CloudflareConfig cloudflareConfig,
+                              @Value("${cloudflare.dns.index.ttl:5m}") Duration ttl,
+                              @Value("${cloudflare.dns.index.page-size:1000}") int pageSize) {
+        this.webClient = cloudflareWebClient;
+        this.cloudflareConfig = cloudflareConfig;
+        this.ttlNanos = ttl.toNanos();
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Finds the record for a hostname, syncing the index first if it is stale
+     * @return The record, or null if the zone has no record with this name
+     */
+    public CloudflareDnsRecord find(String hostname) {
+        if (isStale()) {
+            try {
+                sync();
+            } catch (RuntimeException e) {
+                logger.warn("DNS index sync failed, falling back to a name lookup: {}", e.getMessage());
+            }
+        }
+
+        Entry entry = entries.get(key(hostname));
+        if (entry != null) {
+            return entry.record;
+        }
+
+        // Records created outside this service since the last sync
+        CloudflareDnsRecord record = fetchByName(hostname);
+        if (record != null) {
+            put(record);
+        }
+        return record;
+    }
+
+    /**
+     * Non-blocking lookup: answered from the index while it is fresh, otherwise by a name lookup while the index
+     * is resynced in the background
+     * @return The record, or empty if the zone has no record with this name
+     */
+    public Mono<CloudflareDnsRecord> findAsync(String hostname) {
+        if (isStale()) {
+            syncInBackground();
+        } else {
+            Entry entry = entries.get(key(hostname));
+            if (entry != null) {
+                return Mono.justOrEmpty(entry.record);
+            }
+        }
+        return fetchByNameAsync(hostname)
+                .doOnNext(this::put)
+                .onErrorResume(e -> {
+                    logger.warn("Error looking up DNS record {}: {}", hostname, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Asks Cloudflare for the record of a hostname, bypassing the index, e.g. to learn whether a create whose
+     * response was lost took effect
+     * @return The record, or empty if the zone has no record with this name
+     */
+    public Mono<CloudflareDnsRecord> lookupAsync(String hostname) {
+        return fetchByNameAsync(hostname).doOnNext(this::put);
+    }
+
+    private void syncInBackground() {
+        if (!backgroundSync.compareAndSet(false, true)) {
+            return;
+        }
+        Mono.fromRunnable(this::sync)
+                .subscribeOn(Schedulers.boundedElastic())
+                .doFinally(signal -> backgroundSync.set(false))
+                .subscribe(null, e -> logger.warn("Background DNS index sync failed: {}", e.getMessage()));
+    }
+
+    /**
+     * Replaces the index with a full, paginated listing of the zone
+     * @return All records of the zone
+     */
+    public List<CloudflareDnsRecord> sync() {
+        synchronized (syncLock) {
+            long startNanos = System.nanoTime();
+            List<CloudflareDnsRecord> records = fetchAll();
+
+            Set<String> seen = new HashSet<>();
+            for (CloudflareDnsRecord record : records) {
+                String key = key(record.getName());
+                seen.add(key);
+                // Writes that happened while the listing was in flight are newer than the listing
+                entries.compute(key, (k, current) ->
+                        current != null && current.indexedNanos - startNanos > 0 ? current : new Entry(record, startNanos));
+            }
+            entries.entrySet().removeIf(e -> e.getValue().indexedNanos - startNanos <= 0 && !seen.contains(e.getKey()));
+
+            lastSyncNanos = startNanos;
+            synced = true;
+            logger.info("DNS index synced with {} records in {} ms", records.size(),
+                    Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+            return records;
+        }
+    }
+
+    /**
+     * Records a created or updated record
+     */
+    public void put(CloudflareDnsRecord record) {
+        if (record != null && record.getName() != null) {
+            entries.put(key(record.getName()), new Entry(record, System.nanoTime()));
+        }
+    }
+
+    /**
+     * Records the deletion of a record
+     */
+    public void remove(String recordId) {
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            CloudflareDnsRecord record = entry.getValue().record;
+            if (record != null && recordId.equals(record.getId())) {
+                entries.put(entry.getKey(), new Entry(null, System.nanoTime()));
+            }
+        }
+    }
+
+    /**
+     * Forces the next lookup to resync
+     */
+    public void invalidate() {
+        synced = false;
+    }
+
+    private boolean isStale() {
+        return !synced || System.nanoTime() - lastSyncNanos > ttlNanos;
+    }
+
+    private List<CloudflareDnsRecord> fetchAll() {
+        List<CloudflareDnsRecord> records = new ArrayList<>();
+        int page = 1;
+        int totalPages;
+        do {
+            CloudflareApiResponse<List<CloudflareDnsRecord>> response = fetchPage(page);
+            if (response.getResult() != null) {
+                records.addAll(response.getResult());
+            }
+            CloudflareApiResponse.ResultInfo resultInfo = response.getResultInfo();
+            totalPages = resultInfo != null && resultInfo.getTotalPages() != null ? resultInfo.getTotalPages() : page;
+            page++;
+        } while (page <= totalPages);
+        return records;
+    }
+
+    private CloudflareApiResponse<List<CloudflareDnsRecord>> fetchPage(int page) {
+        try {
+            CloudflareApiResponse<List<CloudflareDnsRecord>> response = webClient
+                    .get()
+                    .uri(uriBuilder -> uriBuilder
+                            .path("/zones/{zoneId}/dns_records")
+                            .queryParam("page", page)
+                            .queryParam("per_page", pageSize)
+                            .build(cloudflareConfig.getZoneId()))
+                    // Full zone syncs are background work
+                    .attribute(CloudflareRateLimiter.PRIORITY_ATTRIBUTE, CloudflareRequestPriority.BULK)
+                    .retrieve()
+                    .bodyToMono(CloudflareApiTypes.DNS_RECORD_LIST)
+                    .timeout(Duration.ofSeconds(30))
+                    .retryWhen(cloudflareConfig.retrySpec())
+                    .block();
+
+            if (response == null || !Boolean.TRUE.equals(response.getSuccess())) {
+                throw new RuntimeException(errorMessage(response, "Failed to list DNS records"));
+            }
+            return response;
+        } catch (WebClientResponseException e) {
+            logger.error("Cloudflare API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
+            throw new RuntimeException("Cloudflare API error: " + e.getMessage());
+        }
+    }
+
+    private CloudflareDnsRecord fetchByName(String hostname) {
+        try {
+            return fetchByNameAsync(hostname).block();
+        } catch (Exception e) {
+            logger.warn("Error looking up DNS record {}: {}", hostname, e.getMessage());
+            return null;
+        }
+    }
+
+    private Mono<CloudflareDnsRecord> fetchByNameAsync(String hostname) {
+        return webClient
+                .get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/zones/{zoneId}/dns_records")
+                        .queryParam("name", hostname)
+                        .build(cloudflareConfig.getZoneId()))
+                .retrieve()
+                .bodyToMono(CloudflareApiTypes.DNS_RECORD_LIST)
+                .timeout(Duration.ofSeconds(30))
+                .retryWhen(cloudflareConfig.retrySpec())
+                .flatMap(response -> {
+                    if (!Boolean.TRUE.equals(response.getSuccess())) {
+                        logger.warn("DNS lookup for {} failed: {}", hostname, errorMessage(response, "no response"));
+                        return Mono.empty();
+                    }
+                    List<CloudflareDnsRecord> records = response.getResult();
+                    return records == null || records.isEmpty() ? Mono.empty() : Mono.just(records.get(0));
+                });
+    }
+
+    private static String errorMessage(CloudflareApiResponse<?> response, String fallback) {
+        if (response != null && response.getErrors() != null && !response.getErrors().isEmpty()) {
+            return response.getErrors().get(0).getMessage();
+        }
+        return fallback;
+    }
+
+    private static String key(String hostname) {
+        return hostname.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Entry {
+        private final CloudflareDnsRecord record;
+        private final long indexedNanos;
+
+        private Entry(CloudflareDnsRecord record, long indexedNanos) {
+            this.record = record;
+            this.indexedNanos = indexedNanos;
+        }
+    }
+}
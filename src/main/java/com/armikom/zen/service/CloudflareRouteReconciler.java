@@ -0,0 +1,323 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.config.CloudflareConfig;
+import com.armikom.zen.config.CloudflareRateLimiter;
+import com.armikom.zen.dto.CloudflareDnsRecord;
+import com.armikom.zen.dto.CloudflareResponse;
+import com.armikom.zen.dto.SimpleTunnelConfiguration.SimpleIngressRule;
+import com.armikom.zen.enums.CloudflareRequestPriority;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the preview DNS records and tunnel ingress rules in line with the running preview containers.
+ * Routes are only created while a preview is generated and never removed with it, so this periodically compares the
+ * running {@code myzen-*} containers and the Firestore projects with the Cloudflare state:
+ * routes of previews that stay gone for longer than the grace period are pruned, and running previews of existing
+ * projects get missing routes back. Ingress changes are coalesced into one configuration update by the
+ * {@link TunnelConfigurationManager} and DNS records are deleted in batches; all of it runs at bulk priority.
+ * Only hostnames of the form {@code myzen-<projectId>.armikom.com} are ever touched; in wildcard routing mode
+ * nothing is repaired.
+ */
+@Service
+public class CloudflareRouteReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(CloudflareRouteReconciler.class);
+
+    private static final long FIRESTORE_TIMEOUT_SECONDS = 30;
+    private static final long UPDATE_TIMEOUT_SECONDS = 300;
+
+    private static final String HOSTNAME_SUFFIX = "." + PreviewService.PREVIEW_DOMAIN;
+
+    private final DockerService dockerService;
+    private final Firestore firestore;
+    private final CloudflareService cloudflareService;
+    private final CloudflareDnsIndex dnsIndex;
+    private final TunnelConfigurationManager tunnelConfigurationManager;
+    private final CloudflareConfig cloudflareConfig;
+    private final PreviewRoutingTable previewRoutingTable;
+    private final boolean enabled;
+    private final Duration gracePeriod;
+
+    /**
+     * Project ids (lower-cased) whose routes are stale, with the time they were first seen stale
+     */
+    private final Map<String, Instant> staleSince = new ConcurrentHashMap<>();
+
+    public CloudflareRouteReconciler(DockerService dockerService, Firestore firestore, CloudflareService cloudflareService,
+                                     CloudflareDnsIndex dnsIndex, TunnelConfigurationManager tunnelConfigurationManager,
+                                     CloudflareConfig cloudflareConfig, PreviewRoutingTable previewRoutingTable,
+                                     @Value("${cloudflare.reconciler.enabled:false}") boolean enabled,
+                                     @Value("${cloudflare.reconciler.grace-period:PT30M}") Duration gracePeriod) {
+        this.dockerService = dockerService;
+        this.firestore = firestore;
+        this.cloudflareService = cloudflareService;
+        this.dnsIndex = dnsIndex;
+        this.tunnelConfigurationManager = tunnelConfigurationManager;
+        this.cloudflareConfig = cloudflareConfig;
+        this.previewRoutingTable = previewRoutingTable;
+        this.enabled = enabled;
+        this.gracePeriod = gracePeriod;
+    }
+
+    @Scheduled(initialDelayString = "${cloudflare.reconciler.initial-delay:PT2M}",
+            fixedDelayString = "${cloudflare.reconciler.interval:PT10M}")
+    public void scheduledReconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (Exception e) {
+            logger.error("Cloudflare route reconciliation failed", e);
+        }
+    }
+
+    /**
+     * Runs one reconciliation pass
+     * @return What was changed, or null if the pass was skipped because the running containers are unknown
+     */
+    public Plan reconcile() {
+        long startTime = System.currentTimeMillis();
+
+        // Without the container list every route would look stale, so nothing is done
+        Set<String> containerNames = dockerService.listRunningContainerNames(PreviewService.PREVIEW_CONTAINER_PREFIX);
+        if (containerNames == null) {
+            logger.warn("Skipping Cloudflare route reconciliation: running containers could not be listed");
+            return null;
+        }
+        Map<String, String> running = new HashMap<>();
+        for (String name : containerNames) {
+            String projectId = name.substring(PreviewService.PREVIEW_CONTAINER_PREFIX.length());
+            running.put(key(projectId), projectId);
+        }
+
+        Set<String> projects = loadProjectIds();
+
+        // Hostnames are kept as written, since ingress rules are matched case-sensitively
+        Map<String, String> routedHostnames = new HashMap<>();
+        for (SimpleIngressRule rule : tunnelConfigurationManager.getIngress(CloudflareRequestPriority.BULK)) {
+            String projectId = projectIdOf(rule.getHostname());
+            if (projectId != null) {
+                routedHostnames.put(projectId, rule.getHostname());
+            }
+        }
+
+        // Only records pointing at this tunnel are ours to delete
+        String tunnelTarget = cloudflareConfig.getTunnelId() + ".cfargotunnel.com";
+        Map<String, String> dnsRecordIds = new HashMap<>();
+        for (CloudflareDnsRecord record : dnsIndex.sync()) {
+            String projectId = projectIdOf(record.getName());
+            if (projectId != null && "CNAME".equals(record.getType()) && tunnelTarget.equals(record.getContent())) {
+                dnsRecordIds.put(projectId, record.getId());
+            }
+        }
+
+        Plan plan = plan(running, projects, routedHostnames.keySet(), dnsRecordIds.keySet(), staleSince, Instant.now(), gracePeriod);
+        if (previewRoutingTable.isWildcard()) {
+            // The wildcard route serves running previews; only leftover dedicated routes are pruned
+            plan.addRoutes.clear();
+            plan.addDnsRecords.clear();
+        }
+        if (plan.isEmpty()) {
+            logger.info("Cloudflare routes are in sync with {} running previews ({} ms)",
+                    running.size(), System.currentTimeMillis() - startTime);
+            return plan;
+        }
+        logger.info("Reconciling Cloudflare routes: removing routes {} and DNS records {}, adding routes {} and DNS records {}",
+                plan.getRemoveRoutes(), plan.getRemoveDnsRecords(), plan.getAddRoutes(), plan.getAddDnsRecords());
+
+        // The tunnel manager writes all of these in one configuration update
+        List<CompletableFuture<CloudflareResponse>> tunnelUpdates = new ArrayList<>();
+        for (String projectId : plan.getRemoveRoutes()) {
+            tunnelUpdates.add(tunnelConfigurationManager.removeRoute(routedHostnames.get(projectId),
+                    CloudflareRequestPriority.BULK));
+        }
+        for (String projectId : plan.getAddRoutes()) {
+            tunnelUpdates.add(tunnelConfigurationManager.addRoute(PreviewService.previewHostname(projectId),
+                    "http://" + PreviewService.previewContainerName(projectId) + ":" + PreviewService.PREVIEW_PORT, null,
+                    CloudflareRequestPriority.BULK));
+        }
+
+        if (!plan.getRemoveDnsRecords().isEmpty()) {
+            List<String> recordIds = plan.getRemoveDnsRecords().stream().map(dnsRecordIds::get).toList();
+            CloudflareResponse response = cloudflareService.deleteDnsRecords(recordIds);
+            if (!response.isSuccess()) {
+                logger.warn("Pruning stale DNS records failed: {}", response.getMessage());
+            }
+        }
+        for (String projectId : plan.getAddDnsRecords()) {
+            CloudflareResponse response = cloudflareService
+                    .createTunnelDnsRecordAsync(PreviewService.previewHostname(projectId), PreviewService.PREVIEW_PORT,
+                            "http", PreviewService.previewContainerName(projectId))
+                    .contextWrite(context -> context.put(CloudflareRateLimiter.PRIORITY_ATTRIBUTE, CloudflareRequestPriority.BULK))
+                    .block();
+            if (response != null && !response.isSuccess()) {
+                logger.warn("Repairing DNS record for project {} failed: {}", projectId, response.getMessage());
+            }
+        }
+
+        for (CompletableFuture<CloudflareResponse> update : tunnelUpdates) {
+            try {
+                CloudflareResponse response = update.get(UPDATE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                if (!response.isSuccess()) {
+                    logger.warn("Tunnel route reconciliation failed: {}", response.getMessage());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while reconciling tunnel routes", e);
+            } catch (Exception e) {
+                logger.warn("Tunnel route reconciliation failed: {}", e.getMessage());
+            }
+        }
+
+        logger.info("Cloudflare route reconciliation finished in {} ms", System.currentTimeMillis() - startTime);
+        return plan;
+    }
+
+    /**
+     * Decides what to change. A project's routes are live while its container runs and, if the projects are known,
+     * the project exists; non-live routes are pruned once they have been stale for the grace period, which leaves
+     * previews that are still building alone.
+     * @param running Running preview containers by lower-cased project id, mapped to the project id as named
+     * @param projects Lower-cased ids of the Firestore projects, or null if they are unknown
+     * @param routed Lower-cased project ids with a tunnel ingress rule
+     * @param resolved Lower-cased project ids with a DNS record
+     * @param staleSince Updated with the time each stale project was first seen stale
+     */
+    static Plan plan(Map<String, String> running, Set<String> projects, Set<String> routed, Set<String> resolved,
+                     Map<String, Instant> staleSince, Instant now, Duration gracePeriod) {
+        Plan plan = new Plan();
+
+        Set<String> stale = new HashSet<>();
+        Set<String> candidates = new HashSet<>(routed);
+        candidates.addAll(resolved);
+        for (String projectId : candidates) {
+            boolean live = running.containsKey(projectId) && (projects == null || projects.contains(projectId));
+            if (live) {
+                continue;
+            }
+            stale.add(projectId);
+            Instant since = staleSince.computeIfAbsent(projectId, id -> now);
+            if (Duration.between(since, now).compareTo(gracePeriod) >= 0) {
+                if (routed.contains(projectId)) {
+                    plan.removeRoutes.add(projectId);
+                }
+                if (resolved.contains(projectId)) {
+                    plan.removeDnsRecords.add(projectId);
+                }
+            }
+        }
+        staleSince.keySet().retainAll(stale);
+
+        // Without the project list a running container alone is not enough to bring routes back
+        if (projects != null) {
+            for (Map.Entry<String, String> entry : running.entrySet()) {
+                if (!projects.contains(entry.getKey())) {
+                    continue;
+                }
+                if (!routed.contains(entry.getKey())) {
+                    plan.addRoutes.add(entry.getValue());
+                }
+                if (!resolved.contains(entry.getKey())) {
+                    plan.addDnsRecords.add(entry.getValue());
+                }
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Lower-cased ids of all projects; a project is known by its document id and its {@code id} field
+     * @return The ids, or null if Firestore could not be queried
+     */
+    private Set<String> loadProjectIds() {
+        try {
+            Set<String> ids = new HashSet<>();
+            for (QueryDocumentSnapshot document : firestore.collection("projects").select("id").get()
+                    .get(FIRESTORE_TIMEOUT_SECONDS, TimeUnit.SECONDS).getDocuments()) {
+                ids.add(key(document.getId()));
+                String id = document.getString("id");
+                if (id != null && !id.isBlank()) {
+                    ids.add(key(id));
+                }
+            }
+            return ids;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            logger.warn("Could not load projects from Firestore, reconciling by running containers only: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Lower-cased project id of a preview hostname, or null if the hostname is not a preview's
+     */
+    static String projectIdOf(String hostname) {
+        if (hostname == null) {
+            return null;
+        }
+        String name = key(hostname);
+        if (!name.startsWith(PreviewService.PREVIEW_CONTAINER_PREFIX) || !name.endsWith(HOSTNAME_SUFFIX)) {
+            return null;
+        }
+        String projectId = name.substring(PreviewService.PREVIEW_CONTAINER_PREFIX.length(), name.length() - HOSTNAME_SUFFIX.length());
+        // Deeper subdomains are not previews
+        return projectId.isEmpty() || projectId.contains(".") ? null : projectId;
+    }
+
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Changes decided by one reconciliation pass, as project ids
+     */
+    public static final class Plan {
+        private final Set<String> removeRoutes = new TreeSet<>();
+        private final Set<String> removeDnsRecords = new TreeSet<>();
+        private final Set<String> addRoutes = new TreeSet<>();
+        private final Set<String> addDnsRecords = new TreeSet<>();
+
+        public Set<String> getRemoveRoutes() {
+            return removeRoutes;
+        }
+
+        public Set<String> getRemoveDnsRecords() {
+            return removeDnsRecords;
+        }
+
+        public Set<String> getAddRoutes() {
+            return addRoutes;
+        }
+
+        public Set<String> getAddDnsRecords() {
+            return addDnsRecords;
+        }
+
+        public boolean isEmpty() {
+            return removeRoutes.isEmpty() && removeDnsRecords.isEmpty() && addRoutes.isEmpty() && addDnsRecords.isEmpty();
+        }
+    }
+}
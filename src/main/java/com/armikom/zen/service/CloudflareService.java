@@ -1,35 +1,48 @@
 package com.armikom.zen.service;
 
 import com.armikom.zen.config.CloudflareConfig;
+import com.armikom.zen.config.CloudflareRateLimiter;
 import com.armikom.zen.dto.*;
+import com.armikom.zen.enums.CloudflareRequestPriority;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @Service
 public class CloudflareService {
 
     private static final Logger logger = LoggerFactory.getLogger(CloudflareService.class);
+    private static final long TUNNEL_UPDATE_TIMEOUT_SECONDS = 120;
+    // Records per request of the DNS batch endpoint
+    private static final int DNS_BATCH_SIZE = 100;
     
     private final WebClient webClient;
     private final CloudflareConfig cloudflareConfig;
     private final ObjectMapper objectMapper;
+    private final CloudflareDnsIndex dnsIndex;
+    private final TunnelConfigurationManager tunnelConfigurationManager;
 
     @Autowired
-    public CloudflareService(WebClient cloudflareWebClient, CloudflareConfig cloudflareConfig, ObjectMapper objectMapper) {
+    public CloudflareService(WebClient cloudflareWebClient, CloudflareConfig cloudflareConfig, ObjectMapper objectMapper,
+                             CloudflareDnsIndex dnsIndex, TunnelConfigurationManager tunnelConfigurationManager) {
         this.webClient = cloudflareWebClient;
         this.cloudflareConfig = cloudflareConfig;
         this.objectMapper = objectMapper;
+        this.dnsIndex = dnsIndex;
+        this.tunnelConfigurationManager = tunnelConfigurationManager;
     }
 
     /**
@@ -45,163 +58,163 @@ public class CloudflareService {
      * If the record exists with different content, updates it
      */
     public CloudflareResponse createTunnelDnsRecord(String dnsName, Integer port, String protocol, String host) {
-        try {
-            logger.info("Creating DNS record for {} pointing to {}://{}:{} (idempotent)", dnsName, protocol, host != null ? host : "localhost", port);
-            
-            // Define the expected content
-            String expectedContent = cloudflareConfig.getTunnelId() + ".cfargotunnel.com";
-            
-            // First check if DNS record already exists
-            CloudflareDnsRecord existingRecord = findExistingDnsRecord(dnsName);
-            if (existingRecord != null) {
-                // Check if the existing record has the correct content
-                if (expectedContent.equals(existingRecord.getContent()) && 
-                    "CNAME".equals(existingRecord.getType()) &&
-                    Boolean.TRUE.equals(existingRecord.getProxied())) {
-                    
-                    logger.info("DNS record for {} already exists with correct configuration, returning success", dnsName);
-                    String targetUrl = protocol + "://" + (host != null ? host : "localhost") + ":" + port;
-                    return new CloudflareResponse(
-                        true,
-                        "DNS record already exists with correct configuration (idempotent operation). Record ID: " + existingRecord.getId(),
-                        dnsName,
-                        existingRecord.getId(),
-                        targetUrl
-                    );
-                } else {
+        return createTunnelDnsRecordAsync(dnsName, port, protocol, host).block();
+    }
+
+    /**
+     * Non-blocking variant of {@link #createTunnelDnsRecord(String, Integer, String, String)}; never emits an error
+     */
+    public Mono<CloudflareResponse> createTunnelDnsRecordAsync(String dnsName, Integer port, String protocol, String host) {
+        logger.info("Creating DNS record for {} pointing to {}://{}:{} (idempotent)", dnsName, protocol, host != null ? host : "localhost", port);
+
+        // Cloudflare tunnels are addressed as <tunnelId>.cfargotunnel.com
+        String expectedContent = cloudflareConfig.getTunnelId() + ".cfargotunnel.com";
+        String targetUrl = protocol + "://" + (host != null ? host : "localhost") + ":" + port;
+
+        return findExistingDnsRecord(dnsName)
+                .flatMap(existingRecord -> {
+                    // Check if the existing record has the correct content
+                    if (expectedContent.equals(existingRecord.getContent()) &&
+                        "CNAME".equals(existingRecord.getType()) &&
+                        Boolean.TRUE.equals(existingRecord.getProxied())) {
+
+                        logger.info("DNS record for {} already exists with correct configuration, returning success", dnsName);
+                        return Mono.just(new CloudflareResponse(
+                            true,
+                            "DNS record already exists with correct configuration (idempotent operation). Record ID: " + existingRecord.getId(),
+                            dnsName,
+                            existingRecord.getId(),
+                            targetUrl
+                        ));
+                    }
+
                     // Record exists but has wrong configuration - update it
-                    logger.info("DNS record for {} exists but has incorrect configuration. Expected: {}, Actual: {}. Updating...", 
+                    logger.info("DNS record for {} exists but has incorrect configuration. Expected: {}, Actual: {}. Updating...",
                         dnsName, expectedContent, existingRecord.getContent());
-                    
-                    CloudflareResponse updateResponse = updateDnsRecord(existingRecord.getId(), dnsName, expectedContent);
-                    if (updateResponse.isSuccess()) {
-                        String targetUrl = protocol + "://" + (host != null ? host : "localhost") + ":" + port;
+                    return updateDnsRecord(existingRecord.getId(), dnsName, expectedContent)
+                            .map(updateResponse -> !updateResponse.isSuccess() ? updateResponse : new CloudflareResponse(
+                                true,
+                                "DNS record updated to correct configuration (idempotent operation). Record ID: " + existingRecord.getId(),
+                                dnsName,
+                                existingRecord.getId(),
+                                targetUrl
+                            ));
+                })
+                .switchIfEmpty(Mono.defer(() -> createDnsRecord(dnsName, expectedContent, targetUrl)))
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    logger.error("Cloudflare API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
+                    return Mono.just(new CloudflareResponse(false, "Cloudflare API error: " + e.getMessage()));
+                })
+                .onErrorResume(e -> {
+                    logger.error("Unexpected error creating DNS record", e);
+                    return Mono.just(new CloudflareResponse(false, "Unexpected error: " + e.getMessage()));
+                });
+    }
+
+    /**
+     * Finds an existing DNS record by name using the local DNS index
+     */
+    private Mono<CloudflareDnsRecord> findExistingDnsRecord(String dnsName) {
+        return dnsIndex.findAsync(dnsName)
+                .doOnNext(record -> logger.debug("Found existing DNS record: {} -> {} (Type: {}, Proxied: {})",
+                    record.getName(), record.getContent(), record.getType(), record.getProxied()));
+    }
+
+    private Mono<CloudflareResponse> createDnsRecord(String dnsName, String content, String targetUrl) {
+        CloudflareDnsRecord dnsRecord = new CloudflareDnsRecord();
+        dnsRecord.setName(dnsName);
+        dnsRecord.setContent(content);
+        dnsRecord.setType("CNAME");
+        dnsRecord.setProxied(true);
+
+        return postDnsRecord(dnsRecord)
+                // The record may have been created even though the response was lost; posting it again would then
+                // fail because it already exists
+                .onErrorResume(CloudflareConfig::isRetryable, e -> {
+                    logger.warn("Creating DNS record {} failed ({}), checking whether it exists", dnsName, e.getMessage());
+                    return dnsIndex.lookupAsync(dnsName)
+                            .map(existingRecord -> {
+                                CloudflareApiResponse<CloudflareDnsRecord> response = new CloudflareApiResponse<>();
+                                response.setSuccess(true);
+                                response.setResult(existingRecord);
+                                return response;
+                            })
+                            .switchIfEmpty(Mono.defer(() -> postDnsRecord(dnsRecord)));
+                })
+                .map(response -> {
+                    if (Boolean.TRUE.equals(response.getSuccess())) {
+                        logger.info("Successfully created new DNS record with ID: {}", response.getResult().getId());
+                        dnsIndex.put(response.getResult());
                         return new CloudflareResponse(
                             true,
-                            "DNS record updated to correct configuration (idempotent operation). Record ID: " + existingRecord.getId(),
+                            "DNS record created successfully. Please configure the tunnel to route " + dnsName + " to " + targetUrl,
                             dnsName,
-                            existingRecord.getId(),
+                            response.getResult().getId(),
                             targetUrl
                         );
-                    } else {
-                        return updateResponse;
                     }
-                }
-            }
-            
-            // Create the DNS record
-            CloudflareDnsRecord dnsRecord = new CloudflareDnsRecord();
-            dnsRecord.setName(dnsName);
-            // Point to the tunnel domain - Cloudflare tunnels typically use format like tunnelid.cfargotunnel.com
-            dnsRecord.setContent(cloudflareConfig.getTunnelId() + ".cfargotunnel.com");
-            dnsRecord.setType("CNAME");
-            dnsRecord.setProxied(true);
-            
-            String url = "/zones/" + cloudflareConfig.getZoneId() + "/dns_records";
-            
-            CloudflareApiResponse<CloudflareDnsRecord> response = webClient
-                    .post()
-                    .uri(url)
-                    .body(BodyInserters.fromValue(dnsRecord))
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<CloudflareApiResponse<CloudflareDnsRecord>>() {})
-                    .timeout(Duration.ofSeconds(30))
-                    .block();
-
-            if (response != null && Boolean.TRUE.equals(response.getSuccess())) {
-                logger.info("Successfully created new DNS record with ID: {}", response.getResult().getId());
-                
-                String targetUrl = protocol + "://" + (host != null ? host : "localhost") + ":" + port;
-                
-                return new CloudflareResponse(
-                    true,
-                    "DNS record created successfully. Please configure the tunnel to route " + dnsName + " to " + targetUrl,
-                    dnsName,
-                    response.getResult().getId(),
-                    targetUrl
-                );
-            } else {
-                String errorMessage = "Failed to create DNS record";
-                if (response != null && response.getErrors() != null && !response.getErrors().isEmpty()) {
-                    errorMessage = response.getErrors().get(0).getMessage();
-                }
-                logger.error("Failed to create DNS record: {}", errorMessage);
-                return new CloudflareResponse(false, errorMessage);
-            }
-            
-        } catch (WebClientResponseException e) {
-            logger.error("Cloudflare API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            return new CloudflareResponse(false, "Cloudflare API error: " + e.getMessage());
-        } catch (Exception e) {
-            logger.error("Unexpected error creating DNS record", e);
-            return new CloudflareResponse(false, "Unexpected error: " + e.getMessage());
-        }
+                    String errorMessage = errorMessage(response, "Failed to create DNS record");
+                    logger.error("Failed to create DNS record: {}", errorMessage);
+                    return new CloudflareResponse(false, errorMessage);
+                });
     }
 
     /**
-     * Finds an existing DNS record by name
+     * Posts a new DNS record; only retried when the request was not processed, since a create is not idempotent
      */
-    private CloudflareDnsRecord findExistingDnsRecord(String dnsName) {
-        try {
-            List<CloudflareDnsRecord> records = listDnsRecords();
-            for (CloudflareDnsRecord record : records) {
-                if (dnsName.equals(record.getName())) {
-                    logger.debug("Found existing DNS record: {} -> {} (Type: {}, Proxied: {})", 
-                        record.getName(), record.getContent(), record.getType(), record.getProxied());
-                    return record;
-                }
-            }
-            return null;
-        } catch (Exception e) {
-            logger.warn("Error checking for existing DNS records: {}", e.getMessage());
-            return null;
-        }
+    private Mono<CloudflareApiResponse<CloudflareDnsRecord>> postDnsRecord(CloudflareDnsRecord dnsRecord) {
+        String url = "/zones/" + cloudflareConfig.getZoneId() + "/dns_records";
+
+        return webClient
+                .post()
+                .uri(url)
+                .body(BodyInserters.fromValue(dnsRecord))
+                .retrieve()
+                .bodyToMono(CloudflareApiTypes.DNS_RECORD)
+                .timeout(Duration.ofSeconds(30))
+                .retryWhen(cloudflareConfig.resendRetrySpec());
     }
 
     /**
      * Updates an existing DNS record with new content
      */
-    private CloudflareResponse updateDnsRecord(String recordId, String dnsName, String newContent) {
-        try {
-            logger.info("Updating DNS record {} with new content: {}", recordId, newContent);
-            
-            CloudflareDnsRecord updateRecord = new CloudflareDnsRecord();
-            updateRecord.setName(dnsName);
-            updateRecord.setContent(newContent);
-            updateRecord.setType("CNAME");
-            updateRecord.setProxied(true);
-            updateRecord.setTtl(1); // Auto TTL
-            
-            String url = "/zones/" + cloudflareConfig.getZoneId() + "/dns_records/" + recordId;
-            
-            CloudflareApiResponse<CloudflareDnsRecord> response = webClient
-                    .put()
-                    .uri(url)
-                    .body(BodyInserters.fromValue(updateRecord))
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<CloudflareApiResponse<CloudflareDnsRecord>>() {})
-                    .timeout(Duration.ofSeconds(30))
-                    .block();
+    private Mono<CloudflareResponse> updateDnsRecord(String recordId, String dnsName, String newContent) {
+        logger.info("Updating DNS record {} with new content: {}", recordId, newContent);
+
+        CloudflareDnsRecord updateRecord = new CloudflareDnsRecord();
+        updateRecord.setName(dnsName);
+        updateRecord.setContent(newContent);
+        updateRecord.setType("CNAME");
+        updateRecord.setProxied(true);
+        updateRecord.setTtl(1); // Auto TTL
+
+        String url = "/zones/" + cloudflareConfig.getZoneId() + "/dns_records/" + recordId;
+
+        return webClient
+                .put()
+                .uri(url)
+                .body(BodyInserters.fromValue(updateRecord))
+                .retrieve()
+                .bodyToMono(CloudflareApiTypes.DNS_RECORD)
+                .timeout(Duration.ofSeconds(30))
+                .retryWhen(cloudflareConfig.retrySpec())
+                .map(response -> {
+                    if (Boolean.TRUE.equals(response.getSuccess())) {
+                        logger.info("Successfully updated DNS record {} to point to {}", recordId, newContent);
+                        dnsIndex.put(response.getResult());
+                        return new CloudflareResponse(true, "DNS record updated successfully");
+                    }
+                    String errorMessage = errorMessage(response, "Failed to update DNS record");
+                    logger.error("Failed to update DNS record: {}", errorMessage);
+                    return new CloudflareResponse(false, errorMessage);
+                });
+    }
 
-            if (response != null && Boolean.TRUE.equals(response.getSuccess())) {
-                logger.info("Successfully updated DNS record {} to point to {}", recordId, newContent);
-                return new CloudflareResponse(true, "DNS record updated successfully");
-            } else {
-                String errorMessage = "Failed to update DNS record";
-                if (response != null && response.getErrors() != null && !response.getErrors().isEmpty()) {
-                    errorMessage = response.getErrors().get(0).getMessage();
-                }
-                logger.error("Failed to update DNS record: {}", errorMessage);
-                return new CloudflareResponse(false, errorMessage);
-            }
-            
-        } catch (WebClientResponseException e) {
-            logger.error("Cloudflare API error updating DNS record: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            return new CloudflareResponse(false, "Cloudflare API error: " + e.getMessage());
-        } catch (Exception e) {
-            logger.error("Unexpected error updating DNS record", e);
-            return new CloudflareResponse(false, "Unexpected error: " + e.getMessage());
+    private static String errorMessage(CloudflareApiResponse<?> response, String fallback) {
+        if (response.getErrors() != null && !response.getErrors().isEmpty()) {
+            return response.getErrors().get(0).getMessage();
         }
+        return fallback;
     }
 
     /**
@@ -217,12 +230,13 @@ public class CloudflareService {
                     .delete()
                     .uri(url)
                     .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<CloudflareApiResponse<Object>>() {})
+                    .bodyToMono(CloudflareApiTypes.OBJECT)
                     .timeout(Duration.ofSeconds(30))
                     .block();
 
             if (response != null && Boolean.TRUE.equals(response.getSuccess())) {
                 logger.info("Successfully deleted DNS record with ID: {}", recordId);
+                dnsIndex.remove(recordId);
                 return new CloudflareResponse(true, "DNS record deleted successfully");
             } else {
                 String errorMessage = "Failed to delete DNS record";
@@ -243,37 +257,62 @@ public class CloudflareService {
     }
 
     /**
-     * Lists all DNS records for the configured zone
+     * Deletes DNS records with Cloudflare's batch endpoint, {@value #DNS_BATCH_SIZE} records per request.
+     * Each request is applied atomically by Cloudflare; a failed request does not stop the remaining ones.
+     * Sent with {@link CloudflareRequestPriority#BULK} priority.
+     */
+    public CloudflareResponse deleteDnsRecords(List<String> recordIds) {
+        int deleted = 0;
+        String lastError = null;
+        for (int from = 0; from < recordIds.size(); from += DNS_BATCH_SIZE) {
+            List<String> chunk = recordIds.subList(from, Math.min(from + DNS_BATCH_SIZE, recordIds.size()));
+            try {
+                logger.info("Deleting {} DNS records in one batch", chunk.size());
+
+                Map<String, Object> body = Map.of("deletes", chunk.stream().map(id -> Map.of("id", id)).toList());
+                CloudflareApiResponse<Object> response = webClient
+                        .post()
+                        .uri("/zones/{zoneId}/dns_records/batch", cloudflareConfig.getZoneId())
+                        .attribute(CloudflareRateLimiter.PRIORITY_ATTRIBUTE, CloudflareRequestPriority.BULK)
+                        .body(BodyInserters.fromValue(body))
+                        .retrieve()
+                        .bodyToMono(CloudflareApiTypes.OBJECT)
+                        .timeout(Duration.ofSeconds(60))
+                        .block();
+
+                if (response != null && Boolean.TRUE.equals(response.getSuccess())) {
+                    chunk.forEach(dnsIndex::remove);
+                    deleted += chunk.size();
+                } else {
+                    lastError = response != null ? errorMessage(response, "Failed to delete DNS records") : "Failed to delete DNS records";
+                    logger.error("Failed to delete DNS record batch: {}", lastError);
+                }
+            } catch (WebClientResponseException e) {
+                logger.error("Cloudflare API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
+                lastError = "Cloudflare API error: " + e.getMessage();
+            } catch (Exception e) {
+                logger.error("Unexpected error deleting DNS records", e);
+                lastError = "Unexpected error: " + e.getMessage();
+            }
+        }
+
+        if (lastError != null) {
+            return new CloudflareResponse(false, "Deleted " + deleted + " of " + recordIds.size() + " DNS records: " + lastError);
+        }
+        return new CloudflareResponse(true, "Deleted " + deleted + " DNS records");
+    }
+
+    /**
+     * Lists all DNS records for the configured zone (all pages) and refreshes the DNS index
      */
     public List<CloudflareDnsRecord> listDnsRecords() {
         try {
             logger.info("Listing DNS records for zone: {}", cloudflareConfig.getZoneId());
             
-            String url = "/zones/" + cloudflareConfig.getZoneId() + "/dns_records";
-            
-            CloudflareApiResponse<List<CloudflareDnsRecord>> response = webClient
-                    .get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<CloudflareApiResponse<List<CloudflareDnsRecord>>>() {})
-                    .timeout(Duration.ofSeconds(30))
-                    .block();
-
-            if (response != null && Boolean.TRUE.equals(response.getSuccess())) {
-                logger.info("Successfully retrieved {} DNS records", response.getResult().size());
-                return response.getResult();
-            } else {
-                String errorMessage = "Failed to list DNS records";
-                if (response != null && response.getErrors() != null && !response.getErrors().isEmpty()) {
-                    errorMessage = response.getErrors().get(0).getMessage();
-                }
-                logger.error("Failed to list DNS records: {}", errorMessage);
-                throw new RuntimeException(errorMessage);
-            }
+            List<CloudflareDnsRecord> records = dnsIndex.sync();
+            logger.info("Successfully retrieved {} DNS records", records.size());
+            return records;
             
-        } catch (WebClientResponseException e) {
-            logger.error("Cloudflare API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            throw new RuntimeException("Cloudflare API error: " + e.getMessage());
         } catch (Exception e) {
             logger.error("Unexpected error listing DNS records", e);
             throw new RuntimeException("Unexpected error: " + e.getMessage());
@@ -305,34 +344,24 @@ public class CloudflareService {
             
             String url = "/accounts/" + getAccountId() + "/cfd_tunnel/" + cloudflareConfig.getTunnelId() + "/configurations";
             
-            CloudflareApiResponse<Object> response = webClient
+            CloudflareApiResponse<TunnelConfigurationEnvelope<CloudflareTunnelConfiguration>> response = webClient
                     .get()
                     .uri(url)
                     .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<CloudflareApiResponse<Object>>() {})
+                    .bodyToMono(CloudflareApiTypes.TUNNEL_CONFIGURATION)
                     .timeout(Duration.ofSeconds(30))
                     .block();
 
             if (response != null && Boolean.TRUE.equals(response.getSuccess())) {
                 logger.info("Successfully retrieved tunnel configuration");
                 
-                // The response might be wrapped in a "config" object or be a direct configuration
-                Object result = response.getResult();
-                if (result instanceof java.util.Map) {
-                    @SuppressWarnings("unchecked")
-                    java.util.Map<String, Object> resultMap = (java.util.Map<String, Object>) result;
-                    if (resultMap.containsKey("config")) {
-                        // Configuration is wrapped
-                        return objectMapper.convertValue(resultMap.get("config"), CloudflareTunnelConfiguration.class);
-                    } else {
-                        // Configuration is direct
-                        return objectMapper.convertValue(result, CloudflareTunnelConfiguration.class);
-                    }
-                } else {
-                    // If it's not expected to be retrieved, return a new empty configuration
-                    logger.warn("No existing tunnel configuration found, creating new one");
-                    return new CloudflareTunnelConfiguration();
+                TunnelConfigurationEnvelope<CloudflareTunnelConfiguration> result = response.getResult();
+                if (result != null && result.getConfig() != null) {
+                    return result.getConfig();
                 }
+                // If it's not expected to be retrieved, return a new empty configuration
+                logger.warn("No existing tunnel configuration found, creating new one");
+                return new CloudflareTunnelConfiguration();
             } else {
                 String errorMessage = "Failed to get tunnel configuration";
                 if (response != null && response.getErrors() != null && !response.getErrors().isEmpty()) {
@@ -367,37 +396,30 @@ public class CloudflareService {
             String url = "/accounts/" + getAccountId() + "/cfd_tunnel/" + cloudflareConfig.getTunnelId() + "/configurations";
             
             // Wrap the configuration in the expected format
-            var configWrapper = new java.util.HashMap<String, Object>();
-            configWrapper.put("config", configuration);
+            var configWrapper = new TunnelConfigurationEnvelope<>(configuration);
             
-            // Log the payload being sent for debugging
-            try {
-                String payloadJson = objectMapper.writeValueAsString(configWrapper);
-                logger.info("Sending tunnel configuration payload to URL: {}", url);
-                logger.info("Payload: {}", payloadJson);
-            } catch (JsonProcessingException e) {
-                logger.warn("Failed to serialize payload for logging: {}", e.getMessage());
+            // The payload grows with every route, so it is only serialized for debugging
+            if (logger.isDebugEnabled()) {
+                try {
+                    logger.debug("Sending tunnel configuration payload to URL {}: {}", url, objectMapper.writeValueAsString(configWrapper));
+                } catch (JsonProcessingException e) {
+                    logger.debug("Failed to serialize payload for logging: {}", e.getMessage());
+                }
             }
             
-            CloudflareApiResponse<Object> response = webClient
+            CloudflareApiResponse<TunnelConfigurationEnvelope<CloudflareTunnelConfiguration>> response = webClient
                     .put()
                     .uri(url)
                     .body(BodyInserters.fromValue(configWrapper))
                     .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<CloudflareApiResponse<Object>>() {})
+                    .bodyToMono(CloudflareApiTypes.TUNNEL_CONFIGURATION)
                     .timeout(Duration.ofSeconds(30))
                     .block();
 
-            // Log the response for debugging
-            try {
-                String responseJson = objectMapper.writeValueAsString(response);
-                logger.info("Received response: {}", responseJson);
-            } catch (JsonProcessingException e) {
-                logger.warn("Failed to serialize response for logging: {}", e.getMessage());
-            }
-
             if (response != null && Boolean.TRUE.equals(response.getSuccess())) {
-                logger.info("Successfully updated tunnel configuration");
+                Long version = response.getResult() != null ? response.getResult().getVersion() : null;
+                int rules = configuration.getIngress() != null ? configuration.getIngress().size() : 0;
+                logger.info("Successfully updated tunnel configuration (version {}, {} rules)", version, rules);
                 return new CloudflareResponse(true, "Tunnel configuration updated successfully");
             } else {
                 String errorMessage = "Failed to update tunnel configuration";
@@ -426,281 +448,38 @@ public class CloudflareService {
     }
 
     /**
-     * Adds a new route to the tunnel configuration using simplified approach (idempotent)
-     * If the exact same route already exists, returns success without making changes
+     * Adds a new route to the tunnel configuration (idempotent)
+     * If the exact same route already exists, returns success without making changes.
+     * Routes requested concurrently are coalesced into a single configuration update by the {@link TunnelConfigurationManager}.
      */
     public CloudflareResponse addTunnelRoute(String hostname, Integer port, String protocol, String path, String host) {
-        try {
-            logger.info("Adding tunnel route: {} -> {}://{}:{} (idempotent)", hostname, protocol, host != null ? host : "localhost", port);
-            
-            // Get existing configuration first
-            SimpleTunnelConfiguration config = getExistingSimpleTunnelConfiguration();
-            
-            // Create the target service URL
-            String serviceUrl = protocol + "://" + (host != null ? host : "localhost") + ":" + port;
-            String targetPath = (path != null && !path.isEmpty() && !"/".equals(path)) ? path : null;
-            
-            // Check if exact same route already exists
-            SimpleTunnelConfiguration.SimpleIngressRule exactMatchRule = findExistingTunnelRoute(config, hostname, serviceUrl, targetPath);
-            if (exactMatchRule != null) {
-                logger.info("Tunnel route for {} -> {} already exists with exact configuration (idempotent operation)", hostname, serviceUrl);
-                return new CloudflareResponse(true, 
-                    "Tunnel route already exists with exact configuration (idempotent operation). Route: " + hostname + " -> " + serviceUrl);
-            }
-            
-            // Check if hostname exists with different service/path - update it
-            SimpleTunnelConfiguration.SimpleIngressRule existingHostnameRule = findExistingTunnelRouteByHostname(config, hostname);
-            if (existingHostnameRule != null) {
-                logger.info("Hostname {} exists with different configuration. " +
-                    "Current: {} -> {} (path: {}). " +
-                    "Updating to: {} -> {} (path: {})", 
-                    hostname, 
-                    existingHostnameRule.getHostname(), existingHostnameRule.getService(), existingHostnameRule.getPath(),
-                    hostname, serviceUrl, targetPath);
-            } else {
-                logger.info("Adding new tunnel route: {} -> {} (path: {})", hostname, serviceUrl, targetPath);
-            }
-            
-            // Create the new route
-            SimpleTunnelConfiguration.SimpleIngressRule newRule = new SimpleTunnelConfiguration.SimpleIngressRule();
-            newRule.setHostname(hostname);
-            newRule.setService(serviceUrl);
-            
-            if (targetPath != null) {
-                newRule.setPath(targetPath);
-            }
-            
-            // Remove any existing route for this hostname to avoid duplicates
-            config.getIngress().removeIf(rule -> hostname.equals(rule.getHostname()));
-            
-            // Remove catch-all rule temporarily
-            SimpleTunnelConfiguration.SimpleIngressRule catchAllRule = null;
-            for (int i = config.getIngress().size() - 1; i >= 0; i--) {
-                SimpleTunnelConfiguration.SimpleIngressRule rule = config.getIngress().get(i);
-                if (rule.getHostname() == null && "http_status:404".equals(rule.getService())) {
-                    catchAllRule = config.getIngress().remove(i);
-                    break;
-                }
-            }
-            
-            // Add the new rule
-            config.getIngress().add(newRule);
-            
-            // Add back catch-all rule (or create new one if it didn't exist)
-            if (catchAllRule == null) {
-                catchAllRule = new SimpleTunnelConfiguration.SimpleIngressRule();
-                catchAllRule.setService("http_status:404");
-            }
-            config.getIngress().add(catchAllRule);
-            
-            logger.info("Tunnel configuration now has {} ingress rules", config.getIngress().size());
-            
-            // Update configuration using simplified approach
-            return updateSimpleTunnelConfiguration(config);
-            
-        } catch (Exception e) {
-            logger.error("Error adding tunnel route", e);
-            return new CloudflareResponse(false, "Error adding tunnel route: " + e.getMessage());
-        }
-    }
-
-    /**
-     * Finds an existing tunnel route that matches hostname, service, and path
-     */
-    private SimpleTunnelConfiguration.SimpleIngressRule findExistingTunnelRoute(
-            SimpleTunnelConfiguration config, String hostname, String serviceUrl, String path) {
-        
-        for (SimpleTunnelConfiguration.SimpleIngressRule rule : config.getIngress()) {
-            if (hostname.equals(rule.getHostname()) && 
-                serviceUrl.equals(rule.getService())) {
-                
-                // Check path equality (both null or both equal)
-                boolean pathMatches = (path == null && rule.getPath() == null) ||
-                                    (path != null && path.equals(rule.getPath()));
-                
-                if (pathMatches) {
-                    logger.debug("Found exact matching tunnel route: {} -> {} (path: {})", 
-                        hostname, serviceUrl, path);
-                    return rule;
-                }
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Finds any existing tunnel route for a hostname (regardless of service/path)
-     */
-    private SimpleTunnelConfiguration.SimpleIngressRule findExistingTunnelRouteByHostname(
-            SimpleTunnelConfiguration config, String hostname) {
-        
-        for (SimpleTunnelConfiguration.SimpleIngressRule rule : config.getIngress()) {
-            if (hostname.equals(rule.getHostname())) {
-                logger.debug("Found existing tunnel route for hostname {}: {} -> {} (path: {})", 
-                    hostname, rule.getHostname(), rule.getService(), rule.getPath());
-                return rule;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Gets existing tunnel configuration and converts it to simplified format
-     */
-    private SimpleTunnelConfiguration getExistingSimpleTunnelConfiguration() {
-        try {
-            logger.info("Getting existing tunnel configuration for merging");
-            
-            String url = "/accounts/" + getAccountId() + "/cfd_tunnel/" + cloudflareConfig.getTunnelId() + "/configurations";
-            
-            CloudflareApiResponse<Object> response = webClient
-                    .get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<CloudflareApiResponse<Object>>() {})
-                    .timeout(Duration.ofSeconds(30))
-                    .block();
-
-            if (response != null && Boolean.TRUE.equals(response.getSuccess())) {
-                logger.info("Successfully retrieved existing tunnel configuration");
-                
-                Object result = response.getResult();
-                if (result instanceof java.util.Map) {
-                    @SuppressWarnings("unchecked")
-                    java.util.Map<String, Object> resultMap = (java.util.Map<String, Object>) result;
-                    
-                    SimpleTunnelConfiguration config = new SimpleTunnelConfiguration();
-                    
-                    if (resultMap.containsKey("config")) {
-                        @SuppressWarnings("unchecked")
-                        java.util.Map<String, Object> configMap = (java.util.Map<String, Object>) resultMap.get("config");
-                        
-                        if (configMap.containsKey("ingress")) {
-                            @SuppressWarnings("unchecked")
-                            java.util.List<java.util.Map<String, Object>> ingressList = 
-                                (java.util.List<java.util.Map<String, Object>>) configMap.get("ingress");
-                            
-                            for (java.util.Map<String, Object> ruleMap : ingressList) {
-                                SimpleTunnelConfiguration.SimpleIngressRule rule = new SimpleTunnelConfiguration.SimpleIngressRule();
-                                
-                                if (ruleMap.containsKey("hostname")) {
-                                    rule.setHostname((String) ruleMap.get("hostname"));
-                                }
-                                if (ruleMap.containsKey("service")) {
-                                    rule.setService((String) ruleMap.get("service"));
-                                }
-                                if (ruleMap.containsKey("path")) {
-                                    rule.setPath((String) ruleMap.get("path"));
-                                }
-                                
-                                config.getIngress().add(rule);
-                            }
-                        }
-                    }
-                    
-                    logger.info("Converted existing configuration with {} rules", config.getIngress().size());
-                    return config;
-                } else {
-                    logger.warn("No existing tunnel configuration found, creating new one");
-                    return new SimpleTunnelConfiguration();
-                }
-            } else {
-                logger.warn("Failed to get existing tunnel configuration, creating new one");
-                return new SimpleTunnelConfiguration();
-            }
-            
-        } catch (WebClientResponseException e) {
-            logger.warn("Cloudflare API error getting existing config: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            logger.warn("Creating new empty configuration");
-            return new SimpleTunnelConfiguration();
-        } catch (Exception e) {
-            logger.warn("Unexpected error getting existing tunnel configuration: {}", e.getMessage());
-            logger.warn("Creating new empty configuration");
-            return new SimpleTunnelConfiguration();
-        }
+        return addTunnelRouteAsync(hostname, port, protocol, path, host).block();
     }
 
     /**
-     * Updates tunnel configuration using simplified structure
+     * Non-blocking variant of {@link #addTunnelRoute(String, Integer, String, String, String)}; never emits an error
      */
-    private CloudflareResponse updateSimpleTunnelConfiguration(SimpleTunnelConfiguration configuration) {
-        try {
-            logger.info("Updating tunnel configuration (simplified) for tunnel: {}", cloudflareConfig.getTunnelId());
-            
-            String url = "/accounts/" + getAccountId() + "/cfd_tunnel/" + cloudflareConfig.getTunnelId() + "/configurations";
-            
-            // Wrap the configuration in the expected format
-            var configWrapper = new java.util.HashMap<String, Object>();
-            configWrapper.put("config", configuration);
-            
-            // Log the payload being sent for debugging
-            try {
-                String payloadJson = objectMapper.writeValueAsString(configWrapper);
-                logger.info("Sending simplified tunnel configuration payload to URL: {}", url);
-                logger.info("Simplified Payload: {}", payloadJson);
-            } catch (JsonProcessingException e) {
-                logger.warn("Failed to serialize payload for logging: {}", e.getMessage());
-            }
-            
-            CloudflareApiResponse<Object> response = webClient
-                    .put()
-                    .uri(url)
-                    .body(BodyInserters.fromValue(configWrapper))
-                    .retrieve()
-                    .bodyToMono(new ParameterizedTypeReference<CloudflareApiResponse<Object>>() {})
-                    .timeout(Duration.ofSeconds(30))
-                    .block();
-
-            // Log the response for debugging
-            try {
-                String responseJson = objectMapper.writeValueAsString(response);
-                logger.info("Received response: {}", responseJson);
-            } catch (JsonProcessingException e) {
-                logger.warn("Failed to serialize response for logging: {}", e.getMessage());
-            }
-
-            if (response != null && Boolean.TRUE.equals(response.getSuccess())) {
-                logger.info("Successfully updated simplified tunnel configuration");
-                return new CloudflareResponse(true, "Tunnel configuration updated successfully");
-            } else {
-                String errorMessage = "Failed to update tunnel configuration";
-                if (response != null && response.getErrors() != null && !response.getErrors().isEmpty()) {
-                    errorMessage = response.getErrors().get(0).getMessage();
-                }
-                logger.error("Failed to update tunnel configuration: {}", errorMessage);
-                return new CloudflareResponse(false, errorMessage);
-            }
-            
-        } catch (WebClientResponseException e) {
-            logger.error("Cloudflare API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
-            logger.error("Request URL was: {}", "/accounts/" + getAccountId() + "/cfd_tunnel/" + cloudflareConfig.getTunnelId() + "/configurations");
-            return new CloudflareResponse(false, "Cloudflare API error: " + e.getMessage());
-        } catch (Exception e) {
-            logger.error("Unexpected error updating tunnel configuration", e);
-            return new CloudflareResponse(false, "Unexpected error: " + e.getMessage());
-        }
+    public Mono<CloudflareResponse> addTunnelRouteAsync(String hostname, Integer port, String protocol, String path, String host) {
+        String serviceUrl = protocol + "://" + (host != null ? host : "localhost") + ":" + port;
+        logger.info("Adding tunnel route: {} -> {} (idempotent)", hostname, serviceUrl);
+        return tunnelUpdate(() -> tunnelConfigurationManager.addRoute(hostname, serviceUrl, path), "adding tunnel route");
     }
 
     /**
      * Removes a route from the tunnel configuration
      */
     public CloudflareResponse removeTunnelRoute(String hostname) {
-        try {
-            logger.info("Removing tunnel route for hostname: {}", hostname);
-            
-            // Get current configuration
-            CloudflareTunnelConfiguration config = getTunnelConfiguration();
-            
-            // Remove route
-            config.removeRoute(hostname);
-            
-            // Update configuration
-            return updateTunnelConfiguration(config);
-            
-        } catch (Exception e) {
-            logger.error("Error removing tunnel route", e);
-            return new CloudflareResponse(false, "Error removing tunnel route: " + e.getMessage());
-        }
+        logger.info("Removing tunnel route for hostname: {}", hostname);
+        return tunnelUpdate(() -> tunnelConfigurationManager.removeRoute(hostname), "removing tunnel route").block();
+    }
+
+    private Mono<CloudflareResponse> tunnelUpdate(Supplier<CompletableFuture<CloudflareResponse>> update, String operation) {
+        return Mono.fromFuture(update)
+                .timeout(Duration.ofSeconds(TUNNEL_UPDATE_TIMEOUT_SECONDS))
+                .onErrorResume(e -> {
+                    logger.error("Error {}", operation, e);
+                    return Mono.just(new CloudflareResponse(false, "Error " + operation + ": " + e.getMessage()));
+                });
     }
 
     /**
@@ -715,79 +494,71 @@ public class CloudflareService {
      * If both DNS and tunnel route already exist, returns success without changes
      */
     public CloudflareResponse createCompleteRoute(String dnsName, Integer port, String protocol, String path, String host) {
-        try {
-            logger.info("Creating complete route: {} -> {}://{}:{} (idempotent)", dnsName, protocol, host != null ? host : "localhost", port);
-            
-            boolean dnsAlreadyExisted = false;
-            boolean routeAlreadyExisted = false;
-            
-            // First create DNS record (idempotent)
-            CloudflareResponse dnsResponse = createTunnelDnsRecord(dnsName, port, protocol, host);
-            if (!dnsResponse.isSuccess()) {
-                return dnsResponse;
-            }
-            
-            // Check if DNS was already existing (idempotent operation)
-            if (dnsResponse.getMessage() != null && dnsResponse.getMessage().contains("already exists")) {
-                dnsAlreadyExisted = true;
-                logger.info("DNS record for {} already existed", dnsName);
-            }
-            
-                            // Try to configure tunnel route (idempotent)
-                try {
-                    CloudflareResponse routeResponse = addTunnelRoute(dnsName, port, protocol, path, host);
-                if (routeResponse.isSuccess()) {
-                    // Check if route was already existing (idempotent operation)
-                    if (routeResponse.getMessage() != null && routeResponse.getMessage().contains("already exists")) {
-                        routeAlreadyExisted = true;
-                        logger.info("Tunnel route for {} already existed", dnsName);
-                    }
-                    
-                    // Create appropriate message based on what existed
-                    String message;
-                    if (dnsAlreadyExisted && routeAlreadyExisted) {
-                        message = "Complete route already exists (idempotent operation). Both DNS and tunnel route were already configured for " + dnsName;
-                    } else if (dnsAlreadyExisted) {
-                        message = "Complete route created successfully. DNS record already existed, tunnel route was " + 
-                                (routeAlreadyExisted ? "already configured" : "newly created") + " for " + dnsName;
-                    } else if (routeAlreadyExisted) {
-                        message = "Complete route created successfully. DNS record was newly created, tunnel route already existed for " + dnsName;
-                    } else {
-                        message = "Complete route created successfully. " + dnsName + " is now accessible and routed to " + protocol + "://" + (host != null ? host : "localhost") + ":" + port;
-                    }
-                    
-                    return new CloudflareResponse(true, 
-                        message,
-                        dnsName, 
-                        dnsResponse.getRecordId(), 
-                        protocol + "://" + (host != null ? host : "localhost") + ":" + port);
-                } else {
-                    logger.warn("DNS record {} but tunnel route configuration failed for {}", 
-                        dnsAlreadyExisted ? "already existed" : "created", dnsName);
-                    return new CloudflareResponse(true, 
-                        "DNS record " + (dnsAlreadyExisted ? "already existed" : "created successfully") + 
-                        ". Tunnel route configuration failed: " + routeResponse.getMessage() + 
-                        ". Please configure tunnel manually using: cloudflared tunnel ingress " + dnsName + " " + protocol + "://" + (host != null ? host : "localhost") + ":" + port,
-                        dnsName, 
-                        dnsResponse.getRecordId(), 
-                        protocol + "://" + (host != null ? host : "localhost") + ":" + port);
-                }
-            } catch (Exception routeException) {
-                logger.warn("Failed to configure tunnel route for {} due to exception: {}", dnsName, routeException.getMessage());
-                return new CloudflareResponse(true, 
-                    "DNS record " + (dnsAlreadyExisted ? "already existed" : "created successfully") + 
-                    ". Tunnel route configuration is not supported or failed. " +
-                    "Please configure tunnel manually using: cloudflared tunnel ingress " + dnsName + " " + protocol + "://" + (host != null ? host : "localhost") + ":" + port + 
-                    ". Error: " + routeException.getMessage(),
-                    dnsName, 
-                    dnsResponse.getRecordId(), 
-                    protocol + "://" + (host != null ? host : "localhost") + ":" + port);
-            }
-            
-        } catch (Exception e) {
-            logger.error("Error creating complete route", e);
-            return new CloudflareResponse(false, "Error creating complete route: " + e.getMessage());
+        return createCompleteRouteAsync(dnsName, port, protocol, path, host).block();
+    }
+
+    /**
+     * Non-blocking variant of {@link #createCompleteRoute(String, Integer, String, String, String)}.
+     * The DNS record and the tunnel route are independent, so both are provisioned concurrently; never emits an error.
+     */
+    public Mono<CloudflareResponse> createCompleteRouteAsync(String dnsName, Integer port, String protocol, String path, String host) {
+        logger.info("Creating complete route: {} -> {}://{}:{} (idempotent)", dnsName, protocol, host != null ? host : "localhost", port);
+
+        return Mono.zip(
+                        createTunnelDnsRecordAsync(dnsName, port, protocol, host),
+                        addTunnelRouteAsync(dnsName, port, protocol, path, host))
+                .map(responses -> combineRouteResponses(dnsName, port, protocol, host, responses.getT1(), responses.getT2()))
+                .onErrorResume(e -> {
+                    logger.error("Error creating complete route", e);
+                    return Mono.just(new CloudflareResponse(false, "Error creating complete route: " + e.getMessage()));
+                });
+    }
+
+    private CloudflareResponse combineRouteResponses(String dnsName, Integer port, String protocol, String host,
+                                                     CloudflareResponse dnsResponse, CloudflareResponse routeResponse) {
+        if (!dnsResponse.isSuccess()) {
+            return dnsResponse;
+        }
+
+        String targetUrl = protocol + "://" + (host != null ? host : "localhost") + ":" + port;
+
+        // Check if DNS was already existing (idempotent operation)
+        boolean dnsAlreadyExisted = dnsResponse.getMessage() != null && dnsResponse.getMessage().contains("already exists");
+        if (dnsAlreadyExisted) {
+            logger.info("DNS record for {} already existed", dnsName);
+        }
+
+        if (!routeResponse.isSuccess()) {
+            logger.warn("DNS record {} but tunnel route configuration failed for {}",
+                dnsAlreadyExisted ? "already existed" : "created", dnsName);
+            return new CloudflareResponse(true,
+                "DNS record " + (dnsAlreadyExisted ? "already existed" : "created successfully") +
+                ". Tunnel route configuration failed: " + routeResponse.getMessage() +
+                ". Please configure tunnel manually using: cloudflared tunnel ingress " + dnsName + " " + targetUrl,
+                dnsName,
+                dnsResponse.getRecordId(),
+                targetUrl);
+        }
+
+        // Check if route was already existing (idempotent operation)
+        boolean routeAlreadyExisted = routeResponse.getMessage() != null && routeResponse.getMessage().contains("already exists");
+        if (routeAlreadyExisted) {
+            logger.info("Tunnel route for {} already existed", dnsName);
+        }
+
+        // Create appropriate message based on what existed
+        String message;
+        if (dnsAlreadyExisted && routeAlreadyExisted) {
+            message = "Complete route already exists (idempotent operation). Both DNS and tunnel route were already configured for " + dnsName;
+        } else if (dnsAlreadyExisted) {
+            message = "Complete route created successfully. DNS record already existed, tunnel route was newly created for " + dnsName;
+        } else if (routeAlreadyExisted) {
+            message = "Complete route created successfully. DNS record was newly created, tunnel route already existed for " + dnsName;
+        } else {
+            message = "Complete route created successfully. " + dnsName + " is now accessible and routed to " + targetUrl;
         }
+
+        return new CloudflareResponse(true, message, dnsName, dnsResponse.getRecordId(), targetUrl);
     }
 
     /**
@@ -795,10 +566,9 @@ public class CloudflareService {
      */
     public java.util.List<String> listTunnelRoutes() {
         try {
-            SimpleTunnelConfiguration config = getExistingSimpleTunnelConfiguration();
             java.util.List<String> routes = new java.util.ArrayList<>();
             
-            for (SimpleTunnelConfiguration.SimpleIngressRule rule : config.getIngress()) {
+            for (SimpleTunnelConfiguration.SimpleIngressRule rule : tunnelConfigurationManager.getIngress()) {
                 if (rule.getHostname() != null) {
                     String routeInfo = rule.getHostname() + " -> " + rule.getService();
                     if (rule.getPath() != null && !rule.getPath().isEmpty()) {
@@ -0,0 +1,151 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.model.UmlModel;
+import com.armikom.zen.service.generator.CodeGenerationTarget;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Runs registered {@link CodeGenerationTarget}s against a PlantUML model.
+ * The model is parsed at most once per request and shared by all targets, which run in parallel;
+ * results are cached per target and target version.
+ */
+@Service
+public class CodeGenerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CodeGenerationService.class);
+
+    private final PlantUmlParser plantUmlParser;
+    private final Map<String, CodeGenerationTarget> targets = new LinkedHashMap<>();
+    private final GenerationCache generationCache;
+
+    /**
+     * @param generationCache Cache for generated files; null disables caching
+     */
+    public CodeGenerationService(PlantUmlParser plantUmlParser, List<CodeGenerationTarget> targets,
+                                 GenerationCache generationCache) {
+        this.plantUmlParser = plantUmlParser;
+        this.generationCache = generationCache;
+        for (CodeGenerationTarget target : targets) {
+            CodeGenerationTarget previous = this.targets.put(target.getName(), target);
+            if (previous != null) {
+                throw new IllegalStateException("Duplicate code generation target: " + target.getName());
+            }
+        }
+        logger.info("Registered code generation targets: {}", this.targets.keySet());
+    }
+
+    /**
+     * Names of all registered targets
+     */
+    public List<String> getTargetNames() {
+        return new ArrayList<>(targets.keySet());
+    }
+
+    public boolean hasTarget(String name) {
+        return targets.containsKey(name);
+    }
+
+    /**
+     * Generates files for a single target
+     * @param plantUml The PlantUML text
+     * @param targetName Name of the target
+     * @return Map of file name to file content
+     * @throws IllegalArgumentException if the target is unknown
+     */
+    public Map<String, String> generate(String plantUml, String targetName) {
+        CodeGenerationTarget target = getTarget(targetName);
+        return generate(target, plantUml, new ModelHolder(plantUmlParser, plantUml));
+    }
+
+    /**
+     * Generates files for several targets in parallel from a single parse
+     * @param plantUml The PlantUML text
+     * @param targetNames Names of the targets
+     * @return Map of target name to generated files, in request order
+     * @throws IllegalArgumentException if a target is unknown
+     */
+    public Map<String, Map<String, String>> generate(String plantUml, Collection<String> targetNames) {
+        List<CodeGenerationTarget> selected = new ArrayList<>();
+        for (String name : targetNames) {
+            CodeGenerationTarget target = getTarget(name);
+            if (!selected.contains(target)) {
+                selected.add(target);
+            }
+        }
+
+        ModelHolder model = new ModelHolder(plantUmlParser, plantUml);
+        Map<String, CompletableFuture<Map<String, String>>> futures = new LinkedHashMap<>();
+        for (CodeGenerationTarget target : selected) {
+            futures.put(target.getName(), CompletableFuture.supplyAsync(() -> generate(target, plantUml, model)));
+        }
+
+        Map<String, Map<String, String>> results = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, CompletableFuture<Map<String, String>>> entry : futures.entrySet()) {
+                results.put(entry.getKey(), entry.getValue().join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * Static project files required by a target
+     * @throws IllegalArgumentException if the target is unknown
+     */
+    public Map<String, String> getScaffoldFiles(String targetName) {
+        return getTarget(targetName).getScaffoldFiles();
+    }
+
+    private Map<String, String> generate(CodeGenerationTarget target, String plantUml, ModelHolder model) {
+        if (generationCache == null) {
+            return new HashMap<>(target.generate(model.get()));
+        }
+        return generationCache.getOrGenerate(plantUml, target.getName() + ":" + target.getVersion(),
+                normalized -> target.generate(model.get()));
+    }
+
+    private CodeGenerationTarget getTarget(String name) {
+        CodeGenerationTarget target = targets.get(name);
+        if (target == null) {
+            throw new IllegalArgumentException("Unknown code generation target: " + name + ". Available: " + targets.keySet());
+        }
+        return target;
+    }
+
+    /**
+     * Parses the normalized model on first use, so cache hits for every target skip parsing entirely
+     */
+    private static class ModelHolder {
+        private final PlantUmlParser parser;
+        private final String plantUml;
+        private UmlModel model;
+
+        ModelHolder(PlantUmlParser parser, String plantUml) {
+            this.parser = parser;
+            this.plantUml = plantUml;
+        }
+
+        synchronized UmlModel get() {
+            if (model == null) {
+                model = parser.parse(GenerationCache.normalize(plantUml));
+            }
+            return model;
+        }
+    }
+}
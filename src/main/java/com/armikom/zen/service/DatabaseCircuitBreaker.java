@@ -0,0 +1,75 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.enums.CircuitBreakerState;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker for one database server.
+ * After a number of consecutive failures the breaker opens and requests are rejected without touching the server.
+ * Once the open period has elapsed a single trial request is let through: its success closes the breaker, its
+ * failure opens it again. Successful health probes close the breaker at any time.
+ */
+public class DatabaseCircuitBreaker {
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private CircuitBreakerState state = CircuitBreakerState.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+
+    /**
+     * @param failureThreshold Consecutive failures that open the breaker
+     * @param openDuration How long requests are rejected before a trial request is let through
+     * @param nanoClock Time source, {@code System::nanoTime} outside of tests
+     */
+    public DatabaseCircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Whether a request may go to the server; moves an open breaker whose open period elapsed to half-open, letting
+     * the caller through as the trial request
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (nanoClock.getAsLong() - openedAtNanos < openNanos) {
+                    return false;
+                }
+                state = CircuitBreakerState.HALF_OPEN;
+                return true;
+            default:
+                // A trial request is already in flight
+                return false;
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        state = CircuitBreakerState.CLOSED;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state != CircuitBreakerState.CLOSED || consecutiveFailures >= failureThreshold) {
+            state = CircuitBreakerState.OPEN;
+            openedAtNanos = nanoClock.getAsLong();
+        }
+    }
+
+    public synchronized CircuitBreakerState getState() {
+        return state;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+}
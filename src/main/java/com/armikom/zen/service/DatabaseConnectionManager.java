@@ -0,0 +1,312 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.enums.DatabaseEnvironment;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pooled SQL Server connections for each {@link DatabaseEnvironment}.
+ * Every environment has one server-scoped admin pool, created on first use. Connections to a single database come
+ * from short-lived per-database pools, which are closed once they have been idle for
+ * {@code database.pool.database.idle-timeout}. Pool usage is published as {@code hikaricp.connections.*} metrics,
+ * tagged with the pool name ({@code zen-<environment>-admin} or {@code zen-<environment>-<database>}).
+ */
+@Service
+public class DatabaseConnectionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseConnectionManager.class);
+
+    // Preview Database Configuration
+    @Value("${database.preview.url}")
+    private String previewConnectionString;
+
+    @Value("${database.preview.username}")
+    private String previewAdminUsername;
+
+    @Value("${database.preview.password}")
+    private String previewAdminPassword;
+
+    @Value("${database.preview.driver-class-name}")
+    private String previewDriverClassName;
+
+    // Production Database Configuration
+    @Value("${database.production.url}")
+    private String productionConnectionString;
+
+    @Value("${database.production.username}")
+    private String productionAdminUsername;
+
+    @Value("${database.production.password}")
+    private String productionAdminPassword;
+
+    @Value("${database.production.driver-class-name}")
+    private String productionDriverClassName;
+
+    // Pool Configuration
+    @Value("${database.pool.admin.maximum-size:10}")
+    private int adminMaximumPoolSize;
+
+    @Value("${database.pool.admin.minimum-idle:1}")
+    private int adminMinimumIdle;
+
+    @Value("${database.pool.database.maximum-size:5}")
+    private int databaseMaximumPoolSize;
+
+    @Value("${database.pool.database.idle-timeout:PT2M}")
+    private Duration databasePoolIdleTimeout;
+
+    @Value("${database.pool.database.max-pools:50}")
+    private int maxDatabasePools;
+
+    @Value("${database.pool.connection-timeout:PT30S}")
+    private Duration connectionTimeout;
+
+    @Value("${database.pool.max-lifetime:PT10M}")
+    private Duration maxLifetime;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<DatabaseEnvironment, HikariDataSource> adminPools = new EnumMap<>(DatabaseEnvironment.class);
+    private final Map<PoolKey, DatabasePool> databasePools = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    public DatabaseConnectionManager(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        if (meterRegistry != null) {
+            Gauge.builder("database.pools.open", databasePools, Map::size)
+                    .description("Open per-database connection pools")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Connection settings of an environment's admin login
+     */
+    public static class DatabaseConfig {
+        private final String url;
+        private final String username;
+        private final String password;
+        private final String driverClassName;
+
+        public DatabaseConfig(String url, String username, String password, String driverClassName) {
+            this.url = url;
+            this.username = username;
+            this.password = password;
+            this.driverClassName = driverClassName;
+        }
+
+        public String getUrl() { return url; }
+        public String getUsername() { return username; }
+        public String getPassword() { return password; }
+        public String getDriverClassName() { return driverClassName; }
+    }
+
+    private record PoolKey(DatabaseEnvironment environment, String databaseName) {
+    }
+
+    private static class DatabasePool {
+        private final HikariDataSource dataSource;
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        private DatabasePool(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private int activeConnections() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool != null ? pool.getActiveConnections() : 0;
+        }
+    }
+
+    /**
+     * Gets database configuration for the specified environment
+     */
+    public DatabaseConfig getDatabaseConfig(DatabaseEnvironment environment) {
+        switch (environment) {
+            case PREVIEW:
+                return new DatabaseConfig(previewConnectionString, previewAdminUsername,
+                                        previewAdminPassword, previewDriverClassName);
+            case PRODUCTION:
+                return new DatabaseConfig(productionConnectionString, productionAdminUsername,
+                                        productionAdminPassword, productionDriverClassName);
+            default:
+                throw new IllegalArgumentException("Unsupported database environment: " + environment);
+        }
+    }
+
+    /**
+     * Gets a pooled admin connection to SQL Server (without specifying a database)
+     */
+    public Connection getServerConnection(DatabaseEnvironment environment) throws SQLException {
+        return adminPool(environment).getConnection();
+    }
+
+    /**
+     * Gets a pooled admin connection to a specific database.
+     * The database name must already be validated, as it becomes part of the JDBC URL.
+     */
+    public Connection getDatabaseConnection(DatabaseEnvironment environment, String databaseName) throws SQLException {
+        PoolKey key = new PoolKey(environment, databaseName.toLowerCase(Locale.ROOT));
+        while (true) {
+            checkOpen();
+            DatabasePool pool = databasePools.get(key);
+            if (pool == null) {
+                pool = databasePools.computeIfAbsent(key, k -> createDatabasePool(environment, databaseName));
+                if (databasePools.size() > maxDatabasePools) {
+                    evictLeastRecentlyUsed(key);
+                }
+            }
+            pool.lastUsedNanos = System.nanoTime();
+            try {
+                return pool.dataSource.getConnection();
+            } catch (SQLException e) {
+                // The pool was evicted between lookup and borrow; open a new one
+                if (!pool.dataSource.isClosed()) {
+                    throw e;
+                }
+            }
+            databasePools.remove(key, pool);
+        }
+    }
+
+    /**
+     * Closes the pool of a database, so it can be dropped, renamed or restored without
+     * pooled sessions holding it open
+     */
+    public void evict(DatabaseEnvironment environment, String databaseName) {
+        DatabasePool pool = databasePools.remove(new PoolKey(environment, databaseName.toLowerCase(Locale.ROOT)));
+        if (pool != null) {
+            pool.dataSource.close();
+            logger.info("Closed connection pool of database '{}' ({})", databaseName, environment);
+        }
+    }
+
+    /**
+     * Closes per-database pools that have no borrowed connections and have not been used within the idle timeout
+     */
+    @Scheduled(fixedDelayString = "${database.pool.eviction-interval:PT30S}")
+    public void evictIdlePools() {
+        long idleNanos = databasePoolIdleTimeout.toNanos();
+        long now = System.nanoTime();
+        for (Map.Entry<PoolKey, DatabasePool> entry : databasePools.entrySet()) {
+            DatabasePool pool = entry.getValue();
+            if (now - pool.lastUsedNanos >= idleNanos && pool.activeConnections() == 0
+                    && databasePools.remove(entry.getKey(), pool)) {
+                pool.dataSource.close();
+                logger.debug("Closed idle connection pool {}", pool.dataSource.getPoolName());
+            }
+        }
+    }
+
+    public int getOpenDatabasePools() {
+        return databasePools.size();
+    }
+
+    private synchronized HikariDataSource adminPool(DatabaseEnvironment environment) throws SQLException {
+        checkOpen();
+        HikariDataSource pool = adminPools.get(environment);
+        if (pool == null) {
+            DatabaseConfig config = getDatabaseConfig(environment);
+            pool = createPool(config, removeDatabaseName(config.getUrl()), poolName(environment, "admin"),
+                    adminMaximumPoolSize, adminMinimumIdle);
+            adminPools.put(environment, pool);
+        }
+        return pool;
+    }
+
+    private DatabasePool createDatabasePool(DatabaseEnvironment environment, String databaseName) {
+        DatabaseConfig config = getDatabaseConfig(environment);
+        String url = removeDatabaseName(config.getUrl()) + ";databaseName=" + databaseName;
+        // No idle connections are kept, the whole pool is closed when it goes idle
+        return new DatabasePool(createPool(config, url, poolName(environment, databaseName), databaseMaximumPoolSize, 0));
+    }
+
+    private void evictLeastRecentlyUsed(PoolKey keep) {
+        databasePools.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(keep) && entry.getValue().activeConnections() == 0)
+                .min(Comparator.comparingLong(entry -> entry.getValue().lastUsedNanos))
+                .ifPresent(entry -> {
+                    if (databasePools.remove(entry.getKey(), entry.getValue())) {
+                        entry.getValue().dataSource.close();
+                        logger.debug("Closed connection pool {} to stay within {} pools",
+                                entry.getValue().dataSource.getPoolName(), maxDatabasePools);
+                    }
+                });
+    }
+
+    private HikariDataSource createPool(DatabaseConfig config, String url, String poolName, int maximumPoolSize,
+                                        int minimumIdle) {
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setPoolName(poolName);
+        hikariConfig.setJdbcUrl(url);
+        hikariConfig.setUsername(config.getUsername());
+        hikariConfig.setPassword(config.getPassword());
+        if (config.getDriverClassName() != null && !config.getDriverClassName().isBlank()) {
+            hikariConfig.setDriverClassName(config.getDriverClassName());
+        }
+        hikariConfig.setMaximumPoolSize(maximumPoolSize);
+        hikariConfig.setMinimumIdle(minimumIdle);
+        hikariConfig.setIdleTimeout(Math.max(databasePoolIdleTimeout.toMillis(), 10_000));
+        hikariConfig.setMaxLifetime(maxLifetime.toMillis());
+        hikariConfig.setConnectionTimeout(connectionTimeout.toMillis());
+        // Do not fail application startup or pool creation when the server is unreachable
+        hikariConfig.setInitializationFailTimeout(-1);
+        if (meterRegistry != null) {
+            hikariConfig.setMetricRegistry(meterRegistry);
+        }
+        logger.info("Opening connection pool {}", poolName);
+        return new HikariDataSource(hikariConfig);
+    }
+
+    private void checkOpen() throws SQLException {
+        if (closed) {
+            throw new SQLException("Database connection manager is shut down");
+        }
+    }
+
+    private static String poolName(DatabaseEnvironment environment, String suffix) {
+        return "zen-" + environment.getValue() + "-" + suffix;
+    }
+
+    /**
+     * Removes the databaseName parameter from a JDBC URL while preserving other parameters
+     */
+    static String removeDatabaseName(String url) {
+        int idx = url.toLowerCase().indexOf(";databasename=");
+        if (idx == -1) {
+            return url;
+        }
+        int endIdx = url.indexOf(';', idx + 1);
+        if (endIdx == -1) {
+            return url.substring(0, idx);
+        }
+        return url.substring(0, idx) + url.substring(endIdx);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        closed = true;
+        databasePools.values().forEach(pool -> pool.dataSource.close());
+        databasePools.clear();
+        adminPools.values().forEach(HikariDataSource::close);
+        adminPools.clear();
+    }
+}
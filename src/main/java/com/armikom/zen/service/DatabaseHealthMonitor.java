@@ -0,0 +1,249 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.enums.CircuitBreakerState;
+import com.armikom.zen.enums.DatabaseEnvironment;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Probes the SQL Server of every {@link DatabaseEnvironment} in the background and keeps a
+ * {@link DatabaseCircuitBreaker} per environment, so that database work fails fast instead of waiting for driver
+ * timeouts while a server is down or too slow.
+ * Probes open their own connection, outside the connection pools, and record their latency under
+ * {@code database.health.probe}.
+ */
+@Service
+public class DatabaseHealthMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseHealthMonitor.class);
+
+    private final DatabaseConnectionManager connectionManager;
+    private final MeterRegistry meterRegistry;
+    private final Duration interval;
+    private final Duration timeout;
+    private final Duration slowThreshold;
+    private final Map<DatabaseEnvironment, EnvironmentHealth> health = new EnumMap<>(DatabaseEnvironment.class);
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
+            DatabaseEnvironment.values().length, r -> {
+        Thread t = new Thread(r, "database-health");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Last probe result of an environment, as reported to the health endpoint
+     */
+    public record Status(CircuitBreakerState state, int consecutiveFailures, Duration lastLatency, String lastError,
+                         Instant lastProbeAt, Instant lastSuccessAt) {
+    }
+
+    private static class EnvironmentHealth {
+        private final DatabaseCircuitBreaker breaker;
+        private volatile Duration lastLatency;
+        private volatile String lastError;
+        private volatile Instant lastProbeAt;
+        private volatile Instant lastSuccessAt;
+
+        private EnvironmentHealth(DatabaseCircuitBreaker breaker) {
+            this.breaker = breaker;
+        }
+    }
+
+    /**
+     * @param interval Delay between probes of an environment
+     * @param timeout Login and validation timeout of a probe
+     * @param slowThreshold Probes slower than this count as failures
+     * @param failureThreshold Consecutive failures that open an environment's circuit breaker
+     * @param openDuration How long an open circuit breaker rejects requests before letting a trial request through
+     */
+    public DatabaseHealthMonitor(DatabaseConnectionManager connectionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${database.health.interval:PT10S}") Duration interval,
+                                 @Value("${database.health.timeout:PT5S}") Duration timeout,
+                                 @Value("${database.health.slow-threshold:PT2S}") Duration slowThreshold,
+                                 @Value("${database.health.failure-threshold:3}") int failureThreshold,
+                                 @Value("${database.health.open-duration:PT30S}") Duration openDuration) {
+        this.connectionManager = connectionManager;
+        this.meterRegistry = meterRegistry;
+        this.interval = interval;
+        this.timeout = timeout;
+        this.slowThreshold = slowThreshold;
+        for (DatabaseEnvironment environment : DatabaseEnvironment.values()) {
+            EnvironmentHealth environmentHealth = new EnvironmentHealth(
+                    new DatabaseCircuitBreaker(failureThreshold, openDuration, System::nanoTime));
+            health.put(environment, environmentHealth);
+            if (meterRegistry != null) {
+                Gauge.builder("database.health.circuit.open", environmentHealth.breaker,
+                                b -> b.getState() == CircuitBreakerState.CLOSED ? 0 : 1)
+                        .description("Whether database requests are rejected because the server is unhealthy")
+                        .tag("environment", tagValue(environment))
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (interval.isZero() || interval.isNegative()) {
+            logger.info("Database health probes are disabled");
+            return;
+        }
+        for (DatabaseEnvironment environment : DatabaseEnvironment.values()) {
+            scheduler.scheduleWithFixedDelay(() -> probe(environment), 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        logger.info("Probing database servers every {} (slow above {})", interval, slowThreshold);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Opens a fresh connection to the environment's server and validates it, updating the circuit breaker
+     * @return Whether the server answered within the slow threshold
+     */
+    public boolean probe(DatabaseEnvironment environment) {
+        EnvironmentHealth environmentHealth = health.get(environment);
+        DatabaseConnectionManager.DatabaseConfig config = connectionManager.getDatabaseConfig(environment);
+        int timeoutSeconds = (int) Math.max(1, timeout.toSeconds());
+        Properties properties = new Properties();
+        properties.setProperty("user", config.getUsername());
+        properties.setProperty("password", config.getPassword());
+        properties.setProperty("loginTimeout", String.valueOf(timeoutSeconds));
+
+        long start = System.nanoTime();
+        String error;
+        try (Connection connection = DriverManager.getConnection(
+                DatabaseConnectionManager.removeDatabaseName(config.getUrl()), properties)) {
+            error = connection.isValid(timeoutSeconds) ? null : "Connection is not valid";
+        } catch (SQLException e) {
+            error = e.getMessage();
+        } catch (RuntimeException e) {
+            logger.warn("Database health probe for {} failed unexpectedly", environment, e);
+            error = e.toString();
+        }
+        Duration latency = Duration.ofNanos(System.nanoTime() - start);
+        if (error == null && latency.compareTo(slowThreshold) > 0) {
+            error = "Slow response: " + latency.toMillis() + " ms";
+        }
+
+        CircuitBreakerState before = environmentHealth.breaker.getState();
+        environmentHealth.lastLatency = latency;
+        environmentHealth.lastProbeAt = Instant.now();
+        environmentHealth.lastError = error;
+        if (error == null) {
+            environmentHealth.lastSuccessAt = environmentHealth.lastProbeAt;
+            environmentHealth.breaker.recordSuccess();
+        } else {
+            environmentHealth.breaker.recordFailure();
+        }
+        recordLatency(environment, latency, error == null ? "success" : "failure");
+
+        CircuitBreakerState after = environmentHealth.breaker.getState();
+        if (after != before) {
+            if (after == CircuitBreakerState.OPEN) {
+                logger.warn("Database server for {} is unhealthy, rejecting requests: {}", environment, error);
+            } else {
+                logger.info("Database server for {} recovered ({} ms)", environment, latency.toMillis());
+            }
+        } else if (error != null) {
+            logger.debug("Database health probe for {} failed: {}", environment, error);
+        }
+        return error == null;
+    }
+
+    /**
+     * Fails fast when the environment's circuit breaker is open
+     * @throws SQLTransientConnectionException if requests to the server are currently rejected
+     */
+    public void checkAvailable(DatabaseEnvironment environment) throws SQLTransientConnectionException {
+        EnvironmentHealth environmentHealth = health.get(environment);
+        if (!environmentHealth.breaker.tryAcquire()) {
+            throw new SQLTransientConnectionException("Database server for " + environment +
+                    " is unavailable: " + environmentHealth.lastError);
+        }
+    }
+
+    /**
+     * Records that a request reached the environment's server
+     */
+    public void recordSuccess(DatabaseEnvironment environment) {
+        health.get(environment).breaker.recordSuccess();
+    }
+
+    /**
+     * Records that a request could not reach the environment's server in time
+     */
+    public void recordFailure(DatabaseEnvironment environment) {
+        health.get(environment).breaker.recordFailure();
+    }
+
+    /**
+     * Whether requests to the environment's server are currently let through; unlike {@link #checkAvailable} this
+     * never uses up the trial request of a half-open breaker
+     */
+    public boolean isAvailable(DatabaseEnvironment environment) {
+        return health.get(environment).breaker.getState() != CircuitBreakerState.OPEN;
+    }
+
+    /**
+     * Waits until the environment's server is available again
+     * @return false if it is still unavailable after the timeout
+     */
+    public boolean awaitAvailable(DatabaseEnvironment environment, Duration maxWait) throws InterruptedException {
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        while (!isAvailable(environment)) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                return false;
+            }
+            Thread.sleep(Math.min(remainingMillis, 1000));
+        }
+        return true;
+    }
+
+    public Status getStatus(DatabaseEnvironment environment) {
+        EnvironmentHealth environmentHealth = health.get(environment);
+        return new Status(environmentHealth.breaker.getState(), environmentHealth.breaker.getConsecutiveFailures(),
+                environmentHealth.lastLatency, environmentHealth.lastError, environmentHealth.lastProbeAt,
+                environmentHealth.lastSuccessAt);
+    }
+
+    private void recordLatency(DatabaseEnvironment environment, Duration latency, String outcome) {
+        if (meterRegistry == null) {
+            return;
+        }
+        Timer.builder("database.health.probe")
+                .description("Latency of database server health probes")
+                .tag("environment", tagValue(environment))
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(latency);
+    }
+
+    private static String tagValue(DatabaseEnvironment environment) {
+        return environment.getValue();
+    }
+}
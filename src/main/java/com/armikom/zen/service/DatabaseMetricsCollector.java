@@ -0,0 +1,156 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.dto.DatabaseUsage;
+import com.armikom.zen.enums.DatabaseEnvironment;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Samples the size, sessions and last activity of every database on each environment's server and publishes them as
+ * gauges tagged with the environment and database, so that heavy preview tenants stand out and the shared servers can
+ * be sized. Growth is the rate of {@code database.size} over time. Gauges of databases that disappear are removed.
+ */
+@Service
+public class DatabaseMetricsCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseMetricsCollector.class);
+
+    private final DatabaseService databaseService;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<DatabaseEnvironment, List<DatabaseUsage>> usage = new ConcurrentHashMap<>();
+    private final Map<DatabaseKey, DatabaseGauges> gauges = new ConcurrentHashMap<>();
+
+    private record DatabaseKey(DatabaseEnvironment environment, String databaseName) {
+    }
+
+    /**
+     * Latest sample of one database, read by its gauges
+     */
+    private static class DatabaseGauges {
+        private final List<Meter> meters = new ArrayList<>();
+        private volatile DatabaseUsage usage;
+        private volatile Instant lastActivityAt;
+    }
+
+    public DatabaseMetricsCollector(DatabaseService databaseService, MeterRegistry meterRegistry) {
+        this.databaseService = databaseService;
+        this.meterRegistry = meterRegistry;
+        if (meterRegistry != null) {
+            for (DatabaseEnvironment environment : DatabaseEnvironment.values()) {
+                Gauge.builder("database.count", usage, u -> u.getOrDefault(environment, List.of()).size())
+                        .description("Databases on the server")
+                        .tag("environment", environment.getValue())
+                        .register(meterRegistry);
+                Gauge.builder("database.size.total", usage, u -> u.getOrDefault(environment, List.of()).stream()
+                                .mapToLong(d -> d.getDataBytes() + d.getLogBytes()).sum())
+                        .description("Size of all databases on the server")
+                        .tag("environment", environment.getValue())
+                        .baseUnit("bytes")
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${database.metrics.initial-delay:PT30S}",
+            fixedDelayString = "${database.metrics.interval:PT1M}")
+    public void collect() {
+        for (DatabaseEnvironment environment : DatabaseEnvironment.values()) {
+            collect(environment);
+        }
+    }
+
+    /**
+     * Samples one environment; an unreachable server keeps its previous sample
+     */
+    public void collect(DatabaseEnvironment environment) {
+        List<DatabaseUsage> databases;
+        try {
+            databases = databaseService.getDatabaseUsage(environment);
+        } catch (SQLException e) {
+            logger.debug("Could not read database usage for {}: {}", environment, e.getMessage());
+            return;
+        }
+        usage.put(environment, List.copyOf(databases));
+        if (meterRegistry == null) {
+            return;
+        }
+
+        Set<DatabaseKey> current = new HashSet<>();
+        for (DatabaseUsage database : databases) {
+            DatabaseKey key = new DatabaseKey(environment, database.getDatabaseName());
+            current.add(key);
+            DatabaseGauges databaseGauges = gauges.computeIfAbsent(key, this::register);
+            databaseGauges.lastActivityAt = database.getLastActivityAt() != null
+                    ? Instant.parse(database.getLastActivityAt()) : null;
+            databaseGauges.usage = database;
+        }
+        gauges.entrySet().removeIf(entry -> {
+            if (entry.getKey().environment() != environment || current.contains(entry.getKey())) {
+                return false;
+            }
+            entry.getValue().meters.forEach(meterRegistry::remove);
+            return true;
+        });
+    }
+
+    /**
+     * Latest sample of an environment's databases, largest first
+     */
+    public List<DatabaseUsage> getUsage(DatabaseEnvironment environment) {
+        List<DatabaseUsage> databases = new ArrayList<>(usage.getOrDefault(environment, List.of()));
+        databases.sort(Comparator.comparingLong((DatabaseUsage d) -> d.getDataBytes() + d.getLogBytes()).reversed());
+        return databases;
+    }
+
+    private DatabaseGauges register(DatabaseKey key) {
+        DatabaseGauges databaseGauges = new DatabaseGauges();
+        databaseGauges.meters.add(gauge("database.size", key, databaseGauges, "data", "bytes",
+                "Size of the database's files", DatabaseUsage::getDataBytes));
+        databaseGauges.meters.add(gauge("database.size", key, databaseGauges, "log", "bytes",
+                "Size of the database's files", DatabaseUsage::getLogBytes));
+        databaseGauges.meters.add(gauge("database.connections", key, databaseGauges, null, null,
+                "User sessions connected to the database", DatabaseUsage::getConnections));
+        databaseGauges.meters.add(Gauge.builder("database.idle", databaseGauges, g -> g.lastActivityAt == null
+                        ? Double.NaN : Duration.between(g.lastActivityAt, Instant.now()).toSeconds())
+                .description("Time since a table of the database was last read or written")
+                .tag("environment", key.environment().getValue())
+                .tag("database", key.databaseName())
+                .baseUnit("seconds")
+                .register(meterRegistry));
+        return databaseGauges;
+    }
+
+    private Gauge gauge(String name, DatabaseKey key, DatabaseGauges databaseGauges, String type, String baseUnit,
+                        String description, ToDoubleFunction<DatabaseUsage> value) {
+        Gauge.Builder<DatabaseGauges> builder = Gauge.builder(name, databaseGauges,
+                        g -> g.usage == null ? Double.NaN : value.applyAsDouble(g.usage))
+                .description(description)
+                .tag("environment", key.environment().getValue())
+                .tag("database", key.databaseName());
+        if (type != null) {
+            builder.tag("type", type);
+        }
+        if (baseUnit != null) {
+            builder.baseUnit(baseUnit);
+        }
+        return builder.register(meterRegistry);
+    }
+}
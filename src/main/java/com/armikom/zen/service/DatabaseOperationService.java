@@ -0,0 +1,431 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.dto.BackupRequest;
+import com.armikom.zen.dto.DatabaseOperationStatus;
+import com.armikom.zen.dto.DropTablesRequest;
+import com.armikom.zen.dto.RestoreRequest;
+import com.armikom.zen.dto.SeedDatabaseRequest;
+import com.armikom.zen.dto.TrimTablesRequest;
+import com.armikom.zen.enums.DatabaseOperationState;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs long database operations (backup, restore, trim and drop tables, sample data), either on the calling thread or in the
+ * background on a bounded executor with pollable progress.
+ * Background submissions can carry an idempotency key: a retried submission with the same key returns the operation
+ * that is already known instead of starting another one.
+ * Backups can additionally be copied to the {@link BackupObjectStore}, and restores can start from a copy there.
+ */
+@Service
+public class DatabaseOperationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseOperationService.class);
+
+    private static final int DEFAULT_SEED_ROWS_PER_TABLE = 1000;
+
+    private final DatabaseService databaseService;
+    private final BackupObjectStore objectStore;
+    private final ThreadPoolExecutor executor;
+    private final Duration retention;
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+    /**
+     * Operation ids by idempotency key
+     */
+    private final Map<String, String> idempotencyKeys = new ConcurrentHashMap<>();
+
+    /**
+     * @param concurrency Operations run in the background at once
+     * @param queueCapacity Operations waiting for a free worker before further submissions are rejected
+     * @param retention How long finished operations can still be queried
+     */
+    public DatabaseOperationService(DatabaseService databaseService, BackupObjectStore objectStore,
+                                    @Value("${database.operations.concurrency:2}") int concurrency,
+                                    @Value("${database.operations.queue-capacity:20}") int queueCapacity,
+                                    @Value("${database.operations.retention:PT24H}") Duration retention) {
+        this.databaseService = databaseService;
+        this.objectStore = objectStore;
+        this.retention = retention;
+        int threads = Math.max(1, concurrency);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), r -> {
+            Thread t = new Thread(r, "database-operation");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private interface Task {
+        void run(Operation operation) throws Exception;
+    }
+
+    /**
+     * Mutable state of an operation; read from request threads while a worker updates it
+     */
+    private static class Operation {
+        private final String id = UUID.randomUUID().toString();
+        private final String type;
+        private final String databaseName;
+        private final String filePath;
+        private final String objectKey;
+        private final Instant startedAt = Instant.now();
+        private final List<Consumer<DatabaseOperationStatus>> listeners = new CopyOnWriteArrayList<>();
+        private volatile DatabaseOperationState state = DatabaseOperationState.PENDING;
+        private volatile int percentComplete;
+        private volatile String message;
+        private volatile Instant finishedAt;
+
+        private Operation(String type, String databaseName, String filePath, String objectKey) {
+            this.type = type;
+            this.databaseName = databaseName;
+            this.filePath = filePath;
+            this.objectKey = objectKey;
+        }
+
+        private IntConsumer progress() {
+            return percent -> {
+                percentComplete = percent;
+                logger.debug("{} of '{}': {}%", type, databaseName, percent);
+                changed();
+            };
+        }
+
+        private void setMessage(String message) {
+            this.message = message;
+            changed();
+        }
+
+        /**
+         * Whether a submission with the same idempotency key describes this operation
+         */
+        private boolean sameAs(Operation other) {
+            return type.equals(other.type) && databaseName.equals(other.databaseName)
+                    && Objects.equals(filePath, other.filePath) && Objects.equals(objectKey, other.objectKey);
+        }
+
+        private void finish(DatabaseOperationState finalState) {
+            finishedAt = Instant.now();
+            state = finalState;
+            changed();
+            listeners.clear();
+        }
+
+        private void changed() {
+            if (listeners.isEmpty()) {
+                return;
+            }
+            DatabaseOperationStatus status = toStatus();
+            for (Consumer<DatabaseOperationStatus> listener : listeners) {
+                try {
+                    listener.accept(status);
+                } catch (RuntimeException e) {
+                    logger.debug("Operation listener failed: {}", e.getMessage());
+                }
+            }
+        }
+
+        private DatabaseOperationStatus toStatus() {
+            DatabaseOperationStatus status = new DatabaseOperationStatus();
+            status.setOperationId(id);
+            status.setType(type);
+            status.setState(state);
+            status.setDatabaseName(databaseName);
+            status.setFilePath(filePath);
+            status.setObjectKey(objectKey);
+            status.setPercentComplete(percentComplete);
+            status.setMessage(message);
+            status.setStartedAt(startedAt.toString());
+            status.setFinishedAt(finishedAt != null ? finishedAt.toString() : null);
+            return status;
+        }
+    }
+
+    /**
+     * Creates a backup on the calling thread
+     * @throws Exception if the backup or its copy to the object store fails
+     */
+    public DatabaseOperationStatus backup(BackupRequest request) throws Exception {
+        Operation operation = backupOperation(request);
+        run(operation, backupTask(request));
+        return operation.toStatus();
+    }
+
+    /**
+     * Starts a backup in the background
+     * @param idempotencyKey Key identifying retries of the same submission, or null
+     * @throws RejectedExecutionException if too many operations are already waiting
+     */
+    public DatabaseOperationStatus startBackup(BackupRequest request, String idempotencyKey) {
+        return submit(backupOperation(request), backupTask(request), idempotencyKey);
+    }
+
+    /**
+     * Restores a database on the calling thread
+     * @throws Exception if the copy from the object store or the restore fails
+     */
+    public DatabaseOperationStatus restore(RestoreRequest request) throws Exception {
+        Operation operation = restoreOperation(request);
+        run(operation, restoreTask(request));
+        return operation.toStatus();
+    }
+
+    /**
+     * Starts a restore in the background
+     * @param idempotencyKey Key identifying retries of the same submission, or null
+     * @throws RejectedExecutionException if too many operations are already waiting
+     */
+    public DatabaseOperationStatus startRestore(RestoreRequest request, String idempotencyKey) {
+        return submit(restoreOperation(request), restoreTask(request), idempotencyKey);
+    }
+
+    /**
+     * Starts clearing all tables of a database in the background
+     * @param idempotencyKey Key identifying retries of the same submission, or null
+     * @throws RejectedExecutionException if too many operations are already waiting
+     */
+    public DatabaseOperationStatus startTrimTables(TrimTablesRequest request, String idempotencyKey) {
+        Operation operation = new Operation("trim-tables", request.getDatabaseName(), null, null);
+        return submit(operation, op -> {
+            op.setMessage("Truncating tables");
+            if (!databaseService.trimAllTables(request.getEnvironment(), request.getDatabaseName(),
+                    Boolean.TRUE.equals(request.getReseedIdentities()))) {
+                throw new IllegalStateException("Failed to truncate tables");
+            }
+            op.setMessage("All tables truncated successfully");
+        }, idempotencyKey);
+    }
+
+    /**
+     * Starts dropping all tables of a database in the background
+     * @param idempotencyKey Key identifying retries of the same submission, or null
+     * @throws RejectedExecutionException if too many operations are already waiting
+     */
+    public DatabaseOperationStatus startDropTables(DropTablesRequest request, String idempotencyKey) {
+        Operation operation = new Operation("drop-tables", request.getDatabaseName(), null, null);
+        return submit(operation, op -> {
+            op.setMessage("Dropping tables");
+            if (!databaseService.dropAllTables(request.getEnvironment(), request.getDatabaseName())) {
+                throw new IllegalStateException("Failed to drop tables");
+            }
+            op.setMessage("All tables dropped successfully");
+        }, idempotencyKey);
+    }
+
+    /**
+     * Loads sample data on the calling thread
+     * @throws Exception if the model cannot be found or loading fails
+     */
+    public DatabaseOperationStatus seed(SeedDatabaseRequest request) throws Exception {
+        Operation operation = new Operation("seed", request.getDatabaseName(), null, null);
+        run(operation, seedTask(request));
+        return operation.toStatus();
+    }
+
+    /**
+     * Starts loading sample data in the background
+     * @param idempotencyKey Key identifying retries of the same submission, or null
+     * @throws RejectedExecutionException if too many operations are already waiting
+     */
+    public DatabaseOperationStatus startSeed(SeedDatabaseRequest request, String idempotencyKey) {
+        return submit(new Operation("seed", request.getDatabaseName(), null, null), seedTask(request), idempotencyKey);
+    }
+
+    /**
+     * @return The operation's status, or null if it is unknown or expired
+     */
+    public DatabaseOperationStatus getOperation(String operationId) {
+        Operation operation = operations.get(operationId);
+        return operation != null ? operation.toStatus() : null;
+    }
+
+    /**
+     * Registers a listener that receives the operation's status whenever its progress, message or state changes
+     * @return The current status, or null if the operation is unknown or expired and nothing was registered
+     */
+    public DatabaseOperationStatus subscribe(String operationId, Consumer<DatabaseOperationStatus> listener) {
+        Operation operation = operations.get(operationId);
+        if (operation == null) {
+            return null;
+        }
+        operation.listeners.add(listener);
+        return operation.toStatus();
+    }
+
+    public void unsubscribe(String operationId, Consumer<DatabaseOperationStatus> listener) {
+        Operation operation = operations.get(operationId);
+        if (operation != null) {
+            operation.listeners.remove(listener);
+        }
+    }
+
+    private Operation backupOperation(BackupRequest request) {
+        requireObjectStore(request.getObjectKey());
+        return new Operation("backup", request.getDatabaseName(), request.getBackupFilePath(), request.getObjectKey());
+    }
+
+    private Operation restoreOperation(RestoreRequest request) {
+        requireObjectStore(request.getObjectKey());
+        return new Operation("restore", request.getDatabaseName(), request.getBackupFilePath(), request.getObjectKey());
+    }
+
+    private Task backupTask(BackupRequest request) {
+        return operation -> {
+            operation.setMessage("Backing up database");
+            databaseService.createBackup(request.getEnvironment(), request.getDatabaseName(), request.getBackupFilePath(),
+                    Boolean.TRUE.equals(request.getCompression()), Boolean.TRUE.equals(request.getChecksum()),
+                    operation.progress());
+            if (request.getObjectKey() != null) {
+                operation.setMessage("Copying backup to object store");
+                objectStore.upload(request.getObjectKey(), Paths.get(request.getBackupFilePath()));
+            }
+            operation.setMessage("Backup created successfully");
+        };
+    }
+
+    private Task restoreTask(RestoreRequest request) {
+        return operation -> {
+            if (request.getObjectKey() != null) {
+                operation.setMessage("Copying backup from object store");
+                objectStore.download(request.getObjectKey(), Paths.get(request.getBackupFilePath()));
+            }
+            operation.setMessage("Restoring database");
+            databaseService.restoreDatabase(request.getEnvironment(), request.getDatabaseName(), request.getBackupFilePath(),
+                    Boolean.TRUE.equals(request.getChecksum()), operation.progress());
+            operation.setMessage("Database restored successfully");
+        };
+    }
+
+    private Task seedTask(SeedDatabaseRequest request) {
+        return operation -> {
+            String plantUml = request.getPlantUml();
+            if (plantUml == null || plantUml.isBlank()) {
+                plantUml = databaseService.getAppliedModel(request.getEnvironment(), request.getDatabaseName());
+                if (plantUml == null) {
+                    throw new IllegalArgumentException("No model was given and none was applied to database '" +
+                            request.getDatabaseName() + "'");
+                }
+            }
+            operation.setMessage("Loading sample data");
+            Map<String, Long> rowCounts = databaseService.seedSampleData(request.getEnvironment(),
+                    request.getDatabaseName(), plantUml,
+                    request.getRowsPerTable() != null ? request.getRowsPerTable() : DEFAULT_SEED_ROWS_PER_TABLE);
+            operation.setMessage("Loaded " + rowCounts.values().stream().mapToLong(Long::longValue).sum() +
+                    " rows into " + rowCounts.size() + " tables");
+        };
+    }
+
+    private void requireObjectStore(String objectKey) {
+        if (objectKey != null && !objectStore.isEnabled()) {
+            throw new IllegalArgumentException("Object store is not enabled (database.backup.object-store.enabled)");
+        }
+    }
+
+    private DatabaseOperationStatus submit(Operation operation, Task task, String idempotencyKey) {
+        // Registered before the key so that a concurrent retry always finds the operation the key points to
+        operations.put(operation.id, operation);
+        if (idempotencyKey != null) {
+            Operation existing = claimIdempotencyKey(idempotencyKey, operation);
+            if (existing != operation) {
+                operations.remove(operation.id);
+                if (!existing.sameAs(operation)) {
+                    throw new IllegalArgumentException("Idempotency key '" + idempotencyKey +
+                            "' was already used for a different operation");
+                }
+                logger.info("Returning operation {} for repeated idempotency key '{}'", existing.id, idempotencyKey);
+                return existing.toStatus();
+            }
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    run(operation, task);
+                } catch (Exception e) {
+                    // Recorded on the operation
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            operations.remove(operation.id);
+            if (idempotencyKey != null) {
+                idempotencyKeys.remove(idempotencyKey, operation.id);
+            }
+            logger.warn("Rejected {} of database '{}': {} operations already waiting", operation.type,
+                    operation.databaseName, executor.getQueue().size());
+            throw e;
+        }
+        logger.info("Started {} of database '{}' as operation {}", operation.type, operation.databaseName, operation.id);
+        return operation.toStatus();
+    }
+
+    /**
+     * Binds the key to the operation unless it already belongs to an operation that is still known
+     * @return The operation the key belongs to
+     */
+    private Operation claimIdempotencyKey(String idempotencyKey, Operation operation) {
+        while (true) {
+            String existingId = idempotencyKeys.putIfAbsent(idempotencyKey, operation.id);
+            if (existingId == null) {
+                return operation;
+            }
+            Operation existing = operations.get(existingId);
+            if (existing != null) {
+                return existing;
+            }
+            // The previous operation expired; take the key over unless another submission just did
+            if (idempotencyKeys.replace(idempotencyKey, existingId, operation.id)) {
+                return operation;
+            }
+        }
+    }
+
+    private void run(Operation operation, Task task) throws Exception {
+        operation.state = DatabaseOperationState.RUNNING;
+        operation.changed();
+        try {
+            task.run(operation);
+            operation.percentComplete = 100;
+            operation.finish(DatabaseOperationState.SUCCEEDED);
+        } catch (Exception e) {
+            logger.error("{} of database '{}' failed", operation.type, operation.databaseName, e);
+            operation.message = e.getMessage();
+            operation.finish(DatabaseOperationState.FAILED);
+            throw e;
+        }
+    }
+
+    /**
+     * Forgets finished operations, and their idempotency keys, after the retention period
+     */
+    @Scheduled(fixedDelayString = "PT10M")
+    public void evictFinishedOperations() {
+        Instant cutoff = Instant.now().minus(retention);
+        operations.values().removeIf(operation -> operation.finishedAt != null && operation.finishedAt.isBefore(cutoff));
+        idempotencyKeys.values().removeIf(operationId -> !operations.containsKey(operationId));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,8 +1,12 @@
 package com.armikom.zen.service;
 
+import com.armikom.zen.dto.DatabaseUsage;
 import com.armikom.zen.enums.DatabaseEnvironment;
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
 
 /**
  * Database management service for handling database operations including
@@ -30,6 +34,17 @@ public interface DatabaseService {
      */
     boolean trimAllTables(DatabaseEnvironment environment, String databaseName) throws SQLException;
 
+    /**
+     * Empties all tables for a given database, clearing tables that do not reference each other in parallel.
+     * Tables that no foreign key references are truncated, which also resets their identity columns.
+     * @param environment The database environment (preview or production)
+     * @param databaseName The name of the database to trim tables
+     * @param reseedIdentities Whether identity columns of tables that are deleted rather than truncated are reset
+     * @return true if successful, false otherwise
+     * @throws SQLException if database operation fails
+     */
+    boolean trimAllTables(DatabaseEnvironment environment, String databaseName, boolean reseedIdentities) throws SQLException;
+
     /**
      * Drops all tables from a given database (completely removes tables)
      * @param environment The database environment (preview or production)
@@ -50,6 +65,20 @@ public interface DatabaseService {
      */
     boolean createBackup(DatabaseEnvironment environment, String databaseName, String backupFilePath) throws SQLException, IOException;
 
+    /**
+     * Creates a full backup of the given database on the database server
+     * @param environment The database environment (preview or production)
+     * @param databaseName The name of the database to backup
+     * @param backupFilePath The .bak file path on the database server
+     * @param compression Whether the backup is compressed (not available on SQL Server Express)
+     * @param checksum Whether page checksums are verified and a backup checksum is written
+     * @param progressListener Receives the percentage completed, or null
+     * @return true if successful, false otherwise
+     * @throws SQLException if database operation fails
+     */
+    boolean createBackup(DatabaseEnvironment environment, String databaseName, String backupFilePath,
+                         boolean compression, boolean checksum, IntConsumer progressListener) throws SQLException;
+
     /**
      * Restores a database from the given backup file
      * @param environment The database environment (preview or production)
@@ -61,6 +90,19 @@ public interface DatabaseService {
      */
     boolean restoreDatabase(DatabaseEnvironment environment, String databaseName, String backupFilePath) throws SQLException, IOException;
 
+    /**
+     * Restores a database from a backup file on the database server, replacing the database if it exists
+     * @param environment The database environment (preview or production)
+     * @param databaseName The name of the database to restore to
+     * @param backupFilePath The .bak file path on the database server
+     * @param checksum Whether the backup checksum is verified
+     * @param progressListener Receives the percentage completed, or null
+     * @return true if successful, false otherwise
+     * @throws SQLException if database operation fails
+     */
+    boolean restoreDatabase(DatabaseEnvironment environment, String databaseName, String backupFilePath,
+                            boolean checksum, IntConsumer progressListener) throws SQLException;
+
     /**
      * Changes the password of a user for a given database
      * @param environment The database environment (preview or production)
@@ -78,4 +120,105 @@ public interface DatabaseService {
      * @return true if connection is successful, false otherwise
      */
     boolean testConnection(DatabaseEnvironment environment);
+
+    /**
+     * Returns the PlantUML model the database schema was last migrated to
+     * @param environment The database environment (preview or production)
+     * @param databaseName The name of the database
+     * @return The last applied model, or null if no model was applied yet
+     * @throws SQLException if database operation fails
+     */
+    String getAppliedModel(DatabaseEnvironment environment, String databaseName) throws SQLException;
+
+    /**
+     * Applies schema change statements in a single transaction and records the model they migrate to.
+     * Either all statements and the history entry are committed, or none of them.
+     * @param environment The database environment (preview or production)
+     * @param databaseName The name of the database
+     * @param statements The schema change statements, in order
+     * @param modelHash Hash identifying the model
+     * @param plantUml The model the statements migrate to
+     * @return true if successful, false otherwise
+     * @throws SQLException if database operation fails
+     */
+    boolean applySchemaChanges(DatabaseEnvironment environment, String databaseName, List<String> statements,
+                               String modelHash, String plantUml) throws SQLException;
+
+    /**
+     * Loads generated sample rows into the empty tables EF Core created for a model, in foreign key order. Tables
+     * that already have rows are skipped.
+     * @param environment The database environment (preview or production)
+     * @param databaseName The name of the database
+     * @param plantUml The model the database schema was created from
+     * @param rowsPerTable Rows to load per entity table; join tables get at most as many
+     * @return Rows loaded per seeded table, in load order
+     * @throws SQLException if database operation fails
+     */
+    Map<String, Long> seedSampleData(DatabaseEnvironment environment, String databaseName, String plantUml,
+                                     int rowsPerTable) throws SQLException;
+
+    /**
+     * Checks whether a database exists
+     * @param environment The database environment (preview or production)
+     * @param databaseName The name of the database
+     * @return true if the database exists
+     * @throws SQLException if database operation fails
+     */
+    boolean databaseExists(DatabaseEnvironment environment, String databaseName) throws SQLException;
+
+    /**
+     * Lists the databases whose name starts with the given prefix
+     * @param environment The database environment (preview or production)
+     * @param namePrefix The literal name prefix
+     * @return The database names, in name order
+     * @throws SQLException if database operation fails
+     */
+    List<String> listDatabases(DatabaseEnvironment environment, String namePrefix) throws SQLException;
+
+    /**
+     * Reads the size, sessions and last activity of every user database on the server
+     * @param environment The database environment (preview or production)
+     * @return One entry per database, in name order
+     * @throws SQLException if database operation fails
+     */
+    List<DatabaseUsage> getDatabaseUsage(DatabaseEnvironment environment) throws SQLException;
+
+    /**
+     * Creates an empty database without any login or user
+     * @param environment The database environment (preview or production)
+     * @param databaseName The name of the database to create
+     * @return true if successful, false otherwise
+     * @throws SQLException if database operation fails
+     */
+    boolean createEmptyDatabase(DatabaseEnvironment environment, String databaseName) throws SQLException;
+
+    /**
+     * Renames a database. Fails if the database is in use or a database with the new name exists.
+     * @param environment The database environment (preview or production)
+     * @param databaseName The current name of the database
+     * @param newDatabaseName The new name of the database
+     * @return true if successful, false otherwise
+     * @throws SQLException if database operation fails
+     */
+    boolean renameDatabase(DatabaseEnvironment environment, String databaseName, String newDatabaseName) throws SQLException;
+
+    /**
+     * Restores a backup of another database as a new database. The restored files get names of their own, so the
+     * same backup can be restored any number of times. Fails if the database already exists.
+     * @param environment The database environment (preview or production)
+     * @param backupFilePath Path of the backup on the database server
+     * @param databaseName The name of the new database
+     * @return true if successful, false otherwise
+     * @throws SQLException if database operation fails
+     */
+    boolean cloneDatabase(DatabaseEnvironment environment, String backupFilePath, String databaseName) throws SQLException;
+
+    /**
+     * Drops a database if it exists, disconnecting its sessions
+     * @param environment The database environment (preview or production)
+     * @param databaseName The name of the database to drop
+     * @return true if successful, false otherwise
+     * @throws SQLException if database operation fails
+     */
+    boolean dropDatabase(DatabaseEnvironment environment, String databaseName) throws SQLException;
 }
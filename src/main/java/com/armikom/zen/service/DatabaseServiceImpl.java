@@ -1,17 +1,40 @@
 package com.armikom.zen.service;
 
+import com.armikom.zen.dto.DatabaseUsage;
 import com.armikom.zen.enums.DatabaseEnvironment;
+import com.armikom.zen.service.TableDependencyGraph.Table;
+import com.armikom.zen.service.generator.EfCoreSchema;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopy;
+import com.microsoft.sqlserver.jdbc.SQLServerBulkCopyOptions;
+import com.microsoft.sqlserver.jdbc.SQLServerConnection;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.*;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.io.IOException;
 import java.sql.*;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
 import java.util.regex.Pattern;
 
 /**
@@ -27,103 +50,93 @@ public class DatabaseServiceImpl implements DatabaseService {
     private static final Pattern VALID_PASSWORD_PATTERN = Pattern.compile("^[a-zA-Z0-9@#$%^&+=!-]{8,128}$");
     private static final Pattern VALID_DB_NAME_PATTERN = Pattern.compile("^[a-zA-Z0-9_-]{3,64}$");
 
-    // Preview Database Configuration
-    @Value("${database.preview.url}")
-    private String previewConnectionString;
+    // Table recording which model each schema migration brought the database to
+    private static final String MODEL_HISTORY_TABLE = "[dbo].[__ZenModelHistory]";
 
-    @Value("${database.preview.username}")
-    private String previewAdminUsername;
+    // Progress granularity of BACKUP and RESTORE, and how often it is read while they run
+    private static final int BACKUP_STATS_PERCENT = 5;
+    private static final long PROGRESS_POLL_SECONDS = 1;
 
-    @Value("${database.preview.password}")
-    private String previewAdminPassword;
+    // Sample data limits: rows per table, and rows the bulk copy sends per batch
+    private static final int MAX_SEED_ROWS_PER_TABLE = 1_000_000;
+    private static final int SEED_BATCH_SIZE = 10_000;
 
-    @Value("${database.preview.driver-class-name}")
-    private String previewDriverClassName;
+    // Ends a script that turned NOCOUNT and XACT_ABORT on. SET options of a batch outlive it, and the pools do not
+    // reset them when a connection is returned, so the next borrower would inherit them.
+    private static final String RESET_SESSION_SETTINGS = "SET NOCOUNT OFF;\nSET XACT_ABORT OFF;\n";
 
-    // Production Database Configuration
-    @Value("${database.production.url}")
-    private String productionConnectionString;
-
-    @Value("${database.production.username}")
-    private String productionAdminUsername;
-
-    @Value("${database.production.password}")
-    private String productionAdminPassword;
-
-    @Value("${database.production.driver-class-name}")
-    private String productionDriverClassName;
+    private final DatabaseConnectionManager connectionManager;
+    private final DatabaseHealthMonitor healthMonitor;
+    private final PlantUmlParser plantUmlParser;
+    private final int trimParallelism;
+    private final ExecutorService tableExecutor;
+    private final ScheduledExecutorService progressPoller = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "database-progress");
+        t.setDaemon(true);
+        return t;
+    });
 
     /**
-     * Gets database configuration for the specified environment
+     * @param trimParallelism Connections used at once to clear or load independent tables
      */
-    private DatabaseConfig getDatabaseConfig(DatabaseEnvironment environment) {
-        switch (environment) {
-            case PREVIEW:
-                return new DatabaseConfig(previewConnectionString, previewAdminUsername, 
-                                        previewAdminPassword, previewDriverClassName);
-            case PRODUCTION:
-                return new DatabaseConfig(productionConnectionString, productionAdminUsername, 
-                                        productionAdminPassword, productionDriverClassName);
-            default:
-                throw new IllegalArgumentException("Unsupported database environment: " + environment);
-        }
+    public DatabaseServiceImpl(DatabaseConnectionManager connectionManager,
+                               DatabaseHealthMonitor healthMonitor,
+                               PlantUmlParser plantUmlParser,
+                               @Value("${database.trim.parallelism:4}") int trimParallelism) {
+        this.connectionManager = connectionManager;
+        this.healthMonitor = healthMonitor;
+        this.plantUmlParser = plantUmlParser;
+        this.trimParallelism = Math.max(1, trimParallelism);
+        this.tableExecutor = Executors.newFixedThreadPool(this.trimParallelism, r -> {
+            Thread t = new Thread(r, "database-tables");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        tableExecutor.shutdownNow();
+        progressPoller.shutdownNow();
     }
 
     /**
-     * Gets a connection to SQL Server (without specifying a database)
+     * Gets a pooled connection to SQL Server (without specifying a database)
      */
     private Connection getServerConnection(DatabaseEnvironment environment) throws SQLException {
-        DatabaseConfig config = getDatabaseConfig(environment);
-        String baseUrl = removeDatabaseName(config.getUrl());
-        return DriverManager.getConnection(baseUrl, config.getUsername(), config.getPassword());
+        healthMonitor.checkAvailable(environment);
+        return recordHealth(environment, () -> connectionManager.getServerConnection(environment));
     }
 
     /**
-     * Gets a connection to a specific database
+     * Gets a pooled connection to a specific database
      */
     private Connection getDatabaseConnection(DatabaseEnvironment environment, String databaseName) throws SQLException {
         validateDatabaseName(databaseName);
-        DatabaseConfig config = getDatabaseConfig(environment);
-        String baseUrl = removeDatabaseName(config.getUrl());
-        String dbUrl = baseUrl + ";databaseName=" + databaseName;
-        return DriverManager.getConnection(dbUrl, config.getUsername(), config.getPassword());
+        healthMonitor.checkAvailable(environment);
+        return recordHealth(environment, () -> connectionManager.getDatabaseConnection(environment, databaseName));
     }
 
-    /**
-     * Inner class to hold database configuration
-     */
-    private static class DatabaseConfig {
-        private final String url;
-        private final String username;
-        private final String password;
-        private final String driverClassName;
-
-        public DatabaseConfig(String url, String username, String password, String driverClassName) {
-            this.url = url;
-            this.username = username;
-            this.password = password;
-            this.driverClassName = driverClassName;
-        }
-
-        public String getUrl() { return url; }
-        public String getUsername() { return username; }
-        public String getPassword() { return password; }
-        public String getDriverClassName() { return driverClassName; }
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
     }
 
     /**
-     * Removes the databaseName parameter from a JDBC URL while preserving other parameters
+     * Reports to the environment's circuit breaker whether the server could be reached; other errors, such as a
+     * failed login, still mean that the server answered
      */
-    private String removeDatabaseName(String url) {
-        int idx = url.toLowerCase().indexOf(";databasename=");
-        if (idx == -1) {
-            return url;
-        }
-        int endIdx = url.indexOf(';', idx + 1);
-        if (endIdx == -1) {
-            return url.substring(0, idx);
+    private Connection recordHealth(DatabaseEnvironment environment, ConnectionSupplier supplier) throws SQLException {
+        try {
+            Connection connection = supplier.get();
+            healthMonitor.recordSuccess(environment);
+            return connection;
+        } catch (SQLTransientConnectionException e) {
+            healthMonitor.recordFailure(environment);
+            throw e;
+        } catch (SQLException e) {
+            healthMonitor.recordSuccess(environment);
+            throw e;
         }
-        return url.substring(0, idx) + url.substring(endIdx);
     }
 
     @Override
@@ -174,41 +187,45 @@ public class DatabaseServiceImpl implements DatabaseService {
 
     @Override
     public boolean trimAllTables(DatabaseEnvironment environment, String databaseName) throws SQLException {
-        validateDatabaseName(databaseName);
+        return trimAllTables(environment, databaseName, false);
+    }
 
-        try (Connection connection = getDatabaseConnection(environment, databaseName)) {
-            // Get all table names with their schemas
-            List<String[]> tableNames = new ArrayList<>();
-            String getTablesSql = "SELECT TABLE_SCHEMA, TABLE_NAME FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_TYPE = 'BASE TABLE'";
+    @Override
+    public boolean trimAllTables(DatabaseEnvironment environment, String databaseName, boolean reseedIdentities) throws SQLException {
+        validateDatabaseName(databaseName);
+        long startTime = System.currentTimeMillis();
 
-            try (PreparedStatement pstmt = connection.prepareStatement(getTablesSql);
-                 ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    tableNames.add(new String[]{rs.getString("TABLE_SCHEMA"), rs.getString("TABLE_NAME")});
-                }
+        try {
+            TableDependencyGraph graph;
+            Set<Table> notTruncatable;
+            try (Connection connection = getDatabaseConnection(environment, databaseName)) {
+                graph = loadTableDependencies(connection);
+                notTruncatable = loadNonTruncatableTables(connection);
             }
 
-            if (tableNames.isEmpty()) {
+            if (graph.getTables().isEmpty()) {
                 logger.info("No tables found in database '{}'", databaseName);
                 return true;
             }
 
-            try (Statement stmt = connection.createStatement()) {
-                // Disable constraints
-                stmt.execute("EXEC sp_msforeachtable 'ALTER TABLE ? NOCHECK CONSTRAINT ALL'");
-
-                // Delete data from all tables
-                for (String[] tbl : tableNames) {
-                    String deleteSql = "DELETE FROM " + escapeIdentifier(tbl[0]) + "." + escapeIdentifier(tbl[1]);
-                    stmt.executeUpdate(deleteSql);
-                    logger.debug("Cleared table '{}.{}'", tbl[0], tbl[1]);
-                }
+            // Each level only references later levels, so its tables are cleared concurrently
+            List<List<Table>> levels = graph.levels();
+            for (List<Table> level : levels) {
+                clearTablesInParallel(environment, databaseName, level, graph, notTruncatable, reseedIdentities);
+            }
 
-                // Re-enable constraints
-                stmt.execute("EXEC sp_msforeachtable 'ALTER TABLE ? WITH CHECK CHECK CONSTRAINT ALL'");
+            List<Table> cyclicTables = graph.cyclicTables();
+            if (!cyclicTables.isEmpty()) {
+                logger.debug("Clearing {} tables with cyclic references in database '{}'", cyclicTables.size(), databaseName);
+                try (Connection connection = getDatabaseConnection(environment, databaseName);
+                     Statement stmt = connection.createStatement()) {
+                    executeScript(stmt, buildCyclicClearScript(cyclicTables, reseedIdentities));
+                }
             }
 
-            logger.info("Successfully cleared {} tables in database '{}'", tableNames.size(), databaseName);
+            logger.info("Successfully cleared {} tables in database '{}' ({} levels, {} cyclic) in {} ms",
+                    graph.getTables().size(), databaseName, levels.size(), cyclicTables.size(),
+                    System.currentTimeMillis() - startTime);
             return true;
 
         } catch (SQLException e) {
@@ -217,69 +234,226 @@ public class DatabaseServiceImpl implements DatabaseService {
         }
     }
 
+    /**
+     * Clears independent tables, split over up to {@code database.trim.parallelism} connections with one script each
+     */
+    private void clearTablesInParallel(DatabaseEnvironment environment, String databaseName, List<Table> tables,
+                                       TableDependencyGraph graph, Set<Table> notTruncatable,
+                                       boolean reseedIdentities) throws SQLException {
+        int batchCount = Math.max(1, Math.min(trimParallelism, tables.size()));
+        List<List<Table>> batches = new ArrayList<>();
+        for (int i = 0; i < batchCount; i++) {
+            batches.add(new ArrayList<>());
+        }
+        for (int i = 0; i < tables.size(); i++) {
+            batches.get(i % batchCount).add(tables.get(i));
+        }
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (List<Table> batch : batches) {
+            String script = buildClearScript(batch, graph, notTruncatable, reseedIdentities);
+            futures.add(CompletableFuture.runAsync(() -> {
+                try (Connection connection = getDatabaseConnection(environment, databaseName);
+                     Statement stmt = connection.createStatement()) {
+                    executeScript(stmt, script);
+                    logger.debug("Cleared tables {}", batch);
+                } catch (SQLException e) {
+                    throw new CompletionException(e);
+                }
+            }, tableExecutor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Builds a script that clears the given tables in one round trip: TRUNCATE where allowed, DELETE otherwise.
+     * TRUNCATE always resets identity columns; DELETE only does when reseeding is requested.
+     */
+    static String buildClearScript(List<Table> tables, TableDependencyGraph graph, Set<Table> notTruncatable,
+                                   boolean reseedIdentities) {
+        StringBuilder script = new StringBuilder("SET NOCOUNT ON;\nSET XACT_ABORT ON;\n");
+        if (reseedIdentities) {
+            script.append("DECLARE @reseed nvarchar(max);\n");
+        }
+        script.append("BEGIN TRY\n");
+        for (Table table : tables) {
+            if (!graph.isReferenced(table) && !notTruncatable.contains(table)) {
+                script.append("TRUNCATE TABLE ").append(qualifiedName(table)).append(";\n");
+            } else {
+                script.append("DELETE FROM ").append(qualifiedName(table)).append(";\n");
+                if (reseedIdentities) {
+                    appendReseed(script, table);
+                }
+            }
+        }
+        script.append("END TRY\nBEGIN CATCH\n").append(RESET_SESSION_SETTINGS).append("THROW;\nEND CATCH\n")
+                .append(RESET_SESSION_SETTINGS);
+        return script.toString();
+    }
+
+    /**
+     * Builds a script that clears tables whose foreign keys form cycles, with their constraints disabled meanwhile
+     */
+    static String buildCyclicClearScript(List<Table> tables, boolean reseedIdentities) {
+        StringBuilder script = new StringBuilder("SET NOCOUNT ON;\nSET XACT_ABORT ON;\n");
+        if (reseedIdentities) {
+            script.append("DECLARE @reseed nvarchar(max);\n");
+        }
+        script.append("BEGIN TRY\n");
+        for (Table table : tables) {
+            script.append("ALTER TABLE ").append(qualifiedName(table)).append(" NOCHECK CONSTRAINT ALL;\n");
+        }
+        for (Table table : tables) {
+            script.append("DELETE FROM ").append(qualifiedName(table)).append(";\n");
+            if (reseedIdentities) {
+                appendReseed(script, table);
+            }
+        }
+        for (Table table : tables) {
+            script.append("ALTER TABLE ").append(qualifiedName(table)).append(" WITH CHECK CHECK CONSTRAINT ALL;\n");
+        }
+        script.append("END TRY\nBEGIN CATCH\n");
+        for (Table table : tables) {
+            script.append("ALTER TABLE ").append(qualifiedName(table)).append(" CHECK CONSTRAINT ALL;\n");
+        }
+        script.append(RESET_SESSION_SETTINGS).append("THROW;\nEND CATCH\n").append(RESET_SESSION_SETTINGS);
+        return script.toString();
+    }
+
+    /**
+     * Resets the identity of a deleted table so the next row gets the seed value.
+     * Tables that never had rows are skipped, as reseeding them would shift the first value.
+     */
+    private static void appendReseed(StringBuilder script, Table table) {
+        String name = sqlLiteral(qualifiedName(table));
+        script.append("SET @reseed = (SELECT ")
+                .append(sqlLiteral("DBCC CHECKIDENT (" + name + ", RESEED, "))
+                .append(" + CAST(CAST(seed_value AS bigint) - CAST(increment_value AS bigint) AS nvarchar(40))")
+                .append(" + N') WITH NO_INFOMSGS' FROM sys.identity_columns WHERE object_id = OBJECT_ID(")
+                .append(name).append(") AND last_value IS NOT NULL);\n")
+                .append("IF @reseed IS NOT NULL EXEC (@reseed);\n");
+    }
+
+    /**
+     * Loads the user tables and their foreign keys. History tables of system-versioned tables are left out,
+     * as they cannot be modified directly.
+     */
+    private TableDependencyGraph loadTableDependencies(Connection connection) throws SQLException {
+        TableDependencyGraph graph = new TableDependencyGraph();
+        String getTablesSql = "SELECT SCHEMA_NAME(schema_id) AS table_schema, name AS table_name FROM sys.tables " +
+                "WHERE is_ms_shipped = 0 AND temporal_type <> 1";
+        try (PreparedStatement pstmt = connection.prepareStatement(getTablesSql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                graph.addTable(new Table(rs.getString("table_schema"), rs.getString("table_name")));
+            }
+        }
+
+        String getForeignKeysSql = """
+            SELECT
+                SCHEMA_NAME(child.schema_id) AS referencing_schema,
+                child.name AS referencing_table,
+                SCHEMA_NAME(parent.schema_id) AS referenced_schema,
+                parent.name AS referenced_table
+            FROM sys.foreign_keys fk
+            INNER JOIN sys.tables child ON fk.parent_object_id = child.object_id
+            INNER JOIN sys.tables parent ON fk.referenced_object_id = parent.object_id
+            WHERE child.temporal_type <> 1 AND parent.temporal_type <> 1
+            """;
+        try (PreparedStatement pstmt = connection.prepareStatement(getForeignKeysSql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                graph.addForeignKey(
+                        new Table(rs.getString("referencing_schema"), rs.getString("referencing_table")),
+                        new Table(rs.getString("referenced_schema"), rs.getString("referenced_table")));
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Loads tables TRUNCATE is not allowed on besides referenced ones: system-versioned, replicated and
+     * schema-bound by a view
+     */
+    private Set<Table> loadNonTruncatableTables(Connection connection) throws SQLException {
+        String sql = """
+            SELECT SCHEMA_NAME(t.schema_id) AS table_schema, t.name AS table_name
+            FROM sys.tables t
+            WHERE t.is_ms_shipped = 0 AND (t.temporal_type <> 0 OR t.is_replicated = 1
+                OR EXISTS (SELECT 1 FROM sys.sql_expression_dependencies d
+                           WHERE d.referenced_id = t.object_id AND d.is_schema_bound_reference = 1))
+            """;
+        Set<Table> tables = new HashSet<>();
+        try (PreparedStatement pstmt = connection.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                tables.add(new Table(rs.getString("table_schema"), rs.getString("table_name")));
+            }
+        }
+        return tables;
+    }
+
     @Override
     public boolean dropAllTables(DatabaseEnvironment environment, String databaseName) throws SQLException {
         validateDatabaseName(databaseName);
+        long startTime = System.currentTimeMillis();
 
         try (Connection connection = getDatabaseConnection(environment, databaseName)) {
-            // Get all table names with their schemas
-            List<String[]> tableNames = new ArrayList<>();
-            String getTablesSql = "SELECT TABLE_SCHEMA, TABLE_NAME FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_TYPE = 'BASE TABLE'";
-
+            // Get all tables with their schemas; history tables are dropped with their system-versioned table
+            List<Table> tables = new ArrayList<>();
+            List<Table> versionedTables = new ArrayList<>();
+            String getTablesSql = "SELECT SCHEMA_NAME(schema_id) AS table_schema, name AS table_name, temporal_type " +
+                    "FROM sys.tables WHERE is_ms_shipped = 0";
             try (PreparedStatement pstmt = connection.prepareStatement(getTablesSql);
                  ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    tableNames.add(new String[]{rs.getString("TABLE_SCHEMA"), rs.getString("TABLE_NAME")});
+                    Table table = new Table(rs.getString("table_schema"), rs.getString("table_name"));
+                    tables.add(table);
+                    if (rs.getInt("temporal_type") == 2) {
+                        versionedTables.add(table);
+                    }
                 }
             }
 
-            if (tableNames.isEmpty()) {
+            if (tables.isEmpty()) {
                 logger.info("No tables found in database '{}'", databaseName);
                 return true;
             }
 
-            try (Statement stmt = connection.createStatement()) {
-                // Step 1: Drop all foreign key constraints first
-                String getForeignKeysSql = """
-                    SELECT 
-                        fk.name AS constraint_name,
-                        SCHEMA_NAME(t.schema_id) AS table_schema,
-                        t.name AS table_name
-                    FROM sys.foreign_keys fk
-                    INNER JOIN sys.tables t ON fk.parent_object_id = t.object_id
-                    """;
-
-                List<String[]> foreignKeys = new ArrayList<>();
-                try (PreparedStatement fkStmt = connection.prepareStatement(getForeignKeysSql);
-                     ResultSet fkRs = fkStmt.executeQuery()) {
-                    while (fkRs.next()) {
-                        foreignKeys.add(new String[]{
-                            fkRs.getString("constraint_name"),
-                            fkRs.getString("table_schema"),
-                            fkRs.getString("table_name")
-                        });
-                    }
-                }
-
-                // Drop all foreign key constraints
-                for (String[] fk : foreignKeys) {
-                    String dropFkSql = "ALTER TABLE " + escapeIdentifier(fk[1]) + "." + escapeIdentifier(fk[2]) + 
-                                      " DROP CONSTRAINT " + escapeIdentifier(fk[0]);
-                    stmt.executeUpdate(dropFkSql);
-                    logger.debug("Dropped foreign key constraint '{}' from table '{}.{}'", fk[0], fk[1], fk[2]);
+            String getForeignKeysSql = """
+                SELECT
+                    fk.name AS constraint_name,
+                    SCHEMA_NAME(t.schema_id) AS table_schema,
+                    t.name AS table_name
+                FROM sys.foreign_keys fk
+                INNER JOIN sys.tables t ON fk.parent_object_id = t.object_id
+                """;
+            List<String[]> foreignKeys = new ArrayList<>();
+            try (PreparedStatement fkStmt = connection.prepareStatement(getForeignKeysSql);
+                 ResultSet fkRs = fkStmt.executeQuery()) {
+                while (fkRs.next()) {
+                    foreignKeys.add(new String[]{
+                        fkRs.getString("constraint_name"),
+                        fkRs.getString("table_schema"),
+                        fkRs.getString("table_name")
+                    });
                 }
+            }
 
-                logger.info("Dropped {} foreign key constraints", foreignKeys.size());
-
-                // Step 2: Now drop all tables (order doesn't matter since FKs are gone)
-                for (String[] tbl : tableNames) {
-                    String dropSql = "DROP TABLE " + escapeIdentifier(tbl[0]) + "." + escapeIdentifier(tbl[1]);
-                    stmt.executeUpdate(dropSql);
-                    logger.debug("Dropped table '{}.{}'", tbl[0], tbl[1]);
-                }
+            // One round trip and one transaction: either every table is dropped or none
+            try (Statement stmt = connection.createStatement()) {
+                executeScript(stmt, buildDropScript(foreignKeys, versionedTables, tables));
             }
 
-            logger.info("Successfully dropped {} tables from database '{}'", tableNames.size(), databaseName);
+            logger.info("Successfully dropped {} tables and {} foreign key constraints from database '{}' in {} ms",
+                    tables.size(), foreignKeys.size(), databaseName, System.currentTimeMillis() - startTime);
             return true;
 
         } catch (SQLException e) {
@@ -288,85 +462,200 @@ public class DatabaseServiceImpl implements DatabaseService {
         }
     }
 
+    /**
+     * Builds a script that drops the given foreign keys and then the tables in a single transaction.
+     * If a statement fails, everything is rolled back and the error names the object that could not be dropped.
+     * @param foreignKeys Constraint name, table schema and table name of each foreign key
+     * @param versionedTables System-versioned tables, whose versioning is turned off so that they and their
+     *                        history tables can be dropped
+     */
+    static String buildDropScript(List<String[]> foreignKeys, List<Table> versionedTables, List<Table> tables) {
+        StringBuilder script = new StringBuilder("""
+                SET NOCOUNT ON;
+                SET XACT_ABORT ON;
+                DECLARE @object nvarchar(600);
+                BEGIN TRY
+                BEGIN TRANSACTION;
+                """);
+        for (String[] fk : foreignKeys) {
+            String table = escapeIdentifier(fk[1]) + "." + escapeIdentifier(fk[2]);
+            appendDropStatement(script, "foreign key " + escapeIdentifier(fk[0]) + " on " + table,
+                    "ALTER TABLE " + table + " DROP CONSTRAINT " + escapeIdentifier(fk[0]));
+        }
+        for (Table table : versionedTables) {
+            appendDropStatement(script, "system versioning of " + qualifiedName(table),
+                    "ALTER TABLE " + qualifiedName(table) + " SET (SYSTEM_VERSIONING = OFF)");
+        }
+        for (Table table : tables) {
+            appendDropStatement(script, "table " + qualifiedName(table), "DROP TABLE " + qualifiedName(table));
+        }
+        script.append("""
+                COMMIT TRANSACTION;
+                END TRY
+                BEGIN CATCH
+                IF @@TRANCOUNT > 0 ROLLBACK TRANSACTION;
+                DECLARE @message nvarchar(2048) = CONCAT(N'Failed to drop ', @object, N': ', ERROR_MESSAGE());
+                """).append(RESET_SESSION_SETTINGS).append("""
+                THROW 51000, @message, 1;
+                END CATCH
+                """).append(RESET_SESSION_SETTINGS);
+        return script.toString();
+    }
+
+    private static void appendDropStatement(StringBuilder script, String object, String statement) {
+        script.append("SET @object = ").append(sqlLiteral(object)).append(";\n")
+                .append(statement).append(";\n");
+    }
+
     @Override
     public boolean createBackup(DatabaseEnvironment environment, String databaseName, String backupFilePath) throws SQLException, IOException {
+        return createBackup(environment, databaseName, backupFilePath, false, false, null);
+    }
+
+    @Override
+    public boolean createBackup(DatabaseEnvironment environment, String databaseName, String backupFilePath,
+                                boolean compression, boolean checksum, IntConsumer progressListener) throws SQLException {
         validateDatabaseName(databaseName);
         validateFilePath(backupFilePath);
+        long startTime = System.currentTimeMillis();
 
-        try {
-            DatabaseConfig config = getDatabaseConfig(environment);
-            String backupCommand = String.format(
-                "BACKUP DATABASE [%s] TO DISK='%s' WITH INIT",
-                databaseName, backupFilePath.replace("'", "''"));
-
-            ProcessBuilder processBuilder = new ProcessBuilder(
-                "sqlcmd",
-                "-S", "localhost",
-                "-U", config.getUsername(),
-                "-P", config.getPassword(),
-                "-Q", backupCommand
-            );
-
-            processBuilder.redirectErrorStream(true);
-            Process process = processBuilder.start();
-            int exitCode = process.waitFor();
-            if (exitCode == 0) {
-                logger.info("Database backup created successfully: {}", backupFilePath);
-                return true;
-            } else {
-                logger.error("sqlcmd backup process failed with exit code: {}", exitCode);
-                return false;
-            }
-
-        } catch (IOException | InterruptedException e) {
+        try (Connection connection = getServerConnection(environment)) {
+            executeWithProgress(environment, connection,
+                    buildBackupSql(databaseName, backupFilePath, compression, checksum), progressListener);
+            logger.info("Database backup of '{}' created successfully: {} ({} ms)", databaseName, backupFilePath,
+                    System.currentTimeMillis() - startTime);
+            return true;
+        } catch (SQLException e) {
             logger.error("Failed to create backup for database '{}'", databaseName, e);
-            if (e instanceof InterruptedException) {
-                Thread.currentThread().interrupt();
-            }
-            throw new IOException("Backup creation failed", e);
+            throw e;
         }
     }
 
     @Override
     public boolean restoreDatabase(DatabaseEnvironment environment, String databaseName, String backupFilePath) throws SQLException, IOException {
+        return restoreDatabase(environment, databaseName, backupFilePath, false, null);
+    }
+
+    @Override
+    public boolean restoreDatabase(DatabaseEnvironment environment, String databaseName, String backupFilePath,
+                                   boolean checksum, IntConsumer progressListener) throws SQLException {
         validateDatabaseName(databaseName);
         validateFilePath(backupFilePath);
+        long startTime = System.currentTimeMillis();
+
+        // Pooled sessions would keep the database in use and block the restore
+        connectionManager.evict(environment, databaseName);
+
+        try (Connection connection = getServerConnection(environment);
+             Statement stmt = connection.createStatement()) {
+            try {
+                executeWithProgress(environment, connection,
+                        buildRestoreSql(databaseName, backupFilePath, checksum), progressListener);
+            } finally {
+                // A restored database keeps the user mode it was backed up with
+                try {
+                    if (databaseExistsOn(connection, databaseName)) {
+                        stmt.executeUpdate("ALTER DATABASE " + escapeIdentifier(databaseName) + " SET MULTI_USER");
+                    }
+                } catch (SQLException e) {
+                    logger.warn("Could not set database '{}' back to multi-user mode: {}", databaseName, e.getMessage());
+                }
+            }
 
-        if (!Files.exists(Paths.get(backupFilePath))) {
-            throw new IOException("Backup file does not exist: " + backupFilePath);
+            logger.info("Database '{}' restored successfully from: {} ({} ms)", databaseName, backupFilePath,
+                    System.currentTimeMillis() - startTime);
+            return true;
+        } catch (SQLException e) {
+            logger.error("Failed to restore database '{}' from backup '{}'", databaseName, backupFilePath, e);
+            throw e;
         }
+    }
 
-        try {
-            DatabaseConfig config = getDatabaseConfig(environment);
-            String restoreCommand = String.format(
-                "RESTORE DATABASE [%s] FROM DISK='%s' WITH REPLACE",
-                databaseName, backupFilePath.replace("'", "''"));
-
-            ProcessBuilder processBuilder = new ProcessBuilder(
-                "sqlcmd",
-                "-S", "localhost",
-                "-U", config.getUsername(),
-                "-P", config.getPassword(),
-                "-Q", restoreCommand
-            );
-
-            processBuilder.redirectErrorStream(true);
-            Process process = processBuilder.start();
-            int exitCode = process.waitFor();
-            if (exitCode == 0) {
-                logger.info("Database '{}' restored successfully from: {}", databaseName, backupFilePath);
-                return true;
-            } else {
-                logger.error("sqlcmd restore process failed with exit code: {}", exitCode);
-                return false;
+    static String buildBackupSql(String databaseName, String backupFilePath, boolean compression, boolean checksum) {
+        return "BACKUP DATABASE " + escapeIdentifier(databaseName) + " TO DISK = " + sqlLiteral(backupFilePath) +
+                " WITH INIT, STATS = " + BACKUP_STATS_PERCENT +
+                (compression ? ", COMPRESSION" : "") + (checksum ? ", CHECKSUM" : "");
+    }
+
+    /**
+     * Builds a batch that disconnects the sessions of an existing database and restores it. Both run in one batch,
+     * so that no other session can take the single-user slot before the RESTORE does.
+     */
+    static String buildRestoreSql(String databaseName, String backupFilePath, boolean checksum) {
+        return "IF DB_ID(" + sqlLiteral(databaseName) + ") IS NOT NULL " +
+                "ALTER DATABASE " + escapeIdentifier(databaseName) + " SET SINGLE_USER WITH ROLLBACK IMMEDIATE; " +
+                "RESTORE DATABASE " + escapeIdentifier(databaseName) + " FROM DISK = " + sqlLiteral(backupFilePath) +
+                " WITH REPLACE, STATS = " + BACKUP_STATS_PERCENT + (checksum ? ", CHECKSUM" : "");
+    }
+
+    /**
+     * Runs a long statement such as BACKUP or RESTORE and reports its progress.
+     * The WITH STATS messages are only delivered when the statement ends, so progress is read from
+     * sys.dm_exec_requests of the statement's session while it runs.
+     */
+    private void executeWithProgress(DatabaseEnvironment environment, Connection connection, String sql,
+                                     IntConsumer progressListener) throws SQLException {
+        AtomicInteger lastPercent = new AtomicInteger(-1);
+        ScheduledFuture<?> poller = null;
+        if (progressListener != null) {
+            int sessionId;
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT @@SPID")) {
+                rs.next();
+                sessionId = rs.getInt(1);
             }
+            poller = progressPoller.scheduleWithFixedDelay(
+                    () -> pollProgress(environment, sessionId, lastPercent, progressListener),
+                    PROGRESS_POLL_SECONDS, PROGRESS_POLL_SECONDS, TimeUnit.SECONDS);
+        }
 
-        } catch (IOException | InterruptedException e) {
-            logger.error("Failed to restore database '{}' from backup '{}'", databaseName, backupFilePath, e);
-            if (e instanceof InterruptedException) {
-                Thread.currentThread().interrupt();
+        try (Statement stmt = connection.createStatement()) {
+            executeScript(stmt, sql);
+            for (SQLWarning warning = stmt.getWarnings(); warning != null; warning = warning.getNextWarning()) {
+                logger.debug("{}", warning.getMessage());
+            }
+        } finally {
+            if (poller != null) {
+                poller.cancel(false);
+            }
+        }
+        if (progressListener != null) {
+            reportProgress(100, lastPercent, progressListener);
+        }
+    }
+
+    private void pollProgress(DatabaseEnvironment environment, int sessionId, AtomicInteger lastPercent,
+                              IntConsumer progressListener) {
+        try (Connection connection = getServerConnection(environment);
+             PreparedStatement pstmt = connection.prepareStatement(
+                     "SELECT percent_complete FROM sys.dm_exec_requests WHERE session_id = ?")) {
+            pstmt.setInt(1, sessionId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    // The statement's own 100 is only reported once it has returned
+                    reportProgress(Math.min(99, (int) rs.getFloat(1)), lastPercent, progressListener);
+                }
+            }
+        } catch (SQLException e) {
+            logger.debug("Failed to read progress of session {}: {}", sessionId, e.getMessage());
+        }
+    }
+
+    private static void reportProgress(int percent, AtomicInteger lastPercent, IntConsumer progressListener) {
+        synchronized (lastPercent) {
+            if (percent > lastPercent.get()) {
+                lastPercent.set(percent);
+                progressListener.accept(percent);
+            }
+        }
+    }
+
+    private static boolean databaseExistsOn(Connection connection, String databaseName) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement("SELECT DB_ID(?)")) {
+            pstmt.setString(1, databaseName);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() && rs.getObject(1) != null;
             }
-            throw new IOException("Database restoration failed", e);
         }
     }
 
@@ -395,11 +684,403 @@ public class DatabaseServiceImpl implements DatabaseService {
 
     @Override
     public boolean testConnection(DatabaseEnvironment environment) {
+        boolean healthy = healthMonitor.probe(environment);
+        if (!healthy) {
+            logger.error("Database connection test failed for environment {}: {}", environment,
+                    healthMonitor.getStatus(environment).lastError());
+        }
+        return healthy;
+    }
+
+    @Override
+    public String getAppliedModel(DatabaseEnvironment environment, String databaseName) throws SQLException {
+        validateDatabaseName(databaseName);
+
+        String sql = "IF OBJECT_ID(N'" + MODEL_HISTORY_TABLE + "', N'U') IS NOT NULL " +
+                "SELECT TOP 1 PlantUml FROM " + MODEL_HISTORY_TABLE + " ORDER BY Id DESC";
+        try (Connection connection = getDatabaseConnection(environment, databaseName);
+             Statement stmt = connection.createStatement()) {
+            if (!stmt.execute(sql)) {
+                return null;
+            }
+            try (ResultSet rs = stmt.getResultSet()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to read applied model for database '{}'", databaseName, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean applySchemaChanges(DatabaseEnvironment environment, String databaseName, List<String> statements,
+                                      String modelHash, String plantUml) throws SQLException {
+        validateDatabaseName(databaseName);
+
+        try (Connection connection = getDatabaseConnection(environment, databaseName)) {
+            connection.setAutoCommit(false);
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("IF OBJECT_ID(N'" + MODEL_HISTORY_TABLE + "', N'U') IS NULL " +
+                        "CREATE TABLE " + MODEL_HISTORY_TABLE + " (" +
+                        "[Id] int IDENTITY NOT NULL PRIMARY KEY, " +
+                        "[ModelHash] nvarchar(64) NOT NULL, " +
+                        "[PlantUml] nvarchar(max) NOT NULL, " +
+                        "[AppliedAt] datetime2 NOT NULL DEFAULT SYSUTCDATETIME())");
+
+                for (String statement : statements) {
+                    stmt.execute(statement);
+                }
+
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO " + MODEL_HISTORY_TABLE + " (ModelHash, PlantUml) VALUES (?, ?)")) {
+                    insert.setString(1, modelHash);
+                    insert.setString(2, plantUml);
+                    insert.executeUpdate();
+                }
+
+                connection.commit();
+                logger.info("Applied {} schema changes to database '{}' (model {})", statements.size(), databaseName, modelHash);
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to apply schema changes to database '{}', rolled back", databaseName, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Loads the tables level by level with SQLServerBulkCopy, the tables of a level in parallel. Rows are streamed
+     * from {@link SampleDataGenerator}, so memory use does not grow with the number of rows. Tables that already
+     * have rows are left alone, and so are tables that require a reference to them.
+     */
+    @Override
+    public Map<String, Long> seedSampleData(DatabaseEnvironment environment, String databaseName, String plantUml,
+                                            int rowsPerTable) throws SQLException {
+        validateDatabaseName(databaseName);
+        if (plantUml == null || plantUml.isBlank()) {
+            throw new IllegalArgumentException("Model cannot be empty");
+        }
+        if (rowsPerTable < 1 || rowsPerTable > MAX_SEED_ROWS_PER_TABLE) {
+            throw new IllegalArgumentException("Rows per table must be between 1 and " + MAX_SEED_ROWS_PER_TABLE);
+        }
+
+        long startTime = System.currentTimeMillis();
+        SampleDataGenerator generator = new SampleDataGenerator(
+                plantUmlParser.parse(GenerationCache.normalize(plantUml)), databaseName.hashCode());
+        try {
+            Map<String, Set<String>> tableColumns;
+            try (Connection connection = getDatabaseConnection(environment, databaseName)) {
+                tableColumns = loadTableColumns(connection);
+            }
+
+            Map<String, SampleDataGenerator.IdRange> loaded = new ConcurrentHashMap<>();
+            Map<String, Long> rowCounts = new LinkedHashMap<>();
+            for (List<EfCoreSchema.Table> level : generator.loadLevels()) {
+                Map<String, CompletableFuture<Long>> loads = new LinkedHashMap<>();
+                for (EfCoreSchema.Table table : level) {
+                    Set<String> columns = tableColumns.get(table.getName().toLowerCase(Locale.ROOT));
+                    if (columns == null) {
+                        logger.warn("Table {} of the model does not exist in database '{}', not seeding it",
+                                table.getName(), databaseName);
+                        continue;
+                    }
+                    long rowCount = generator.rowCount(table, rowsPerTable, loaded);
+                    if (rowCount == 0) {
+                        continue;
+                    }
+                    loads.put(table.getName(), CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return bulkLoad(environment, databaseName, generator, table, columns, rowCount, loaded);
+                        } catch (SQLException e) {
+                            throw new CompletionException(e);
+                        }
+                    }, tableExecutor));
+                }
+                try {
+                    CompletableFuture.allOf(loads.values().toArray(new CompletableFuture[0])).join();
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof SQLException sqlException) {
+                        throw sqlException;
+                    }
+                    throw e;
+                }
+                loads.forEach((table, load) -> {
+                    long rowCount = load.join();
+                    if (rowCount > 0) {
+                        rowCounts.put(table, rowCount);
+                    }
+                });
+            }
+
+            logger.info("Seeded {} rows into {} tables of database '{}' in {} ms",
+                    rowCounts.values().stream().mapToLong(Long::longValue).sum(), rowCounts.size(), databaseName,
+                    System.currentTimeMillis() - startTime);
+            return rowCounts;
+        } catch (SQLException e) {
+            logger.error("Failed to seed database '{}'", databaseName, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Bulk copies generated rows into one empty table and records the key range they got
+     * @return Rows loaded, 0 if the table already had rows
+     */
+    private long bulkLoad(DatabaseEnvironment environment, String databaseName, SampleDataGenerator generator,
+                          EfCoreSchema.Table table, Set<String> columns, long rowCount,
+                          Map<String, SampleDataGenerator.IdRange> loaded) throws SQLException {
+        long startTime = System.currentTimeMillis();
+        String tableName = qualifiedName(new Table("dbo", table.getName()));
+        try (Connection connection = getDatabaseConnection(environment, databaseName)) {
+            // Sample rows must never be mixed into user data
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT TOP 1 1 FROM " + tableName)) {
+                if (rs.next()) {
+                    logger.warn("Table {} of database '{}' already has rows, not seeding it", tableName, databaseName);
+                    return 0;
+                }
+            }
+            long firstId = 1;
+            SampleDataGenerator.SampleRows rows = generator.rows(table, columns, rowCount, firstId, loaded);
+
+            SQLServerBulkCopyOptions options = new SQLServerBulkCopyOptions();
+            // Keys are generated, so that foreign keys of later tables can point at them
+            options.setKeepIdentity(true);
+            options.setCheckConstraints(true);
+            options.setTableLock(true);
+            options.setBatchSize(SEED_BATCH_SIZE);
+            options.setBulkCopyTimeout(0);
+            try (SQLServerBulkCopy bulkCopy = new SQLServerBulkCopy(connection.unwrap(SQLServerConnection.class))) {
+                bulkCopy.setBulkCopyOptions(options);
+                bulkCopy.setDestinationTableName(tableName);
+                List<String> columnNames = rows.getColumnNames();
+                for (int i = 0; i < columnNames.size(); i++) {
+                    bulkCopy.addColumnMapping(i + 1, columnNames.get(i));
+                }
+                bulkCopy.writeToServer(rows);
+            }
+
+            if (table.getEntityClass() != null) {
+                loaded.put(table.getName(), new SampleDataGenerator.IdRange(firstId, rowCount));
+            }
+            logger.debug("Loaded {} rows into {} in {} ms", rowCount, tableName, System.currentTimeMillis() - startTime);
+            return rowCount;
+        }
+    }
+
+    /**
+     * Lower-case names of the columns that can be written, per lower-case dbo table name
+     */
+    private static Map<String, Set<String>> loadTableColumns(Connection connection) throws SQLException {
+        Map<String, Set<String>> tableColumns = new HashMap<>();
+        String sql = "SELECT t.name AS table_name, c.name AS column_name FROM sys.tables t " +
+                "INNER JOIN sys.columns c ON c.object_id = t.object_id " +
+                "WHERE SCHEMA_NAME(t.schema_id) = 'dbo' AND c.is_computed = 0";
+        try (PreparedStatement pstmt = connection.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                tableColumns.computeIfAbsent(rs.getString("table_name").toLowerCase(Locale.ROOT), t -> new HashSet<>())
+                        .add(rs.getString("column_name").toLowerCase(Locale.ROOT));
+            }
+        }
+        return tableColumns;
+    }
+
+    @Override
+    public boolean databaseExists(DatabaseEnvironment environment, String databaseName) throws SQLException {
+        validateDatabaseName(databaseName);
+
+        try (Connection connection = getServerConnection(environment)) {
+            return databaseExistsOn(connection, databaseName);
+        }
+    }
+
+    @Override
+    public List<String> listDatabases(DatabaseEnvironment environment, String namePrefix) throws SQLException {
+        // Match the prefix literally, '_' and '%' are LIKE wildcards
+        String pattern = namePrefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_")
+                .replace("[", "\\[") + "%";
+        List<String> names = new ArrayList<>();
+        try (Connection connection = getServerConnection(environment);
+             PreparedStatement pstmt = connection.prepareStatement(
+                     "SELECT name FROM sys.databases WHERE name LIKE ? ESCAPE '\\' ORDER BY name")) {
+            pstmt.setString(1, pattern);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    names.add(rs.getString(1));
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Sizes come from sys.master_files and sessions from sys.dm_exec_sessions. Last activity is the latest table
+     * access in sys.dm_db_index_usage_stats, which is reset when the server restarts. Server times are converted to
+     * UTC.
+     */
+    @Override
+    public List<DatabaseUsage> getDatabaseUsage(DatabaseEnvironment environment) throws SQLException {
+        String sql = """
+            SELECT
+                d.name,
+                f.data_bytes,
+                f.log_bytes,
+                ISNULL(s.connections, 0) AS connections,
+                DATEADD(minute, DATEDIFF(minute, GETDATE(), GETUTCDATE()), d.create_date) AS created_at,
+                DATEADD(minute, DATEDIFF(minute, GETDATE(), GETUTCDATE()), a.last_activity) AS last_activity
+            FROM sys.databases d
+            CROSS APPLY (
+                SELECT SUM(CASE WHEN mf.type = 1 THEN 0 ELSE CAST(mf.size AS bigint) * 8192 END) AS data_bytes,
+                       SUM(CASE WHEN mf.type = 1 THEN CAST(mf.size AS bigint) * 8192 ELSE 0 END) AS log_bytes
+                FROM sys.master_files mf WHERE mf.database_id = d.database_id) f
+            OUTER APPLY (
+                SELECT COUNT(*) AS connections FROM sys.dm_exec_sessions es
+                WHERE es.database_id = d.database_id AND es.is_user_process = 1) s
+            OUTER APPLY (
+                SELECT MAX(t.last_access) AS last_activity
+                FROM sys.dm_db_index_usage_stats u
+                CROSS APPLY (VALUES (u.last_user_seek), (u.last_user_scan), (u.last_user_lookup), (u.last_user_update))
+                    t(last_access)
+                WHERE u.database_id = d.database_id) a
+            WHERE d.database_id > 4
+            ORDER BY d.name
+            """;
+        List<DatabaseUsage> usage = new ArrayList<>();
+        try (Connection connection = getServerConnection(environment);
+             PreparedStatement pstmt = connection.prepareStatement(sql);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                usage.add(new DatabaseUsage(rs.getString("name"), rs.getLong("data_bytes"), rs.getLong("log_bytes"),
+                        rs.getInt("connections"), utcTimestamp(rs, "created_at"), utcTimestamp(rs, "last_activity")));
+            }
+        }
+        return usage;
+    }
+
+    private static String utcTimestamp(ResultSet rs, String column) throws SQLException {
+        LocalDateTime value = rs.getObject(column, LocalDateTime.class);
+        return value != null ? value.toInstant(ZoneOffset.UTC).toString() : null;
+    }
+
+    @Override
+    public boolean createEmptyDatabase(DatabaseEnvironment environment, String databaseName) throws SQLException {
+        validateDatabaseName(databaseName);
+
+        try (Connection connection = getServerConnection(environment);
+             Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("CREATE DATABASE " + escapeIdentifier(databaseName));
+            logger.info("Empty database '{}' created", databaseName);
+            return true;
+        } catch (SQLException e) {
+            logger.error("Failed to create empty database '{}'", databaseName, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean renameDatabase(DatabaseEnvironment environment, String databaseName, String newDatabaseName) throws SQLException {
+        validateDatabaseName(databaseName);
+        validateDatabaseName(newDatabaseName);
+
+        // The rename needs exclusive access, so no pooled session may hold either database
+        connectionManager.evict(environment, databaseName);
+        connectionManager.evict(environment, newDatabaseName);
+
+        try (Connection connection = getServerConnection(environment);
+             Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("ALTER DATABASE " + escapeIdentifier(databaseName) +
+                    " MODIFY NAME = " + escapeIdentifier(newDatabaseName));
+            logger.info("Database '{}' renamed to '{}'", databaseName, newDatabaseName);
+            return true;
+        }
+    }
+
+    @Override
+    public boolean cloneDatabase(DatabaseEnvironment environment, String backupFilePath, String databaseName) throws SQLException {
+        validateDatabaseName(databaseName);
+        validateFilePath(backupFilePath);
+        long startTime = System.currentTimeMillis();
+
         try (Connection connection = getServerConnection(environment)) {
-            return connection.isValid(5); // 5 seconds timeout
+            List<BackupFile> files = new ArrayList<>();
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("RESTORE FILELISTONLY FROM DISK = " + sqlLiteral(backupFilePath))) {
+                while (rs.next()) {
+                    files.add(new BackupFile(rs.getString("LogicalName"), "L".equals(rs.getString("Type"))));
+                }
+            }
+
+            String dataPath;
+            String logPath;
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(
+                         "SELECT CAST(SERVERPROPERTY('InstanceDefaultDataPath') AS nvarchar(4000)) AS data_path, " +
+                         "CAST(SERVERPROPERTY('InstanceDefaultLogPath') AS nvarchar(4000)) AS log_path")) {
+                rs.next();
+                dataPath = rs.getString("data_path");
+                logPath = rs.getString("log_path");
+            }
+
+            try (Statement stmt = connection.createStatement()) {
+                executeScript(stmt, buildCloneSql(databaseName, backupFilePath, files, dataPath, logPath));
+            }
+            logger.info("Database '{}' cloned from: {} ({} ms)", databaseName, backupFilePath,
+                    System.currentTimeMillis() - startTime);
+            return true;
+        } catch (SQLException e) {
+            logger.error("Failed to clone database '{}' from backup '{}'", databaseName, backupFilePath, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Logical file of a backup, as listed by RESTORE FILELISTONLY
+     */
+    record BackupFile(String logicalName, boolean log) {
+    }
+
+    /**
+     * Builds a RESTORE that moves every file of the backup to a file named after the new database in the server's
+     * default data or log directory
+     */
+    static String buildCloneSql(String databaseName, String backupFilePath, List<BackupFile> files,
+                                String dataPath, String logPath) {
+        StringBuilder sql = new StringBuilder("RESTORE DATABASE ").append(escapeIdentifier(databaseName))
+                .append(" FROM DISK = ").append(sqlLiteral(backupFilePath)).append(" WITH ");
+        int dataFiles = 0;
+        int logFiles = 0;
+        for (BackupFile file : files) {
+            String physicalName;
+            if (file.log()) {
+                physicalName = logPath + databaseName + "_log" + (logFiles++ == 0 ? "" : "_" + logFiles) + ".ldf";
+            } else {
+                physicalName = dataPath + databaseName + (dataFiles++ == 0 ? ".mdf" : "_" + dataFiles + ".ndf");
+            }
+            sql.append("MOVE ").append(sqlLiteral(file.logicalName())).append(" TO ").append(sqlLiteral(physicalName))
+                    .append(", ");
+        }
+        return sql.append("STATS = ").append(BACKUP_STATS_PERCENT).toString();
+    }
+
+    @Override
+    public boolean dropDatabase(DatabaseEnvironment environment, String databaseName) throws SQLException {
+        validateDatabaseName(databaseName);
+
+        connectionManager.evict(environment, databaseName);
+        try (Connection connection = getServerConnection(environment);
+             Statement stmt = connection.createStatement()) {
+            executeScript(stmt, "IF DB_ID(" + sqlLiteral(databaseName) + ") IS NOT NULL BEGIN " +
+                    "ALTER DATABASE " + escapeIdentifier(databaseName) + " SET SINGLE_USER WITH ROLLBACK IMMEDIATE; " +
+                    "DROP DATABASE " + escapeIdentifier(databaseName) + "; END");
+            logger.info("Database '{}' dropped", databaseName);
+            return true;
         } catch (SQLException e) {
-            logger.error("Database connection test failed for environment: {}", environment, e);
-            return false;
+            logger.error("Failed to drop database '{}'", databaseName, e);
+            throw e;
         }
     }
 
@@ -428,10 +1109,32 @@ public class DatabaseServiceImpl implements DatabaseService {
         }
     }
 
+    /**
+     * Executes a multi-statement script and reads all of its results, so that an error raised by a later
+     * statement is not left unread behind earlier results
+     */
+    private static void executeScript(Statement stmt, String script) throws SQLException {
+        boolean isResultSet = stmt.execute(script);
+        while (isResultSet || stmt.getUpdateCount() != -1) {
+            isResultSet = stmt.getMoreResults();
+        }
+    }
+
+    private static String qualifiedName(Table table) {
+        return escapeIdentifier(table.schema()) + "." + escapeIdentifier(table.name());
+    }
+
+    /**
+     * Quotes a value as an nvarchar literal
+     */
+    private static String sqlLiteral(String value) {
+        return "N'" + value.replace("'", "''") + "'";
+    }
+
     /**
      * Escapes SQL Server identifiers (database names, table names, etc.)
      */
-    private String escapeIdentifier(String identifier) {
+    private static String escapeIdentifier(String identifier) {
         String sanitized = identifier.replace("]", "]]" );
         return "[" + sanitized + "]";
     }
@@ -6,6 +6,9 @@ import org.slf4j.LoggerFactory;
 import com.github.dockerjava.api.DockerClient;
 import com.github.dockerjava.api.command.PushImageCmd;
 import com.github.dockerjava.api.exception.DockerException;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.EventType;
 import com.github.dockerjava.api.model.PushResponseItem;
 import com.github.dockerjava.api.model.AuthConfig;
 import com.github.dockerjava.core.DefaultDockerClientConfig;
@@ -16,9 +19,15 @@ import com.github.dockerjava.api.async.ResultCallback;
 import com.github.dockerjava.transport.DockerHttpClient;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -27,6 +36,24 @@ import java.util.concurrent.atomic.AtomicBoolean;
 public class DockerService {
     
     private static final Logger logger = LoggerFactory.getLogger(DockerService.class);
+
+    /**
+     * Receives container lifecycle events from {@link #watchContainerEvents}
+     */
+    public interface ContainerEventListener {
+        /**
+         * @param name Container name
+         * @param running true once the container has started, false once it has stopped or been removed
+         */
+        void onContainerEvent(String name, boolean running);
+
+        /**
+         * Called when the event stream ends
+         * @param error The failure, or null if the stream was closed
+         */
+        default void onClosed(Throwable error) {
+        }
+    }
     private DockerClient dockerClient;
     private boolean dockerAvailable = false;
     
@@ -311,4 +338,98 @@ public class DockerService {
             return false;
         }
     }
+    
+    /**
+     * Lists the names of the running containers whose name starts with the given prefix
+     * @param prefix Container name prefix
+     * @return Container names, or null if Docker could not be queried
+     */
+    public Set<String> listRunningContainerNames(String prefix) {
+        if (dockerClient != null) {
+            try {
+                Set<String> names = new HashSet<>();
+                // The name filter matches substrings, so the prefix is checked again below
+                List<Container> containers = dockerClient.listContainersCmd()
+                        .withNameFilter(List.of(prefix))
+                        .exec();
+                for (Container container : containers) {
+                    if (container.getNames() == null) {
+                        continue;
+                    }
+                    for (String name : container.getNames()) {
+                        String trimmed = name.startsWith("/") ? name.substring(1) : name;
+                        if (trimmed.startsWith(prefix)) {
+                            names.add(trimmed);
+                        }
+                    }
+                }
+                return names;
+            } catch (Exception e) {
+                logger.debug("Docker Java API container listing failed: {}", e.getMessage());
+            }
+        }
+        
+        // Fallback to Docker CLI for Unix socket environments (like Colima)
+        try {
+            Process process = new ProcessBuilder("docker", "ps", "--filter", "name=^" + prefix, "--format", "{{.Names}}")
+                    .start();
+            Set<String> names = new HashSet<>();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith(prefix)) {
+                        names.add(line.trim());
+                    }
+                }
+            }
+            if (process.waitFor() != 0) {
+                logger.warn("docker ps exited with code {}", process.exitValue());
+                return null;
+            }
+            return names;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            logger.warn("Failed to list Docker containers: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Streams start and stop events of containers whose name starts with the given prefix
+     * @param prefix Container name prefix
+     * @param listener Called on a Docker client thread for every event
+     * @return Handle that ends the stream when closed, or null if the Docker Java API is not connected
+     */
+    public Closeable watchContainerEvents(String prefix, ContainerEventListener listener) {
+        if (dockerClient == null) {
+            return null;
+        }
+        return dockerClient.eventsCmd()
+                .withEventTypeFilter(EventType.CONTAINER)
+                .withEventFilter("start", "die", "destroy")
+                .exec(new ResultCallback.Adapter<Event>() {
+                    @Override
+                    public void onNext(Event event) {
+                        String name = event.getActor() != null && event.getActor().getAttributes() != null
+                                ? event.getActor().getAttributes().get("name") : null;
+                        if (name != null && name.startsWith(prefix)) {
+                            listener.onContainerEvent(name, "start".equals(event.getAction()));
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        super.onError(throwable);
+                        listener.onClosed(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        super.onComplete();
+                        listener.onClosed(null);
+                    }
+                });
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,167 @@
+package com.armikom.zen.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.google.firebase.auth.FirebaseAuthException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of verified Firebase ID tokens, so that repeated requests with the same token (e.g. status polling) skip
+ * signature verification. Entries are keyed by a SHA-256 hash of the token, never the token itself, and expire when
+ * the token does. The cache is bounded by {@code firebase.token-cache.max-size} entries; failed verifications are
+ * not cached. Hit and miss counts are published as the {@code firebase.tokens} cache metrics.
+ * <p>
+ * After {@link #revoke} a user's tokens issued before the revocation are rejected until they have expired, even
+ * though their signature is still valid.
+ */
+@Service
+public class FirebaseTokenCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(FirebaseTokenCache.class);
+    private static final String CACHE_NAME = "firebase.tokens";
+    // Firebase ID tokens expire one hour after they are issued
+    private static final Duration MAX_TOKEN_LIFETIME = Duration.ofHours(1);
+
+    private final Cache<String, VerifiedToken> cache;
+    private final Clock clock;
+    private final Map<String, Instant> revokedAt = new ConcurrentHashMap<>();
+
+    /**
+     * A verified ID token: the user it was issued to, when it was issued and when it expires
+     */
+    public record VerifiedToken(String uid, Instant issuedAt, Instant expiresAt) {
+    }
+
+    public interface TokenVerifier {
+        VerifiedToken verify(String token) throws FirebaseAuthException;
+    }
+
+    public FirebaseTokenCache(@Value("${firebase.token-cache.max-size:10000}") long maxSize,
+                              MeterRegistry meterRegistry) {
+        this(maxSize, meterRegistry, Clock.systemUTC());
+    }
+
+    /**
+     * @param clock Time source for token expiry, {@code Clock.systemUTC()} outside of tests
+     */
+    FirebaseTokenCache(long maxSize, MeterRegistry meterRegistry, Clock clock) {
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        return remainingNanos(token);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime,
+                                                  long currentDuration) {
+                        return remainingNanos(token);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        }
+        logger.info("Firebase token cache initialized (max {} tokens)", maxSize);
+    }
+
+    /**
+     * Returns the cached verification of a token, or verifies it and caches the result until the token expires.
+     * Concurrent first requests with the same token may each verify it.
+     * @return The verified token, or null if it was issued before its user's tokens were revoked
+     * @throws FirebaseAuthException if the verifier rejects the token
+     */
+    public VerifiedToken getOrVerify(String token, TokenVerifier verifier) throws FirebaseAuthException {
+        String key = hash(token);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            // Caffeine may still return an entry in the moment it expires
+            if (cached.expiresAt().isAfter(clock.instant()) && !isRevoked(cached)) {
+                return cached;
+            }
+            cache.invalidate(key);
+        }
+        VerifiedToken verified = verifier.verify(token);
+        if (isRevoked(verified)) {
+            logger.warn("Rejected a revoked token of user {}", verified.uid());
+            return null;
+        }
+        if (verified.expiresAt().isAfter(clock.instant())) {
+            cache.put(key, verified);
+        }
+        return verified;
+    }
+
+    /**
+     * Forgets a token, so that its next use is verified again
+     */
+    public void invalidate(String token) {
+        cache.invalidate(hash(token));
+    }
+
+    /**
+     * Rejects every token issued to a user until now, e.g. after their refresh tokens were revoked or their account
+     * was disabled. Tokens issued later, after the user signed in again, are accepted.
+     * @return Number of cached tokens forgotten
+     */
+    public int revoke(String uid) {
+        // Token issue times have second precision, as in Firebase's own revocation check
+        Instant now = clock.instant().truncatedTo(ChronoUnit.SECONDS);
+        // Every token issued before an older revocation has expired by now
+        revokedAt.values().removeIf(instant -> instant.plus(MAX_TOKEN_LIFETIME).isBefore(now));
+        revokedAt.merge(uid, now, (previous, current) -> current.isAfter(previous) ? current : previous);
+
+        int before = cache.asMap().size();
+        cache.asMap().values().removeIf(token -> token.uid().equals(uid));
+        int revoked = before - cache.asMap().size();
+        logger.info("Revoked {} cached tokens of user {}", revoked, uid);
+        return revoked;
+    }
+
+    private boolean isRevoked(VerifiedToken token) {
+        Instant revoked = revokedAt.get(token.uid());
+        return revoked != null && token.issuedAt().isBefore(revoked);
+    }
+
+    private long remainingNanos(VerifiedToken token) {
+        return Math.max(0, Duration.between(clock.instant(), token.expiresAt()).toNanos());
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : digest.digest(token.getBytes(StandardCharsets.UTF_8))) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
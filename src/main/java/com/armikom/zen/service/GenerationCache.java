@@ -0,0 +1,193 @@
+package com.armikom.zen.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Cache for generated artifacts keyed by a hash of the normalized PlantUML text and the generator version.
+ * The in-memory tier is bounded by total bytes and uses Caffeine's W-TinyLFU eviction; an optional
+ * on-disk tier under ~/zen keeps results across restarts.
+ */
+@Service
+public class GenerationCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(GenerationCache.class);
+    private static final String CACHE_NAME = "plantuml.generation";
+
+    private static final Pattern BLOCK_COMMENT_PATTERN = Pattern.compile("/'.*?'/", Pattern.DOTALL);
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
+    private final Cache<String, Map<String, String>> cache;
+    private final boolean diskEnabled;
+    private final Path diskPath;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong diskHits = new AtomicLong();
+
+    public GenerationCache(
+            @Value("${generator.cache.max-bytes:67108864}") long maxBytes,
+            @Value("${generator.cache.disk.enabled:false}") boolean diskEnabled,
+            @Value("${generator.cache.disk.path:}") String diskPath,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Map<String, String> files) -> weigh(key, files))
+                .recordStats()
+                .build();
+        this.diskEnabled = diskEnabled;
+        this.diskPath = (diskPath == null || diskPath.isBlank())
+                ? Paths.get(System.getProperty("user.home"), "zen", "generator-cache")
+                : Paths.get(diskPath);
+
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+            Gauge.builder("generator.cache.hit.ratio", cache, c -> c.stats().hitRatio())
+                    .description("In-memory hit ratio of the PlantUML generation cache")
+                    .register(meterRegistry);
+            Gauge.builder("generator.cache.disk.hits", diskHits, AtomicLong::get)
+                    .description("Generation cache misses served from the on-disk tier")
+                    .register(meterRegistry);
+        }
+        logger.info("Generation cache initialized (max {} bytes, disk tier {})",
+                maxBytes, diskEnabled ? "enabled at " + this.diskPath : "disabled");
+    }
+
+    /**
+     * Returns the generated files for the given PlantUML, invoking the generator only on a cache miss.
+     * The generator receives the normalized text so that the output always matches the cache key.
+     * @param plantUml The raw PlantUML text
+     * @param generatorVersion Version of the generator producing the files
+     * @param generator Function producing file name to content from normalized PlantUML
+     * @return A mutable copy of the cached files
+     */
+    public Map<String, String> getOrGenerate(String plantUml, String generatorVersion,
+                                             Function<String, Map<String, String>> generator) {
+        String normalized = normalize(plantUml);
+        String key = key(normalized, generatorVersion);
+
+        Map<String, String> files = cache.get(key, k -> {
+            Map<String, String> fromDisk = readFromDisk(k);
+            if (fromDisk != null) {
+                diskHits.incrementAndGet();
+                return fromDisk;
+            }
+            Map<String, String> generated = Map.copyOf(generator.apply(normalized));
+            writeToDisk(k, generated);
+            return generated;
+        });
+
+        return new HashMap<>(files);
+    }
+
+    /**
+     * Computes the cache key (model hash) for the given PlantUML and generator version
+     */
+    public static String modelHash(String plantUml, String generatorVersion) {
+        return key(normalize(plantUml), generatorVersion);
+    }
+
+    /**
+     * Normalizes PlantUML text: drops block and line comments, blank lines and redundant whitespace
+     */
+    static String normalize(String plantUml) {
+        if (plantUml == null) {
+            return "";
+        }
+        String withoutBlockComments = BLOCK_COMMENT_PATTERN.matcher(plantUml).replaceAll(" ");
+        StringBuilder sb = new StringBuilder(withoutBlockComments.length());
+        for (String line : withoutBlockComments.split("\\r?\\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("'")) {
+                continue;
+            }
+            sb.append(WHITESPACE_PATTERN.matcher(trimmed).replaceAll(" ")).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String key(String normalizedPlantUml, String generatorVersion) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(generatorVersion.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(normalizedPlantUml.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(64);
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static int weigh(String key, Map<String, String> files) {
+        long bytes = key.length() * 2L;
+        for (Map.Entry<String, String> entry : files.entrySet()) {
+            bytes += (entry.getKey().length() + entry.getValue().length()) * 2L;
+        }
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    private Map<String, String> readFromDisk(String key) {
+        if (!diskEnabled) {
+            return null;
+        }
+        Path file = diskPath.resolve(key + ".json");
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            Map<String, String> files = objectMapper.readValue(file.toFile(), new TypeReference<Map<String, String>>() {});
+            logger.debug("Generation cache disk hit: {}", key);
+            return Map.copyOf(files);
+        } catch (IOException e) {
+            logger.warn("Failed to read cached generation {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, Map<String, String> files) {
+        if (!diskEnabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(diskPath);
+            Path target = diskPath.resolve(key + ".json");
+            Path temp = Files.createTempFile(diskPath, key, ".tmp");
+            objectMapper.writeValue(temp.toFile(), files);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Failed to write cached generation {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Removes all entries from the in-memory tier
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,278 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.dto.ModelDiagnostic;
+import com.armikom.zen.model.UmlModel;
+import com.armikom.zen.model.UmlModel.AssociationKind;
+import com.armikom.zen.model.UmlModel.SourcePosition;
+import com.armikom.zen.model.UmlModel.UmlAssociation;
+import com.armikom.zen.model.UmlModel.UmlAttribute;
+import com.armikom.zen.model.UmlModel.UmlClass;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Static validation of PlantUML business models before code generation.
+ * Works on the same parsed model as the generation targets, so every construct it reports on is one the
+ * generator would emit, and reports each finding with a 1-based line and column in the original text.
+ */
+@Service
+public class PlantUmlModelValidator {
+
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("^[A-Za-z_][A-Za-z0-9_]*$");
+    private static final Pattern ARRAY_SUFFIX_PATTERN = Pattern.compile("\\s*\\[\\]$");
+
+    private static final Set<String> CSHARP_KEYWORDS = Set.of(
+            "abstract", "as", "base", "bool", "break", "byte", "case", "catch", "char", "checked", "class",
+            "const", "continue", "decimal", "default", "delegate", "do", "double", "else", "enum", "event",
+            "explicit", "extern", "false", "finally", "fixed", "float", "for", "foreach", "goto", "if",
+            "implicit", "in", "int", "interface", "internal", "is", "lock", "long", "namespace", "new", "null",
+            "object", "operator", "out", "override", "params", "private", "protected", "public", "readonly",
+            "ref", "return", "sbyte", "sealed", "short", "sizeof", "stackalloc", "static", "string", "struct",
+            "switch", "this", "throw", "true", "try", "typeof", "uint", "ulong", "unchecked", "unsafe",
+            "ushort", "using", "virtual", "void", "volatile", "while");
+
+    // Names emitted by the generator itself
+    private static final Set<String> GENERATED_TYPE_NAMES = Set.of("BaseEntity", "ZenContext");
+
+    // Types translated by the generator's type mapping
+    private static final Set<String> MAPPED_TYPES = Set.of("String", "Date", "int", "float", "boolean");
+
+    // Types that are valid as-is in generated C#
+    private static final Set<String> CSHARP_TYPES = Set.of(
+            "string", "String", "bool", "byte", "short", "int", "long", "float", "double", "decimal", "char",
+            "DateTime", "DateOnly", "TimeOnly", "TimeSpan", "Guid");
+
+    private final PlantUmlParser plantUmlParser;
+
+    public PlantUmlModelValidator(PlantUmlParser plantUmlParser) {
+        this.plantUmlParser = plantUmlParser;
+    }
+
+    /**
+     * Validates a PlantUML model
+     * @param plantUml The PlantUML text
+     * @return Diagnostics ordered by position; empty if the model is valid
+     */
+    public List<ModelDiagnostic> validate(String plantUml) {
+        List<ModelDiagnostic> diagnostics = new ArrayList<>();
+        if (plantUml == null || plantUml.trim().isEmpty()) {
+            diagnostics.add(ModelDiagnostic.error("EMPTY_MODEL", "PlantUML content is empty", 1, 1));
+            return diagnostics;
+        }
+
+        UmlModel model = plantUmlParser.parse(plantUml);
+        if (model.getDeclarations().isEmpty()) {
+            diagnostics.add(ModelDiagnostic.error("EMPTY_MODEL", "No class declarations found", 1, 1));
+            return diagnostics;
+        }
+
+        // Class declarations and their attributes; duplicates are reported once and not inspected further
+        Map<String, Map<String, Member>> classes = new LinkedHashMap<>();
+        List<UmlClass> declarations = new ArrayList<>();
+        for (UmlClass declaration : model.getDeclarations()) {
+            SourcePosition pos = declaration.getPosition();
+            if (classes.containsKey(declaration.getName())) {
+                diagnostics.add(ModelDiagnostic.error("DUPLICATE_CLASS",
+                        "Class '" + declaration.getName() + "' is declared more than once", pos.getLine(), pos.getColumn()));
+                continue;
+            }
+            checkTypeName(declaration.getName(), pos, diagnostics);
+            classes.put(declaration.getName(), new LinkedHashMap<>());
+            declarations.add(declaration);
+        }
+
+        for (UmlClass declaration : declarations) {
+            Map<String, Member> members = classes.get(declaration.getName());
+            for (UmlAttribute attribute : declaration.getAttributes()) {
+                String propertyName = PlantUmlParser.capitalize(attribute.getName());
+                SourcePosition pos = attribute.getPosition();
+
+                checkMemberName(declaration.getName(), propertyName, pos, diagnostics);
+                Member existing = members.get(propertyName);
+                if (existing != null) {
+                    diagnostics.add(ModelDiagnostic.error("DUPLICATE_PROPERTY",
+                            "Property '" + propertyName + "' of class '" + declaration.getName() + "' is already declared at "
+                                    + existing.line + ":" + existing.column, pos.getLine(), pos.getColumn()));
+                } else {
+                    members.put(propertyName, new Member(null, null, pos.getLine(), pos.getColumn()));
+                }
+
+                if (!isResolvable(attribute.getType(), classes)) {
+                    diagnostics.add(ModelDiagnostic.error("UNRESOLVED_TYPE",
+                            "Unknown type '" + attribute.getType() + "' for property '" + propertyName + "' of class '"
+                                    + declaration.getName() + "'",
+                            attribute.getTypePosition().getLine(), attribute.getTypePosition().getColumn()));
+                }
+            }
+        }
+
+        for (UmlAssociation association : model.getAssociations()) {
+            if (!checkClassReferences(classes, association, diagnostics)) {
+                continue;
+            }
+            if (association.getKind() != AssociationKind.UNLABELED) {
+                boolean sourceValid = checkNavigationName(association.getSourceProperty(),
+                        association.getSourcePropertyPosition(), diagnostics);
+                boolean targetValid = checkNavigationName(association.getTargetProperty(),
+                        association.getTargetPropertyPosition(), diagnostics);
+                if (!sourceValid || !targetValid) {
+                    continue;
+                }
+            }
+            registerAssociation(classes, association, diagnostics);
+        }
+
+        for (SourcePosition pos : model.getUnrecognizedRelationships()) {
+            diagnostics.add(ModelDiagnostic.warning("UNRECOGNIZED_RELATIONSHIP",
+                    "Line looks like a relationship but does not match a supported syntax and will be ignored",
+                    pos.getLine(), pos.getColumn()));
+        }
+
+        diagnostics.sort(Comparator.comparingInt(ModelDiagnostic::getLine).thenComparingInt(ModelDiagnostic::getColumn));
+        return diagnostics;
+    }
+
+    /**
+     * Returns true if any diagnostic is an error
+     */
+    public static boolean hasErrors(List<ModelDiagnostic> diagnostics) {
+        return diagnostics.stream().anyMatch(ModelDiagnostic::isError);
+    }
+
+    private boolean checkClassReferences(Map<String, Map<String, Member>> classes, UmlAssociation association,
+                                         List<ModelDiagnostic> diagnostics) {
+        boolean valid = true;
+        if (!classes.containsKey(association.getSourceClass())) {
+            addDangling(association.getSourceClass(), association.getSourceClassPosition(), diagnostics);
+            valid = false;
+        }
+        if (!classes.containsKey(association.getTargetClass())) {
+            addDangling(association.getTargetClass(), association.getTargetClassPosition(), diagnostics);
+            valid = false;
+        }
+        return valid;
+    }
+
+    private void addDangling(String className, SourcePosition pos, List<ModelDiagnostic> diagnostics) {
+        diagnostics.add(ModelDiagnostic.error("DANGLING_ASSOCIATION",
+                "Association references undefined class '" + className + "'", pos.getLine(), pos.getColumn()));
+    }
+
+    private void registerAssociation(Map<String, Map<String, Member>> classes, UmlAssociation association,
+                                     List<ModelDiagnostic> diagnostics) {
+        String class1 = association.getSourceClass();
+        String property1 = association.getSourceProperty();
+        String class2 = association.getTargetClass();
+        String property2 = association.getTargetProperty();
+        SourcePosition pos1 = association.getSourcePropertyPosition();
+        SourcePosition pos2 = association.getTargetPropertyPosition();
+        if (class1.equals(class2) && property1.equals(property2)) {
+            diagnostics.add(ModelDiagnostic.error("INVERSE_MISMATCH",
+                    "Navigation '" + class1 + "." + property1 + "' cannot be its own inverse property",
+                    pos1.getLine(), pos1.getColumn()));
+            return;
+        }
+        registerNavigation(classes, class1, property1, class2, property2, pos1.getLine(), pos1.getColumn(), diagnostics);
+        registerNavigation(classes, class2, property2, class1, property1, pos2.getLine(), pos2.getColumn(), diagnostics);
+    }
+
+    private void registerNavigation(Map<String, Map<String, Member>> classes, String owner, String property,
+                                    String target, String inverse, int line, int column,
+                                    List<ModelDiagnostic> diagnostics) {
+        if (owner.equals(property)) {
+            diagnostics.add(ModelDiagnostic.error("MEMBER_NAME_CONFLICT",
+                    "Navigation '" + property + "' has the same name as its enclosing class", line, column));
+        }
+
+        Map<String, Member> members = classes.get(owner);
+        Member existing = members.get(property);
+        if (existing == null) {
+            members.put(property, new Member(target, inverse, line, column));
+        } else if (existing.target == null) {
+            diagnostics.add(ModelDiagnostic.error("DUPLICATE_PROPERTY",
+                    "Navigation '" + owner + "." + property + "' clashes with the attribute declared at "
+                            + existing.line + ":" + existing.column, line, column));
+        } else if (!existing.target.equals(target)) {
+            diagnostics.add(ModelDiagnostic.error("DUPLICATE_PROPERTY",
+                    "Navigation '" + owner + "." + property + "' already targets '" + existing.target
+                            + "' (declared at " + existing.line + ":" + existing.column + ")", line, column));
+        } else if (!Objects.equals(existing.inverse, inverse)) {
+            diagnostics.add(ModelDiagnostic.error("INVERSE_MISMATCH",
+                    "Navigation '" + owner + "." + property + "' is declared with inverse '" + existing.inverse
+                            + "' at " + existing.line + ":" + existing.column + " but with inverse '" + inverse + "' here",
+                    line, column));
+        } else {
+            diagnostics.add(ModelDiagnostic.warning("DUPLICATE_ASSOCIATION",
+                    "Navigation '" + owner + "." + property + "' is already declared at "
+                            + existing.line + ":" + existing.column, line, column));
+        }
+    }
+
+    private void checkTypeName(String className, SourcePosition pos, List<ModelDiagnostic> diagnostics) {
+        if (CSHARP_KEYWORDS.contains(className)) {
+            diagnostics.add(ModelDiagnostic.error("RESERVED_WORD",
+                    "Class name '" + className + "' is a reserved C# keyword", pos.getLine(), pos.getColumn()));
+        } else if (GENERATED_TYPE_NAMES.contains(className)) {
+            diagnostics.add(ModelDiagnostic.error("RESERVED_NAME",
+                    "Class name '" + className + "' is reserved for generated code", pos.getLine(), pos.getColumn()));
+        }
+    }
+
+    private void checkMemberName(String className, String propertyName, SourcePosition pos, List<ModelDiagnostic> diagnostics) {
+        if (propertyName.equals(className)) {
+            diagnostics.add(ModelDiagnostic.error("MEMBER_NAME_CONFLICT",
+                    "Property '" + propertyName + "' has the same name as its enclosing class", pos.getLine(), pos.getColumn()));
+        } else if ("Id".equals(propertyName)) {
+            diagnostics.add(ModelDiagnostic.warning("BASE_MEMBER_HIDDEN",
+                    "Property 'Id' of class '" + className + "' hides BaseEntity.Id", pos.getLine(), pos.getColumn()));
+        }
+    }
+
+    private boolean checkNavigationName(String name, SourcePosition pos, List<ModelDiagnostic> diagnostics) {
+        if (!IDENTIFIER_PATTERN.matcher(name).matches()) {
+            diagnostics.add(ModelDiagnostic.error("INVALID_IDENTIFIER",
+                    "Association label '" + name + "' is not a valid C# property name", pos.getLine(), pos.getColumn()));
+            return false;
+        }
+        if (CSHARP_KEYWORDS.contains(name)) {
+            diagnostics.add(ModelDiagnostic.error("RESERVED_WORD",
+                    "Association label '" + name + "' is a reserved C# keyword", pos.getLine(), pos.getColumn()));
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isResolvable(String type, Map<String, Map<String, Member>> classes) {
+        String elementType = ARRAY_SUFFIX_PATTERN.matcher(type).replaceFirst("");
+        if (!elementType.equals(type)) {
+            return CSHARP_TYPES.contains(elementType) || classes.containsKey(elementType);
+        }
+        if (type.startsWith("List<") && type.endsWith(">")) {
+            String genericType = type.substring(5, type.length() - 1);
+            return CSHARP_TYPES.contains(genericType) || classes.containsKey(genericType);
+        }
+        return MAPPED_TYPES.contains(type) || CSHARP_TYPES.contains(type) || classes.containsKey(type);
+    }
+
+    private static class Member {
+        final String target;
+        final String inverse;
+        final int line;
+        final int column;
+
+        Member(String target, String inverse, int line, int column) {
+            this.target = target;
+            this.inverse = inverse;
+            this.line = line;
+            this.column = column;
+        }
+    }
+}
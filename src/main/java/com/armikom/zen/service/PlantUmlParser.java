@@ -0,0 +1,232 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.model.UmlModel;
+import com.armikom.zen.model.UmlModel.AssociationKind;
+import com.armikom.zen.model.UmlModel.SourcePosition;
+import com.armikom.zen.model.UmlModel.UmlAssociation;
+import com.armikom.zen.model.UmlModel.UmlAttribute;
+import com.armikom.zen.model.UmlModel.UmlClass;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses PlantUML class diagrams into a {@link UmlModel}.
+ * Comments are blanked in place before matching so that positions refer to the text that was passed in.
+ */
+@Service
+public class PlantUmlParser {
+
+    static final Pattern CLASS_PATTERN = Pattern.compile("class\\s+(\\w+)\\s*\\{(.*?)\\}", Pattern.DOTALL);
+    static final Pattern ATTRIBUTE_PATTERN = Pattern.compile("[+#-]\\s*(\\w+)\\s*:\\s*(\\w+(?:<\\w+>)?(?:\\s*\\[\\])?)");
+    // New pattern for the format: Employee "Vehicles" *-- "Employee" Vehicle
+    static final Pattern ASSOCIATION_PATTERN = Pattern.compile("^\\s*(\\w+)\\s+\"([^\"]+)\"\\s+([*o]?--[*o]?)\\s+\"([^\"]+)\"\\s+(\\w+)\\s*$");
+    // Legacy pattern for old format with <-->
+    static final Pattern LABELED_ASSOCIATION_PATTERN = Pattern.compile("^\\s*(\\w+)\\s+\"([^\"]+)\"\\s+<-->\\s+\"([^\"]+)\"\\s+(\\w+)\\s*$");
+    static final Pattern RELATIONSHIP_PATTERN = Pattern.compile("^\\s*(\\w+)\\s+([*o]?--[*o]?)\\s+(\\w+).*");
+
+    /**
+     * Parses PlantUML text
+     * @param plantUml The PlantUML text
+     * @return The parsed model; empty if the text contains no class declarations
+     */
+    public UmlModel parse(String plantUml) {
+        UmlModel model = new UmlModel();
+        if (plantUml == null || plantUml.isEmpty()) {
+            return model;
+        }
+
+        String text = maskComments(plantUml);
+        int[] lineStarts = lineStarts(text);
+        String[] lines = text.split("\\r?\\n", -1);
+        boolean[] classBodyLines = new boolean[lines.length + 1];
+
+        // Classes first, so that associations can reference classes declared further down
+        Matcher classMatcher = CLASS_PATTERN.matcher(text);
+        while (classMatcher.find()) {
+            UmlClass umlClass = new UmlClass(classMatcher.group(1), position(lineStarts, classMatcher.start(1)));
+            String body = classMatcher.group(2);
+            int bodyStart = classMatcher.start(2);
+
+            Matcher attributeMatcher = ATTRIBUTE_PATTERN.matcher(body);
+            while (attributeMatcher.find()) {
+                umlClass.addAttribute(new UmlAttribute(attributeMatcher.group(1), attributeMatcher.group(2),
+                        position(lineStarts, bodyStart + attributeMatcher.start(1)),
+                        position(lineStarts, bodyStart + attributeMatcher.start(2))));
+            }
+            model.addDeclaration(umlClass);
+
+            int first = position(lineStarts, bodyStart).getLine();
+            int last = position(lineStarts, bodyStart + body.length()).getLine();
+            for (int l = first; l <= last && l <= lines.length; l++) {
+                classBodyLines[l] = true;
+            }
+        }
+
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            String trimmed = line.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int lineNumber = i + 1;
+            int indent = line.indexOf(trimmed.charAt(0));
+
+            UmlAssociation association = parseAssociation(trimmed, lineNumber, indent);
+            if (association != null) {
+                model.addAssociation(association);
+            } else if (trimmed.contains("--") && !classBodyLines[lineNumber]) {
+                model.addUnrecognizedRelationship(new SourcePosition(lineNumber, indent + 1));
+            }
+        }
+        return model;
+    }
+
+    private UmlAssociation parseAssociation(String trimmed, int line, int indent) {
+        // First check for new association pattern: Employee "Vehicles" *-- "Employee" Vehicle
+        Matcher labeled = ASSOCIATION_PATTERN.matcher(trimmed);
+        if (labeled.matches()) {
+            String operator = labeled.group(3);
+            boolean class1Collection;
+            boolean class2Collection;
+            switch (operator) {
+                case "*--", "o--" -> {
+                    class1Collection = true;
+                    class2Collection = false;
+                }
+                case "--*", "--o" -> {
+                    class1Collection = false;
+                    class2Collection = true;
+                }
+                case "*--*" -> {
+                    class1Collection = true;
+                    class2Collection = true;
+                }
+                default -> {
+                    class1Collection = false;
+                    class2Collection = false;
+                }
+            }
+            return new UmlAssociation(AssociationKind.LABELED,
+                    labeled.group(1), at(line, indent, labeled.start(1)),
+                    labeled.group(2), at(line, indent, labeled.start(2)), class1Collection,
+                    labeled.group(5), at(line, indent, labeled.start(5)),
+                    labeled.group(4), at(line, indent, labeled.start(4)), class2Collection);
+        }
+
+        // Legacy syntax puts each label next to the class that owns the inverse side
+        Matcher legacy = LABELED_ASSOCIATION_PATTERN.matcher(trimmed);
+        if (legacy.matches()) {
+            String leftLabel = legacy.group(2).trim();
+            String rightLabel = legacy.group(3).trim();
+            return new UmlAssociation(AssociationKind.LEGACY_LABELED,
+                    legacy.group(1), at(line, indent, legacy.start(1)),
+                    rightLabel.replaceFirst("^\\*\\s*", ""), at(line, indent, legacy.start(3)), rightLabel.startsWith("*"),
+                    legacy.group(4), at(line, indent, legacy.start(4)),
+                    leftLabel.replaceFirst("^\\*\\s*", ""), at(line, indent, legacy.start(2)), leftLabel.startsWith("*"));
+        }
+
+        Matcher unlabeled = RELATIONSHIP_PATTERN.matcher(trimmed);
+        if (unlabeled.matches()) {
+            String class1 = unlabeled.group(1);
+            String operator = unlabeled.group(2);
+            String class2 = unlabeled.group(3);
+            boolean class1Collection = !(operator.equals("--o") || operator.equals("--*"));
+            boolean class2Collection = !(operator.equals("o--") || operator.equals("*--"));
+            SourcePosition operatorPosition = at(line, indent, unlabeled.start(2));
+            return new UmlAssociation(AssociationKind.UNLABELED,
+                    class1, at(line, indent, unlabeled.start(1)),
+                    class1Collection ? pluralize(class2) : class2, operatorPosition, class1Collection,
+                    class2, at(line, indent, unlabeled.start(3)),
+                    class2Collection ? pluralize(class1) : class1, operatorPosition, class2Collection);
+        }
+        return null;
+    }
+
+    public static String capitalize(String s) {
+        if (s == null || s.isEmpty()) {
+            return s;
+        }
+        if (s.equalsIgnoreCase("id")) return "Id";
+        return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    }
+
+    public static String pluralize(String s) {
+        if (s == null || s.isEmpty()) {
+            return s;
+        }
+        if (s.endsWith("y")) {
+            return s.substring(0, s.length() - 1) + "ies";
+        }
+        if (s.endsWith("s")) {
+            return s + "es";
+        }
+        return s + "s";
+    }
+
+    /**
+     * Blanks out block and line comments while keeping offsets and line breaks intact
+     */
+    static String maskComments(String plantUml) {
+        char[] chars = plantUml.toCharArray();
+        int i = 0;
+        boolean lineStart = true;
+        while (i < chars.length) {
+            char c = chars[i];
+            if (c == '/' && i + 1 < chars.length && chars[i + 1] == '\'') {
+                int end = plantUml.indexOf("'/", i + 2);
+                int stop = end == -1 ? chars.length : end + 2;
+                blank(chars, i, stop);
+                i = stop;
+                continue;
+            }
+            if (lineStart && c == '\'') {
+                int end = plantUml.indexOf('\n', i);
+                int stop = end == -1 ? chars.length : end;
+                blank(chars, i, stop);
+                i = stop;
+                continue;
+            }
+            if (c == '\n') {
+                lineStart = true;
+            } else if (!Character.isWhitespace(c)) {
+                lineStart = false;
+            }
+            i++;
+        }
+        return new String(chars);
+    }
+
+    private static void blank(char[] chars, int from, int to) {
+        for (int j = from; j < to; j++) {
+            if (chars[j] != '\n' && chars[j] != '\r') {
+                chars[j] = ' ';
+            }
+        }
+    }
+
+    private static SourcePosition at(int line, int indent, int offsetInTrimmed) {
+        return new SourcePosition(line, indent + offsetInTrimmed + 1);
+    }
+
+    private static int[] lineStarts(String text) {
+        List<Integer> starts = new ArrayList<>();
+        starts.add(0);
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                starts.add(i + 1);
+            }
+        }
+        return starts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static SourcePosition position(int[] lineStarts, int offset) {
+        int index = Arrays.binarySearch(lineStarts, offset);
+        int line = index >= 0 ? index : -index - 2;
+        return new SourcePosition(line + 1, offset - lineStarts[line] + 1);
+    }
+}
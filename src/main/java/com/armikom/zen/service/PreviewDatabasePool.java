@@ -0,0 +1,152 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.enums.DatabaseEnvironment;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps pre-created, empty preview databases ({@code zen_spare_*}) so that a first-time preview does not wait for
+ * CREATE DATABASE. A preview whose database does not exist yet claims a spare by renaming it to the project id;
+ * its login and user are then bound by {@link DatabaseService#createDatabase}, which no longer has a database to
+ * create. Claimed spares are replaced in the background. A rename only succeeds once, so concurrent claims never
+ * get the same spare. With {@code database.spare-pool.size=0} no spares are kept and databases are created inline.
+ */
+@Service
+public class PreviewDatabasePool {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreviewDatabasePool.class);
+
+    public static final String SPARE_DATABASE_PREFIX = "zen_spare_";
+
+    private static final DatabaseEnvironment ENVIRONMENT = DatabaseEnvironment.PREVIEW;
+
+    private final DatabaseService databaseService;
+    private final int size;
+
+    private final ExecutorService replenisher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "preview-database-pool");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean replenishing = new AtomicBoolean();
+
+    /**
+     * @param size Number of spare databases to keep
+     */
+    public PreviewDatabasePool(DatabaseService databaseService,
+                               @Value("${database.spare-pool.size:0}") int size) {
+        this.databaseService = databaseService;
+        this.size = size;
+    }
+
+    /**
+     * Ensures the preview database of a project exists, with the given login as its owner
+     * @return true if this call created the database or claimed a spare for it, false if it already existed
+     * @throws SQLException if the database cannot be created
+     */
+    public boolean ensureDatabase(String databaseName, String username, String password) throws SQLException {
+        boolean created = !databaseService.databaseExists(ENVIRONMENT, databaseName);
+        if (created && size > 0) {
+            String spare = claimSpare(databaseName);
+            if (spare != null) {
+                logger.info("Claimed spare database '{}' for '{}'", spare, databaseName);
+            } else {
+                logger.info("No spare database available for '{}', creating it", databaseName);
+            }
+            replenishAsync();
+        }
+        if (!databaseService.createDatabase(ENVIRONMENT, databaseName, username, password)) {
+            throw new SQLException("Failed to create database '" + databaseName + "'");
+        }
+        return created;
+    }
+
+    /**
+     * Renames a spare database to the given name
+     * @return The claimed spare, or null if none could be claimed
+     */
+    private String claimSpare(String databaseName) {
+        List<String> spares;
+        try {
+            spares = databaseService.listDatabases(ENVIRONMENT, SPARE_DATABASE_PREFIX);
+        } catch (SQLException e) {
+            logger.warn("Failed to list spare databases: {}", e.getMessage());
+            return null;
+        }
+        for (String spare : spares) {
+            try {
+                databaseService.renameDatabase(ENVIRONMENT, spare, databaseName);
+                return spare;
+            } catch (SQLException e) {
+                // Claimed by another preview in the meantime, or the database was created concurrently
+                logger.debug("Could not claim spare database '{}': {}", spare, e.getMessage());
+                try {
+                    if (databaseService.databaseExists(ENVIRONMENT, databaseName)) {
+                        return null;
+                    }
+                } catch (SQLException ignored) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    @Scheduled(initialDelayString = "${database.spare-pool.initial-delay:PT30S}",
+            fixedDelayString = "${database.spare-pool.interval:PT5M}")
+    public void scheduledReplenish() {
+        replenish();
+    }
+
+    public void replenishAsync() {
+        if (size > 0 && !replenishing.get()) {
+            replenisher.execute(this::replenish);
+        }
+    }
+
+    /**
+     * Creates spare databases until there are {@code database.spare-pool.size} of them
+     * @return Number of databases created
+     */
+    public int replenish() {
+        if (size <= 0 || !replenishing.compareAndSet(false, true)) {
+            return 0;
+        }
+        int created = 0;
+        try {
+            int missing = size - databaseService.listDatabases(ENVIRONMENT, SPARE_DATABASE_PREFIX).size();
+            for (int i = 0; i < missing; i++) {
+                databaseService.createEmptyDatabase(ENVIRONMENT, newSpareName());
+                created++;
+            }
+            if (created > 0) {
+                logger.info("Created {} spare preview databases", created);
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to replenish spare preview databases: {}", e.getMessage());
+        } finally {
+            replenishing.set(false);
+        }
+        return created;
+    }
+
+    static String newSpareName() {
+        return SPARE_DATABASE_PREFIX + UUID.randomUUID().toString().replace("-", "");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        replenisher.shutdownNow();
+    }
+}
@@ -0,0 +1,228 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.enums.PreviewRoutingMode;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maps preview hostnames to their containers for {@link PreviewRoutingMode#WILDCARD} routing.
+ * A single wildcard DNS record and ingress rule send every preview hostname to this backend, where
+ * {@link com.armikom.zen.config.PreviewProxyFilter} forwards it to {@code http://myzen-<projectId>:5000}.
+ * The table is filled from the running containers and kept current by Docker container events, so a preview is
+ * routable as soon as its container starts, without any Cloudflare API call.
+ */
+@Service
+public class PreviewRoutingTable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreviewRoutingTable.class);
+
+    private static final long RECONNECT_DELAY_SECONDS = 5;
+
+    private static final String HOSTNAME_SUFFIX = "." + PreviewService.PREVIEW_DOMAIN;
+
+    private final DockerService dockerService;
+    private final CloudflareService cloudflareService;
+    private final PreviewRoutingMode mode;
+    private final String wildcardHostname;
+    private final URI proxyUrl;
+
+    /**
+     * Container URLs by lower-cased preview hostname
+     */
+    private final Map<String, URI> routes = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService reconnectScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "preview-routing-events");
+        t.setDaemon(true);
+        return t;
+    });
+    private volatile Closeable eventStream;
+    private volatile boolean shuttingDown;
+
+    /**
+     * @param wildcardHostname Hostname of the wildcard DNS record and ingress rule
+     * @param proxyUrl URL under which the tunnel reaches this backend
+     */
+    public PreviewRoutingTable(DockerService dockerService, CloudflareService cloudflareService,
+                               @Value("${preview.routing.mode:dedicated}") PreviewRoutingMode mode,
+                               @Value("${preview.routing.wildcard-hostname:*.armikom.com}") String wildcardHostname,
+                               @Value("${preview.routing.proxy-url:http://zen-backend:8080}") URI proxyUrl) {
+        this.dockerService = dockerService;
+        this.cloudflareService = cloudflareService;
+        this.mode = mode;
+        this.wildcardHostname = wildcardHostname;
+        this.proxyUrl = proxyUrl;
+    }
+
+    public boolean isWildcard() {
+        return mode == PreviewRoutingMode.WILDCARD;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!isWildcard()) {
+            return;
+        }
+        logger.info("Preview routing mode is wildcard: {} -> {}", wildcardHostname, proxyUrl);
+        provisionWildcardRoute();
+        watchContainers();
+    }
+
+    /**
+     * Ensures the wildcard DNS record and ingress rule exist; this is the only Cloudflare write in wildcard mode
+     */
+    private void provisionWildcardRoute() {
+        int port = proxyUrl.getPort() != -1 ? proxyUrl.getPort() : ("https".equals(proxyUrl.getScheme()) ? 443 : 80);
+        cloudflareService.createCompleteRouteAsync(wildcardHostname, port, proxyUrl.getScheme(), null, proxyUrl.getHost())
+                .subscribe(response -> {
+                    if (response.isSuccess()) {
+                        logger.info("Wildcard preview route ready: {}", response.getMessage());
+                    } else {
+                        logger.error("Failed to provision wildcard preview route {}: {}", wildcardHostname, response.getMessage());
+                    }
+                });
+    }
+
+    private void watchContainers() {
+        if (shuttingDown) {
+            return;
+        }
+        try {
+            // Subscribe before listing, so a container started in between is not missed
+            eventStream = dockerService.watchContainerEvents(PreviewService.PREVIEW_CONTAINER_PREFIX,
+                    new DockerService.ContainerEventListener() {
+                        @Override
+                        public void onContainerEvent(String name, boolean running) {
+                            String projectId = name.substring(PreviewService.PREVIEW_CONTAINER_PREFIX.length());
+                            if (running) {
+                                register(projectId);
+                            } else {
+                                unregister(projectId);
+                            }
+                        }
+
+                        @Override
+                        public void onClosed(Throwable error) {
+                            if (!shuttingDown) {
+                                logger.warn("Docker event stream ended ({}), reconnecting in {} s",
+                                        error != null ? error.getMessage() : "closed", RECONNECT_DELAY_SECONDS);
+                                reconnectScheduler.schedule(PreviewRoutingTable.this::watchContainers,
+                                        RECONNECT_DELAY_SECONDS, TimeUnit.SECONDS);
+                            }
+                        }
+                    });
+            if (eventStream == null) {
+                logger.warn("Docker events are not available; preview routes are only added by preview generation");
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to watch Docker events, retrying in {} s: {}", RECONNECT_DELAY_SECONDS, e.getMessage());
+            reconnectScheduler.schedule(this::watchContainers, RECONNECT_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+
+        Set<String> containerNames = dockerService.listRunningContainerNames(PreviewService.PREVIEW_CONTAINER_PREFIX);
+        if (containerNames != null) {
+            replaceAll(containerNames.stream()
+                    .map(name -> name.substring(PreviewService.PREVIEW_CONTAINER_PREFIX.length()))
+                    .toList());
+        }
+    }
+
+    /**
+     * Routes a project's preview hostname to its container
+     */
+    public void register(String projectId) {
+        URI target = URI.create("http://" + PreviewService.previewContainerName(projectId) + ":" + PreviewService.PREVIEW_PORT);
+        if (routes.put(key(PreviewService.previewHostname(projectId)), target) == null) {
+            logger.info("Preview route added: {} -> {}", PreviewService.previewHostname(projectId), target);
+        }
+    }
+
+    public void unregister(String projectId) {
+        if (routes.remove(key(PreviewService.previewHostname(projectId))) != null) {
+            logger.info("Preview route removed: {}", PreviewService.previewHostname(projectId));
+        }
+    }
+
+    /**
+     * Replaces the table with routes for the given projects
+     */
+    public void replaceAll(Iterable<String> projectIds) {
+        Map<String, URI> current = new HashMap<>();
+        for (String projectId : projectIds) {
+            current.put(key(PreviewService.previewHostname(projectId)),
+                    URI.create("http://" + PreviewService.previewContainerName(projectId) + ":" + PreviewService.PREVIEW_PORT));
+        }
+        routes.putAll(current);
+        routes.keySet().retainAll(current.keySet());
+        logger.info("Preview routing table loaded with {} running previews", current.size());
+    }
+
+    /**
+     * Container URL for a request's Host header
+     * @return The URL, or null if no running preview has this hostname
+     */
+    public URI resolve(String host) {
+        return host != null ? routes.get(hostname(host)) : null;
+    }
+
+    /**
+     * Whether a Host header names a preview, running or not
+     */
+    public boolean isPreviewHost(String host) {
+        if (host == null) {
+            return false;
+        }
+        String name = hostname(host);
+        return name.startsWith(PreviewService.PREVIEW_CONTAINER_PREFIX) && name.endsWith(HOSTNAME_SUFFIX)
+                && name.length() > PreviewService.PREVIEW_CONTAINER_PREFIX.length() + HOSTNAME_SUFFIX.length()
+                && name.indexOf('.') == name.length() - HOSTNAME_SUFFIX.length();
+    }
+
+    public int size() {
+        return routes.size();
+    }
+
+    /**
+     * Lower-cased hostname without port
+     */
+    private static String hostname(String host) {
+        int colon = host.lastIndexOf(':');
+        String name = colon > host.lastIndexOf(']') && colon >= 0 ? host.substring(0, colon) : host;
+        return key(name);
+    }
+
+    private static String key(String hostname) {
+        return hostname.toLowerCase(Locale.ROOT);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shuttingDown = true;
+        reconnectScheduler.shutdownNow();
+        Closeable stream = eventStream;
+        if (stream != null) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                logger.debug("Error closing Docker event stream: {}", e.getMessage());
+            }
+        }
+    }
+}
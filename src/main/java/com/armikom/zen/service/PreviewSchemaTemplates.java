@@ -0,0 +1,140 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.enums.DatabaseEnvironment;
+import com.armikom.zen.service.generator.EfMigrationsTarget;
+import com.armikom.zen.service.generator.SchemaChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provisions preview databases from schema templates instead of creating them empty and migrating them statement by
+ * statement. A template is a backup of a database holding just the schema of one model, keyed by the model hash that
+ * schema migrations record, so databases restored from it are already up to date for that model. The first preview
+ * of a model builds its template in a throwaway {@code zen_template_*} database; every later preview database of the
+ * same model, in any project, is restored from the backup.
+ * With an empty {@code database.templates.directory} no templates are used.
+ */
+@Service
+public class PreviewSchemaTemplates {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreviewSchemaTemplates.class);
+
+    public static final String TEMPLATE_DATABASE_PREFIX = "zen_template_";
+
+    private static final DatabaseEnvironment ENVIRONMENT = DatabaseEnvironment.PREVIEW;
+
+    // Raised by RESTORE when the backup file cannot be opened, i.e. the template has not been built yet
+    private static final int BACKUP_DEVICE_ERROR = 3201;
+
+    // Characters of the model hash used in template names
+    private static final int TEMPLATE_HASH_LENGTH = 32;
+
+    private final DatabaseService databaseService;
+    private final SchemaDiffService schemaDiffService;
+    private final String directory;
+
+    // Serializes template builds per model hash
+    private final Map<String, Object> buildLocks = new ConcurrentHashMap<>();
+
+    /**
+     * @param directory Directory on the preview database server that holds the template backups
+     */
+    public PreviewSchemaTemplates(DatabaseService databaseService, SchemaDiffService schemaDiffService,
+                                  @Value("${database.templates.directory:}") String directory) {
+        this.databaseService = databaseService;
+        this.schemaDiffService = schemaDiffService;
+        this.directory = directory;
+    }
+
+    public boolean isEnabled() {
+        return directory != null && !directory.isBlank();
+    }
+
+    /**
+     * Creates a project's preview database from the template of its model, building the template first if needed
+     * @return false if templates are disabled or the database already exists
+     * @throws SQLException if the template cannot be built or restored
+     */
+    public boolean provision(String databaseName, String plantUml) throws SQLException {
+        if (!isEnabled() || databaseService.databaseExists(ENVIRONMENT, databaseName)) {
+            return false;
+        }
+        long startTime = System.currentTimeMillis();
+        String modelHash = GenerationCache.modelHash(plantUml, EfMigrationsTarget.VERSION);
+        String backupFile = templateFile(directory, modelHash);
+
+        if (!cloneFromTemplate(backupFile, databaseName)) {
+            synchronized (buildLocks.computeIfAbsent(modelHash, hash -> new Object())) {
+                // Another preview of the same model may have built it while this one waited
+                if (cloneFromTemplate(backupFile, databaseName)) {
+                    return true;
+                }
+                buildTemplate(modelHash, plantUml, backupFile);
+            }
+            databaseService.cloneDatabase(ENVIRONMENT, backupFile, databaseName);
+        }
+        logger.info("Provisioned preview database '{}' from template {} in {} ms", databaseName, backupFile,
+                System.currentTimeMillis() - startTime);
+        return true;
+    }
+
+    /**
+     * @return false if the template does not exist yet
+     */
+    private boolean cloneFromTemplate(String backupFile, String databaseName) throws SQLException {
+        try {
+            databaseService.cloneDatabase(ENVIRONMENT, backupFile, databaseName);
+            return true;
+        } catch (SQLException e) {
+            if (e.getErrorCode() != BACKUP_DEVICE_ERROR) {
+                throw e;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Creates the model's schema in a throwaway database and backs it up as the template
+     */
+    private void buildTemplate(String modelHash, String plantUml, String backupFile) throws SQLException {
+        long startTime = System.currentTimeMillis();
+        String templateDatabase = templateDatabaseName(modelHash);
+        List<String> statements = schemaDiffService.diff(null, plantUml).stream().map(SchemaChange::getSql).toList();
+
+        // Left over if an earlier build was interrupted
+        databaseService.dropDatabase(ENVIRONMENT, templateDatabase);
+        databaseService.createEmptyDatabase(ENVIRONMENT, templateDatabase);
+        try {
+            databaseService.applySchemaChanges(ENVIRONMENT, templateDatabase, statements, modelHash, plantUml);
+            databaseService.createBackup(ENVIRONMENT, templateDatabase, backupFile, false, true, null);
+        } finally {
+            try {
+                databaseService.dropDatabase(ENVIRONMENT, templateDatabase);
+            } catch (SQLException e) {
+                logger.warn("Failed to drop template database '{}': {}", templateDatabase, e.getMessage());
+            }
+        }
+        logger.info("Built schema template {} ({} statements) in {} ms", backupFile, statements.size(),
+                System.currentTimeMillis() - startTime);
+    }
+
+    static String templateDatabaseName(String modelHash) {
+        return TEMPLATE_DATABASE_PREFIX + modelHash.substring(0, TEMPLATE_HASH_LENGTH);
+    }
+
+    /**
+     * Path of a template backup on the database server, which may use either path separator
+     */
+    static String templateFile(String directory, String modelHash) {
+        String separator = directory.endsWith("/") || directory.endsWith("\\") ? ""
+                : directory.contains("\\") ? "\\" : "/";
+        return directory + separator + templateDatabaseName(modelHash) + ".bak";
+    }
+}
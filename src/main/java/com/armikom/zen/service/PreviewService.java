@@ -11,15 +11,25 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.tomcat.util.http.fileupload.FileUtils;
 
+import com.armikom.zen.dto.CloudflareResponse;
+import com.armikom.zen.dto.ModelDiagnostic;
 import com.armikom.zen.enums.DatabaseEnvironment;
+import com.armikom.zen.service.generator.EfMigrationsTarget;
+import com.armikom.zen.service.generator.SchemaChange;
+import com.armikom.zen.service.generator.XafEfCoreTarget;
 import com.google.cloud.firestore.DocumentReference;
 import com.google.cloud.firestore.DocumentSnapshot;
 import com.google.cloud.firestore.Firestore;
@@ -29,29 +39,66 @@ public class PreviewService {
 
     private static final Logger logger = LoggerFactory.getLogger(PreviewService.class);
 
+    // Code generation target whose output and scaffold make up the preview project
+    private static final String PREVIEW_TARGET = XafEfCoreTarget.NAME;
+
+    // Upper bound for waiting on DNS and tunnel route provisioning at the end of a preview
+    private static final long ROUTE_PROVISIONING_TIMEOUT_SECONDS = 180;
+
+    // Preview containers are named myzen-<projectId> and served as myzen-<projectId>.armikom.com
+    public static final String PREVIEW_CONTAINER_PREFIX = "myzen-";
+    public static final String PREVIEW_DOMAIN = "armikom.com";
+    public static final int PREVIEW_PORT = 5000;
+
     @Value("${preview.docker.image}")
     private String previewDockerImage;
 
-    private final PlantUmlToCSharpService plantUmlToCSharpService;
+    // How long a preview waits for an unhealthy preview database server before failing
+    @Value("${database.health.park-timeout:PT2M}")
+    private Duration databaseParkTimeout;
+
+    // Sample rows loaded per table when a preview database gets its first schema; 0 leaves it empty
+    @Value("${preview.seed.rows-per-table:0}")
+    private int previewSeedRowsPerTable;
+
+    private final CodeGenerationService codeGenerationService;
+    private final SchemaDiffService schemaDiffService;
+    private final PlantUmlModelValidator plantUmlModelValidator;
     private final DockerService dockerService;
     private final Firestore firestore;
     private final DatabaseService databaseService;
     private final CloudflareService cloudflareService;
     private final GitHubService gitHubService;
+    private final PreviewRoutingTable previewRoutingTable;
+    private final PreviewDatabasePool previewDatabasePool;
+    private final PreviewSchemaTemplates previewSchemaTemplates;
+    private final DatabaseHealthMonitor databaseHealthMonitor;
 
     public PreviewService(
-            PlantUmlToCSharpService plantUmlToCSharpService,
+            CodeGenerationService codeGenerationService,
+            SchemaDiffService schemaDiffService,
+            PlantUmlModelValidator plantUmlModelValidator,
             DockerService dockerService,
             Firestore firestore,
             DatabaseService databaseService,
             CloudflareService cloudflareService,
-            GitHubService gitHubService) {
-        this.plantUmlToCSharpService = plantUmlToCSharpService;
+            GitHubService gitHubService,
+            PreviewRoutingTable previewRoutingTable,
+            PreviewDatabasePool previewDatabasePool,
+            PreviewSchemaTemplates previewSchemaTemplates,
+            DatabaseHealthMonitor databaseHealthMonitor) {
+        this.codeGenerationService = codeGenerationService;
+        this.schemaDiffService = schemaDiffService;
+        this.plantUmlModelValidator = plantUmlModelValidator;
         this.dockerService = dockerService;
         this.firestore = firestore;
         this.databaseService = databaseService;
         this.cloudflareService = cloudflareService;
         this.gitHubService = gitHubService;
+        this.previewRoutingTable = previewRoutingTable;
+        this.previewDatabasePool = previewDatabasePool;
+        this.previewSchemaTemplates = previewSchemaTemplates;
+        this.databaseHealthMonitor = databaseHealthMonitor;
     }
 
     /**
@@ -82,6 +129,18 @@ public class PreviewService {
                 return false;
             }
 
+            // Reject invalid models before any checkout, build or database work
+            List<ModelDiagnostic> diagnostics = plantUmlModelValidator.validate(plantUml);
+            if (PlantUmlModelValidator.hasErrors(diagnostics)) {
+                logger.error("PlantUML model for document {} is invalid: {}", firestoreDocumentId, diagnostics);
+                if (jobLog != null) {
+                    for (ModelDiagnostic diagnostic : diagnostics) {
+                        jobLog.log(diagnostic.isError() ? "ERROR" : "WARN", diagnostic.toString());
+                    }
+                }
+                return false;
+            }
+
             // Extract project id from firestore document field `id`
             String projectId = extractProjectIdFromFirestore(firestoreDocumentId);
             if (projectId == null || projectId.trim().isEmpty()) {
@@ -104,7 +163,7 @@ public class PreviewService {
             
             // Generate model files from PlantUML
             if (jobLog != null) jobLog.log("INFO", "Generating model files from PlantUML");
-            Map<String, String> generatedFiles = plantUmlToCSharpService.generate(plantUml);
+            Map<String, String> generatedFiles = codeGenerationService.generate(plantUml, PREVIEW_TARGET);
             if (generatedFiles.isEmpty()) {
                 logger.error("No files generated from PlantUML for project: {}", projectId);
                 if (jobLog != null) jobLog.log("ERROR", "No files were generated from PlantUML");
@@ -154,42 +213,69 @@ public class PreviewService {
                 if (jobLog != null) jobLog.log("INFO", "No file changes to commit");
             }
 
+            // Park the database stage while the server is unhealthy instead of piling up on driver timeouts
+            if (!databaseHealthMonitor.isAvailable(DatabaseEnvironment.PREVIEW)) {
+                logger.warn("Preview database server is unhealthy; waiting up to {} for project {}",
+                        databaseParkTimeout, projectId);
+                if (jobLog != null) jobLog.log("WARN", "Database server is unavailable, waiting for it to recover");
+                if (!databaseHealthMonitor.awaitAvailable(DatabaseEnvironment.PREVIEW, databaseParkTimeout)) {
+                    logger.error("Preview database server did not recover for project: {}", projectId);
+                    if (jobLog != null) jobLog.log("ERROR", "Database server is unavailable");
+                    return false;
+                }
+            }
+
             // Create (or ensure) database for the project using projectId for db/user/password
             try {
                 if (jobLog != null) jobLog.log("INFO", "Ensuring database for preview");
-                boolean dbOk = databaseService.createDatabase(DatabaseEnvironment.PREVIEW,projectId, projectId, generatePassword(projectId));
-                if (!dbOk) {
-                    logger.error("Failed to create database for project: {}", projectId);
-                    if (jobLog != null) jobLog.log("ERROR", "Failed to create/ensure database");
-                    return false;
+                // Only a database created by this preview may be seeded; an existing one can hold user data
+                boolean newDatabase = provisionFromTemplate(projectId, plantUml, jobLog);
+                if (previewDatabasePool.ensureDatabase(projectId, projectId, generatePassword(projectId))) {
+                    newDatabase = true;
                 }
                 logger.info("Database created/ensured for project: {}", projectId);
                 if (jobLog != null) jobLog.log("INFO", "Database ready");
+                migrateSchema(projectId, plantUml, newDatabase, jobLog);
             } catch (Exception dbEx) {
                 logger.error("Database creation failed for project: {}", projectId, dbEx);
                 if (jobLog != null) jobLog.log("ERROR", "Database setup failed: " + dbEx.getMessage());
                 return false;
             }
 
+            // Once the image and the database are ready the route is provisioned while the container starts, so that
+            // failed builds and database stages leave no DNS records or ingress rules behind:
+            // myzen-<projectId>.armikom.com -> http://myzen-<projectId>:5000
+            // In wildcard routing mode the shared route already covers the hostname.
+            String dnsName = previewHostname(projectId);          // using subdomain style
+            String containerName = previewContainerName(projectId); // container hostname on docker network
+            CompletableFuture<CloudflareResponse> routeProvisioning = previewRoutingTable.isWildcard() ? null :
+                    cloudflareService.createCompleteRouteAsync(dnsName, PREVIEW_PORT, "http", null, containerName)
+                            .toFuture();
+
             // Replace existing container (if any) and run a new one on `myzen` network
             if (jobLog != null) jobLog.log("INFO", "Replacing and starting preview container");
             replaceAndRunContainer(projectId);
 
-            // Configure Cloudflare: myzen-<projectId>.armikom.com -> http://<projectId>:5000
-            try {
-                String dnsName = "myzen-" + projectId + ".armikom.com"; // using subdomain style
-                String containerName = "myzen-" + projectId;            // container hostname on docker network
-                var cfResp = cloudflareService.createCompleteRoute(dnsName, 5000, "http", null, containerName);
-                if (!cfResp.isSuccess()) {
-                    logger.warn("Cloudflare route setup reported failure: {}", cfResp.getMessage());
-                    if (jobLog != null) jobLog.log("WARN", "Cloudflare route setup reported failure: " + cfResp.getMessage());
-                } else {
-                    logger.info("Cloudflare route configured for {} -> http://{}:5000", dnsName, containerName);
-                    if (jobLog != null) jobLog.log("INFO", "Cloudflare route configured: " + dnsName);
+            if (routeProvisioning == null) {
+                // The container start event also registers it; this covers a missing Docker event stream
+                previewRoutingTable.register(projectId);
+                logger.info("Preview {} routed through the wildcard route", dnsName);
+                if (jobLog != null) jobLog.log("INFO", "Preview routed: " + dnsName);
+            } else {
+                try {
+                    // Wait for the Cloudflare route started above
+                    var cfResp = routeProvisioning.get(ROUTE_PROVISIONING_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                    if (!cfResp.isSuccess()) {
+                        logger.warn("Cloudflare route setup reported failure: {}", cfResp.getMessage());
+                        if (jobLog != null) jobLog.log("WARN", "Cloudflare route setup reported failure: " + cfResp.getMessage());
+                    } else {
+                        logger.info("Cloudflare route configured for {} -> http://{}:{}", dnsName, containerName, PREVIEW_PORT);
+                        if (jobLog != null) jobLog.log("INFO", "Cloudflare route configured: " + dnsName);
+                    }
+                } catch (Exception e) {
+                    logger.warn("Failed to configure Cloudflare route for project {}: {}", projectId, e.getMessage());
+                    if (jobLog != null) jobLog.log("WARN", "Failed to configure Cloudflare: " + e.getMessage());
                 }
-            } catch (Exception e) {
-                logger.warn("Failed to configure Cloudflare route for project {}: {}", projectId, e.getMessage());
-                if (jobLog != null) jobLog.log("WARN", "Failed to configure Cloudflare: " + e.getMessage());
             }
 
             logger.info("Preview generation completed successfully for project: {}", projectId);
@@ -207,6 +293,20 @@ public class PreviewService {
         }
     }
 
+    /**
+     * Public hostname of a project's preview
+     */
+    public static String previewHostname(String projectId) {
+        return PREVIEW_CONTAINER_PREFIX + projectId + "." + PREVIEW_DOMAIN;
+    }
+
+    /**
+     * Name of a project's preview container, which is also its hostname on the myzen docker network
+     */
+    public static String previewContainerName(String projectId) {
+        return PREVIEW_CONTAINER_PREFIX + projectId;
+    }
+
     private String generatePassword(String projectId) {
         UUID uuid = UUID.nameUUIDFromBytes(projectId.getBytes(StandardCharsets.UTF_8));
         String hashedId = String.format("%016x", uuid.getMostSignificantBits());
@@ -252,24 +352,15 @@ public class PreviewService {
             // Track which files get updated for git purposes
             Set<String> updatedFiles = new HashSet<>();
             
-            // Create basic project files only if project was not checked out from GitHub
-            createProjectFile(previewPath, updatedFiles);
-            createNugetConfigFile(previewPath, updatedFiles);
-            
-            // Create Model directory first
+            // Create the static project files of the preview target (project file, BaseEntity, editor configuration)
+            for (Map.Entry<String, String> entry : codeGenerationService.getScaffoldFiles(PREVIEW_TARGET).entrySet()) {
+                writeScaffoldFile(previewPath, entry.getKey(), entry.getValue(), updatedFiles);
+            }
+
+            // Create Model directory for the generated classes
             Path modelPath = previewPath.resolve("Model");
             Files.createDirectories(modelPath);
             logger.debug("Created Model directory: {}", modelPath);
-            
-            // Create BaseEntity.cs file in Model directory
-            createBaseEntityFile(modelPath, previewPath, updatedFiles);
-
-            // Create devcontainer.json file in .devcontainer directory
-            createDevcontainerFile(previewPath, updatedFiles);
-
-            // Create VSCode configuration files
-            createVSCodeLaunchFile(previewPath, updatedFiles);
-            createVSCodeTasksFile(previewPath, updatedFiles);
 
             // Write all generated model files and track updates
             for (Map.Entry<String, String> entry : fileList.entrySet()) {
@@ -308,6 +399,69 @@ public class PreviewService {
         }
     }
 
+    /**
+     * Restores a new preview database from the schema template of its model
+     * @return false if the database was not created from a template; it is then created empty and migrated
+     */
+    private boolean provisionFromTemplate(String projectId, String plantUml, IJobLog jobLog) {
+        if (!previewSchemaTemplates.isEnabled()) {
+            return false;
+        }
+        try {
+            boolean provisioned = previewSchemaTemplates.provision(projectId, plantUml);
+            if (provisioned && jobLog != null) jobLog.log("INFO", "Database restored from schema template");
+            return provisioned;
+        } catch (Exception e) {
+            logger.warn("Schema template could not be used for project {}: {}", projectId, e.getMessage());
+            if (jobLog != null) jobLog.log("WARN", "Schema template could not be used: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Brings the preview database to the model; databases created by this preview, including those restored from a
+     * template, are then seeded when sample data is enabled. The preview has no other way to get its schema, so a
+     * failed migration fails the preview; failed seeding does not.
+     * @throws SQLException if the schema cannot be migrated
+     */
+    private void migrateSchema(String projectId, String plantUml, boolean newDatabase, IJobLog jobLog)
+            throws SQLException {
+        String previousModel = databaseService.getAppliedModel(DatabaseEnvironment.PREVIEW, projectId);
+        String modelHash = GenerationCache.modelHash(plantUml, EfMigrationsTarget.VERSION);
+        if (previousModel != null && modelHash.equals(GenerationCache.modelHash(previousModel, EfMigrationsTarget.VERSION))) {
+            if (jobLog != null) jobLog.log("INFO", "Database schema is up to date");
+        } else {
+            List<SchemaChange> changes = schemaDiffService.diff(previousModel, plantUml);
+            for (SchemaChange change : changes) {
+                logger.info("Schema change for {}: {}", projectId, change);
+            }
+            List<String> statements = changes.stream().map(SchemaChange::getSql).toList();
+            databaseService.applySchemaChanges(DatabaseEnvironment.PREVIEW, projectId, statements, modelHash, plantUml);
+            if (jobLog != null) jobLog.log("INFO", "Applied " + changes.size() + " schema changes");
+        }
+
+        if (newDatabase && previewSeedRowsPerTable > 0) {
+            seedSampleData(projectId, plantUml, jobLog);
+        }
+    }
+
+    /**
+     * Fills a new preview database with sample rows, so that the preview does not start with empty lists
+     */
+    private void seedSampleData(String projectId, String plantUml, IJobLog jobLog) {
+        try {
+            Map<String, Long> rowCounts = databaseService.seedSampleData(DatabaseEnvironment.PREVIEW, projectId,
+                    plantUml, previewSeedRowsPerTable);
+            if (jobLog != null) {
+                jobLog.log("INFO", "Loaded " + rowCounts.values().stream().mapToLong(Long::longValue).sum() +
+                        " sample rows into " + rowCounts.size() + " tables");
+            }
+        } catch (Exception e) {
+            logger.warn("Loading sample data failed for project {}: {}", projectId, e.getMessage());
+            if (jobLog != null) jobLog.log("WARN", "Loading sample data failed: " + e.getMessage());
+        }
+    }
+
     /**
      * Extracts the project id value from Firestore project document's `id` field.
      * Falls back to Firestore document id if the field is absent.
@@ -357,247 +511,18 @@ public class PreviewService {
     }
 
     /**
-     * Creates a basic .csproj file for the preview project
-     */
-    private void createProjectFile(Path previewPath, Set<String> updatedFiles) throws IOException {
-        String csprojContent = """
-<Project Sdk="Microsoft.NET.Sdk">
-
-  <PropertyGroup>
-    <TargetFramework>net8.0</TargetFramework>
-    <ImplicitUsings>enable</ImplicitUsings>
-    <Nullable>enable</Nullable>
-    <RootNamespace>Zen</RootNamespace>
-  </PropertyGroup>
-
-  <ItemGroup>
-    <PackageReference Include="DevExpress.ExpressApp" Version="24.2.6" />
-    <PackageReference Include="Microsoft.EntityFrameworkCore" Version="8.0.11" />
-  </ItemGroup>
-
-</Project>
-                """;
-
-        Path csprojPath = previewPath.resolve("Zen.csproj");
-        
-        // Only write file if content is different or file doesn't exist
-        if (shouldWriteFile(csprojPath, csprojContent, updatedFiles, previewPath)) {
-            Files.write(csprojPath, csprojContent.getBytes());
-            logger.debug("Created/updated project file: {}", csprojPath);
-        } else {
-            logger.debug("Project file content unchanged: {}", csprojPath);
-        }
-    }
-
-    /**
-     * Creates a nuget.config file for the preview project
-     */
-    private void createNugetConfigFile(Path previewPath, Set<String> updatedFiles) throws IOException {
-        String nugetConfigContent = """
-<?xml version="1.0" encoding="utf-8"?>
-<configuration>
-    <packageSources>
-        <add key="nuget.org" value="https://api.nuget.org/v3/index.json" protocolVersion="3" />
-        <add key="DevExpress" value="https://nuget.devexpress.com/ob5Z9grQGl2RPcDZ4VHeqxccgnHEYwCAAFMUEhJWs236XLluiw/api/v3/index.json" />
-    </packageSources>
-</configuration>
-                """;
-
-        Path nugetConfigPath = previewPath.resolve("nuget.config");
-        
-        // Only write file if content is different or file doesn't exist
-        if (shouldWriteFile(nugetConfigPath, nugetConfigContent, updatedFiles, previewPath)) {
-            Files.write(nugetConfigPath, nugetConfigContent.getBytes());
-            logger.debug("Created/updated nuget.config file: {}", nugetConfigPath);
-        } else {
-            logger.debug("Nuget config file content unchanged: {}", nugetConfigPath);
-        }
-    }
-
-    /**
-     * Creates a BaseEntity.cs file for the preview project
-     */
-    private void createBaseEntityFile(Path modelPath, Path previewPath, Set<String> updatedFiles) throws IOException {
-        String baseEntityContent = """
-using DevExpress.ExpressApp;
-using System;
-using System.Collections.Generic;
-using System.Linq;
-using System.Text;
-using System.Threading.Tasks;
-using System.ComponentModel;
-using System.ComponentModel.DataAnnotations;
-
-namespace Zen.Model
-{
-    public abstract class BaseEntity : IXafEntityObject
-    {
-        [Key, Browsable(false)]
-        public virtual int Id { get; set; }
-        public virtual void OnCreated() { }
-        public virtual void OnSaving() { }
-        public virtual void OnLoaded() { }
-    }
-}
-                """;
-
-        Path baseEntityPath = modelPath.resolve("BaseEntity.cs");
-        
-        // Only write file if content is different or file doesn't exist
-        if (shouldWriteFile(baseEntityPath, baseEntityContent, updatedFiles, previewPath)) {
-            Files.write(baseEntityPath, baseEntityContent.getBytes());
-            logger.debug("Created/updated BaseEntity.cs file: {}", baseEntityPath);
-        } else {
-            logger.debug("BaseEntity.cs file content unchanged: {}", baseEntityPath);
-        }
-    }
-
-    /**
-     * Creates a devcontainer.json file for the preview project
+     * Writes a scaffold file relative to the preview path if its content changed
      */
-    private void createDevcontainerFile(Path previewPath, Set<String> updatedFiles) throws IOException {
-        // Create .devcontainer directory if it doesn't exist
-        Path devcontainerDir = previewPath.resolve(".devcontainer");
-        if (!Files.exists(devcontainerDir)) {
-            Files.createDirectories(devcontainerDir);
-            logger.debug("Created .devcontainer directory: {}", devcontainerDir);
-        }
+    private void writeScaffoldFile(Path previewPath, String relativePath, String content, Set<String> updatedFiles) throws IOException {
+        Path filePath = previewPath.resolve(relativePath);
+        Files.createDirectories(filePath.getParent());
 
-        String devcontainerContent = """
-{
-    "image": "myzen/devcontainer:19",
-    "postStartCommand": "/bin/bash /start.sh",
-    "forwardPorts": [1433],
-    "containerEnv": {
-        "ACCEPT_EULA": "Y",
-        "MSSQL_PID": "Express",
-        "MSSQL_SA_PASSWORD": "ZenPassword123!"
-    },
-    "mounts": ["type=volume,source=dev-mssql-data,target=/var/opt/mssql"], 
-    "features": {
-        "ghcr.io/joshuanianji/devcontainer-features/gcloud-cli-persistence:1": {}
-    },
-    "customizations": {
-        "vscode": {
-            "extensions": [
-                "ms-dotnettools.csharp"
-            ],
-            "settings": {
-                "files.exclude": {
-                    "**/.classpath": true,
-                    "**/.project": true,
-                    "**/.settings": true,
-                    "**/.factorypath": true,
-                    "**/.*": true,
-                    "**/bin": true,
-                    "**/obj": true,
-                    "nuget.config": true,
-                    "dev.sln": true,
-                    "global.json": true,
-                }
-            }
-        }
-    }
-}
-                """;
-
-        Path devcontainerJsonPath = devcontainerDir.resolve("devcontainer.json");
-        
-        // Only write file if content is different or file doesn't exist
-        if (shouldWriteFile(devcontainerJsonPath, devcontainerContent, updatedFiles, previewPath)) {
-            Files.write(devcontainerJsonPath, devcontainerContent.getBytes());
-            logger.debug("Created/updated devcontainer.json file: {}", devcontainerJsonPath);
-        } else {
-            logger.debug("devcontainer.json file content unchanged: {}", devcontainerJsonPath);
-        }
-    }
-
-    /**
-     * Creates a launch.json file for the preview project
-     */
-    private void createVSCodeLaunchFile(Path previewPath, Set<String> updatedFiles) throws IOException {
-        // Create .vscode directory if it doesn't exist
-        Path vscodeDir = previewPath.resolve(".vscode");
-        if (!Files.exists(vscodeDir)) {
-            Files.createDirectories(vscodeDir);
-            logger.debug("Created .vscode directory: {}", vscodeDir);
-        }
-
-        String launchContent = """
-{
-  "version": "0.2.0",
-  "configurations": [
-    {
-      "name": "Zen Start",
-      "type": "coreclr",
-      "request": "launch",
-      "preLaunchTask": "build zen app",
-      "program": "Zen.Blazor.Server.dll",
-      "args": [],
-      "stopAtEntry": false,
-      "console": "integratedTerminal",
-      "cwd": "/app"
-    }
-  ]
-}
-                """;
-
-        Path launchJsonPath = vscodeDir.resolve("launch.json");
-        
-        // Only write file if content is different or file doesn't exist
-        if (shouldWriteFile(launchJsonPath, launchContent, updatedFiles, previewPath)) {
-            Files.write(launchJsonPath, launchContent.getBytes());
-            logger.debug("Created/updated launch.json file: {}", launchJsonPath);
-        } else {
-            logger.debug("launch.json file content unchanged: {}", launchJsonPath);
-        }
-    }
-
-    /**
-     * Creates a tasks.json file for the preview project
-     */
-    private void createVSCodeTasksFile(Path previewPath, Set<String> updatedFiles) throws IOException {
-        // Create .vscode directory if it doesn't exist
-        Path vscodeDir = previewPath.resolve(".vscode");
-        if (!Files.exists(vscodeDir)) {
-            Files.createDirectories(vscodeDir);
-            logger.debug("Created .vscode directory: {}", vscodeDir);
-        }
-
-        String tasksContent = """
-{
-  "version": "2.0.0",
-  "tasks": [
-    {
-      "label": "build zen app",
-      "command": "dotnet",
-      "type": "process",
-      "args": [
-        "build",
-        "${workspaceFolder}/Zen.csproj",
-        "/property:GenerateFullPaths=true",
-        "/consoleloggerparameters:NoSummary",
-        "/p:OutputPath=/app"
-      ],
-      "problemMatcher": "$msCompile",
-      "group": {
-        "kind": "build",
-        "isDefault": true
-      },
-      "detail": "Builds Zen project."
-    }
-  ]
-}
-                """;
-
-        Path tasksJsonPath = vscodeDir.resolve("tasks.json");
-        
         // Only write file if content is different or file doesn't exist
-        if (shouldWriteFile(tasksJsonPath, tasksContent, updatedFiles, previewPath)) {
-            Files.write(tasksJsonPath, tasksContent.getBytes());
-            logger.debug("Created/updated tasks.json file: {}", tasksJsonPath);
+        if (shouldWriteFile(filePath, content, updatedFiles, previewPath)) {
+            Files.write(filePath, content.getBytes());
+            logger.debug("Created/updated scaffold file: {}", filePath);
         } else {
-            logger.debug("tasks.json file content unchanged: {}", tasksJsonPath);
+            logger.debug("Scaffold file content unchanged: {}", filePath);
         }
     }
 
@@ -736,7 +661,7 @@ namespace Zen.Model
      * connected to `myzen` network with required environment variables.
      */
     private void replaceAndRunContainer(String projectId) {
-        String containerName = "myzen-" + projectId;
+        String containerName = previewContainerName(projectId);
         String imageTag = "myzen/" + projectId;
         String connectionString = String.format(
                 "Server=mssql_zen,1433;Database=%s;User Id=%s;Password=%s;Encrypt=true;TrustServerCertificate=true;",
@@ -18,11 +18,12 @@ import org.springframework.stereotype.Service;
 import jakarta.annotation.PreDestroy;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.Instant;
 import java.util.concurrent.ExecutionException;
 import java.util.regex.Pattern;
 
@@ -34,32 +35,24 @@ public class ProjectService {
 
     @Value("${firebase.credentials.json:}")
     private String firebaseCredentialsJson;
-    @Value("${spring.datasource.url}")
-    private String connectionString;
-
-    @Value("${spring.datasource.username}")
-    private String adminUsername;
-
     @Value("${firebase.project.id:}")
     private String firebaseProjectId;
-    @Value("${spring.datasource.password}")
-    private String adminPassword;
 
     private final FirebaseApp firebaseApp;
     private final Firestore firestore;
+    private final DataSource dataSource;
+    private final FirebaseTokenCache tokenCache;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     public ProjectService(
             FirebaseApp firebaseApp,
             Firestore firestore,
-            @Value("${spring.datasource.url}") String connectionString,
-            @Value("${spring.datasource.username}") String adminUsername,
-            @Value("${spring.datasource.password}") String adminPassword) {
+            DataSource dataSource,
+            FirebaseTokenCache tokenCache) {
         this.firebaseApp = firebaseApp;
         this.firestore = firestore;
-        this.connectionString = connectionString;
-        this.adminUsername = adminUsername;
-        this.adminPassword = adminPassword;
+        this.dataSource = dataSource;
+        this.tokenCache = tokenCache;
     }
     // Patterns for input validation
     private static final Pattern VALID_USERNAME_PATTERN = Pattern.compile("^[a-zA-Z0-9_]{3,64}$");
@@ -196,7 +189,7 @@ public class ProjectService {
     }
 
     /**
-     * Validates the Firebase auth token and returns the user ID
+     * Validates the Firebase auth token and returns the user ID. Verified tokens are cached until they expire.
      * @param authToken The Firebase auth token from the Authorization header
      * @return The user ID if token is valid, null otherwise
      */
@@ -211,12 +204,8 @@ public class ProjectService {
             String token = authToken.startsWith("Bearer ") ?
                 authToken.substring(7) : authToken;
 
-            FirebaseToken decodedToken = FirebaseAuth.getInstance(firebaseApp)
-                .verifyIdToken(token);
-
-            String userId = decodedToken.getUid();
-            logger.info("Auth token validated successfully for user: {}", userId);
-            return userId;
+            FirebaseTokenCache.VerifiedToken verified = tokenCache.getOrVerify(token, this::verifyIdToken);
+            return verified != null ? verified.uid() : null;
 
         } catch (FirebaseAuthException e) {
             logger.error("Firebase auth token validation failed: {}", e.getMessage());
@@ -227,6 +216,31 @@ public class ProjectService {
         }
     }
 
+    private FirebaseTokenCache.VerifiedToken verifyIdToken(String token) throws FirebaseAuthException {
+        FirebaseToken decodedToken = FirebaseAuth.getInstance(firebaseApp).verifyIdToken(token);
+        Number issuedAt = (Number) decodedToken.getClaims().get("iat");
+        Number expiresAt = (Number) decodedToken.getClaims().get("exp");
+        logger.info("Auth token validated successfully for user: {}", decodedToken.getUid());
+        return new FirebaseTokenCache.VerifiedToken(decodedToken.getUid(), Instant.ofEpochSecond(issuedAt.longValue()),
+                Instant.ofEpochSecond(expiresAt.longValue()));
+    }
+
+    /**
+     * Revokes a user's refresh tokens and drops their cached ID tokens, so that they have to sign in again
+     * @param userId The user ID
+     * @return true if successful, false otherwise
+     */
+    public boolean revokeAuthTokens(String userId) {
+        try {
+            FirebaseAuth.getInstance(firebaseApp).revokeRefreshTokens(userId);
+            tokenCache.revoke(userId);
+            return true;
+        } catch (FirebaseAuthException e) {
+            logger.error("Failed to revoke auth tokens of user {}: {}", userId, e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Retrieves a project from Firestore and logs its content
      * @param projectId The project ID to retrieve
@@ -266,10 +280,12 @@ public class ProjectService {
     }
 
     /**
-     * Gets admin connection to SQL Server
+     * Gets a pooled admin connection to SQL Server (spring.datasource.*).
+     * Switch databases with {@link Connection#setCatalog} rather than USE, so the pool restores the
+     * connection's database when it is returned.
      */
     private Connection getAdminConnection() throws SQLException {
-        return DriverManager.getConnection(connectionString, adminUsername, adminPassword);
+        return dataSource.getConnection();
     }
 
     /**
@@ -342,10 +358,7 @@ public class ProjectService {
     private boolean grantUserPermissions(Connection connection, String userName, String databaseName) {
         try {
             // Switch to the created database
-            String useDatabaseSql = "USE [" + databaseName + "]";
-            try (PreparedStatement stmt = connection.prepareStatement(useDatabaseSql)) {
-                stmt.executeUpdate();
-            }
+            connection.setCatalog(databaseName);
 
             // Check if user exists in the database
             String checkUserSql = "SELECT COUNT(*) FROM sys.database_principals WHERE name = ?";
@@ -454,10 +467,7 @@ public class ProjectService {
 
             // Try to remove user from database (if database still exists)
             try {
-                String useDatabase = "USE [" + projectName + "]";
-                try (PreparedStatement stmt = connection.prepareStatement(useDatabase)) {
-                    stmt.executeUpdate();
-                }
+                connection.setCatalog(projectName);
 
                 // Check if user exists in database and drop it
                 String checkUserSql = "SELECT COUNT(*) FROM sys.database_principals WHERE name = ?";
@@ -480,10 +490,7 @@ public class ProjectService {
 
             // Switch back to master database
             try {
-                String useMaster = "USE master";
-                try (PreparedStatement stmt = connection.prepareStatement(useMaster)) {
-                    stmt.executeUpdate();
-                }
+                connection.setCatalog("master");
             } catch (SQLException e) {
                 logger.warn("Could not switch to master database: {}", e.getMessage());
             }
@@ -521,10 +528,7 @@ public class ProjectService {
             }
 
             // Make sure we're in master database
-            String useMaster = "USE master";
-            try (PreparedStatement stmt = connection.prepareStatement(useMaster)) {
-                stmt.executeUpdate();
-            }
+            connection.setCatalog("master");
 
             // Check if database exists and drop it
             String checkDbSql = "SELECT COUNT(*) FROM sys.databases WHERE name = ?";
@@ -0,0 +1,396 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.model.UmlModel;
+import com.armikom.zen.model.UmlModel.UmlAttribute;
+import com.armikom.zen.model.UmlModel.UmlClass;
+import com.armikom.zen.service.generator.EfCoreSchema;
+import com.armikom.zen.service.generator.EfCoreSchema.Column;
+import com.armikom.zen.service.generator.EfCoreSchema.ForeignKey;
+import com.armikom.zen.service.generator.EfCoreSchema.Table;
+import com.microsoft.sqlserver.jdbc.ISQLServerBulkData;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Generates sample rows for the tables EF Core creates for a model ({@link EfCoreSchema}).
+ * Rows are produced on the fly as {@link ISQLServerBulkData} for SQLServerBulkCopy, so any number of rows can be
+ * loaded without holding them in memory. Values are derived from column types and names, and are reproducible for
+ * the same seed. Keys are generated explicitly: each loaded table gets a contiguous {@link IdRange}, and foreign
+ * keys point into the ranges of tables loaded before.
+ */
+public class SampleDataGenerator {
+
+    private static final String[] FIRST_NAMES = {"Ada", "Alan", "Grace", "Linus", "Margaret", "Dennis", "Barbara",
+            "Ken", "Frances", "Edsger", "Radia", "Niklaus", "Hedy", "Donald", "Katherine", "Tim"};
+    private static final String[] LAST_NAMES = {"Lovelace", "Turing", "Hopper", "Torvalds", "Hamilton", "Ritchie",
+            "Liskov", "Thompson", "Allen", "Dijkstra", "Perlman", "Wirth", "Lamarr", "Knuth", "Johnson", "Berners-Lee"};
+    private static final String[] CITIES = {"Istanbul", "Ankara", "Izmir", "Berlin", "London", "Paris", "Madrid",
+            "Rome", "Amsterdam", "Vienna", "Prague", "Lisbon"};
+    private static final String[] STREETS = {"Main Street", "Oak Avenue", "Station Road", "Park Lane", "High Street",
+            "Church Road", "Mill Lane", "King Street"};
+    private static final String[] WORDS = {"alpha", "bright", "calm", "daily", "early", "fresh", "green", "happy",
+            "ideal", "joint", "key", "local", "modern", "noble", "open", "prime", "quick", "rapid", "solid", "total"};
+    private static final LocalDateTime DATE_ORIGIN = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final int DATE_RANGE_DAYS = 730;
+    private static final int MAX_TEXT_LENGTH = 4000;
+
+    private final EfCoreSchema schema;
+    private final Set<String> jsonColumns = new HashSet<>();
+    private final long seed;
+
+    /**
+     * Key range of the rows loaded into a table
+     */
+    public record IdRange(long firstId, long count) {
+    }
+
+    /**
+     * @param seed Makes the generated values reproducible
+     */
+    public SampleDataGenerator(UmlModel model, long seed) {
+        this.schema = EfCoreSchema.from(model);
+        this.seed = seed;
+        // Primitive collections are stored as JSON text, which EF Core has to be able to read back
+        for (UmlClass umlClass : model.getClasses()) {
+            for (UmlAttribute attribute : umlClass.getAttributes()) {
+                String type = attribute.getType();
+                if ((type.endsWith("[]") || type.startsWith("List<")) && !model.hasClass(elementType(type))) {
+                    jsonColumns.add(EfCoreSchema.tableName(umlClass.getName()) + "."
+                            + PlantUmlParser.capitalize(attribute.getName()));
+                }
+            }
+        }
+    }
+
+    public EfCoreSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Tables in load order. A table only references tables of earlier levels, so the tables of one level can be
+     * loaded concurrently. Reference cycles are broken by loading one of their tables on its own; its foreign keys to
+     * tables that are not loaded yet stay null.
+     */
+    public List<List<Table>> loadLevels() {
+        List<List<Table>> levels = new ArrayList<>();
+        Set<String> loaded = new HashSet<>();
+        Set<Table> remaining = new LinkedHashSet<>(schema.getTables());
+        while (!remaining.isEmpty()) {
+            List<Table> level = new ArrayList<>();
+            for (Table table : remaining) {
+                if (referencesLoaded(table, loaded)) {
+                    level.add(table);
+                }
+            }
+            if (level.isEmpty()) {
+                level.add(remaining.iterator().next());
+            }
+            level.forEach(remaining::remove);
+            level.forEach(table -> loaded.add(table.getName()));
+            levels.add(level);
+        }
+        return levels;
+    }
+
+    private static boolean referencesLoaded(Table table, Set<String> loaded) {
+        for (ForeignKey foreignKey : table.getForeignKeys()) {
+            if (!foreignKey.getReferencedTable().equals(table.getName()) && !loaded.contains(foreignKey.getReferencedTable())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rows to generate for a table: {@code rowsPerTable} for entity tables, limited for join tables by the number of
+     * distinct pairs of loaded rows and for required one-to-one references by the referenced rows; 0 if a required
+     * reference has no loaded rows
+     */
+    public long rowCount(Table table, long rowsPerTable, Map<String, IdRange> loaded) {
+        long count = rowsPerTable;
+        if (table.getEntityClass() == null) {
+            long pairs = 1;
+            for (ForeignKey foreignKey : table.getForeignKeys()) {
+                IdRange range = loaded.get(foreignKey.getReferencedTable());
+                pairs = Math.multiplyExact(pairs, range == null ? 0 : range.count());
+            }
+            count = Math.min(count, pairs);
+        }
+        for (ForeignKey foreignKey : table.getForeignKeys()) {
+            Column column = table.findColumn(foreignKey.getColumn());
+            if (column.isNullable()) {
+                continue;
+            }
+            IdRange range = loaded.get(foreignKey.getReferencedTable());
+            if (range == null) {
+                return 0;
+            }
+            if (foreignKey.isUnique()) {
+                count = Math.min(count, range.count());
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Rows for a table
+     * @param columns Lower-case names of the columns that exist in the database; other columns of the schema are
+     *                left out
+     * @param firstId Key of the first row of an entity table
+     * @param loaded Key ranges of the tables loaded so far
+     */
+    public SampleRows rows(Table table, Set<String> columns, long rowCount, long firstId, Map<String, IdRange> loaded) {
+        List<ColumnValues> values = new ArrayList<>();
+        List<ForeignKey> joinKeys = table.getEntityClass() == null ? table.getForeignKeys() : List.of();
+        for (Column column : table.getColumns()) {
+            if (!columns.contains(column.getName().toLowerCase(Locale.ROOT))) {
+                continue;
+            }
+            ForeignKey foreignKey = foreignKey(table, column.getName());
+            ColumnValues columnValues;
+            if (column.isIdentity()) {
+                columnValues = new ColumnValues(column.getName(), Types.INTEGER, 10, 0, (row, random) -> key(firstId + row));
+            } else if (foreignKey != null) {
+                columnValues = foreignKeyValues(column, foreignKey, joinKeys, loaded);
+            } else if (jsonColumns.contains(table.getName() + "." + column.getName())) {
+                columnValues = new ColumnValues(column.getName(), Types.NVARCHAR, MAX_TEXT_LENGTH, 0,
+                        (row, random) -> "[\"" + word(random) + "\",\"" + word(random) + "\"]");
+            } else {
+                columnValues = scalarValues(column);
+            }
+            if (columnValues != null) {
+                values.add(columnValues);
+            }
+        }
+        return new SampleRows(values, rowCount, seed ^ table.getName().hashCode());
+    }
+
+    private static ForeignKey foreignKey(Table table, String column) {
+        for (ForeignKey foreignKey : table.getForeignKeys()) {
+            if (foreignKey.getColumn().equals(column)) {
+                return foreignKey;
+            }
+        }
+        return null;
+    }
+
+    private static ColumnValues foreignKeyValues(Column column, ForeignKey foreignKey, List<ForeignKey> joinKeys,
+                                                 Map<String, IdRange> loaded) {
+        IdRange range = loaded.get(foreignKey.getReferencedTable());
+        if (range == null || range.count() == 0) {
+            // Not loaded yet: a self reference or a reference on a cycle
+            return new ColumnValues(column.getName(), Types.INTEGER, 10, 0, (row, random) -> null);
+        }
+        int joinIndex = joinKeys.indexOf(foreignKey);
+        if (joinIndex == 0) {
+            return new ColumnValues(column.getName(), Types.INTEGER, 10, 0,
+                    (row, random) -> key(range.firstId() + row % range.count()));
+        }
+        if (joinIndex == 1) {
+            // Distinct pairs with the first key: for each first key, the quotient walks through this range
+            long firstCount = loaded.get(joinKeys.get(0).getReferencedTable()).count();
+            return new ColumnValues(column.getName(), Types.INTEGER, 10, 0,
+                    (row, random) -> key(range.firstId() + (row / firstCount + row % firstCount) % range.count()));
+        }
+        if (foreignKey.isUnique()) {
+            // One-to-one: each referenced row at most once
+            return new ColumnValues(column.getName(), Types.INTEGER, 10, 0,
+                    (row, random) -> row < range.count() ? key(range.firstId() + row) : null);
+        }
+        return new ColumnValues(column.getName(), Types.INTEGER, 10, 0,
+                (row, random) -> key(range.firstId() + random.nextLong(range.count())));
+    }
+
+    /**
+     * Keys are int columns
+     */
+    private static Integer key(long id) {
+        return Math.toIntExact(id);
+    }
+
+    private static ColumnValues scalarValues(Column column) {
+        String name = column.getName();
+        switch (column.getSqlType()) {
+            case "nvarchar(max)":
+                return new ColumnValues(name, Types.NVARCHAR, MAX_TEXT_LENGTH, 0, textValues(name));
+            case "nvarchar(1)":
+                return new ColumnValues(name, Types.NVARCHAR, 1, 0,
+                        (row, random) -> String.valueOf((char) ('A' + random.nextInt(26))));
+            case "datetime2":
+                return new ColumnValues(name, Types.TIMESTAMP, 27, 7, (row, random) ->
+                        Timestamp.valueOf(DATE_ORIGIN.plusMinutes(random.nextLong(DATE_RANGE_DAYS * 24L * 60))));
+            case "date":
+                return new ColumnValues(name, Types.DATE, 10, 0, (row, random) ->
+                        Date.valueOf(DATE_ORIGIN.toLocalDate().plusDays(random.nextInt(DATE_RANGE_DAYS))));
+            case "time":
+                return new ColumnValues(name, Types.TIME, 16, 7, (row, random) ->
+                        Time.valueOf(LocalTime.of(8 + random.nextInt(10), random.nextInt(60))));
+            case "int":
+                return new ColumnValues(name, Types.INTEGER, 10, 0, (row, random) -> random.nextInt(1, 10_000));
+            case "bigint":
+                return new ColumnValues(name, Types.BIGINT, 19, 0, (row, random) -> random.nextLong(1, 1_000_000));
+            case "smallint":
+                return new ColumnValues(name, Types.SMALLINT, 5, 0, (row, random) -> (short) random.nextInt(1, 1000));
+            case "tinyint":
+                return new ColumnValues(name, Types.TINYINT, 3, 0, (row, random) -> (short) random.nextInt(0, 100));
+            case "real":
+                return new ColumnValues(name, Types.REAL, 7, 0, (row, random) -> (float) (random.nextDouble() * 1000));
+            case "float":
+                return new ColumnValues(name, Types.DOUBLE, 15, 0, (row, random) -> random.nextDouble() * 1000);
+            case "decimal(18,2)":
+                return new ColumnValues(name, Types.DECIMAL, 18, 2,
+                        (row, random) -> BigDecimal.valueOf(random.nextLong(100, 1_000_000), 2));
+            case "bit":
+                return new ColumnValues(name, Types.BIT, 1, 0, (row, random) -> random.nextBoolean());
+            case "uniqueidentifier":
+                return new ColumnValues(name, microsoft.sql.Types.GUID, 36, 0,
+                        (row, random) -> new UUID(random.nextLong(), random.nextLong()).toString());
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Text that fits the column name, e.g. person names for *Name columns and addresses for *Address columns
+     */
+    private static ValueFunction textValues(String column) {
+        String name = column.toLowerCase(Locale.ROOT);
+        if (name.contains("email") || name.contains("mail")) {
+            return (row, random) -> pick(random, FIRST_NAMES).toLowerCase(Locale.ROOT) + "."
+                    + pick(random, LAST_NAMES).toLowerCase(Locale.ROOT) + (row + 1) + "@example.com";
+        }
+        if (name.contains("phone")) {
+            return (row, random) -> String.format("+90 5%02d %03d %04d", random.nextInt(100), random.nextInt(1000),
+                    random.nextInt(10_000));
+        }
+        if (name.equals("firstname")) {
+            return (row, random) -> pick(random, FIRST_NAMES);
+        }
+        if (name.equals("lastname") || name.equals("surname")) {
+            return (row, random) -> pick(random, LAST_NAMES);
+        }
+        if (name.contains("name")) {
+            return (row, random) -> pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES);
+        }
+        if (name.contains("city")) {
+            return (row, random) -> pick(random, CITIES);
+        }
+        if (name.contains("address") || name.contains("street")) {
+            return (row, random) -> random.nextInt(1, 200) + " " + pick(random, STREETS) + ", " + pick(random, CITIES);
+        }
+        if (name.contains("url") || name.contains("website")) {
+            return (row, random) -> "https://example.com/" + word(random) + "/" + (row + 1);
+        }
+        if (name.contains("description") || name.contains("note") || name.contains("comment")) {
+            return (row, random) -> {
+                String sentence = word(random) + " " + word(random) + " " + word(random) + " " + word(random) + ".";
+                return Character.toUpperCase(sentence.charAt(0)) + sentence.substring(1);
+            };
+        }
+        return (row, random) -> column + " " + (row + 1);
+    }
+
+    private static String word(SplittableRandom random) {
+        return pick(random, WORDS);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String elementType(String type) {
+        return type.endsWith("[]") ? type.substring(0, type.length() - 2).trim() : type.substring(5, type.length() - 1);
+    }
+
+    private interface ValueFunction {
+        Object value(long row, SplittableRandom random);
+    }
+
+    private record ColumnValues(String name, int jdbcType, int precision, int scale, ValueFunction function) {
+    }
+
+    /**
+     * Generated rows of one table as a bulk copy source; column ordinals start at 1
+     */
+    public static class SampleRows implements ISQLServerBulkData {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<ColumnValues> columns;
+        private final long rowCount;
+        private final transient SplittableRandom random;
+        private long row = -1;
+
+        private SampleRows(List<ColumnValues> columns, long rowCount, long seed) {
+            this.columns = columns;
+            this.rowCount = rowCount;
+            this.random = new SplittableRandom(seed);
+        }
+
+        public List<String> getColumnNames() {
+            return columns.stream().map(ColumnValues::name).toList();
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        @Override
+        public Set<Integer> getColumnOrdinals() {
+            Set<Integer> ordinals = new LinkedHashSet<>();
+            for (int i = 1; i <= columns.size(); i++) {
+                ordinals.add(i);
+            }
+            return ordinals;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columns.get(column - 1).name();
+        }
+
+        @Override
+        public int getColumnType(int column) {
+            return columns.get(column - 1).jdbcType();
+        }
+
+        @Override
+        public int getPrecision(int column) {
+            return columns.get(column - 1).precision();
+        }
+
+        @Override
+        public int getScale(int column) {
+            return columns.get(column - 1).scale();
+        }
+
+        @Override
+        public Object[] getRowData() {
+            Object[] data = new Object[columns.size()];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = columns.get(i).function().value(row, random);
+            }
+            return data;
+        }
+
+        @Override
+        public boolean next() {
+            return ++row < rowCount;
+        }
+    }
+}
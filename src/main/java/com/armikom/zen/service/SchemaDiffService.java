@@ -0,0 +1,233 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.model.UmlModel;
+import com.armikom.zen.service.generator.EfCoreSchema;
+import com.armikom.zen.service.generator.EfCoreSchema.Column;
+import com.armikom.zen.service.generator.EfCoreSchema.ForeignKey;
+import com.armikom.zen.service.generator.EfCoreSchema.Table;
+import com.armikom.zen.service.generator.SchemaChange;
+import com.armikom.zen.service.generator.SchemaChange.Kind;
+import com.armikom.zen.service.generator.SqlServerDdl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Computes incremental schema changes between two versions of a PlantUML model.
+ * Changes are additive: tables and columns are created or renamed but never dropped or altered, so applying
+ * a diff can not lose data. Renames are detected heuristically and only when they are unambiguous:
+ * a table whose columns match exactly one removed table, or a column whose type (and referenced table)
+ * matches exactly one removed column of the same table.
+ */
+@Service
+public class SchemaDiffService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaDiffService.class);
+
+    private final PlantUmlParser plantUmlParser;
+
+    public SchemaDiffService(PlantUmlParser plantUmlParser) {
+        this.plantUmlParser = plantUmlParser;
+    }
+
+    /**
+     * Computes the changes needed to move a database from the previous to the current model
+     * @param previousPlantUml The model the database was last migrated to, or null for a database without history
+     * @param plantUml The current model
+     * @return Ordered, idempotent schema changes; empty if the schemas are equal
+     */
+    public List<SchemaChange> diff(String previousPlantUml, String plantUml) {
+        UmlModel previous = previousPlantUml == null
+                ? new UmlModel()
+                : plantUmlParser.parse(GenerationCache.normalize(previousPlantUml));
+        UmlModel current = plantUmlParser.parse(GenerationCache.normalize(plantUml));
+        return diff(EfCoreSchema.from(previous), EfCoreSchema.from(current));
+    }
+
+    /**
+     * Computes the changes needed to move a database from the previous to the current schema
+     */
+    public List<SchemaChange> diff(EfCoreSchema previous, EfCoreSchema current) {
+        List<SchemaChange> changes = new ArrayList<>();
+
+        // Table renames, entity tables first so that join table signatures can follow renamed entities
+        Map<String, String> tableRenames = new LinkedHashMap<>();
+        detectTableRenames(previous, current, true, tableRenames);
+        detectTableRenames(previous, current, false, tableRenames);
+        tableRenames.forEach((oldName, newName) -> changes.add(new SchemaChange(Kind.RENAME_TABLE,
+                "Rename table " + oldName + " to " + newName, SqlServerDdl.renameTable(oldName, newName))));
+
+        Map<String, Table> previousByNewName = new HashMap<>();
+        for (Table table : previous.getTables()) {
+            previousByNewName.put(tableRenames.getOrDefault(table.getName(), table.getName()), table);
+        }
+
+        Set<String> existingForeignKeys = new HashSet<>();
+        for (Table table : previous.getTables()) {
+            String tableName = tableRenames.getOrDefault(table.getName(), table.getName());
+            for (ForeignKey foreignKey : table.getForeignKeys()) {
+                existingForeignKeys.add(foreignKeySignature(tableName, foreignKey.getColumn(),
+                        tableRenames.getOrDefault(foreignKey.getReferencedTable(), foreignKey.getReferencedTable())));
+            }
+        }
+
+        for (Table table : current.getTables()) {
+            Table before = previousByNewName.get(table.getName());
+            if (before == null) {
+                changes.add(new SchemaChange(Kind.CREATE_TABLE, "Create table " + table.getName(),
+                        SqlServerDdl.createTable(table)));
+                continue;
+            }
+
+            Map<String, String> columnRenames = detectColumnRenames(before, table, tableRenames);
+            columnRenames.forEach((oldName, newName) -> changes.add(new SchemaChange(Kind.RENAME_COLUMN,
+                    "Rename column " + table.getName() + "." + oldName + " to " + newName,
+                    SqlServerDdl.renameColumn(table.getName(), oldName, newName))));
+            for (Map.Entry<String, String> rename : columnRenames.entrySet()) {
+                rekeyForeignKeys(existingForeignKeys, table.getName(), rename.getKey(), rename.getValue());
+            }
+
+            for (Column column : table.getColumns()) {
+                if (before.findColumn(column.getName()) == null && !columnRenames.containsValue(column.getName())) {
+                    changes.add(new SchemaChange(Kind.ADD_COLUMN,
+                            "Add column " + table.getName() + "." + column.getName(),
+                            SqlServerDdl.addColumn(table, column)));
+                }
+            }
+            logIgnoredDifferences(before, table, columnRenames);
+        }
+
+        for (Table table : current.getTables()) {
+            for (ForeignKey foreignKey : table.getForeignKeys()) {
+                String signature = foreignKeySignature(table.getName(), foreignKey.getColumn(), foreignKey.getReferencedTable());
+                if (existingForeignKeys.contains(signature)) {
+                    continue;
+                }
+                changes.add(new SchemaChange(Kind.ADD_FOREIGN_KEY, "Add foreign key " + foreignKey.getName(),
+                        SqlServerDdl.addForeignKey(table, foreignKey)));
+                changes.add(new SchemaChange(Kind.CREATE_INDEX, "Create index " + foreignKey.getIndexName(),
+                        SqlServerDdl.createIndex(table, foreignKey)));
+            }
+        }
+
+        // Stable sort keeps the per-kind order computed above
+        changes.sort(Comparator.comparing(SchemaChange::getKind));
+        return changes;
+    }
+
+    private void detectTableRenames(EfCoreSchema previous, EfCoreSchema current, boolean entityTables,
+                                    Map<String, String> tableRenames) {
+        Map<String, List<Table>> removedBySignature = new LinkedHashMap<>();
+        for (Table table : previous.getTables()) {
+            if ((table.getEntityClass() != null) == entityTables && current.findTable(table.getName()) == null
+                    && !tableRenames.containsKey(table.getName())) {
+                removedBySignature.computeIfAbsent(tableSignature(table, tableRenames), k -> new ArrayList<>()).add(table);
+            }
+        }
+
+        Map<String, List<Table>> addedBySignature = new LinkedHashMap<>();
+        for (Table table : current.getTables()) {
+            if ((table.getEntityClass() != null) == entityTables && previous.findTable(table.getName()) == null
+                    && !tableRenames.containsValue(table.getName())) {
+                addedBySignature.computeIfAbsent(tableSignature(table, Map.of()), k -> new ArrayList<>()).add(table);
+            }
+        }
+
+        for (Map.Entry<String, List<Table>> entry : addedBySignature.entrySet()) {
+            List<Table> removed = removedBySignature.get(entry.getKey());
+            // Tables without columns besides the key carry no evidence for a rename
+            if (entry.getKey().isEmpty() || removed == null || removed.size() != 1 || entry.getValue().size() != 1) {
+                continue;
+            }
+            tableRenames.put(removed.get(0).getName(), entry.getValue().get(0).getName());
+        }
+    }
+
+    private Map<String, String> detectColumnRenames(Table before, Table after, Map<String, String> tableRenames) {
+        Map<String, List<String>> removed = new LinkedHashMap<>();
+        for (Column column : before.getColumns()) {
+            if (after.findColumn(column.getName()) == null) {
+                removed.computeIfAbsent(columnSignature(before, column, tableRenames), k -> new ArrayList<>())
+                        .add(column.getName());
+            }
+        }
+        Map<String, List<String>> added = new LinkedHashMap<>();
+        for (Column column : after.getColumns()) {
+            if (before.findColumn(column.getName()) == null) {
+                added.computeIfAbsent(columnSignature(after, column, Map.of()), k -> new ArrayList<>())
+                        .add(column.getName());
+            }
+        }
+
+        Map<String, String> renames = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> entry : added.entrySet()) {
+            List<String> candidates = removed.get(entry.getKey());
+            if (candidates != null && candidates.size() == 1 && entry.getValue().size() == 1) {
+                renames.put(candidates.get(0), entry.getValue().get(0));
+            }
+        }
+        return renames;
+    }
+
+    private void logIgnoredDifferences(Table before, Table after, Map<String, String> columnRenames) {
+        for (Column column : before.getColumns()) {
+            Column now = after.findColumn(column.getName());
+            if (now == null && !columnRenames.containsKey(column.getName())) {
+                logger.info("Column {}.{} is no longer in the model and is kept", after.getName(), column.getName());
+            } else if (now != null && (!now.getSqlType().equals(column.getSqlType()) || now.isNullable() != column.isNullable())) {
+                logger.warn("Column {}.{} changed from {} to {}; type changes are not applied incrementally",
+                        after.getName(), column.getName(), column.getSqlType(), now.getSqlType());
+            }
+        }
+    }
+
+    /**
+     * Sorted column signatures of a table without its key; referenced tables are mapped through known renames
+     */
+    private static String tableSignature(Table table, Map<String, String> tableRenames) {
+        Map<String, String> columns = new TreeMap<>();
+        for (Column column : table.getColumns()) {
+            if (!column.isIdentity()) {
+                columns.put(column.getName(), columnSignature(table, column, tableRenames));
+            }
+        }
+        return columns.isEmpty() ? "" : columns.toString();
+    }
+
+    private static String columnSignature(Table table, Column column, Map<String, String> tableRenames) {
+        String referencedTable = "";
+        for (ForeignKey foreignKey : table.getForeignKeys()) {
+            if (foreignKey.getColumn().equals(column.getName())) {
+                referencedTable = tableRenames.getOrDefault(foreignKey.getReferencedTable(), foreignKey.getReferencedTable());
+            }
+        }
+        return column.getSqlType() + (column.isNullable() ? " NULL" : " NOT NULL") + " -> " + referencedTable;
+    }
+
+    private static String foreignKeySignature(String table, String column, String referencedTable) {
+        return table + "." + column + " -> " + referencedTable;
+    }
+
+    private static void rekeyForeignKeys(Set<String> foreignKeys, String table, String oldColumn, String newColumn) {
+        String prefix = table + "." + oldColumn + " -> ";
+        List<String> renamed = new ArrayList<>();
+        foreignKeys.removeIf(signature -> {
+            if (signature.startsWith(prefix)) {
+                renamed.add(table + "." + newColumn + " -> " + signature.substring(prefix.length()));
+                return true;
+            }
+            return false;
+        });
+        foreignKeys.addAll(renamed);
+    }
+}
@@ -0,0 +1,111 @@
+package com.armikom.zen.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Foreign key dependencies between the tables of a database, used to clear them in an order the constraints allow.
+ * Tables are grouped into levels: every table is cleared in an earlier level than the tables it references, so the
+ * tables of one level never reference each other and can be cleared concurrently. Tables on a reference cycle,
+ * and the tables only reachable through one, cannot be ordered and are returned separately.
+ */
+public class TableDependencyGraph {
+
+    public record Table(String schema, String name) {
+        @Override
+        public String toString() {
+            return schema + "." + name;
+        }
+    }
+
+    /**
+     * Referencing tables by referenced table, in insertion order
+     */
+    private final Map<Table, Set<Table>> referencedBy = new LinkedHashMap<>();
+    private final Set<Table> selfReferencing = new HashSet<>();
+
+    public void addTable(Table table) {
+        referencedBy.computeIfAbsent(table, t -> new LinkedHashSet<>());
+    }
+
+    /**
+     * Adds a foreign key of {@code referencing} that points at {@code referenced}
+     */
+    public void addForeignKey(Table referencing, Table referenced) {
+        addTable(referencing);
+        addTable(referenced);
+        if (referencing.equals(referenced)) {
+            selfReferencing.add(referencing);
+        } else {
+            referencedBy.get(referenced).add(referencing);
+        }
+    }
+
+    public Set<Table> getTables() {
+        return referencedBy.keySet();
+    }
+
+    /**
+     * Whether any foreign key, including one of the table itself, references the table; such tables cannot be
+     * truncated
+     */
+    public boolean isReferenced(Table table) {
+        return selfReferencing.contains(table) || !referencedBy.getOrDefault(table, Set.of()).isEmpty();
+    }
+
+    /**
+     * Tables that can be cleared in dependency order, referencing tables first
+     */
+    public List<List<Table>> levels() {
+        Map<Table, Integer> remainingReferences = new HashMap<>();
+        Map<Table, List<Table>> references = new HashMap<>();
+        for (Map.Entry<Table, Set<Table>> entry : referencedBy.entrySet()) {
+            remainingReferences.put(entry.getKey(), entry.getValue().size());
+            for (Table referencing : entry.getValue()) {
+                references.computeIfAbsent(referencing, t -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+
+        List<List<Table>> levels = new ArrayList<>();
+        List<Table> level = new ArrayList<>();
+        for (Table table : referencedBy.keySet()) {
+            if (remainingReferences.get(table) == 0) {
+                level.add(table);
+            }
+        }
+        while (!level.isEmpty()) {
+            levels.add(level);
+            List<Table> next = new ArrayList<>();
+            for (Table table : level) {
+                for (Table referenced : references.getOrDefault(table, List.of())) {
+                    if (remainingReferences.merge(referenced, -1, Integer::sum) == 0) {
+                        next.add(referenced);
+                    }
+                }
+            }
+            level = next;
+        }
+        return levels;
+    }
+
+    /**
+     * Tables left out of {@link #levels()} because of reference cycles
+     */
+    public List<Table> cyclicTables() {
+        Set<Table> ordered = new HashSet<>();
+        levels().forEach(ordered::addAll);
+        List<Table> cyclic = new ArrayList<>();
+        for (Table table : referencedBy.keySet()) {
+            if (!ordered.contains(table)) {
+                cyclic.add(table);
+            }
+        }
+        return cyclic;
+    }
+}
@@ -0,0 +1,75 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.enums.DatabaseEnvironment;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times every {@link DatabaseService} call under {@code database.operation}, tagged with the method, the environment
+ * and whether it threw. Database provisioning latency is the timer of {@code createDatabase}, {@code cloneDatabase}
+ * and {@code createEmptyDatabase}.
+ */
+public final class TimedDatabaseService implements InvocationHandler {
+
+    private final DatabaseService target;
+    private final Supplier<MeterRegistry> meterRegistry;
+
+    private TimedDatabaseService(DatabaseService target, Supplier<MeterRegistry> meterRegistry) {
+        this.target = target;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param meterRegistry Looked up on each call, so that the registry does not have to exist yet when the service
+     *                      is wrapped; calls are not timed while it returns null
+     */
+    public static DatabaseService wrap(DatabaseService target, Supplier<MeterRegistry> meterRegistry) {
+        return (DatabaseService) Proxy.newProxyInstance(DatabaseService.class.getClassLoader(),
+                new Class<?>[]{DatabaseService.class}, new TimedDatabaseService(target, meterRegistry));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return method.invoke(target, args);
+        }
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            outcome = "error";
+            throw e.getCause();
+        } finally {
+            MeterRegistry registry = meterRegistry.get();
+            if (registry != null) {
+                Timer.builder("database.operation")
+                        .description("Duration of database service calls")
+                        .tag("method", method.getName())
+                        .tag("environment", environment(args))
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(registry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private static String environment(Object[] args) {
+        if (args != null) {
+            for (Object arg : args) {
+                if (arg instanceof DatabaseEnvironment environment) {
+                    return environment.getValue();
+                }
+            }
+        }
+        return "none";
+    }
+}
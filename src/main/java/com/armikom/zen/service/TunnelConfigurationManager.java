@@ -0,0 +1,454 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.config.CloudflareConfig;
+import com.armikom.zen.config.CloudflareRateLimiter;
+import com.armikom.zen.dto.CloudflareApiResponse;
+import com.armikom.zen.dto.CloudflareApiTypes;
+import com.armikom.zen.dto.CloudflareResponse;
+import com.armikom.zen.dto.SimpleTunnelConfiguration;
+import com.armikom.zen.dto.SimpleTunnelConfiguration.SimpleIngressRule;
+import com.armikom.zen.dto.TunnelConfigurationEnvelope;
+import com.armikom.zen.enums.CloudflareRequestPriority;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns the ingress rules of the Cloudflare tunnel.
+ * Route changes are queued as intents and applied by a single writer thread, which coalesces all intents that arrive
+ * within the flush delay into one PUT. Cloudflare has no conditional PUT for tunnel configurations, so concurrency is
+ * handled optimistically: the writer compares the remote version with the version it last wrote, rebases on external
+ * changes, and verifies after the PUT that no other writer slipped in; if one did, the intents are re-applied.
+ * A batch is written at bulk priority only if all of its intents were queued at bulk priority.
+ */
+@Service
+public class TunnelConfigurationManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(TunnelConfigurationManager.class);
+    private static final String CATCH_ALL_SERVICE = "http_status:404";
+    // Upper bound for rules listed in one change log line
+    private static final int MAX_LOGGED_CHANGES = 20;
+
+    private final WebClient webClient;
+    private final CloudflareConfig cloudflareConfig;
+    private final long flushDelayMillis;
+    private final int maxAttempts;
+    private final ScheduledExecutorService writer;
+
+    private final Object pendingLock = new Object();
+    private final List<RouteIntent> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    // Only touched on the writer thread
+    private List<SimpleIngressRule> ingress;
+    private Long version;
+
+    public TunnelConfigurationManager(WebClient cloudflareWebClient, CloudflareConfig cloudflareConfig,
+                                      @Value("${cloudflare.tunnel.flush-delay-ms:500}") long flushDelayMillis,
+                                      @Value("${cloudflare.tunnel.max-write-attempts:3}") int maxAttempts) {
+        this.webClient = cloudflareWebClient;
+        this.cloudflareConfig = cloudflareConfig;
+        this.flushDelayMillis = flushDelayMillis;
+        this.maxAttempts = maxAttempts;
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "tunnel-config-writer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Queues a route; an existing route for the hostname is replaced
+     * @return Completes once the route is part of the verified remote configuration
+     */
+    public CompletableFuture<CloudflareResponse> addRoute(String hostname, String service, String path) {
+        return addRoute(hostname, service, path, CloudflareRequestPriority.INTERACTIVE);
+    }
+
+    public CompletableFuture<CloudflareResponse> addRoute(String hostname, String service, String path,
+                                                          CloudflareRequestPriority priority) {
+        return enqueue(new RouteIntent(hostname, service, path, priority));
+    }
+
+    /**
+     * Queues the removal of all routes for a hostname
+     */
+    public CompletableFuture<CloudflareResponse> removeRoute(String hostname) {
+        return removeRoute(hostname, CloudflareRequestPriority.INTERACTIVE);
+    }
+
+    public CompletableFuture<CloudflareResponse> removeRoute(String hostname, CloudflareRequestPriority priority) {
+        return enqueue(new RouteIntent(hostname, null, null, priority));
+    }
+
+    /**
+     * Current ingress rules, reloaded from Cloudflare
+     */
+    public List<SimpleIngressRule> getIngress() {
+        return getIngress(CloudflareRequestPriority.INTERACTIVE);
+    }
+
+    public List<SimpleIngressRule> getIngress(CloudflareRequestPriority priority) {
+        try {
+            return writer.submit(() -> {
+                load(priority);
+                return List.copyOf(ingress);
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading tunnel configuration", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to load tunnel configuration: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private CompletableFuture<CloudflareResponse> enqueue(RouteIntent intent) {
+        synchronized (pendingLock) {
+            pending.add(intent);
+            if (!flushScheduled) {
+                flushScheduled = true;
+                writer.schedule(this::flush, flushDelayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        return intent.result;
+    }
+
+    private void flush() {
+        List<RouteIntent> batch;
+        synchronized (pendingLock) {
+            batch = new ArrayList<>(pending);
+            pending.clear();
+            flushScheduled = false;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        CloudflareRequestPriority priority = batch.stream()
+                .anyMatch(intent -> intent.priority == CloudflareRequestPriority.INTERACTIVE)
+                ? CloudflareRequestPriority.INTERACTIVE : CloudflareRequestPriority.BULK;
+
+        String failure = "Failed to update tunnel configuration";
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                RemoteConfiguration remote = fetch(priority);
+                if (ingress != null && !Objects.equals(remote.version, version)) {
+                    logger.info("Tunnel configuration changed externally (version {} -> {}), rebasing {} route changes",
+                            version, remote.version, batch.size());
+                }
+                ingress = remote.ingress;
+                version = remote.version;
+
+                List<SimpleIngressRule> next = copy(ingress);
+                List<RouteIntent> unchanged = new ArrayList<>();
+                for (RouteIntent intent : batch) {
+                    boolean changed = intent.isRemoval()
+                            ? removeRoute(next, intent.hostname)
+                            : applyRoute(next, intent.hostname, intent.service, intent.path);
+                    if (!changed) {
+                        unchanged.add(intent);
+                    }
+                }
+                if (unchanged.size() == batch.size()) {
+                    complete(batch, unchanged);
+                    return;
+                }
+
+                RemoteConfiguration written = put(next, priority);
+                if (version == null || written.version == null || written.version == version + 1) {
+                    logger.info("Applied {} route changes in one tunnel configuration update (version {}, {} rules): {}",
+                            batch.size() - unchanged.size(), written.version, next.size(), describeChanges(ingress, next));
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("Tunnel ingress rules: {}", next);
+                    }
+                    ingress = next;
+                    version = written.version;
+                    complete(batch, unchanged);
+                    return;
+                }
+
+                // Another writer updated the tunnel between our read and our write; check what survived
+                RemoteConfiguration check = fetch(priority);
+                ingress = check.ingress;
+                version = check.version;
+                if (isSatisfied(check.ingress, batch)) {
+                    complete(batch, unchanged);
+                    return;
+                }
+                failure = "Tunnel configuration was modified concurrently";
+                logger.warn("Tunnel configuration write raced with another writer (attempt {}/{}), retrying",
+                        attempt, maxAttempts);
+            } catch (Exception e) {
+                failure = e.getMessage();
+                ingress = null;
+                version = null;
+                logger.warn("Tunnel configuration update failed (attempt {}/{}): {}", attempt, maxAttempts, e.getMessage());
+            }
+        }
+
+        logger.error("Giving up on {} tunnel route changes: {}", batch.size(), failure);
+        for (RouteIntent intent : batch) {
+            intent.result.complete(new CloudflareResponse(false, failure));
+        }
+    }
+
+    private void load(CloudflareRequestPriority priority) {
+        RemoteConfiguration remote = fetch(priority);
+        ingress = remote.ingress;
+        version = remote.version;
+    }
+
+    private static void complete(List<RouteIntent> batch, List<RouteIntent> unchanged) {
+        for (RouteIntent intent : batch) {
+            boolean noop = unchanged.contains(intent);
+            String message;
+            if (intent.isRemoval()) {
+                message = noop ? "Tunnel route for " + intent.hostname + " does not exist"
+                        : "Tunnel route for " + intent.hostname + " removed";
+            } else {
+                message = noop
+                        ? "Tunnel route already exists with exact configuration (idempotent operation). Route: "
+                                + intent.hostname + " -> " + intent.service
+                        : "Tunnel configuration updated successfully. Route: " + intent.hostname + " -> " + intent.service;
+            }
+            intent.result.complete(new CloudflareResponse(true, message));
+        }
+    }
+
+    /**
+     * Whether the last intent per hostname is reflected in the ingress rules
+     */
+    private static boolean isSatisfied(List<SimpleIngressRule> ingress, List<RouteIntent> batch) {
+        Map<String, RouteIntent> latest = new HashMap<>();
+        for (RouteIntent intent : batch) {
+            latest.put(intent.hostname, intent);
+        }
+        for (RouteIntent intent : latest.values()) {
+            List<SimpleIngressRule> probe = copy(ingress);
+            boolean changed = intent.isRemoval()
+                    ? removeRoute(probe, intent.hostname)
+                    : applyRoute(probe, intent.hostname, intent.service, intent.path);
+            if (changed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sets the route for a hostname, keeping the catch-all rule last
+     * @return false if the exact route already existed
+     */
+    static boolean applyRoute(List<SimpleIngressRule> ingress, String hostname, String service, String path) {
+        String targetPath = (path != null && !path.isEmpty() && !"/".equals(path)) ? path : null;
+        long routes = ingress.stream().filter(rule -> hostname.equals(rule.getHostname())).count();
+        boolean exists = routes == 1 && ingress.stream().anyMatch(rule -> hostname.equals(rule.getHostname())
+                && service.equals(rule.getService()) && Objects.equals(targetPath, rule.getPath()));
+        if (exists && hasCatchAllLast(ingress)) {
+            return false;
+        }
+
+        ingress.removeIf(rule -> hostname.equals(rule.getHostname()));
+        SimpleIngressRule catchAll = null;
+        for (int i = ingress.size() - 1; i >= 0; i--) {
+            if (isCatchAll(ingress.get(i))) {
+                catchAll = ingress.remove(i);
+                break;
+            }
+        }
+
+        SimpleIngressRule rule = new SimpleIngressRule();
+        rule.setHostname(hostname);
+        rule.setService(service);
+        rule.setPath(targetPath);
+        ingress.add(rule);
+
+        if (catchAll == null) {
+            catchAll = new SimpleIngressRule();
+            catchAll.setService(CATCH_ALL_SERVICE);
+        }
+        ingress.add(catchAll);
+        return true;
+    }
+
+    /**
+     * Removes all routes for a hostname
+     * @return false if there was no route for the hostname
+     */
+    static boolean removeRoute(List<SimpleIngressRule> ingress, String hostname) {
+        return ingress.removeIf(rule -> hostname.equals(rule.getHostname()));
+    }
+
+    /**
+     * Summary of the rules added (+), removed (-) and changed (~) between two ingress lists, for logging
+     */
+    static String describeChanges(List<SimpleIngressRule> before, List<SimpleIngressRule> after) {
+        Map<String, String> previous = servicesByRule(before);
+        Map<String, String> next = servicesByRule(after);
+        List<String> changes = new ArrayList<>();
+        for (Map.Entry<String, String> rule : next.entrySet()) {
+            String old = previous.get(rule.getKey());
+            if (old == null) {
+                changes.add("+" + rule.getKey() + " -> " + rule.getValue());
+            } else if (!old.equals(rule.getValue())) {
+                changes.add("~" + rule.getKey() + " -> " + rule.getValue());
+            }
+        }
+        for (String rule : previous.keySet()) {
+            if (!next.containsKey(rule)) {
+                changes.add("-" + rule);
+            }
+        }
+        if (changes.size() > MAX_LOGGED_CHANGES) {
+            int more = changes.size() - MAX_LOGGED_CHANGES;
+            changes = new ArrayList<>(changes.subList(0, MAX_LOGGED_CHANGES));
+            changes.add("... " + more + " more");
+        }
+        return changes.isEmpty() ? "no changes" : String.join(", ", changes);
+    }
+
+    private static Map<String, String> servicesByRule(List<SimpleIngressRule> rules) {
+        Map<String, String> services = new LinkedHashMap<>();
+        if (rules != null) {
+            for (SimpleIngressRule rule : rules) {
+                String key = (rule.getHostname() != null ? rule.getHostname() : "*") + (rule.getPath() != null ? rule.getPath() : "");
+                services.put(key, String.valueOf(rule.getService()));
+            }
+        }
+        return services;
+    }
+
+    private static boolean hasCatchAllLast(List<SimpleIngressRule> ingress) {
+        return !ingress.isEmpty() && isCatchAll(ingress.get(ingress.size() - 1));
+    }
+
+    private static boolean isCatchAll(SimpleIngressRule rule) {
+        return rule.getHostname() == null && CATCH_ALL_SERVICE.equals(rule.getService());
+    }
+
+    private static List<SimpleIngressRule> copy(List<SimpleIngressRule> rules) {
+        List<SimpleIngressRule> copy = new ArrayList<>();
+        for (SimpleIngressRule rule : rules) {
+            SimpleIngressRule clone = new SimpleIngressRule();
+            clone.setHostname(rule.getHostname());
+            clone.setService(rule.getService());
+            clone.setPath(rule.getPath());
+            copy.add(clone);
+        }
+        return copy;
+    }
+
+    private String configurationUrl() {
+        return "/accounts/" + cloudflareConfig.getAccountId() + "/cfd_tunnel/" + cloudflareConfig.getTunnelId()
+                + "/configurations";
+    }
+
+    private RemoteConfiguration fetch(CloudflareRequestPriority priority) {
+        return RemoteConfiguration.from(exchange(webClient.get().uri(configurationUrl()), priority).getResult());
+    }
+
+    private RemoteConfiguration put(List<SimpleIngressRule> rules, CloudflareRequestPriority priority) {
+        SimpleTunnelConfiguration configuration = new SimpleTunnelConfiguration();
+        configuration.setIngress(rules);
+
+        return RemoteConfiguration.from(exchange(webClient.put().uri(configurationUrl())
+                .body(BodyInserters.fromValue(new TunnelConfigurationEnvelope<>(configuration))), priority).getResult());
+    }
+
+    /**
+     * Sends a configuration request; the response is bound straight to typed ingress rules
+     */
+    private CloudflareApiResponse<TunnelConfigurationEnvelope<SimpleTunnelConfiguration>> exchange(
+            WebClient.RequestHeadersSpec<?> request, CloudflareRequestPriority priority) {
+        try {
+            CloudflareApiResponse<TunnelConfigurationEnvelope<SimpleTunnelConfiguration>> response = request
+                    .attribute(CloudflareRateLimiter.PRIORITY_ATTRIBUTE, priority)
+                    .retrieve()
+                    .bodyToMono(CloudflareApiTypes.SIMPLE_TUNNEL_CONFIGURATION)
+                    .timeout(Duration.ofSeconds(30))
+                    .retryWhen(cloudflareConfig.retrySpec())
+                    .block();
+            if (response == null || !Boolean.TRUE.equals(response.getSuccess())) {
+                String errorMessage = "Tunnel configuration request failed";
+                if (response != null && response.getErrors() != null && !response.getErrors().isEmpty()) {
+                    errorMessage = response.getErrors().get(0).getMessage();
+                }
+                throw new IllegalStateException(errorMessage);
+            }
+            return response;
+        } catch (WebClientResponseException e) {
+            logger.error("Cloudflare API error: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
+            throw new IllegalStateException("Cloudflare API error: " + e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.execute(this::flush);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class RouteIntent {
+        private final String hostname;
+        private final String service;
+        private final String path;
+        private final CloudflareRequestPriority priority;
+        private final CompletableFuture<CloudflareResponse> result = new CompletableFuture<>();
+
+        private RouteIntent(String hostname, String service, String path, CloudflareRequestPriority priority) {
+            this.hostname = hostname;
+            this.service = service;
+            this.path = path;
+            this.priority = priority;
+        }
+
+        private boolean isRemoval() {
+            return service == null;
+        }
+    }
+
+    /**
+     * Ingress rules and version of the tunnel configuration as returned by GET and PUT
+     */
+    private static final class RemoteConfiguration {
+        private final List<SimpleIngressRule> ingress = new ArrayList<>();
+        private Long version;
+
+        private static RemoteConfiguration from(TunnelConfigurationEnvelope<SimpleTunnelConfiguration> result) {
+            RemoteConfiguration remote = new RemoteConfiguration();
+            if (result == null) {
+                return remote;
+            }
+            remote.version = result.getVersion();
+            if (result.getConfig() != null && result.getConfig().getIngress() != null) {
+                remote.ingress.addAll(result.getConfig().getIngress());
+            }
+            return remote;
+        }
+    }
+}
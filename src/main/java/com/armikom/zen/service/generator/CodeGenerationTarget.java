@@ -0,0 +1,37 @@
+package com.armikom.zen.service.generator;
+
+import com.armikom.zen.model.UmlModel;
+
+import java.util.Map;
+
+/**
+ * A code generation target. Targets are Spring beans and are picked up by {@link CodeGenerationService};
+ * all targets of a request share a single parsed {@link UmlModel}, which they must not modify.
+ */
+public interface CodeGenerationTarget {
+
+    /**
+     * Unique target name used in requests, e.g. {@code xaf-efcore}
+     */
+    String getName();
+
+    /**
+     * Version of the generated output. Bump whenever the output changes so cached results are not reused.
+     */
+    String getVersion();
+
+    /**
+     * Generates files for the model
+     * @param model The parsed model
+     * @return Map of file name to file content
+     */
+    Map<String, String> generate(UmlModel model);
+
+    /**
+     * Static project files the generated code needs, independent of the model
+     * @return Map of path relative to the project root to file content
+     */
+    default Map<String, String> getScaffoldFiles() {
+        return Map.of();
+    }
+}
@@ -0,0 +1,219 @@
+package com.armikom.zen.service.generator;
+
+import com.armikom.zen.model.UmlModel;
+import com.armikom.zen.model.UmlModel.UmlAttribute;
+import com.armikom.zen.model.UmlModel.UmlClass;
+import com.armikom.zen.model.UmlModel.UmlNavigation;
+import com.armikom.zen.service.PlantUmlParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flat data transfer objects for the model plus a matching OpenAPI 3 document.
+ * Navigations are exposed by key: {@code <Navigation>Id} for references and {@code <Navigation>Ids} for collections.
+ */
+@Component
+public class DtoOpenApiTarget implements CodeGenerationTarget {
+
+    public static final String NAME = "dto-openapi";
+    public static final String VERSION = "1";
+    public static final String OPENAPI_FILE = "openapi.json";
+
+    private static final TextTemplate DTO_TEMPLATE = TextTemplate.compile("""
+using System;
+using System.Collections.Generic;
+
+namespace Zen.Dtos
+{
+    public class {{className}}Dto
+    {
+        public int Id { get; set; }
+{{members}}    }
+}
+            """);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public Map<String, String> generate(UmlModel model) {
+        Map<String, String> files = new HashMap<>();
+        Map<String, Object> schemas = new LinkedHashMap<>();
+        for (UmlClass umlClass : model.getClasses()) {
+            List<DtoProperty> properties = properties(model, umlClass);
+            files.put("Dtos/" + umlClass.getName() + "Dto.cs", generateDto(umlClass, properties));
+            schemas.put(umlClass.getName() + "Dto", schema(properties));
+        }
+        files.put(OPENAPI_FILE, generateOpenApi(schemas));
+        return files;
+    }
+
+    private List<DtoProperty> properties(UmlModel model, UmlClass umlClass) {
+        List<DtoProperty> properties = new ArrayList<>();
+        for (UmlAttribute attribute : umlClass.getAttributes()) {
+            String name = PlantUmlParser.capitalize(attribute.getName());
+            String type = attribute.getType();
+            String elementType = type.endsWith("[]") ? type.substring(0, type.length() - 2).trim()
+                    : type.startsWith("List<") ? type.substring(5, type.length() - 1) : null;
+            if (elementType != null) {
+                if (model.hasClass(elementType)) {
+                    properties.add(new DtoProperty(name + "Ids", "int", true));
+                } else if (csharpType(elementType) != null) {
+                    properties.add(new DtoProperty(name, csharpType(elementType), true));
+                }
+            } else if (model.hasClass(type)) {
+                properties.add(new DtoProperty(name + "Id", "int", false));
+            } else if (csharpType(type) != null) {
+                properties.add(new DtoProperty(name, csharpType(type), false));
+            }
+        }
+        for (UmlNavigation navigation : umlClass.getNavigations()) {
+            properties.add(navigation.isCollection()
+                    ? new DtoProperty(navigation.getPropertyName() + "Ids", "int", true)
+                    : new DtoProperty(navigation.getPropertyName() + "Id", "int", false));
+        }
+        return properties;
+    }
+
+    private String generateDto(UmlClass umlClass, List<DtoProperty> properties) {
+        StringBuilder members = new StringBuilder();
+        for (DtoProperty property : properties) {
+            if (property.collection) {
+                members.append("        public IList<").append(property.type).append("> ").append(property.name)
+                        .append(" { get; set; } = new List<").append(property.type).append(">();\n");
+            } else {
+                members.append("        public ").append(property.type).append("? ").append(property.name)
+                        .append(" { get; set; }\n");
+            }
+        }
+        Map<String, String> values = new HashMap<>();
+        values.put("className", umlClass.getName());
+        values.put("members", members.toString());
+        return DTO_TEMPLATE.render(values);
+    }
+
+    private Map<String, Object> schema(List<DtoProperty> properties) {
+        Map<String, Object> schemaProperties = new LinkedHashMap<>();
+        schemaProperties.put("id", openApiType("int", false));
+        for (DtoProperty property : properties) {
+            Map<String, Object> type = openApiType(property.type, !property.collection);
+            if (property.collection) {
+                Map<String, Object> array = new LinkedHashMap<>();
+                array.put("type", "array");
+                array.put("items", type);
+                type = array;
+            }
+            schemaProperties.put(camelCase(property.name), type);
+        }
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", "object");
+        schema.put("required", List.of("id"));
+        schema.put("properties", schemaProperties);
+        return schema;
+    }
+
+    private String generateOpenApi(Map<String, Object> schemas) {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("openapi", "3.0.3");
+        document.put("info", Map.of("title", "Zen model", "version", VERSION));
+        document.put("paths", Map.of());
+        document.put("components", Map.of("schemas", schemas));
+        try {
+            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(document) + "\n";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize OpenAPI document", e);
+        }
+    }
+
+    /**
+     * C# type for a scalar model type, or null for unsupported types
+     */
+    private static String csharpType(String type) {
+        switch (type) {
+            case "String":
+                return "string";
+            case "Date":
+                return "DateTime";
+            case "boolean":
+                return "bool";
+            case "string": case "DateTime": case "DateOnly": case "TimeOnly": case "TimeSpan": case "int":
+            case "long": case "short": case "byte": case "float": case "double": case "decimal": case "bool":
+            case "char": case "Guid":
+                return type;
+            default:
+                return null;
+        }
+    }
+
+    private static Map<String, Object> openApiType(String csharpType, boolean nullable) {
+        Map<String, Object> type = new LinkedHashMap<>();
+        switch (csharpType) {
+            case "int", "short", "byte" -> {
+                type.put("type", "integer");
+                type.put("format", "int32");
+            }
+            case "long" -> {
+                type.put("type", "integer");
+                type.put("format", "int64");
+            }
+            case "float" -> {
+                type.put("type", "number");
+                type.put("format", "float");
+            }
+            case "double", "decimal" -> {
+                type.put("type", "number");
+                type.put("format", "double");
+            }
+            case "bool" -> type.put("type", "boolean");
+            case "DateTime" -> {
+                type.put("type", "string");
+                type.put("format", "date-time");
+            }
+            case "DateOnly" -> {
+                type.put("type", "string");
+                type.put("format", "date");
+            }
+            case "Guid" -> {
+                type.put("type", "string");
+                type.put("format", "uuid");
+            }
+            default -> type.put("type", "string");
+        }
+        if (nullable) {
+            type.put("nullable", true);
+        }
+        return type;
+    }
+
+    private static String camelCase(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static class DtoProperty {
+        final String name;
+        final String type;
+        final boolean collection;
+
+        DtoProperty(String name, String type, boolean collection) {
+            this.name = name;
+            this.type = type;
+            this.collection = collection;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package com.armikom.zen.service.generator;
+
+import com.armikom.zen.model.UmlModel;
+import com.armikom.zen.model.UmlModel.UmlAttribute;
+import com.armikom.zen.model.UmlModel.UmlClass;
+import com.armikom.zen.model.UmlModel.UmlNavigation;
+import com.armikom.zen.service.PlantUmlParser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Relational schema that EF Core derives by convention from the entities generated by {@link XafEfCoreTarget}:
+ * tables named after the DbSet (pluralized class name), an identity {@code Id} key, nullable columns for all
+ * attributes, {@code <Navigation>Id} foreign keys on the reference side and {@code <ClassA><ClassB>} join tables
+ * for many-to-many associations.
+ */
+public class EfCoreSchema {
+
+    private final Map<String, Table> tables = new LinkedHashMap<>();
+
+    private EfCoreSchema() {
+    }
+
+    /**
+     * Maps a parsed model to its EF Core schema
+     */
+    public static EfCoreSchema from(UmlModel model) {
+        EfCoreSchema schema = new EfCoreSchema();
+        for (UmlClass umlClass : model.getClasses()) {
+            Table table = new Table(tableName(umlClass.getName()), umlClass.getName());
+            table.addColumn(new Column("Id", "int", false, true));
+            table.primaryKey.add("Id");
+            schema.tables.put(table.name, table);
+        }
+
+        for (UmlClass umlClass : model.getClasses()) {
+            Table table = schema.tables.get(tableName(umlClass.getName()));
+            for (UmlAttribute attribute : umlClass.getAttributes()) {
+                schema.mapAttribute(model, umlClass, table, attribute);
+            }
+        }
+
+        for (UmlClass umlClass : model.getClasses()) {
+            Table table = schema.tables.get(tableName(umlClass.getName()));
+            for (UmlNavigation navigation : umlClass.getNavigations()) {
+                schema.mapNavigation(model, umlClass, table, navigation);
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * Table name EF Core uses for an entity class: the name of its DbSet in ZenContext
+     */
+    public static String tableName(String className) {
+        return PlantUmlParser.pluralize(className);
+    }
+
+    public List<Table> getTables() {
+        return List.copyOf(tables.values());
+    }
+
+    public Table findTable(String name) {
+        return tables.get(name);
+    }
+
+    private void mapAttribute(UmlModel model, UmlClass owner, Table table, UmlAttribute attribute) {
+        String columnName = PlantUmlParser.capitalize(attribute.getName());
+        String type = attribute.getType();
+        boolean isArray = type.endsWith("[]");
+        String elementType = isArray ? type.substring(0, type.length() - 2).trim()
+                : type.startsWith("List<") ? type.substring(5, type.length() - 1) : null;
+
+        if (elementType != null) {
+            if (model.hasClass(elementType)) {
+                // Unidirectional one-to-many: EF adds a shadow foreign key named after the principal to the dependent
+                Table dependent = tables.get(tableName(elementType));
+                String fkColumn = dependent.uniqueColumnName(owner.getName() + "Id");
+                dependent.addColumn(new Column(fkColumn, "int", true, false));
+                dependent.addForeignKey(fkColumn, table.name, false);
+            } else if (sqlType(elementType) != null) {
+                // Primitive collections are stored as JSON
+                table.addColumn(new Column(columnName, "nvarchar(max)", true, false));
+            }
+            return;
+        }
+
+        if (model.hasClass(type)) {
+            String fkColumn = table.uniqueColumnName(columnName + "Id");
+            table.addColumn(new Column(fkColumn, "int", true, false));
+            table.addForeignKey(fkColumn, tableName(type), false);
+            return;
+        }
+
+        String sqlType = sqlType(type);
+        if (sqlType != null) {
+            table.addColumn(new Column(columnName, sqlType, true, false));
+        }
+    }
+
+    private void mapNavigation(UmlModel model, UmlClass owner, Table table, UmlNavigation navigation) {
+        UmlClass target = model.findClass(navigation.getTargetClass());
+        UmlNavigation inverse = target == null ? null : target.getNavigation(navigation.getInversePropertyName());
+        String targetTable = tableName(navigation.getTargetClass());
+
+        if (!navigation.isCollection()) {
+            boolean oneToOne = inverse != null && !inverse.isCollection();
+            // For one-to-one associations the dependent side is picked deterministically
+            if (oneToOne && isPrincipalSide(owner.getName(), navigation)) {
+                return;
+            }
+            String fkColumn = table.uniqueColumnName(navigation.getPropertyName() + "Id");
+            table.addColumn(new Column(fkColumn, "int", true, false));
+            table.addForeignKey(fkColumn, targetTable, oneToOne);
+            return;
+        }
+
+        if (inverse != null && inverse.isCollection() && !isPrincipalSide(owner.getName(), navigation)) {
+            addJoinTable(owner.getName(), navigation, inverse);
+        }
+    }
+
+    private void addJoinTable(String ownerClass, UmlNavigation navigation, UmlNavigation inverse) {
+        String targetClass = navigation.getTargetClass();
+        String first = ownerClass.compareTo(targetClass) <= 0 ? ownerClass : targetClass;
+        String second = first.equals(ownerClass) ? targetClass : ownerClass;
+        String name = first + second;
+        if (tables.containsKey(name)) {
+            name = name + navigation.getPropertyName();
+        }
+
+        // Each key column is named after the navigation pointing at the entity it references
+        String ownerKey = inverse.getPropertyName() + "Id";
+        String targetKey = navigation.getPropertyName() + "Id";
+        boolean ownerFirst = first.equals(ownerClass);
+        Table join = new Table(name, null);
+        addJoinKey(join, ownerFirst ? ownerKey : targetKey, ownerFirst ? ownerClass : targetClass);
+        addJoinKey(join, ownerFirst ? targetKey : ownerKey, ownerFirst ? targetClass : ownerClass);
+        tables.put(name, join);
+    }
+
+    private static void addJoinKey(Table join, String column, String referencedClass) {
+        join.addColumn(new Column(column, "int", false, false));
+        join.primaryKey.add(column);
+        join.addForeignKey(column, tableName(referencedClass), false);
+    }
+
+    private static boolean isPrincipalSide(String ownerClass, UmlNavigation navigation) {
+        String side = ownerClass + "." + navigation.getPropertyName();
+        String other = navigation.getTargetClass() + "." + navigation.getInversePropertyName();
+        return side.compareTo(other) < 0;
+    }
+
+    /**
+     * SQL Server column type for a scalar model type, or null for unsupported types
+     */
+    static String sqlType(String type) {
+        switch (type) {
+            case "String":
+            case "string":
+                return "nvarchar(max)";
+            case "Date":
+            case "DateTime":
+                return "datetime2";
+            case "DateOnly":
+                return "date";
+            case "TimeOnly":
+            case "TimeSpan":
+                return "time";
+            case "int":
+                return "int";
+            case "long":
+                return "bigint";
+            case "short":
+                return "smallint";
+            case "byte":
+                return "tinyint";
+            case "float":
+                return "real";
+            case "double":
+                return "float";
+            case "decimal":
+                return "decimal(18,2)";
+            case "boolean":
+            case "bool":
+                return "bit";
+            case "char":
+                return "nvarchar(1)";
+            case "Guid":
+                return "uniqueidentifier";
+            default:
+                return null;
+        }
+    }
+
+    public static class Table {
+        private final String name;
+        private final String entityClass;
+        private final Map<String, Column> columns = new LinkedHashMap<>();
+        private final List<String> primaryKey = new ArrayList<>();
+        private final List<ForeignKey> foreignKeys = new ArrayList<>();
+
+        Table(String name, String entityClass) {
+            this.name = name;
+            this.entityClass = entityClass;
+        }
+
+        void addColumn(Column column) {
+            columns.put(column.getName(), column);
+        }
+
+        void addForeignKey(String column, String referencedTable, boolean unique) {
+            foreignKeys.add(new ForeignKey("FK_" + name + "_" + referencedTable + "_" + column,
+                    "IX_" + name + "_" + column, column, referencedTable, unique));
+        }
+
+        String uniqueColumnName(String candidate) {
+            String result = candidate;
+            int suffix = 1;
+            while (columns.containsKey(result)) {
+                result = candidate + suffix++;
+            }
+            return result;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Entity class mapped to this table, or null for many-to-many join tables
+         */
+        public String getEntityClass() {
+            return entityClass;
+        }
+
+        public List<Column> getColumns() {
+            return List.copyOf(columns.values());
+        }
+
+        public Column findColumn(String name) {
+            return columns.get(name);
+        }
+
+        public List<String> getPrimaryKey() {
+            return Collections.unmodifiableList(primaryKey);
+        }
+
+        public List<ForeignKey> getForeignKeys() {
+            return Collections.unmodifiableList(foreignKeys);
+        }
+    }
+
+    public static class Column {
+        private final String name;
+        private final String sqlType;
+        private final boolean nullable;
+        private final boolean identity;
+
+        Column(String name, String sqlType, boolean nullable, boolean identity) {
+            this.name = name;
+            this.sqlType = sqlType;
+            this.nullable = nullable;
+            this.identity = identity;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getSqlType() {
+            return sqlType;
+        }
+
+        public boolean isNullable() {
+            return nullable;
+        }
+
+        public boolean isIdentity() {
+            return identity;
+        }
+    }
+
+    public static class ForeignKey {
+        private final String name;
+        private final String indexName;
+        private final String column;
+        private final String referencedTable;
+        private final boolean unique;
+
+        ForeignKey(String name, String indexName, String column, String referencedTable, boolean unique) {
+            this.name = name;
+            this.indexName = indexName;
+            this.column = column;
+            this.referencedTable = referencedTable;
+            this.unique = unique;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getIndexName() {
+            return indexName;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+
+        public String getReferencedTable() {
+            return referencedTable;
+        }
+
+        /**
+         * True for the dependent side of a one-to-one association, which gets a unique index
+         */
+        public boolean isUnique() {
+            return unique;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.armikom.zen.service.generator;
+
+import com.armikom.zen.model.UmlModel;
+import com.armikom.zen.service.generator.EfCoreSchema.ForeignKey;
+import com.armikom.zen.service.generator.EfCoreSchema.Table;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Idempotent SQL Server script creating the schema EF Core expects for the XAF/EF target,
+ * equivalent to an idempotent migration script for the initial migration.
+ */
+@Component
+public class EfMigrationsTarget implements CodeGenerationTarget {
+
+    public static final String NAME = "ef-migrations";
+    public static final String VERSION = "1";
+    public static final String SCRIPT_FILE = "Migrations/schema.sql";
+
+    private static final String BATCH_SEPARATOR = "\nGO\n\n";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public Map<String, String> generate(UmlModel model) {
+        EfCoreSchema schema = EfCoreSchema.from(model);
+        StringBuilder sb = new StringBuilder();
+        sb.append("-- Schema for ").append(schema.getTables().size()).append(" tables, generated from the PlantUML model\n\n");
+
+        // Tables first, then keys and indexes, so creation order never depends on references between tables
+        for (Table table : schema.getTables()) {
+            sb.append(SqlServerDdl.createTable(table)).append(BATCH_SEPARATOR);
+        }
+        for (Table table : schema.getTables()) {
+            for (ForeignKey foreignKey : table.getForeignKeys()) {
+                sb.append(SqlServerDdl.addForeignKey(table, foreignKey)).append(BATCH_SEPARATOR);
+                sb.append(SqlServerDdl.createIndex(table, foreignKey)).append(BATCH_SEPARATOR);
+            }
+        }
+        return Map.of(SCRIPT_FILE, sb.toString());
+    }
+}
@@ -0,0 +1,46 @@
+package com.armikom.zen.service.generator;
+
+/**
+ * A single idempotent schema change statement produced by the schema diff
+ */
+public class SchemaChange {
+
+    /**
+     * Change kinds in the order they must be applied
+     */
+    public enum Kind {
+        RENAME_TABLE,
+        RENAME_COLUMN,
+        CREATE_TABLE,
+        ADD_COLUMN,
+        ADD_FOREIGN_KEY,
+        CREATE_INDEX
+    }
+
+    private final Kind kind;
+    private final String description;
+    private final String sql;
+
+    public SchemaChange(Kind kind, String description, String sql) {
+        this.kind = kind;
+        this.description = description;
+        this.sql = sql;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    @Override
+    public String toString() {
+        return kind + ": " + description;
+    }
+}
@@ -0,0 +1,89 @@
+package com.armikom.zen.service.generator;
+
+import com.armikom.zen.service.generator.EfCoreSchema.Column;
+import com.armikom.zen.service.generator.EfCoreSchema.ForeignKey;
+import com.armikom.zen.service.generator.EfCoreSchema.Table;
+
+import java.util.stream.Collectors;
+
+/**
+ * Idempotent SQL Server DDL statements for an {@link EfCoreSchema}.
+ * Every statement checks the catalog first, so scripts can be re-run against a partially migrated database.
+ */
+public final class SqlServerDdl {
+
+    private SqlServerDdl() {
+    }
+
+    public static String createTable(Table table) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("IF OBJECT_ID(N'").append(qualified(table.getName())).append("', N'U') IS NULL\n");
+        sb.append("BEGIN\n");
+        sb.append("    CREATE TABLE ").append(qualified(table.getName())).append(" (\n");
+        for (Column column : table.getColumns()) {
+            sb.append("        ").append(columnDefinition(column)).append(",\n");
+        }
+        sb.append("        CONSTRAINT ").append(quote("PK_" + table.getName())).append(" PRIMARY KEY (")
+                .append(table.getPrimaryKey().stream().map(SqlServerDdl::quote).collect(Collectors.joining(", ")))
+                .append(")\n");
+        sb.append("    );\n");
+        sb.append("END;");
+        return sb.toString();
+    }
+
+    public static String addColumn(Table table, Column column) {
+        return "IF COL_LENGTH(N'" + qualified(table.getName()) + "', N'" + escapeLiteral(column.getName()) + "') IS NULL\n"
+                + "    ALTER TABLE " + qualified(table.getName()) + " ADD " + columnDefinition(column) + ";";
+    }
+
+    public static String addForeignKey(Table table, ForeignKey foreignKey) {
+        return "IF OBJECT_ID(N'" + escapeLiteral(quote(foreignKey.getName())) + "', N'F') IS NULL\n"
+                + "    ALTER TABLE " + qualified(table.getName()) + " ADD CONSTRAINT " + quote(foreignKey.getName())
+                + " FOREIGN KEY (" + quote(foreignKey.getColumn()) + ") REFERENCES "
+                + qualified(foreignKey.getReferencedTable()) + " ([Id]) ON DELETE NO ACTION;";
+    }
+
+    public static String createIndex(Table table, ForeignKey foreignKey) {
+        String create = foreignKey.isUnique()
+                ? "CREATE UNIQUE INDEX " + quote(foreignKey.getIndexName()) + " ON " + qualified(table.getName())
+                        + " (" + quote(foreignKey.getColumn()) + ") WHERE " + quote(foreignKey.getColumn()) + " IS NOT NULL;"
+                : "CREATE INDEX " + quote(foreignKey.getIndexName()) + " ON " + qualified(table.getName())
+                        + " (" + quote(foreignKey.getColumn()) + ");";
+        return "IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = N'" + escapeLiteral(foreignKey.getIndexName())
+                + "' AND object_id = OBJECT_ID(N'" + qualified(table.getName()) + "'))\n"
+                + "    " + create;
+    }
+
+    public static String renameTable(String oldName, String newName) {
+        return "IF OBJECT_ID(N'" + qualified(oldName) + "', N'U') IS NOT NULL AND OBJECT_ID(N'" + qualified(newName) + "', N'U') IS NULL\n"
+                + "    EXEC sp_rename N'" + qualified(oldName) + "', N'" + escapeLiteral(newName) + "';";
+    }
+
+    public static String renameColumn(String table, String oldName, String newName) {
+        return "IF COL_LENGTH(N'" + qualified(table) + "', N'" + escapeLiteral(oldName) + "') IS NOT NULL"
+                + " AND COL_LENGTH(N'" + qualified(table) + "', N'" + escapeLiteral(newName) + "') IS NULL\n"
+                + "    EXEC sp_rename N'" + qualified(table) + "." + escapeLiteral(quote(oldName)) + "', N'"
+                + escapeLiteral(newName) + "', N'COLUMN';";
+    }
+
+    static String columnDefinition(Column column) {
+        return quote(column.getName()) + " " + column.getSqlType()
+                + (column.isNullable() ? " NULL" : " NOT NULL")
+                + (column.isIdentity() ? " IDENTITY" : "");
+    }
+
+    /**
+     * Schema-qualified, bracket-quoted table name safe for use inside an N'' literal
+     */
+    static String qualified(String table) {
+        return "[dbo]." + escapeLiteral(quote(table));
+    }
+
+    static String quote(String identifier) {
+        return "[" + identifier.replace("]", "]]") + "]";
+    }
+
+    private static String escapeLiteral(String value) {
+        return value.replace("'", "''");
+    }
+}
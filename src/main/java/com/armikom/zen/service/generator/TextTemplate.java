@@ -0,0 +1,81 @@
+package com.armikom.zen.service.generator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal text template with {@code {{name}}} placeholders.
+ * Templates are compiled once into literal and placeholder segments, so rendering is a single pass
+ * of appends without any scanning or regex work.
+ */
+public final class TextTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String[] literals;
+    private final String[] variables;
+    private final int literalLength;
+
+    private TextTemplate(String[] literals, String[] variables) {
+        this.literals = literals;
+        this.variables = variables;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Compiles a template
+     * @param source Template text
+     * @return The compiled template
+     * @throws IllegalArgumentException if a placeholder is not closed or empty
+     */
+    public static TextTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int index = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, index);
+            if (open == -1) {
+                literals.add(source.substring(index));
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close == -1) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            String name = source.substring(open + OPEN.length(), close).trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Empty placeholder at offset " + open);
+            }
+            literals.add(source.substring(index, open));
+            variables.add(name);
+            index = close + CLOSE.length();
+        }
+        return new TextTemplate(literals.toArray(new String[0]), variables.toArray(new String[0]));
+    }
+
+    /**
+     * Renders the template
+     * @param values Placeholder values; every placeholder must have a value
+     * @return The rendered text
+     * @throws IllegalArgumentException if a placeholder has no value
+     */
+    public String render(Map<String, String> values) {
+        StringBuilder sb = new StringBuilder(literalLength + 64 * variables.length);
+        for (int i = 0; i < variables.length; i++) {
+            sb.append(literals[i]);
+            String value = values.get(variables[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("No value for placeholder '" + variables[i] + "'");
+            }
+            sb.append(value);
+        }
+        sb.append(literals[variables.length]);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,317 @@
+package com.armikom.zen.service.generator;
+
+import com.armikom.zen.model.UmlModel;
+import com.armikom.zen.model.UmlModel.UmlAttribute;
+import com.armikom.zen.model.UmlModel.UmlClass;
+import com.armikom.zen.model.UmlModel.UmlNavigation;
+import com.armikom.zen.service.PlantUmlParser;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DevExpress XAF + EF Core target: one entity class per model class plus the ZenContext DbContext.
+ * Also owns the project scaffold (Zen.csproj, BaseEntity, devcontainer and VS Code files) used by previews.
+ */
+@Component
+public class XafEfCoreTarget implements CodeGenerationTarget {
+
+    public static final String NAME = "xaf-efcore";
+    public static final String VERSION = "1";
+
+    private static final TextTemplate ENTITY_TEMPLATE = TextTemplate.compile("""
+using DevExpress.Persistent.Base;
+using Microsoft.EntityFrameworkCore;
+using System;
+using System.Collections.Generic;
+using System.Collections.ObjectModel;
+using System.ComponentModel.DataAnnotations.Schema;
+
+namespace Zen.Model
+{
+
+    [DefaultClassOptions]
+    public class {{className}} : BaseEntity
+    {
+{{members}}    }
+}
+            """);
+
+    private static final TextTemplate DB_CONTEXT_TEMPLATE = TextTemplate.compile("""
+using Microsoft.EntityFrameworkCore;
+using System;
+using System.Collections.Generic;
+using System.Linq;
+using System.Text;
+using System.Threading.Tasks;
+
+namespace Zen.Model
+{
+    public class ZenContext : DbContext
+    {
+        public ZenContext(DbContextOptions options) : base(options)
+        {
+        }
+
+{{dbSets}}
+        protected override void OnModelCreating(ModelBuilder modelBuilder)
+        {
+            base.OnModelCreating(modelBuilder);
+
+            foreach (var relationship in modelBuilder.Model.GetEntityTypes()
+                             .SelectMany(e => e.GetForeignKeys()))
+            {
+                relationship.DeleteBehavior = DeleteBehavior.NoAction;
+            }
+        }
+    }
+}
+            """);
+
+    private static final Map<String, String> SCAFFOLD_FILES = createScaffoldFiles();
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public Map<String, String> generate(UmlModel model) {
+        Map<String, String> files = new HashMap<>();
+        for (UmlClass umlClass : model.getClasses()) {
+            files.put(umlClass.getName() + ".cs", generateEntity(umlClass));
+        }
+        files.put("ZenContext.cs", generateDbContext(model));
+        return files;
+    }
+
+    /**
+     * Scaffold files; entity classes are placed next to BaseEntity.cs in the Model directory
+     */
+    @Override
+    public Map<String, String> getScaffoldFiles() {
+        return SCAFFOLD_FILES;
+    }
+
+    private String generateEntity(UmlClass umlClass) {
+        StringBuilder members = new StringBuilder();
+        for (UmlAttribute attribute : umlClass.getAttributes()) {
+            members.append("        public virtual ").append(mapType(attribute.getType())).append(" ")
+                    .append(PlantUmlParser.capitalize(attribute.getName())).append(" { get; set; }\n");
+        }
+
+        if (!umlClass.getAttributes().isEmpty() && !umlClass.getNavigations().isEmpty()) {
+            members.append("\n");
+        }
+
+        for (UmlNavigation navigation : umlClass.getNavigations()) {
+            String targetType = navigation.getTargetClass();
+            String propertyName = navigation.getPropertyName();
+
+            // Add DeleteBehavior attribute for non-collection relationships (foreign key side)
+            if (!navigation.isCollection()) {
+                members.append("        [DeleteBehavior(DeleteBehavior.Restrict)]\n");
+            }
+
+            // Add InverseProperty attribute if inverse property name is specified
+            String inverse = navigation.getInversePropertyName();
+            if (inverse != null && !inverse.isEmpty()) {
+                members.append("        [InverseProperty(\"").append(inverse).append("\")]\n");
+            }
+
+            if (navigation.isCollection()) {
+                members.append("        public virtual IList<").append(targetType).append("> ").append(propertyName)
+                        .append(" { get; set; } = new ObservableCollection<").append(targetType).append(">();\n");
+            } else {
+                members.append("        public virtual ").append(targetType).append("? ").append(propertyName).append(" { get; set; }\n");
+            }
+        }
+
+        Map<String, String> values = new HashMap<>();
+        values.put("className", umlClass.getName());
+        values.put("members", members.toString());
+        return ENTITY_TEMPLATE.render(values);
+    }
+
+    private String generateDbContext(UmlModel model) {
+        StringBuilder dbSets = new StringBuilder();
+        for (UmlClass umlClass : model.getClasses()) {
+            dbSets.append("        public DbSet<").append(umlClass.getName()).append("> ")
+                    .append(PlantUmlParser.pluralize(umlClass.getName())).append(" { get; set; }\n");
+        }
+        return DB_CONTEXT_TEMPLATE.render(Map.of("dbSets", dbSets.toString()));
+    }
+
+    static String mapType(String plantUmlType) {
+        switch (plantUmlType) {
+            case "String":
+                return "string?";
+            case "Date":
+                return "DateTime?";
+            case "int":
+                return "int?";
+            case "float":
+                return "float?";
+            case "boolean":
+                return "bool?";
+            default:
+                if (plantUmlType.startsWith("List<")) {
+                    String genericType = plantUmlType.substring(5, plantUmlType.length() - 1);
+                    return "IList<" + genericType + ">?";
+                }
+                return plantUmlType + "?";
+        }
+    }
+
+    private static Map<String, String> createScaffoldFiles() {
+        Map<String, String> files = new LinkedHashMap<>();
+        files.put("Zen.csproj", PROJECT_FILE);
+        files.put("nuget.config", NUGET_CONFIG);
+        files.put("Model/BaseEntity.cs", BASE_ENTITY);
+        files.put(".devcontainer/devcontainer.json", DEVCONTAINER);
+        files.put(".vscode/launch.json", VSCODE_LAUNCH);
+        files.put(".vscode/tasks.json", VSCODE_TASKS);
+        return Map.copyOf(files);
+    }
+
+    private static final String PROJECT_FILE = """
+<Project Sdk="Microsoft.NET.Sdk">
+
+  <PropertyGroup>
+    <TargetFramework>net8.0</TargetFramework>
+    <ImplicitUsings>enable</ImplicitUsings>
+    <Nullable>enable</Nullable>
+    <RootNamespace>Zen</RootNamespace>
+  </PropertyGroup>
+
+  <ItemGroup>
+    <PackageReference Include="DevExpress.ExpressApp" Version="24.2.6" />
+    <PackageReference Include="Microsoft.EntityFrameworkCore" Version="8.0.11" />
+  </ItemGroup>
+
+</Project>
+                """;
+
+    private static final String NUGET_CONFIG = """
+<?xml version="1.0" encoding="utf-8"?>
+<configuration>
+    <packageSources>
+        <add key="nuget.org" value="https://api.nuget.org/v3/index.json" protocolVersion="3" />
+        <add key="DevExpress" value="https://nuget.devexpress.com/ob5Z9grQGl2RPcDZ4VHeqxccgnHEYwCAAFMUEhJWs236XLluiw/api/v3/index.json" />
+    </packageSources>
+</configuration>
+                """;
+
+    private static final String BASE_ENTITY = """
+using DevExpress.ExpressApp;
+using System;
+using System.Collections.Generic;
+using System.Linq;
+using System.Text;
+using System.Threading.Tasks;
+using System.ComponentModel;
+using System.ComponentModel.DataAnnotations;
+
+namespace Zen.Model
+{
+    public abstract class BaseEntity : IXafEntityObject
+    {
+        [Key, Browsable(false)]
+        public virtual int Id { get; set; }
+        public virtual void OnCreated() { }
+        public virtual void OnSaving() { }
+        public virtual void OnLoaded() { }
+    }
+}
+                """;
+
+    private static final String DEVCONTAINER = """
+{
+    "image": "myzen/devcontainer:19",
+    "postStartCommand": "/bin/bash /start.sh",
+    "forwardPorts": [1433],
+    "containerEnv": {
+        "ACCEPT_EULA": "Y",
+        "MSSQL_PID": "Express",
+        "MSSQL_SA_PASSWORD": "ZenPassword123!"
+    },
+    "mounts": ["type=volume,source=dev-mssql-data,target=/var/opt/mssql"], 
+    "features": {
+        "ghcr.io/joshuanianji/devcontainer-features/gcloud-cli-persistence:1": {}
+    },
+    "customizations": {
+        "vscode": {
+            "extensions": [
+                "ms-dotnettools.csharp"
+            ],
+            "settings": {
+                "files.exclude": {
+                    "**/.classpath": true,
+                    "**/.project": true,
+                    "**/.settings": true,
+                    "**/.factorypath": true,
+                    "**/.*": true,
+                    "**/bin": true,
+                    "**/obj": true,
+                    "nuget.config": true,
+                    "dev.sln": true,
+                    "global.json": true,
+                }
+            }
+        }
+    }
+}
+                """;
+
+    private static final String VSCODE_LAUNCH = """
+{
+  "version": "0.2.0",
+  "configurations": [
+    {
+      "name": "Zen Start",
+      "type": "coreclr",
+      "request": "launch",
+      "preLaunchTask": "build zen app",
+      "program": "Zen.Blazor.Server.dll",
+      "args": [],
+      "stopAtEntry": false,
+      "console": "integratedTerminal",
+      "cwd": "/app"
+    }
+  ]
+}
+                """;
+
+    private static final String VSCODE_TASKS = """
+{
+  "version": "2.0.0",
+  "tasks": [
+    {
+      "label": "build zen app",
+      "command": "dotnet",
+      "type": "process",
+      "args": [
+        "build",
+        "${workspaceFolder}/Zen.csproj",
+        "/property:GenerateFullPaths=true",
+        "/consoleloggerparameters:NoSummary",
+        "/p:OutputPath=/app"
+      ],
+      "problemMatcher": "$msCompile",
+      "group": {
+        "kind": "build",
+        "isDefault": true
+      },
+      "detail": "Builds Zen project."
+    }
+  ]
+}
+                """;
+}
@@ -0,0 +1,66 @@
+package com.armikom.zen.config;
+
+import com.armikom.zen.enums.CloudflareRequestPriority;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PriorityTokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+    // One permit per second, burst of 3, one permit reserved for interactive requests
+    private final PriorityTokenBucket bucket = new PriorityTokenBucket(1, 3, 1, clock::get);
+    private final List<String> granted = new ArrayList<>();
+
+    @Test
+    public void testBulkLeavesReserveForInteractive() {
+        bucket.acquire(CloudflareRequestPriority.BULK, () -> granted.add("bulk-1"));
+        bucket.acquire(CloudflareRequestPriority.BULK, () -> granted.add("bulk-2"));
+        bucket.acquire(CloudflareRequestPriority.BULK, () -> granted.add("bulk-3"));
+        bucket.acquire(CloudflareRequestPriority.INTERACTIVE, () -> granted.add("interactive-1"));
+
+        assertEquals(List.of("bulk-1", "bulk-2", "interactive-1"), granted);
+        assertEquals(1, bucket.getQueued(CloudflareRequestPriority.BULK));
+    }
+
+    @Test
+    public void testInteractiveIsServedFirst() {
+        for (int i = 0; i < 3; i++) {
+            bucket.acquire(CloudflareRequestPriority.INTERACTIVE, () -> { });
+        }
+        bucket.acquire(CloudflareRequestPriority.BULK, () -> granted.add("bulk"));
+        bucket.acquire(CloudflareRequestPriority.INTERACTIVE, () -> granted.add("interactive"));
+
+        assertEquals(SECOND, bucket.drain());
+        clock.addAndGet(SECOND);
+        // The bulk request needs two tokens because of the reserve
+        assertEquals(2 * SECOND, bucket.drain());
+        assertEquals(List.of("interactive"), granted);
+
+        clock.addAndGet(2 * SECOND);
+        assertEquals(-1, bucket.drain());
+        assertEquals(List.of("interactive", "bulk"), granted);
+    }
+
+    @Test
+    public void testPauseHonorsRetryAfter() {
+        bucket.pause(Duration.ofSeconds(10));
+        bucket.acquire(CloudflareRequestPriority.INTERACTIVE, () -> granted.add("interactive"));
+
+        clock.addAndGet(9 * SECOND);
+        assertTrue(bucket.drain() > 0);
+        assertTrue(granted.isEmpty());
+
+        clock.addAndGet(2 * SECOND);
+        bucket.drain();
+        assertEquals(List.of("interactive"), granted);
+    }
+}
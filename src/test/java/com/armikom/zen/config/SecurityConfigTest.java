@@ -0,0 +1,84 @@
+package com.armikom.zen.config;
+
+import com.armikom.zen.controller.PreviewController;
+import com.armikom.zen.controller.ProjectController;
+import com.armikom.zen.service.PreviewRoutingTable;
+import com.armikom.zen.service.PreviewService;
+import com.armikom.zen.service.ProjectService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {PreviewController.class, ProjectController.class})
+@Import(SecurityConfig.class)
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ProjectService projectService;
+
+    @MockitoBean
+    private PreviewService previewService;
+
+    @MockitoBean
+    private PreviewRoutingTable previewRoutingTable;
+
+    @Test
+    void testProtectedEndpointRejectsMissingTokenBeforeBodyIsRead() throws Exception {
+        // Malformed JSON would be a 400 if the controller were reached
+        mockMvc.perform(post("/api/projects/retrieve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{not json"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().json("{\"success\":false,\"message\":\"Invalid or missing authorization token\"}"));
+
+        verifyNoInteractions(projectService);
+    }
+
+    @Test
+    void testProtectedEndpointRejectsInvalidToken() throws Exception {
+        when(projectService.validateAuthToken("Bearer expired")).thenReturn(null);
+
+        mockMvc.perform(get("/api/preview/status/tour-buddy").header("Authorization", "Bearer expired"))
+                .andExpect(status().isUnauthorized());
+
+        verify(projectService, never()).retrieveAndLogProject(any(), any());
+    }
+
+    @Test
+    void testVerifiedUserReachesController() throws Exception {
+        when(projectService.validateAuthToken("Bearer valid")).thenReturn("user-1");
+
+        // No such project: the controller answers 404 for the authenticated user
+        mockMvc.perform(get("/api/preview/status/tour-buddy").header("Authorization", "Bearer valid"))
+                .andExpect(status().isNotFound());
+
+        verify(projectService).retrieveAndLogProject("tour-buddy", "user-1");
+    }
+
+    @Test
+    void testOpenEndpointDoesNotVerifyTokens() throws Exception {
+        when(projectService.isFirebaseAvailable()).thenReturn(true);
+
+        mockMvc.perform(get("/api/projects/firebase/status").header("Authorization", "Bearer cloudflare-token"))
+                .andExpect(status().isOk());
+
+        verify(projectService, never()).validateAuthToken(any());
+    }
+}
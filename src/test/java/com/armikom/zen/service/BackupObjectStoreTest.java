@@ -0,0 +1,49 @@
+package com.armikom.zen.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BackupObjectStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testUploadAndDownloadRoundTrip() throws IOException {
+        BackupObjectStore store = new BackupObjectStore(true, tempDir.resolve("store").toString());
+        Path backup = Files.writeString(tempDir.resolve("tour-buddy.bak"), "backup contents");
+
+        assertEquals(15, store.upload("projects/tour-buddy/latest.bak", backup));
+        assertTrue(store.exists("projects/tour-buddy/latest.bak"));
+
+        Path restored = tempDir.resolve("restore/tour-buddy.bak");
+        assertEquals(15, store.download("projects/tour-buddy/latest.bak", restored));
+        assertEquals("backup contents", Files.readString(restored));
+    }
+
+    @Test
+    public void testMissingObjectCannotBeDownloaded() {
+        BackupObjectStore store = new BackupObjectStore(true, tempDir.toString());
+
+        assertFalse(store.exists("missing.bak"));
+        assertThrows(IOException.class, () -> store.download("missing.bak", tempDir.resolve("missing.bak")));
+    }
+
+    @Test
+    public void testKeysCannotLeaveTheStore() {
+        BackupObjectStore store = new BackupObjectStore(true, tempDir.toString());
+
+        assertThrows(IllegalArgumentException.class, () -> store.exists("../outside.bak"));
+        assertThrows(IllegalArgumentException.class, () -> store.exists("/etc/passwd"));
+        assertThrows(IllegalArgumentException.class, () -> store.exists("a//b.bak"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.dto.BatchGenerationResult;
+import com.armikom.zen.service.generator.EfMigrationsTarget;
+import com.armikom.zen.service.generator.XafEfCoreTarget;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchGenerationServiceTest {
+
+    private final PlantUmlParser parser = new PlantUmlParser();
+    private final BatchGenerationService service = new BatchGenerationService(
+            new CodeGenerationService(parser, List.of(new XafEfCoreTarget(), new EfMigrationsTarget()), null),
+            new PlantUmlModelValidator(parser), 2);
+
+    @Test
+    public void testItemsFailIndependently() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            ndjson.append("{\"projectId\":\"p").append(i)
+                    .append("\",\"plantUml\":\"class Customer").append(i).append(" {\\n  + Name: string\\n}\"}\n");
+        }
+        ndjson.append("\n");
+        ndjson.append("{\"projectId\":\"broken\",\"plantUml\":\"class Customer {\\n  + Address: Adress\\n}\"}\n");
+        ndjson.append("not json\n");
+
+        List<BatchGenerationResult> results = new ArrayList<>();
+        int count = service.process(new BufferedReader(new StringReader(ndjson.toString())),
+                List.of(XafEfCoreTarget.NAME, EfMigrationsTarget.NAME), results::add);
+        results.sort(Comparator.comparingInt(BatchGenerationResult::getIndex));
+
+        assertEquals(12, count);
+        assertEquals(12, results.size());
+        for (int i = 0; i < 10; i++) {
+            BatchGenerationResult result = results.get(i);
+            assertTrue(result.isSuccess());
+            assertEquals("p" + i, result.getProjectId());
+            assertTrue(result.getFiles().get(XafEfCoreTarget.NAME).containsKey("Customer" + i + ".cs"));
+            assertTrue(result.getFiles().get(EfMigrationsTarget.NAME).containsKey(EfMigrationsTarget.SCRIPT_FILE));
+        }
+
+        BatchGenerationResult invalid = results.get(10);
+        assertFalse(invalid.isSuccess());
+        assertEquals("broken", invalid.getProjectId());
+        assertEquals("UNRESOLVED_TYPE", invalid.getDiagnostics().get(0).getCode());
+
+        BatchGenerationResult malformed = results.get(11);
+        assertFalse(malformed.isSuccess());
+        assertNull(malformed.getProjectId());
+        assertTrue(malformed.getError().startsWith("Invalid JSON"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.armikom.zen.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CloudflareRouteReconcilerTest {
+
+    private static final Duration GRACE = Duration.ofMinutes(30);
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Test
+    public void testProjectIdOfPreviewHostnames() {
+        assertEquals("abc", CloudflareRouteReconciler.projectIdOf("myzen-abc.armikom.com"));
+        assertEquals("abc", CloudflareRouteReconciler.projectIdOf("MyZen-ABC.armikom.com"));
+        assertNull(CloudflareRouteReconciler.projectIdOf("zen-app1.armikom.com"));
+        assertNull(CloudflareRouteReconciler.projectIdOf("myzen-abc.example.com"));
+        assertNull(CloudflareRouteReconciler.projectIdOf("api.myzen-abc.armikom.com"));
+        assertNull(CloudflareRouteReconciler.projectIdOf("myzen-.armikom.com"));
+        assertNull(CloudflareRouteReconciler.projectIdOf(null));
+    }
+
+    @Test
+    public void testStaleRoutesArePrunedAfterGracePeriod() {
+        Map<String, Instant> staleSince = new HashMap<>();
+
+        CloudflareRouteReconciler.Plan first = CloudflareRouteReconciler.plan(Map.of(), Set.of("gone"),
+                Set.of("gone"), Set.of("gone"), staleSince, NOW, GRACE);
+        assertTrue(first.isEmpty());
+        assertEquals(NOW, staleSince.get("gone"));
+
+        CloudflareRouteReconciler.Plan later = CloudflareRouteReconciler.plan(Map.of(), Set.of("gone"),
+                Set.of("gone"), Set.of("gone"), staleSince, NOW.plus(GRACE), GRACE);
+        assertEquals(Set.of("gone"), later.getRemoveRoutes());
+        assertEquals(Set.of("gone"), later.getRemoveDnsRecords());
+    }
+
+    @Test
+    public void testRoutesOfDeletedProjectsAreStale() {
+        Map<String, Instant> staleSince = new HashMap<>(Map.of("deleted", NOW.minus(GRACE)));
+
+        CloudflareRouteReconciler.Plan plan = CloudflareRouteReconciler.plan(Map.of("deleted", "deleted"), Set.of(),
+                Set.of("deleted"), Set.of(), staleSince, NOW, GRACE);
+
+        assertEquals(Set.of("deleted"), plan.getRemoveRoutes());
+        assertTrue(plan.getRemoveDnsRecords().isEmpty());
+        assertTrue(plan.getAddDnsRecords().isEmpty());
+    }
+
+    @Test
+    public void testPreviewThatCameBackIsNoLongerStale() {
+        Map<String, Instant> staleSince = new HashMap<>(Map.of("back", NOW.minus(GRACE)));
+
+        CloudflareRouteReconciler.Plan plan = CloudflareRouteReconciler.plan(Map.of("back", "back"), Set.of("back"),
+                Set.of("back"), Set.of("back"), staleSince, NOW, GRACE);
+
+        assertTrue(plan.isEmpty());
+        assertTrue(staleSince.isEmpty());
+    }
+
+    @Test
+    public void testMissingRoutesOfRunningPreviewsAreRepaired() {
+        CloudflareRouteReconciler.Plan plan = CloudflareRouteReconciler.plan(
+                Map.of("abc", "Abc", "orphan", "orphan"), Set.of("abc"),
+                Set.of(), Set.of("abc"), new HashMap<>(), NOW, GRACE);
+
+        assertEquals(Set.of("Abc"), plan.getAddRoutes());
+        assertTrue(plan.getAddDnsRecords().isEmpty());
+    }
+
+    @Test
+    public void testNothingIsRepairedWithoutProjects() {
+        Map<String, Instant> staleSince = new HashMap<>(Map.of("gone", NOW.minus(GRACE)));
+
+        CloudflareRouteReconciler.Plan plan = CloudflareRouteReconciler.plan(Map.of("abc", "abc"), null,
+                Set.of("abc", "gone"), Set.of(), staleSince, NOW, GRACE);
+
+        assertEquals(Set.of("gone"), plan.getRemoveRoutes());
+        assertTrue(plan.getAddRoutes().isEmpty());
+        assertTrue(plan.getAddDnsRecords().isEmpty());
+    }
+}
@@ -0,0 +1,183 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.config.CloudflareConfig;
+import com.armikom.zen.config.CloudflareRateLimiter;
+import com.armikom.zen.dto.CloudflareResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load test of route provisioning against {@link FakeCloudflareServer}: N previews call
+ * {@link CloudflareService#createCompleteRoute} at once, then latency percentiles are reported and the final DNS zone
+ * and ingress list are checked. Only the Cloudflare beans are started, so no Firebase or database is needed.
+ * <p>
+ * Run with {@code mvn test -Dtest=CloudflareServiceLoadTest -Dcloudflare.loadtest=true}; tune it with
+ * {@code -Dcloudflare.loadtest.previews}, {@code .latency-ms}, {@code .max-latency-ms}, {@code .page-size},
+ * {@code .existing-records}, {@code .rate-limit-every} and {@code .requests-per-window}.
+ */
+@EnabledIfSystemProperty(named = "cloudflare.loadtest", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, classes = {
+        CloudflareConfig.class, CloudflareRateLimiter.class, CloudflareDnsIndex.class,
+        TunnelConfigurationManager.class, CloudflareService.class, CloudflareServiceLoadTest.TestBeans.class})
+public class CloudflareServiceLoadTest {
+
+    private static final String TUNNEL_ID = "00000000-0000-0000-0000-00000000load";
+
+    private static FakeCloudflareServer server;
+
+    @Autowired
+    private CloudflareService cloudflareService;
+
+    @TestConfiguration
+    static class TestBeans {
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @DynamicPropertySource
+    static void cloudflareProperties(DynamicPropertyRegistry registry) throws IOException {
+        server = new FakeCloudflareServer()
+                .setLatency(Duration.ofMillis(Long.getLong("cloudflare.loadtest.latency-ms", 50)),
+                        Duration.ofMillis(Long.getLong("cloudflare.loadtest.max-latency-ms", 150)))
+                .setMaxPageSize(Integer.getInteger("cloudflare.loadtest.page-size", 100))
+                .setRateLimitEvery(Integer.getInteger("cloudflare.loadtest.rate-limit-every", 25), 1);
+        // Unrelated records make the zone sync paginate
+        int existingRecords = Integer.getInteger("cloudflare.loadtest.existing-records", 1000);
+        for (int i = 0; i < existingRecords; i++) {
+            server.addDnsRecord("existing-" + i + ".armikom.com", "A", "192.0.2." + (i % 250 + 1));
+        }
+
+        registry.add("cloudflare.api.base-url", server::getBaseUrl);
+        registry.add("cloudflare.api.token", () -> "load-test-token");
+        registry.add("cloudflare.zone.id", () -> "load-test-zone");
+        registry.add("cloudflare.account.id", () -> "load-test-account");
+        registry.add("cloudflare.tunnel.id", () -> TUNNEL_ID);
+        registry.add("cloudflare.rate-limit.requests-per-window",
+                () -> Integer.getInteger("cloudflare.loadtest.requests-per-window", 1200));
+    }
+
+    @AfterAll
+    static void stopServer() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    public void testConcurrentPreviews() throws Exception {
+        int previews = Integer.getInteger("cloudflare.loadtest.previews", 100);
+        ExecutorService pool = Executors.newFixedThreadPool(previews);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < previews; i++) {
+            String projectId = "load-" + i;
+            futures.add(pool.submit(() -> {
+                start.await();
+                long startNanos = System.nanoTime();
+                CloudflareResponse response = cloudflareService.createCompleteRoute(
+                        PreviewService.previewHostname(projectId), PreviewService.PREVIEW_PORT, "http", null,
+                        PreviewService.previewContainerName(projectId));
+                long elapsed = System.nanoTime() - startNanos;
+                // A tunnel failure is reported as success with a manual-configuration hint
+                if (!response.isSuccess() || response.getMessage().contains("failed")) {
+                    failures.add(projectId + ": " + response.getMessage());
+                }
+                return elapsed;
+            }));
+        }
+
+        long wallStart = System.nanoTime();
+        start.countDown();
+        List<Long> latencies = new ArrayList<>();
+        for (Future<Long> future : futures) {
+            latencies.add(future.get(10, TimeUnit.MINUTES));
+        }
+        long wallNanos = System.nanoTime() - wallStart;
+        pool.shutdown();
+
+        Collections.sort(latencies);
+        System.out.printf("Provisioned %d routes in %d ms (%.1f routes/s)%n", previews,
+                TimeUnit.NANOSECONDS.toMillis(wallNanos), previews / (wallNanos / 1e9));
+        System.out.printf("Latency ms: p50=%d p90=%d p99=%d max=%d%n",
+                percentile(latencies, 50), percentile(latencies, 90), percentile(latencies, 99), percentile(latencies, 100));
+        System.out.printf("Requests: GET dns_records=%d POST dns_records=%d GET configurations=%d PUT configurations=%d, 429=%d%n",
+                server.getRequestCount("GET dns_records"), server.getRequestCount("POST dns_records"),
+                server.getRequestCount("GET configurations"), server.getRequestCount("PUT configurations"),
+                server.getRateLimitedCount());
+
+        assertTrue(failures.isEmpty(), "Failed previews: " + failures);
+
+        // Every preview has exactly one DNS record pointing at the tunnel
+        Map<String, Integer> recordsByName = new HashMap<>();
+        for (Map<String, Object> record : server.getDnsRecords()) {
+            recordsByName.merge((String) record.get("name"), 1, Integer::sum);
+        }
+        for (int i = 0; i < previews; i++) {
+            String hostname = PreviewService.previewHostname("load-" + i);
+            assertEquals(1, recordsByName.getOrDefault(hostname, 0), "DNS records for " + hostname);
+        }
+        assertTrue(server.getDnsRecords().stream()
+                .filter(record -> ((String) record.get("name")).startsWith(PreviewService.PREVIEW_CONTAINER_PREFIX))
+                .allMatch(record -> (TUNNEL_ID + ".cfargotunnel.com").equals(record.get("content"))));
+
+        // Every preview has exactly one ingress rule, and the catch-all is still last
+        List<Map<String, Object>> ingress = server.getIngress();
+        Map<String, String> services = new HashMap<>();
+        for (Map<String, Object> rule : ingress) {
+            if (rule.get("hostname") != null) {
+                assertNull(services.put((String) rule.get("hostname"), (String) rule.get("service")),
+                        "Duplicate ingress rule for " + rule.get("hostname"));
+            }
+        }
+        assertEquals(previews, services.size());
+        for (int i = 0; i < previews; i++) {
+            String projectId = "load-" + i;
+            assertEquals("http://" + PreviewService.previewContainerName(projectId) + ":" + PreviewService.PREVIEW_PORT,
+                    services.get(PreviewService.previewHostname(projectId)));
+        }
+        Map<String, Object> last = ingress.get(ingress.size() - 1);
+        assertNull(last.get("hostname"));
+        assertEquals("http_status:404", last.get("service"));
+    }
+
+    private static long percentile(List<Long> sortedNanos, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.size()) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos.get(Math.max(0, Math.min(index, sortedNanos.size() - 1))));
+    }
+}
@@ -0,0 +1,79 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.model.UmlModel;
+import com.armikom.zen.service.generator.DtoOpenApiTarget;
+import com.armikom.zen.service.generator.EfMigrationsTarget;
+import com.armikom.zen.service.generator.XafEfCoreTarget;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CodeGenerationServiceTest {
+
+    private static final String MODEL = "@startuml\n" +
+            "class Employee {\n" +
+            "  + Name: string\n" +
+            "  + HireDate: Date\n" +
+            "}\n" +
+            "class Department {\n" +
+            "  + Name: string\n" +
+            "}\n" +
+            "class Project {\n" +
+            "  + Name: string\n" +
+            "}\n" +
+            "Employee \"Department\" --* \"Employees\" Department\n" +
+            "Employee \"Projects\" *--* \"Employees\" Project\n" +
+            "@enduml";
+
+    private final AtomicInteger parses = new AtomicInteger();
+
+    private final PlantUmlParser countingParser = new PlantUmlParser() {
+        @Override
+        public UmlModel parse(String plantUml) {
+            parses.incrementAndGet();
+            return super.parse(plantUml);
+        }
+    };
+
+    private final CodeGenerationService service = new CodeGenerationService(countingParser,
+            List.of(new XafEfCoreTarget(), new EfMigrationsTarget(), new DtoOpenApiTarget()), null);
+
+    @Test
+    public void testAllTargetsShareOneParse() {
+        Map<String, Map<String, String>> results = service.generate(MODEL,
+                List.of(XafEfCoreTarget.NAME, EfMigrationsTarget.NAME, DtoOpenApiTarget.NAME));
+
+        assertEquals(1, parses.get());
+        assertEquals(List.of(XafEfCoreTarget.NAME, EfMigrationsTarget.NAME, DtoOpenApiTarget.NAME),
+                List.copyOf(results.keySet()));
+        assertEquals(4, results.get(XafEfCoreTarget.NAME).size());
+        assertTrue(results.get(DtoOpenApiTarget.NAME).containsKey("Dtos/EmployeeDto.cs"));
+        assertTrue(results.get(DtoOpenApiTarget.NAME).containsKey(DtoOpenApiTarget.OPENAPI_FILE));
+    }
+
+    @Test
+    public void testMigrationsFollowEfCoreConventions() {
+        String script = service.generate(MODEL, EfMigrationsTarget.NAME).get(EfMigrationsTarget.SCRIPT_FILE);
+
+        assertTrue(script.contains("CREATE TABLE [dbo].[Employees]"));
+        assertTrue(script.contains("[DepartmentId] int NULL"));
+        assertTrue(script.contains("[HireDate] datetime2 NULL"));
+        assertTrue(script.contains("FOREIGN KEY ([DepartmentId]) REFERENCES [dbo].[Departments] ([Id])"));
+        // Many-to-many join table named after both classes, keyed by the navigation names
+        assertTrue(script.contains("CREATE TABLE [dbo].[EmployeeProject]"));
+        assertTrue(script.contains("CONSTRAINT [PK_EmployeeProject] PRIMARY KEY ([EmployeesId], [ProjectsId])"));
+    }
+
+    @Test
+    public void testXafScaffoldFiles() {
+        Map<String, String> scaffold = service.getScaffoldFiles(XafEfCoreTarget.NAME);
+
+        assertTrue(scaffold.containsKey("Zen.csproj"));
+        assertTrue(scaffold.get("Model/BaseEntity.cs").contains("public abstract class BaseEntity : IXafEntityObject"));
+    }
+}
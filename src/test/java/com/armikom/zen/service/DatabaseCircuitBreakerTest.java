@@ -0,0 +1,88 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.enums.CircuitBreakerState;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DatabaseCircuitBreakerTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+    // Opens after 3 failures in a row and rejects requests for 30 seconds
+    private final DatabaseCircuitBreaker breaker = new DatabaseCircuitBreaker(3, Duration.ofSeconds(30), clock::get);
+
+    @Test
+    public void testOpensAfterConsecutiveFailures() {
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertTrue(breaker.tryAcquire());
+
+        breaker.recordFailure();
+
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    public void testSuccessResetsFailureCount() {
+        breaker.recordFailure();
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        breaker.recordFailure();
+
+        assertEquals(CircuitBreakerState.CLOSED, breaker.getState());
+        assertEquals(2, breaker.getConsecutiveFailures());
+    }
+
+    @Test
+    public void testSingleTrialAfterOpenPeriod() {
+        openBreaker();
+        clock.addAndGet(30 * SECOND);
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreakerState.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire(), "Only one trial request at a time");
+
+        breaker.recordSuccess();
+        assertEquals(CircuitBreakerState.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    public void testFailedTrialOpensAgain() {
+        openBreaker();
+        clock.addAndGet(30 * SECOND);
+        assertTrue(breaker.tryAcquire());
+
+        breaker.recordFailure();
+
+        assertEquals(CircuitBreakerState.OPEN, breaker.getState());
+        clock.addAndGet(29 * SECOND);
+        assertFalse(breaker.tryAcquire());
+        clock.addAndGet(SECOND);
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    public void testSuccessfulProbeClosesOpenBreaker() {
+        openBreaker();
+
+        breaker.recordSuccess();
+
+        assertTrue(breaker.tryAcquire());
+    }
+
+    private void openBreaker() {
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure();
+        }
+    }
+}
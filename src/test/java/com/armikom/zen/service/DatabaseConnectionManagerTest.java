@@ -0,0 +1,18 @@
+package com.armikom.zen.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DatabaseConnectionManagerTest {
+
+    @Test
+    public void testRemoveDatabaseName() {
+        assertEquals("jdbc:sqlserver://localhost:1433;encrypt=true",
+                DatabaseConnectionManager.removeDatabaseName("jdbc:sqlserver://localhost:1433;databaseName=zen;encrypt=true"));
+        assertEquals("jdbc:sqlserver://localhost:1433;encrypt=true",
+                DatabaseConnectionManager.removeDatabaseName("jdbc:sqlserver://localhost:1433;encrypt=true;DATABASENAME=zen"));
+        assertEquals("jdbc:sqlserver://localhost:1433;encrypt=true",
+                DatabaseConnectionManager.removeDatabaseName("jdbc:sqlserver://localhost:1433;encrypt=true"));
+    }
+}
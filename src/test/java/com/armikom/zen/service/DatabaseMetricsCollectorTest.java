@@ -0,0 +1,42 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.dto.DatabaseUsage;
+import com.armikom.zen.enums.DatabaseEnvironment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DatabaseMetricsCollectorTest {
+
+    @Test
+    public void testGaugesFollowSampledDatabases() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FakeDatabaseService databases = new FakeDatabaseService();
+        DatabaseMetricsCollector collector = new DatabaseMetricsCollector(databases, registry);
+        databases.usage = List.of(
+                new DatabaseUsage("city-guide", 8192, 4096, 0, "2024-01-15T10:00:00Z", null),
+                new DatabaseUsage("tour-buddy", 65536, 8192, 3, "2024-01-15T10:30:00Z", "2024-01-15T11:00:00Z"));
+
+        collector.collect(DatabaseEnvironment.PREVIEW);
+
+        assertEquals(65536.0, registry.get("database.size").tag("environment", "preview")
+                .tag("database", "tour-buddy").tag("type", "data").gauge().value());
+        assertEquals(3.0, registry.get("database.connections").tag("database", "tour-buddy").gauge().value());
+        assertTrue(Double.isNaN(registry.get("database.idle").tag("database", "city-guide").gauge().value()));
+        assertTrue(registry.get("database.idle").tag("database", "tour-buddy").gauge().value() > 0);
+        assertEquals(2.0, registry.get("database.count").tag("environment", "preview").gauge().value());
+        assertEquals(86016.0, registry.get("database.size.total").tag("environment", "preview").gauge().value());
+        assertEquals("tour-buddy", collector.getUsage(DatabaseEnvironment.PREVIEW).get(0).getDatabaseName());
+
+        databases.usage = List.of(databases.usage.get(1));
+        collector.collect(DatabaseEnvironment.PREVIEW);
+
+        assertNull(registry.find("database.size").tag("database", "city-guide").gauge());
+        assertEquals(1.0, registry.get("database.count").tag("environment", "preview").gauge().value());
+    }
+}
@@ -0,0 +1,119 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.dto.DatabaseOperationStatus;
+import com.armikom.zen.dto.DropTablesRequest;
+import com.armikom.zen.dto.TrimTablesRequest;
+import com.armikom.zen.enums.DatabaseEnvironment;
+import com.armikom.zen.enums.DatabaseOperationState;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DatabaseOperationServiceTest {
+
+    private static final TrimTablesRequest TRIM_TOUR_BUDDY = new TrimTablesRequest(DatabaseEnvironment.PREVIEW, "tour-buddy");
+
+    @Test
+    public void testTrimRunsInBackground() throws InterruptedException {
+        FakeDatabaseService databases = new FakeDatabaseService();
+        DatabaseOperationService service = newService(databases, 1, 1);
+
+        DatabaseOperationStatus started = service.startTrimTables(TRIM_TOUR_BUDDY, null);
+        DatabaseOperationStatus finished = awaitFinished(service, started.getOperationId());
+
+        assertEquals("trim-tables", finished.getType());
+        assertEquals(DatabaseOperationState.SUCCEEDED, finished.getState());
+        assertEquals(100, finished.getPercentComplete());
+        assertEquals(List.of("tour-buddy"), databases.trimmed);
+    }
+
+    @Test
+    public void testFailureIsRecordedOnOperation() throws InterruptedException {
+        FakeDatabaseService databases = new FakeDatabaseService();
+        databases.trimSucceeds = false;
+        DatabaseOperationService service = newService(databases, 1, 1);
+
+        DatabaseOperationStatus started = service.startTrimTables(TRIM_TOUR_BUDDY, null);
+        DatabaseOperationStatus finished = awaitFinished(service, started.getOperationId());
+
+        assertEquals(DatabaseOperationState.FAILED, finished.getState());
+        assertEquals("Failed to truncate tables", finished.getMessage());
+    }
+
+    @Test
+    public void testRetriedSubmissionReturnsSameOperation() throws InterruptedException {
+        FakeDatabaseService databases = new FakeDatabaseService();
+        DatabaseOperationService service = newService(databases, 1, 1);
+
+        DatabaseOperationStatus first = service.startTrimTables(TRIM_TOUR_BUDDY, "trim-1");
+        awaitFinished(service, first.getOperationId());
+        DatabaseOperationStatus retried = service.startTrimTables(TRIM_TOUR_BUDDY, "trim-1");
+        DatabaseOperationStatus other = service.startTrimTables(TRIM_TOUR_BUDDY, "trim-2");
+        awaitFinished(service, other.getOperationId());
+
+        assertEquals(first.getOperationId(), retried.getOperationId());
+        assertNotEquals(first.getOperationId(), other.getOperationId());
+        assertEquals(List.of("tour-buddy", "tour-buddy"), databases.trimmed);
+    }
+
+    @Test
+    public void testIdempotencyKeyCannotBeReusedForAnotherOperation() {
+        DatabaseOperationService service = newService(new FakeDatabaseService(), 1, 1);
+        service.startTrimTables(TRIM_TOUR_BUDDY, "cleanup");
+
+        assertThrows(IllegalArgumentException.class, () -> service.startDropTables(
+                new DropTablesRequest(DatabaseEnvironment.PREVIEW, "tour-buddy"), "cleanup"));
+    }
+
+    @Test
+    public void testSubmissionsBeyondQueueAreRejected() throws InterruptedException {
+        FakeDatabaseService databases = new FakeDatabaseService();
+        databases.trimGate = new CountDownLatch(1);
+        DatabaseOperationService service = newService(databases, 1, 1);
+
+        DatabaseOperationStatus running = service.startTrimTables(TRIM_TOUR_BUDDY, null);
+        DatabaseOperationStatus queued = service.startTrimTables(TRIM_TOUR_BUDDY, null);
+        assertThrows(RejectedExecutionException.class, () -> service.startTrimTables(TRIM_TOUR_BUDDY, "rejected"));
+
+        databases.trimGate.countDown();
+        awaitFinished(service, running.getOperationId());
+        awaitFinished(service, queued.getOperationId());
+        // A rejected submission does not keep its idempotency key
+        DatabaseOperationStatus retried = service.startTrimTables(TRIM_TOUR_BUDDY, "rejected");
+        assertEquals(DatabaseOperationState.SUCCEEDED, awaitFinished(service, retried.getOperationId()).getState());
+    }
+
+    @Test
+    public void testUnknownOperationIsNotFound() {
+        DatabaseOperationService service = newService(new FakeDatabaseService(), 1, 1);
+
+        assertNull(service.getOperation("missing"));
+        assertNull(service.subscribe("missing", status -> { }));
+    }
+
+    private static DatabaseOperationService newService(FakeDatabaseService databases, int concurrency, int queueCapacity) {
+        return new DatabaseOperationService(databases, new BackupObjectStore(false, null), concurrency, queueCapacity,
+                Duration.ofHours(1));
+    }
+
+    private static DatabaseOperationStatus awaitFinished(DatabaseOperationService service, String operationId)
+            throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            DatabaseOperationStatus status = service.getOperation(operationId);
+            if (status.getState().isFinished()) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Operation " + operationId + " did not finish");
+    }
+}
@@ -0,0 +1,104 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.service.TableDependencyGraph.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DatabaseServiceImplTest {
+
+    private static final Table CUSTOMER = new Table("dbo", "Customer");
+    private static final Table ORDER = new Table("dbo", "Order");
+    private static final Table AUDIT = new Table("log", "Audit");
+
+    @Test
+    public void testClearScriptTruncatesOnlyUnreferencedTables() {
+        TableDependencyGraph graph = new TableDependencyGraph();
+        graph.addForeignKey(ORDER, CUSTOMER);
+        graph.addTable(AUDIT);
+
+        String script = DatabaseServiceImpl.buildClearScript(List.of(ORDER, CUSTOMER, AUDIT), graph, Set.of(AUDIT), false);
+
+        assertEquals("SET NOCOUNT ON;\nSET XACT_ABORT ON;\n" +
+                "BEGIN TRY\n" +
+                "TRUNCATE TABLE [dbo].[Order];\n" +
+                "DELETE FROM [dbo].[Customer];\n" +
+                "DELETE FROM [log].[Audit];\n" +
+                "END TRY\n" +
+                "BEGIN CATCH\n" +
+                "SET NOCOUNT OFF;\nSET XACT_ABORT OFF;\n" +
+                "THROW;\n" +
+                "END CATCH\n" +
+                "SET NOCOUNT OFF;\nSET XACT_ABORT OFF;\n", script);
+    }
+
+    @Test
+    public void testClearScriptReseedsDeletedTables() {
+        TableDependencyGraph graph = new TableDependencyGraph();
+        Table quoted = new Table("dbo", "O'Brien]");
+        graph.addForeignKey(ORDER, quoted);
+
+        String script = DatabaseServiceImpl.buildClearScript(List.of(quoted), graph, Set.of(), true);
+
+        assertTrue(script.startsWith("SET NOCOUNT ON;\nSET XACT_ABORT ON;\nDECLARE @reseed nvarchar(max);\nBEGIN TRY\nDELETE FROM [dbo].[O'Brien]]];\n"), script);
+        assertTrue(script.contains("SET @reseed = (SELECT N'DBCC CHECKIDENT (N''[dbo].[O''''Brien]]]'', RESEED, ' + "), script);
+        assertTrue(script.contains("WHERE object_id = OBJECT_ID(N'[dbo].[O''Brien]]]') AND last_value IS NOT NULL);\n"), script);
+        assertTrue(script.contains("IF @reseed IS NOT NULL EXEC (@reseed);\nEND TRY\n"), script);
+    }
+
+    @Test
+    public void testDropScriptRunsInOneTransaction() {
+        List<String[]> foreignKeys = List.<String[]>of(new String[]{"FK_Order_Customer", "dbo", "Order"});
+
+        String script = DatabaseServiceImpl.buildDropScript(foreignKeys, List.of(AUDIT), List.of(ORDER, CUSTOMER, AUDIT));
+
+        assertTrue(script.contains("BEGIN TRANSACTION;\n" +
+                "SET @object = N'foreign key [FK_Order_Customer] on [dbo].[Order]';\n" +
+                "ALTER TABLE [dbo].[Order] DROP CONSTRAINT [FK_Order_Customer];\n" +
+                "SET @object = N'system versioning of [log].[Audit]';\n" +
+                "ALTER TABLE [log].[Audit] SET (SYSTEM_VERSIONING = OFF);\n" +
+                "SET @object = N'table [dbo].[Order]';\n" +
+                "DROP TABLE [dbo].[Order];\n" +
+                "SET @object = N'table [dbo].[Customer]';\n" +
+                "DROP TABLE [dbo].[Customer];\n" +
+                "SET @object = N'table [log].[Audit]';\n" +
+                "DROP TABLE [log].[Audit];\n" +
+                "COMMIT TRANSACTION;\n"), script);
+        assertTrue(script.contains("IF @@TRANCOUNT > 0 ROLLBACK TRANSACTION;"), script);
+        assertTrue(script.contains("CONCAT(N'Failed to drop ', @object, N': ', ERROR_MESSAGE())"), script);
+        assertTrue(script.contains("SET NOCOUNT OFF;\nSET XACT_ABORT OFF;\nTHROW 51000, @message, 1;\n"), script);
+        assertTrue(script.endsWith("END CATCH\nSET NOCOUNT OFF;\nSET XACT_ABORT OFF;\n"), script);
+    }
+
+    @Test
+    public void testBackupSqlOptions() {
+        assertEquals("BACKUP DATABASE [tour-buddy] TO DISK = N'/var/opt/mssql/backup/tour-buddy.bak' WITH INIT, STATS = 5",
+                DatabaseServiceImpl.buildBackupSql("tour-buddy", "/var/opt/mssql/backup/tour-buddy.bak", false, false));
+        assertEquals("BACKUP DATABASE [tour-buddy] TO DISK = N'/backup/o''neil.bak' WITH INIT, STATS = 5, COMPRESSION, CHECKSUM",
+                DatabaseServiceImpl.buildBackupSql("tour-buddy", "/backup/o'neil.bak", true, true));
+    }
+
+    @Test
+    public void testRestoreSqlReplacesDatabase() {
+        assertEquals("IF DB_ID(N'tour-buddy') IS NOT NULL ALTER DATABASE [tour-buddy] SET SINGLE_USER WITH ROLLBACK IMMEDIATE; " +
+                        "RESTORE DATABASE [tour-buddy] FROM DISK = N'/backup/tour-buddy.bak' WITH REPLACE, STATS = 5, CHECKSUM",
+                DatabaseServiceImpl.buildRestoreSql("tour-buddy", "/backup/tour-buddy.bak", true));
+    }
+
+    @Test
+    public void testCloneSqlMovesFilesToNamesOfNewDatabase() {
+        List<DatabaseServiceImpl.BackupFile> files = List.of(
+                new DatabaseServiceImpl.BackupFile("zen_template_ab", false),
+                new DatabaseServiceImpl.BackupFile("zen_template_ab_log", true));
+
+        assertEquals("RESTORE DATABASE [tour-buddy] FROM DISK = N'/backup/templates/zen_template_ab.bak' WITH " +
+                        "MOVE N'zen_template_ab' TO N'/var/opt/mssql/data/tour-buddy.mdf', " +
+                        "MOVE N'zen_template_ab_log' TO N'/var/opt/mssql/log/tour-buddy_log.ldf', STATS = 5",
+                DatabaseServiceImpl.buildCloneSql("tour-buddy", "/backup/templates/zen_template_ab.bak", files,
+                        "/var/opt/mssql/data/", "/var/opt/mssql/log/"));
+    }
+}
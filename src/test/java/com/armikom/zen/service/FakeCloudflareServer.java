@@ -0,0 +1,361 @@
+package com.armikom.zen.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for the parts of the Cloudflare API used by {@link CloudflareService}: DNS records
+ * (list with pagination and {@code name=} filter, create, update, delete, batch delete) and the
+ * {@code cfd_tunnel/<id>/configurations} endpoint with its version counter.
+ * Point {@code cloudflare.api.base-url} at {@link #getBaseUrl()}. Latency, page size and 429 responses are configurable.
+ */
+public class FakeCloudflareServer implements AutoCloseable {
+
+    private static final String BASE_PATH = "/client/v4";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final Object lock = new Object();
+    private final Map<String, Map<String, Object>> dnsRecords = new LinkedHashMap<>();
+    private List<Map<String, Object>> ingress = new ArrayList<>();
+    private long configurationVersion = 1;
+
+    private volatile long minLatencyNanos;
+    private volatile long maxLatencyNanos;
+    private volatile int maxPageSize = 5000;
+    private volatile int rateLimitEvery;
+    private volatile int retryAfterSeconds = 1;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicInteger rateLimited = new AtomicInteger();
+    private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+
+    public FakeCloudflareServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fake-cloudflare");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext(BASE_PATH + "/", this::handle);
+        server.start();
+
+        // Cloudflare keeps a catch-all as the last ingress rule
+        Map<String, Object> catchAll = new LinkedHashMap<>();
+        catchAll.put("service", "http_status:404");
+        ingress.add(catchAll);
+    }
+
+    /**
+     * Value for {@code cloudflare.api.base-url}
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + BASE_PATH;
+    }
+
+    /**
+     * Delays every response by a random time in [min, max]
+     */
+    public FakeCloudflareServer setLatency(Duration min, Duration max) {
+        this.minLatencyNanos = min.toNanos();
+        this.maxLatencyNanos = Math.max(min.toNanos(), max.toNanos());
+        return this;
+    }
+
+    /**
+     * Caps {@code per_page} of DNS listings
+     */
+    public FakeCloudflareServer setMaxPageSize(int maxPageSize) {
+        this.maxPageSize = maxPageSize;
+        return this;
+    }
+
+    /**
+     * Answers every n-th request with 429 and {@code Retry-After}; 0 disables it
+     */
+    public FakeCloudflareServer setRateLimitEvery(int n, int retryAfterSeconds) {
+        this.rateLimitEvery = n;
+        this.retryAfterSeconds = retryAfterSeconds;
+        return this;
+    }
+
+    /**
+     * Adds a DNS record without going through the API
+     */
+    public void addDnsRecord(String name, String type, String content) {
+        synchronized (lock) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("type", type);
+            record.put("name", name);
+            record.put("content", content);
+            record.put("proxied", true);
+            record.put("ttl", 1);
+            String id = UUID.randomUUID().toString().replace("-", "");
+            record.put("id", id);
+            dnsRecords.put(id, record);
+        }
+    }
+
+    public List<Map<String, Object>> getDnsRecords() {
+        synchronized (lock) {
+            return new ArrayList<>(dnsRecords.values());
+        }
+    }
+
+    public List<Map<String, Object>> getIngress() {
+        synchronized (lock) {
+            return new ArrayList<>(ingress);
+        }
+    }
+
+    public long getConfigurationVersion() {
+        synchronized (lock) {
+            return configurationVersion;
+        }
+    }
+
+    /**
+     * Requests received for an operation such as {@code "PUT configurations"} or {@code "GET dns_records"},
+     * including rate limited ones
+     */
+    public int getRequestCount(String operation) {
+        AtomicInteger count = requestCounts.get(operation);
+        return count != null ? count.get() : 0;
+    }
+
+    public int getRateLimitedCount() {
+        return rateLimited.get();
+    }
+
+    private void handle(HttpExchange exchange) {
+        try {
+            sleepLatency();
+
+            String method = exchange.getRequestMethod();
+            String[] segments = exchange.getRequestURI().getPath().substring(BASE_PATH.length() + 1).split("/");
+            String resource = segments.length >= 4 && "batch".equals(segments[3]) ? "dns_records/batch"
+                    : segments.length >= 3 ? segments[2] : "";
+            if ("cfd_tunnel".equals(resource) && segments.length >= 5) {
+                resource = segments[4];
+            }
+            requestCounts.computeIfAbsent(method + " " + resource, key -> new AtomicInteger()).incrementAndGet();
+
+            int limitEvery = rateLimitEvery;
+            if (limitEvery > 0 && requests.incrementAndGet() % limitEvery == 0) {
+                rateLimited.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(retryAfterSeconds));
+                send(exchange, 429, error(971, "Please wait and consider throttling your request speed"));
+                return;
+            }
+
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            byte[] requestBody = exchange.getRequestBody().readAllBytes();
+
+            if (segments.length >= 3 && "zones".equals(segments[0]) && "dns_records".equals(segments[2])) {
+                handleDnsRecords(exchange, method, segments, query, requestBody);
+            } else if (segments.length == 5 && "accounts".equals(segments[0]) && "cfd_tunnel".equals(segments[2])
+                    && "configurations".equals(segments[4])) {
+                handleConfigurations(exchange, method, requestBody);
+            } else {
+                send(exchange, 404, error(7003, "Could not route to " + exchange.getRequestURI().getPath()));
+            }
+        } catch (Exception e) {
+            try {
+                send(exchange, 500, error(10000, "Fake server error: " + e.getMessage()));
+            } catch (IOException ignored) {
+                // Response already started
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handleDnsRecords(HttpExchange exchange, String method, String[] segments, Map<String, String> query,
+                                  byte[] requestBody) throws IOException {
+        synchronized (lock) {
+            if (segments.length == 3 && "GET".equals(method)) {
+                List<Map<String, Object>> matching = new ArrayList<>();
+                for (Map<String, Object> record : dnsRecords.values()) {
+                    if (!query.containsKey("name") || query.get("name").equalsIgnoreCase((String) record.get("name"))) {
+                        matching.add(record);
+                    }
+                }
+                int perPage = Math.min(Integer.parseInt(query.getOrDefault("per_page", "100")), maxPageSize);
+                int page = Integer.parseInt(query.getOrDefault("page", "1"));
+                int from = Math.min((page - 1) * perPage, matching.size());
+                List<Map<String, Object>> pageRecords = matching.subList(from, Math.min(from + perPage, matching.size()));
+
+                Map<String, Object> body = success(new ArrayList<>(pageRecords));
+                Map<String, Object> resultInfo = new LinkedHashMap<>();
+                resultInfo.put("page", page);
+                resultInfo.put("per_page", perPage);
+                resultInfo.put("count", pageRecords.size());
+                resultInfo.put("total_count", matching.size());
+                resultInfo.put("total_pages", Math.max(1, (matching.size() + perPage - 1) / perPage));
+                body.put("result_info", resultInfo);
+                send(exchange, 200, body);
+            } else if (segments.length == 3 && "POST".equals(method)) {
+                Map<String, Object> record = objectMapper.readValue(requestBody, Map.class);
+                for (Map<String, Object> existing : dnsRecords.values()) {
+                    if (((String) existing.get("name")).equalsIgnoreCase((String) record.get("name"))) {
+                        send(exchange, 400, error(81053, "An A, AAAA, or CNAME record with that host already exists."));
+                        return;
+                    }
+                }
+                String id = UUID.randomUUID().toString().replace("-", "");
+                record.put("id", id);
+                dnsRecords.put(id, record);
+                send(exchange, 200, success(record));
+            } else if (segments.length == 4 && "batch".equals(segments[3]) && "POST".equals(method)) {
+                Map<String, Object> batch = objectMapper.readValue(requestBody, Map.class);
+                List<Map<String, Object>> deletes = (List<Map<String, Object>>) batch.getOrDefault("deletes", List.of());
+                // Batches are atomic
+                for (Map<String, Object> delete : deletes) {
+                    if (!dnsRecords.containsKey((String) delete.get("id"))) {
+                        send(exchange, 404, error(81044, "Record does not exist."));
+                        return;
+                    }
+                }
+                List<Map<String, Object>> deleted = new ArrayList<>();
+                for (Map<String, Object> delete : deletes) {
+                    deleted.add(dnsRecords.remove((String) delete.get("id")));
+                }
+                send(exchange, 200, success(Map.of("deletes", deleted)));
+            } else if (segments.length == 4) {
+                String id = segments[3];
+                if (!dnsRecords.containsKey(id)) {
+                    send(exchange, 404, error(81044, "Record does not exist."));
+                } else if ("PUT".equals(method) || "PATCH".equals(method)) {
+                    Map<String, Object> record = "PUT".equals(method) ? new LinkedHashMap<>() : dnsRecords.get(id);
+                    record.putAll(objectMapper.readValue(requestBody, Map.class));
+                    record.put("id", id);
+                    dnsRecords.put(id, record);
+                    send(exchange, 200, success(record));
+                } else if ("DELETE".equals(method)) {
+                    dnsRecords.remove(id);
+                    send(exchange, 200, success(Map.of("id", id)));
+                } else {
+                    send(exchange, 405, error(10000, "Method not allowed"));
+                }
+            } else {
+                send(exchange, 405, error(10000, "Method not allowed"));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handleConfigurations(HttpExchange exchange, String method, byte[] requestBody) throws IOException {
+        synchronized (lock) {
+            if ("PUT".equals(method)) {
+                Map<String, Object> body = objectMapper.readValue(requestBody, Map.class);
+                Map<String, Object> config = (Map<String, Object>) body.get("config");
+                if (config == null || !(config.get("ingress") instanceof List)) {
+                    send(exchange, 400, error(1055, "Ingress rules are required"));
+                    return;
+                }
+                List<Map<String, Object>> rules = (List<Map<String, Object>>) config.get("ingress");
+                if (rules.isEmpty() || rules.get(rules.size() - 1).get("hostname") != null) {
+                    send(exchange, 400, error(1056, "The last ingress rule must match all URLs"));
+                    return;
+                }
+                ingress = new ArrayList<>(rules);
+                configurationVersion++;
+            } else if (!"GET".equals(method)) {
+                send(exchange, 405, error(10000, "Method not allowed"));
+                return;
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("config", Map.of("ingress", ingress));
+            result.put("version", configurationVersion);
+            result.put("source", "cloudflare");
+            send(exchange, 200, success(result));
+        }
+    }
+
+    private void sleepLatency() {
+        long min = minLatencyNanos;
+        long max = maxLatencyNanos;
+        long nanos = max > min ? ThreadLocalRandom.current().nextLong(min, max + 1) : min;
+        if (nanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(nanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Map<String, Object> success(Object result) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", true);
+        body.put("errors", List.of());
+        body.put("messages", List.of());
+        body.put("result", result);
+        return body;
+    }
+
+    private static Map<String, Object> error(int code, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("success", false);
+        body.put("errors", List.of(Map.of("code", code, "message", message)));
+        body.put("messages", List.of());
+        body.put("result", null);
+        return body;
+    }
+
+    private void send(HttpExchange exchange, int status, Map<String, Object> body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            String key = separator >= 0 ? pair.substring(0, separator) : pair;
+            String value = separator >= 0 ? pair.substring(separator + 1) : "";
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,182 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.dto.DatabaseUsage;
+import com.armikom.zen.enums.DatabaseEnvironment;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.IntConsumer;
+
+/**
+ * In-memory database catalog; createDatabase only creates the database when it does not exist.
+ * Trimming tables records the database and waits for {@link #trimGate} when it is set.
+ * Backups only record their file, which cloneDatabase then requires.
+ */
+class FakeDatabaseService implements DatabaseService {
+    final Set<String> names = new ConcurrentSkipListSet<>();
+    final List<String> ensured = new ArrayList<>();
+    final List<String> trimmed = new CopyOnWriteArrayList<>();
+    final Set<String> backups = new ConcurrentSkipListSet<>();
+    final List<String> migrated = new CopyOnWriteArrayList<>();
+    volatile List<DatabaseUsage> usage = List.of();
+    int created;
+    boolean staleListing;
+    volatile boolean trimSucceeds = true;
+    volatile CountDownLatch trimGate;
+
+    Set<String> spares() {
+        Set<String> spares = new TreeSet<>();
+        for (String name : names) {
+            if (name.startsWith(PreviewDatabasePool.SPARE_DATABASE_PREFIX)) {
+                spares.add(name);
+            }
+        }
+        return spares;
+    }
+
+    @Override
+    public boolean createDatabase(DatabaseEnvironment environment, String databaseName, String username, String password) {
+        if (names.add(databaseName)) {
+            created++;
+        }
+        ensured.add(databaseName);
+        return true;
+    }
+
+    @Override
+    public boolean databaseExists(DatabaseEnvironment environment, String databaseName) {
+        return names.contains(databaseName);
+    }
+
+    @Override
+    public List<String> listDatabases(DatabaseEnvironment environment, String namePrefix) {
+        List<String> spares = new ArrayList<>(spares());
+        if (staleListing) {
+            spares.add(0, PreviewDatabasePool.SPARE_DATABASE_PREFIX + "0000");
+        }
+        return spares;
+    }
+
+    @Override
+    public boolean createEmptyDatabase(DatabaseEnvironment environment, String databaseName) {
+        names.add(databaseName);
+        return true;
+    }
+
+    @Override
+    public boolean renameDatabase(DatabaseEnvironment environment, String databaseName, String newDatabaseName)
+            throws SQLException {
+        if (names.contains(newDatabaseName) || !names.remove(databaseName)) {
+            throw new SQLException("Cannot rename " + databaseName);
+        }
+        names.add(newDatabaseName);
+        return true;
+    }
+
+    @Override
+    public boolean trimAllTables(DatabaseEnvironment environment, String databaseName) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean trimAllTables(DatabaseEnvironment environment, String databaseName, boolean reseedIdentities)
+            throws SQLException {
+        CountDownLatch gate = trimGate;
+        if (gate != null) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted");
+            }
+        }
+        trimmed.add(databaseName);
+        return trimSucceeds;
+    }
+
+    @Override
+    public boolean dropAllTables(DatabaseEnvironment environment, String databaseName) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean createBackup(DatabaseEnvironment environment, String databaseName, String backupFilePath) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean createBackup(DatabaseEnvironment environment, String databaseName, String backupFilePath,
+                                boolean compression, boolean checksum, IntConsumer progressListener) {
+        backups.add(backupFilePath);
+        return true;
+    }
+
+    @Override
+    public boolean restoreDatabase(DatabaseEnvironment environment, String databaseName, String backupFilePath) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean restoreDatabase(DatabaseEnvironment environment, String databaseName, String backupFilePath,
+                                   boolean checksum, IntConsumer progressListener) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean changeUserPassword(DatabaseEnvironment environment, String databaseName, String username, String newPassword) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean testConnection(DatabaseEnvironment environment) {
+        return true;
+    }
+
+    @Override
+    public String getAppliedModel(DatabaseEnvironment environment, String databaseName) {
+        return null;
+    }
+
+    @Override
+    public boolean applySchemaChanges(DatabaseEnvironment environment, String databaseName, List<String> statements,
+                                      String modelHash, String plantUml) {
+        migrated.add(databaseName);
+        return true;
+    }
+
+    @Override
+    public Map<String, Long> seedSampleData(DatabaseEnvironment environment, String databaseName, String plantUml,
+                                            int rowsPerTable) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean cloneDatabase(DatabaseEnvironment environment, String backupFilePath, String databaseName)
+            throws SQLException {
+        if (!backups.contains(backupFilePath)) {
+            throw new SQLException("Cannot open backup device '" + backupFilePath + "'", "42000", 3201);
+        }
+        if (!names.add(databaseName)) {
+            throw new SQLException("Database '" + databaseName + "' already exists", "42000", 1801);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean dropDatabase(DatabaseEnvironment environment, String databaseName) {
+        names.remove(databaseName);
+        return true;
+    }
+
+    @Override
+    public List<DatabaseUsage> getDatabaseUsage(DatabaseEnvironment environment) {
+        return usage;
+    }
+}
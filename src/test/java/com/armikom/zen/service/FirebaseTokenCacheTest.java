@@ -0,0 +1,105 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.service.FirebaseTokenCache.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class FirebaseTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-15T10:30:00Z");
+
+    private Instant now = NOW;
+    private final FirebaseTokenCache cache = new FirebaseTokenCache(100, new SimpleMeterRegistry(), new Clock() {
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    });
+
+    @Test
+    public void testTokenVerifiedOnlyUntilItExpires() throws Exception {
+        AtomicInteger verifications = new AtomicInteger();
+        FirebaseTokenCache.TokenVerifier verifier = token -> {
+            verifications.incrementAndGet();
+            return new VerifiedToken("user-1", NOW, NOW.plus(Duration.ofHours(1)));
+        };
+
+        assertEquals("user-1", cache.getOrVerify("token-a", verifier).uid());
+        now = NOW.plus(Duration.ofMinutes(59));
+        assertEquals("user-1", cache.getOrVerify("token-a", verifier).uid());
+        assertEquals(1, verifications.get());
+
+        now = NOW.plus(Duration.ofHours(1));
+        cache.getOrVerify("token-a", verifier);
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    public void testExpiredTokenIsNotCached() throws Exception {
+        AtomicInteger verifications = new AtomicInteger();
+        FirebaseTokenCache.TokenVerifier verifier = token -> {
+            verifications.incrementAndGet();
+            return new VerifiedToken("user-1", NOW.minus(Duration.ofHours(1)), NOW);
+        };
+
+        cache.getOrVerify("token-a", verifier);
+        cache.getOrVerify("token-a", verifier);
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    public void testRevokeForgetsOnlyTokensOfUser() throws Exception {
+        AtomicInteger verifications = new AtomicInteger();
+        FirebaseTokenCache.TokenVerifier verifier = token -> {
+            verifications.incrementAndGet();
+            return new VerifiedToken(token.startsWith("a") ? "user-a" : "user-b", NOW, NOW.plus(Duration.ofHours(1)));
+        };
+        cache.getOrVerify("a-1", verifier);
+        cache.getOrVerify("a-2", verifier);
+        cache.getOrVerify("b-1", verifier);
+
+        now = NOW.plus(Duration.ofMinutes(1));
+        assertEquals(2, cache.revoke("user-a"));
+        assertNull(cache.getOrVerify("a-1", verifier));
+        assertEquals("user-b", cache.getOrVerify("b-1", verifier).uid());
+        assertEquals(4, verifications.get());
+
+        cache.invalidate("b-1");
+        cache.getOrVerify("b-1", verifier);
+        assertEquals(5, verifications.get());
+    }
+
+    @Test
+    public void testRevokedTokenStaysRejectedUntilUserSignsInAgain() throws Exception {
+        FirebaseTokenCache.TokenVerifier oldToken = token -> new VerifiedToken("user-1", NOW, NOW.plus(Duration.ofHours(1)));
+        cache.getOrVerify("old", oldToken);
+
+        now = NOW.plus(Duration.ofMinutes(10));
+        cache.revoke("user-1");
+        now = NOW.plus(Duration.ofMinutes(20));
+        assertNull(cache.getOrVerify("old", oldToken));
+        assertNull(cache.getOrVerify("old", oldToken), "A rejected token must not be cached");
+
+        FirebaseTokenCache.TokenVerifier newToken = token -> new VerifiedToken("user-1", now, now.plus(Duration.ofHours(1)));
+        assertEquals("user-1", cache.getOrVerify("new", newToken).uid());
+    }
+}
@@ -0,0 +1,58 @@
+package com.armikom.zen.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class GenerationCacheTest {
+
+    private final GenerationCache cache = new GenerationCache(1024 * 1024, false, "", new SimpleMeterRegistry());
+
+    @Test
+    public void testNormalizationIgnoresWhitespaceAndComments() {
+        String plantUml = "@startuml\n" +
+                "class Vehicle {\n" +
+                "  + Name: String\n" +
+                "}\n" +
+                "@enduml";
+        String reformatted = "@startuml\n" +
+                "' vehicles owned by employees\n" +
+                "\n" +
+                "class   Vehicle {\r\n" +
+                "      +   Name:   String\n" +
+                "/' multi-line\n" +
+                "   comment '/\n" +
+                "}\n" +
+                "@enduml\n";
+
+        assertEquals(GenerationCache.normalize(plantUml), GenerationCache.normalize(reformatted));
+        assertEquals(GenerationCache.modelHash(plantUml, "1"), GenerationCache.modelHash(reformatted, "1"));
+        assertNotEquals(GenerationCache.modelHash(plantUml, "1"), GenerationCache.modelHash(plantUml, "2"));
+    }
+
+    @Test
+    public void testGeneratorInvokedOnlyOnMiss() {
+        AtomicInteger invocations = new AtomicInteger();
+        String plantUml = "class Vehicle {\n  + Name: String\n}";
+
+        Map<String, String> first = cache.getOrGenerate(plantUml, "1", normalized -> {
+            invocations.incrementAndGet();
+            Map<String, String> files = new HashMap<>();
+            files.put("Vehicle.cs", "public class Vehicle {}");
+            return files;
+        });
+        Map<String, String> second = cache.getOrGenerate("class Vehicle {\n    + Name: String\n}\n", "1", normalized -> {
+            invocations.incrementAndGet();
+            return new HashMap<>();
+        });
+
+        assertEquals(1, invocations.get());
+        assertEquals(first, second);
+    }
+}
@@ -0,0 +1,117 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.dto.ModelDiagnostic;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PlantUmlModelValidatorTest {
+
+    private final PlantUmlModelValidator validator = new PlantUmlModelValidator(new PlantUmlParser());
+
+    @Test
+    public void testValidModelHasNoErrors() {
+        String plantUml = "@startuml\n" +
+                "class Employee {\n" +
+                "  + Name: string\n" +
+                "  + HireDate: Date\n" +
+                "}\n" +
+                "class Department {\n" +
+                "  + Name: string\n" +
+                "}\n" +
+                "Employee \"Department\" --* \"Employees\" Department\n" +
+                "@enduml";
+
+        List<ModelDiagnostic> diagnostics = validator.validate(plantUml);
+
+        assertFalse(PlantUmlModelValidator.hasErrors(diagnostics), diagnostics.toString());
+    }
+
+    @Test
+    public void testDanglingAssociationReportsPosition() {
+        String plantUml = "@startuml\n" +
+                "class Employee {\n" +
+                "  + Name: string\n" +
+                "}\n" +
+                "  Employee \"Vehicles\" *-- \"Employee\" Vehicle\n" +
+                "@enduml";
+
+        List<ModelDiagnostic> diagnostics = validator.validate(plantUml);
+
+        assertEquals(1, diagnostics.size(), diagnostics.toString());
+        ModelDiagnostic diagnostic = diagnostics.get(0);
+        assertEquals("DANGLING_ASSOCIATION", diagnostic.getCode());
+        assertEquals(5, diagnostic.getLine());
+        assertEquals(38, diagnostic.getColumn());
+    }
+
+    @Test
+    public void testDuplicateClassAndReservedWord() {
+        String plantUml = "class Order {\n" +
+                "  + Total: decimal\n" +
+                "}\n" +
+                "class Order {\n" +
+                "  + Total: decimal\n" +
+                "}\n" +
+                "class event {\n" +
+                "  + Name: string\n" +
+                "}\n";
+
+        List<ModelDiagnostic> diagnostics = validator.validate(plantUml);
+
+        assertTrue(hasCode(diagnostics, "DUPLICATE_CLASS", 4, 7), diagnostics.toString());
+        assertTrue(hasCode(diagnostics, "RESERVED_WORD", 7, 7), diagnostics.toString());
+    }
+
+    @Test
+    public void testUnresolvedTypeAndDuplicateProperty() {
+        String plantUml = "class Customer {\n" +
+                "  + Name: string\n" +
+                "  + name: string\n" +
+                "  + Address: Adress\n" +
+                "}\n";
+
+        List<ModelDiagnostic> diagnostics = validator.validate(plantUml);
+
+        assertTrue(hasCode(diagnostics, "DUPLICATE_PROPERTY", 3, 5), diagnostics.toString());
+        assertTrue(hasCode(diagnostics, "UNRESOLVED_TYPE", 4, 14), diagnostics.toString());
+    }
+
+    @Test
+    public void testInverseMismatch() {
+        String plantUml = "class Tour {\n" +
+                "  + Name: string\n" +
+                "}\n" +
+                "class Customer {\n" +
+                "  + Name: string\n" +
+                "}\n" +
+                "Tour \"Customers\" *--* \"Tours\" Customer\n" +
+                "Tour \"Customers\" *--* \"BookedTours\" Customer\n";
+
+        List<ModelDiagnostic> diagnostics = validator.validate(plantUml);
+
+        assertTrue(hasCode(diagnostics, "INVERSE_MISMATCH", 8, 7), diagnostics.toString());
+    }
+
+    @Test
+    public void testCommentedOutLinesAreIgnored() {
+        String plantUml = "class Employee {\n" +
+                "  + Name: string\n" +
+                "}\n" +
+                "' Employee \"Vehicles\" *-- \"Employee\" Vehicle\n" +
+                "/' class Order {\n" +
+                "  + Total: Money\n" +
+                "} '/\n";
+
+        assertTrue(validator.validate(plantUml).isEmpty());
+    }
+
+    private static boolean hasCode(List<ModelDiagnostic> diagnostics, String code, int line, int column) {
+        return diagnostics.stream().anyMatch(d ->
+                d.getCode().equals(code) && d.getLine() == line && d.getColumn() == column);
+    }
+}
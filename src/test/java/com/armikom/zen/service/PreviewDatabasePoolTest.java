@@ -0,0 +1,70 @@
+package com.armikom.zen.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PreviewDatabasePoolTest {
+
+    @Test
+    public void testReplenishCreatesMissingSpares() {
+        FakeDatabaseService databases = new FakeDatabaseService();
+        PreviewDatabasePool pool = new PreviewDatabasePool(databases, 3);
+
+        assertEquals(3, pool.replenish());
+        assertEquals(0, pool.replenish());
+        assertEquals(3, databases.spares().size());
+    }
+
+    @Test
+    public void testFirstPreviewClaimsSpare() throws SQLException {
+        FakeDatabaseService databases = new FakeDatabaseService();
+        PreviewDatabasePool pool = new PreviewDatabasePool(databases, 2);
+        pool.replenish();
+
+        assertTrue(pool.ensureDatabase("tour-buddy", "tour-buddy", "Secret123!"));
+
+        assertTrue(databases.names.contains("tour-buddy"));
+        assertEquals(0, databases.created, "A claimed spare must not be created inline");
+        assertEquals(List.of("tour-buddy"), databases.ensured);
+    }
+
+    @Test
+    public void testExistingDatabaseKeepsSpares() throws SQLException {
+        FakeDatabaseService databases = new FakeDatabaseService();
+        databases.names.add("tour-buddy");
+        PreviewDatabasePool pool = new PreviewDatabasePool(databases, 2);
+        pool.replenish();
+
+        assertFalse(pool.ensureDatabase("tour-buddy", "tour-buddy", "Secret123!"));
+        assertEquals(2, databases.spares().size());
+    }
+
+    @Test
+    public void testWithoutSparesDatabaseIsCreated() throws SQLException {
+        FakeDatabaseService databases = new FakeDatabaseService();
+        PreviewDatabasePool pool = new PreviewDatabasePool(databases, 0);
+
+        assertTrue(pool.ensureDatabase("tour-buddy", "tour-buddy", "Secret123!"));
+        assertEquals(1, databases.created);
+        assertFalse(databases.names.stream().anyMatch(name -> name.startsWith(PreviewDatabasePool.SPARE_DATABASE_PREFIX)));
+    }
+
+    @Test
+    public void testSpareTakenByAnotherClaimIsSkipped() throws SQLException {
+        FakeDatabaseService databases = new FakeDatabaseService();
+        PreviewDatabasePool pool = new PreviewDatabasePool(databases, 2);
+        pool.replenish();
+        // The first spare is listed but renamed by another preview before this one gets to it
+        databases.staleListing = true;
+
+        assertTrue(pool.ensureDatabase("tour-buddy", "tour-buddy", "Secret123!"));
+        assertTrue(databases.names.contains("tour-buddy"));
+        assertEquals(0, databases.created);
+    }
+}
@@ -0,0 +1,51 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.enums.PreviewRoutingMode;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PreviewRoutingTableTest {
+
+    private final PreviewRoutingTable table = new PreviewRoutingTable(null, null, PreviewRoutingMode.WILDCARD,
+            "*.armikom.com", URI.create("http://zen-backend:8080"));
+
+    @Test
+    public void testResolveRegisteredPreview() {
+        table.register("Abc");
+
+        assertEquals(URI.create("http://myzen-Abc:5000"), table.resolve("myzen-abc.armikom.com"));
+        assertEquals(URI.create("http://myzen-Abc:5000"), table.resolve("MYZEN-ABC.armikom.com:443"));
+        assertNull(table.resolve("myzen-other.armikom.com"));
+        assertNull(table.resolve(null));
+
+        table.unregister("abc");
+        assertNull(table.resolve("myzen-abc.armikom.com"));
+    }
+
+    @Test
+    public void testReplaceAllDropsStoppedPreviews() {
+        table.register("old");
+        table.replaceAll(List.of("a", "b"));
+
+        assertEquals(2, table.size());
+        assertNull(table.resolve("myzen-old.armikom.com"));
+        assertEquals(URI.create("http://myzen-b:5000"), table.resolve("myzen-b.armikom.com"));
+    }
+
+    @Test
+    public void testIsPreviewHost() {
+        assertTrue(table.isPreviewHost("myzen-abc.armikom.com"));
+        assertTrue(table.isPreviewHost("myzen-abc.armikom.com:8080"));
+        assertFalse(table.isPreviewHost("api.armikom.com"));
+        assertFalse(table.isPreviewHost("a.myzen-abc.armikom.com"));
+        assertFalse(table.isPreviewHost("myzen-.armikom.com"));
+        assertFalse(table.isPreviewHost(null));
+    }
+}
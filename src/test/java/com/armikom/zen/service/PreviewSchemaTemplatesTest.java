@@ -0,0 +1,67 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.service.generator.EfMigrationsTarget;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PreviewSchemaTemplatesTest {
+
+    private static final String MODEL = "class Customer {\n  + Name: string\n}\n";
+
+    @Test
+    public void testTemplateIsBuiltOnceAndRestoredForEveryDatabaseOfTheModel() throws Exception {
+        FakeDatabaseService databases = new FakeDatabaseService();
+        PreviewSchemaTemplates templates = newTemplates(databases, "/backup/templates");
+        String template = PreviewSchemaTemplates.templateDatabaseName(
+                GenerationCache.modelHash(MODEL, EfMigrationsTarget.VERSION));
+
+        assertTrue(templates.provision("tour-buddy", MODEL));
+        // Reformatting does not change the model
+        assertTrue(templates.provision("city-guide", "' comment\n" + MODEL.replace("  ", "    ")));
+
+        assertEquals(List.of(template), databases.migrated);
+        assertEquals(Set.of("/backup/templates/" + template + ".bak"), databases.backups);
+        assertEquals(Set.of("city-guide", "tour-buddy"), databases.names);
+    }
+
+    @Test
+    public void testExistingDatabaseIsLeftAlone() throws Exception {
+        FakeDatabaseService databases = new FakeDatabaseService();
+        databases.names.add("tour-buddy");
+
+        assertFalse(newTemplates(databases, "/backup/templates").provision("tour-buddy", MODEL));
+        assertTrue(databases.backups.isEmpty());
+    }
+
+    @Test
+    public void testEmptyDirectoryDisablesTemplates() throws Exception {
+        FakeDatabaseService databases = new FakeDatabaseService();
+        PreviewSchemaTemplates templates = newTemplates(databases, "");
+
+        assertFalse(templates.isEnabled());
+        assertFalse(templates.provision("tour-buddy", MODEL));
+        assertTrue(databases.names.isEmpty());
+    }
+
+    @Test
+    public void testTemplateFileUsesSeparatorOfDirectory() {
+        String hash = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+
+        assertEquals("/backup/zen_template_0123456789abcdef0123456789abcdef.bak",
+                PreviewSchemaTemplates.templateFile("/backup", hash));
+        assertEquals("/backup/zen_template_0123456789abcdef0123456789abcdef.bak",
+                PreviewSchemaTemplates.templateFile("/backup/", hash));
+        assertEquals("D:\\Backup\\zen_template_0123456789abcdef0123456789abcdef.bak",
+                PreviewSchemaTemplates.templateFile("D:\\Backup", hash));
+    }
+
+    private static PreviewSchemaTemplates newTemplates(FakeDatabaseService databases, String directory) {
+        return new PreviewSchemaTemplates(databases, new SchemaDiffService(new PlantUmlParser()), directory);
+    }
+}
@@ -0,0 +1,145 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.service.SampleDataGenerator.IdRange;
+import com.armikom.zen.service.SampleDataGenerator.SampleRows;
+import com.armikom.zen.service.generator.EfCoreSchema.Column;
+import com.armikom.zen.service.generator.EfCoreSchema.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SampleDataGeneratorTest {
+
+    private static final String MODEL = "class Customer {\n" +
+            "  + Name: string\n" +
+            "  + Email: string\n" +
+            "  + Tags: string[]\n" +
+            "}\n" +
+            "class Guide {\n" +
+            "  + Name: string\n" +
+            "}\n" +
+            "class Tour {\n" +
+            "  + Title: string\n" +
+            "  + Price: decimal\n" +
+            "  + Parent: Tour\n" +
+            "}\n" +
+            "Tour \"Customers\" *--* \"Tours\" Customer\n" +
+            "Tour \"Guide\" --* \"Tours\" Guide\n";
+
+    private final SampleDataGenerator generator = new SampleDataGenerator(
+            new PlantUmlParser().parse(GenerationCache.normalize(MODEL)), 42);
+
+    @Test
+    public void testTablesAreLoadedAfterTheTablesTheyReference() {
+        List<List<Table>> levels = generator.loadLevels();
+
+        assertEquals(3, levels.size(), levels.toString());
+        assertEquals(Set.of("Customers", "Guides"), names(levels.get(0)));
+        // The self reference does not hold the table back
+        assertEquals(Set.of("Tours"), names(levels.get(1)));
+        assertEquals(1, levels.get(2).size());
+        assertNull(levels.get(2).get(0).getEntityClass());
+    }
+
+    @Test
+    public void testJoinTableGetsDistinctPairsOfLoadedKeys() {
+        Table joinTable = generator.loadLevels().get(2).get(0);
+        Map<String, IdRange> loaded = new HashMap<>();
+        loaded.put("Customers", new IdRange(1, 4));
+        loaded.put("Tours", new IdRange(11, 3));
+
+        assertEquals(12, generator.rowCount(joinTable, 1000, loaded));
+        assertEquals(5, generator.rowCount(joinTable, 5, loaded));
+        assertEquals(0, generator.rowCount(joinTable, 1000, Map.of("Customers", new IdRange(1, 4))));
+
+        Set<List<Object>> pairs = new HashSet<>();
+        for (Object[] row : read(generator.rows(joinTable, allColumns(joinTable), 12, 1, loaded))) {
+            assertTrue(pairs.add(List.of(row)), "Duplicate pair " + List.of(row));
+        }
+        assertEquals(12, pairs.size());
+        for (List<Object> pair : pairs) {
+            for (int i = 0; i < pair.size(); i++) {
+                int key = (Integer) pair.get(i);
+                String referenced = joinTable.getForeignKeys().get(i).getReferencedTable();
+                IdRange range = loaded.get(referenced);
+                assertTrue(key >= range.firstId() && key < range.firstId() + range.count(), referenced + " " + key);
+            }
+        }
+    }
+
+    @Test
+    public void testRowsFollowColumnsAndLoadedKeys() {
+        Table tours = generator.getSchema().findTable("Tours");
+        Set<String> columns = allColumns(tours);
+        columns.remove("title");
+        Map<String, IdRange> loaded = Map.of("Guides", new IdRange(100, 2));
+
+        SampleRows rows = generator.rows(tours, columns, 3, 7, loaded);
+        List<String> names = rows.getColumnNames();
+        List<Object[]> data = read(rows);
+
+        assertTrue(!names.contains("Title"), names.toString());
+        assertEquals(3, data.size());
+        for (int i = 0; i < data.size(); i++) {
+            Object[] row = data.get(i);
+            assertEquals(7 + i, row[names.indexOf("Id")]);
+            // Tours are not loaded yet, so the self reference stays empty
+            assertNull(row[names.indexOf("ParentId")]);
+            int guideId = (Integer) row[names.indexOf("GuideId")];
+            assertTrue(guideId == 100 || guideId == 101, "GuideId " + guideId);
+        }
+    }
+
+    @Test
+    public void testPrimitiveCollectionsAreJsonAndValuesAreReproducible() {
+        Table customers = generator.getSchema().findTable("Customers");
+        SampleRows rows = generator.rows(customers, allColumns(customers), 2, 1, Map.of());
+        List<String> names = rows.getColumnNames();
+        List<Object[]> data = read(rows);
+
+        String tags = (String) data.get(0)[names.indexOf("Tags")];
+        assertTrue(tags.startsWith("[\"") && tags.endsWith("\"]"), tags);
+        assertTrue(((String) data.get(1)[names.indexOf("Email")]).endsWith("2@example.com"));
+
+        SampleDataGenerator again = new SampleDataGenerator(
+                new PlantUmlParser().parse(GenerationCache.normalize(MODEL)), 42);
+        List<Object[]> repeated = read(again.rows(again.getSchema().findTable("Customers"), allColumns(customers), 2, 1,
+                Map.of()));
+        for (int i = 0; i < data.size(); i++) {
+            assertArrayEquals(data.get(i), repeated.get(i));
+        }
+    }
+
+    private static Set<String> names(List<Table> tables) {
+        Set<String> names = new HashSet<>();
+        tables.forEach(table -> names.add(table.getName()));
+        return names;
+    }
+
+    private static Set<String> allColumns(Table table) {
+        Set<String> columns = new HashSet<>();
+        for (Column column : table.getColumns()) {
+            columns.add(column.getName().toLowerCase(Locale.ROOT));
+        }
+        return columns;
+    }
+
+    private static List<Object[]> read(SampleRows rows) {
+        List<Object[]> data = new ArrayList<>();
+        while (rows.next()) {
+            data.add(rows.getRowData());
+        }
+        return data;
+    }
+}
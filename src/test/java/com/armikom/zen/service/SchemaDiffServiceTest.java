@@ -0,0 +1,66 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.service.generator.SchemaChange;
+import com.armikom.zen.service.generator.SchemaChange.Kind;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SchemaDiffServiceTest {
+
+    private final SchemaDiffService service = new SchemaDiffService(new PlantUmlParser());
+
+    private static final String BASE = "class Customer {\n" +
+            "  + Name: string\n" +
+            "}\n" +
+            "class Tour {\n" +
+            "  + Title: string\n" +
+            "  + Price: decimal\n" +
+            "}\n";
+
+    @Test
+    public void testUnchangedModelHasNoChanges() {
+        assertTrue(service.diff(BASE, "' reformatted\n" + BASE.replace("  ", "    ")).isEmpty());
+    }
+
+    @Test
+    public void testFirstMigrationCreatesAllTables() {
+        List<SchemaChange> changes = service.diff(null, BASE);
+
+        assertEquals(2, changes.size());
+        assertTrue(changes.stream().allMatch(c -> c.getKind() == Kind.CREATE_TABLE));
+    }
+
+    @Test
+    public void testAddColumnAndAssociation() {
+        String next = BASE.replace("  + Name: string\n", "  + Name: string\n  + Email: string\n") +
+                "Tour \"Customers\" *--* \"Tours\" Customer\n" +
+                "class Guide {\n  + Name: string\n}\n" +
+                "Tour \"Guide\" --* \"Tours\" Guide\n";
+
+        List<SchemaChange> changes = service.diff(BASE, next);
+
+        assertEquals(List.of(Kind.CREATE_TABLE, Kind.CREATE_TABLE, Kind.ADD_COLUMN, Kind.ADD_COLUMN,
+                        Kind.ADD_FOREIGN_KEY, Kind.ADD_FOREIGN_KEY, Kind.ADD_FOREIGN_KEY,
+                        Kind.CREATE_INDEX, Kind.CREATE_INDEX, Kind.CREATE_INDEX),
+                changes.stream().map(SchemaChange::getKind).toList());
+        assertTrue(changes.get(2).getSql().contains("ADD [Email] nvarchar(max) NULL"));
+        assertTrue(changes.get(3).getSql().contains("ADD [GuideId] int NULL"));
+    }
+
+    @Test
+    public void testRenamesAreDetected() {
+        String next = BASE.replace("class Tour {", "class Trip {").replace("+ Name: string", "+ FullName: string");
+
+        List<SchemaChange> changes = service.diff(BASE, next);
+
+        assertEquals(2, changes.size(), changes.toString());
+        assertEquals(Kind.RENAME_TABLE, changes.get(0).getKind());
+        assertTrue(changes.get(0).getSql().contains("EXEC sp_rename N'[dbo].[Tours]', N'Trips'"));
+        assertEquals(Kind.RENAME_COLUMN, changes.get(1).getKind());
+        assertTrue(changes.get(1).getSql().contains("EXEC sp_rename N'[dbo].[Customers].[Name]', N'FullName', N'COLUMN'"));
+    }
+}
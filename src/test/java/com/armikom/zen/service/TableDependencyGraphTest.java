@@ -0,0 +1,61 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.service.TableDependencyGraph.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TableDependencyGraphTest {
+
+    private static final Table CUSTOMER = new Table("dbo", "Customer");
+    private static final Table ORDER = new Table("dbo", "Order");
+    private static final Table ORDER_LINE = new Table("dbo", "OrderLine");
+    private static final Table PRODUCT = new Table("dbo", "Product");
+    private static final Table AUDIT = new Table("log", "Audit");
+
+    @Test
+    public void testReferencingTablesComeFirst() {
+        TableDependencyGraph graph = new TableDependencyGraph();
+        graph.addTable(CUSTOMER);
+        graph.addTable(AUDIT);
+        graph.addForeignKey(ORDER, CUSTOMER);
+        graph.addForeignKey(ORDER_LINE, ORDER);
+        graph.addForeignKey(ORDER_LINE, PRODUCT);
+
+        List<List<Table>> levels = graph.levels();
+
+        assertEquals(List.of(List.of(AUDIT, ORDER_LINE), List.of(ORDER, PRODUCT), List.of(CUSTOMER)), levels);
+        assertTrue(graph.cyclicTables().isEmpty());
+        assertTrue(graph.isReferenced(ORDER));
+        assertFalse(graph.isReferenced(ORDER_LINE));
+    }
+
+    @Test
+    public void testSelfReferenceIsOrderedButNotTruncatable() {
+        TableDependencyGraph graph = new TableDependencyGraph();
+        Table employee = new Table("dbo", "Employee");
+        graph.addForeignKey(employee, employee);
+
+        assertEquals(List.of(List.of(employee)), graph.levels());
+        assertTrue(graph.isReferenced(employee));
+    }
+
+    @Test
+    public void testCyclesAreReportedSeparately() {
+        TableDependencyGraph graph = new TableDependencyGraph();
+        Table a = new Table("dbo", "A");
+        Table b = new Table("dbo", "B");
+        graph.addForeignKey(a, b);
+        graph.addForeignKey(b, a);
+        // Only referenced from the cycle, so it has to wait for it
+        graph.addForeignKey(b, CUSTOMER);
+        graph.addTable(AUDIT);
+
+        assertEquals(List.of(List.of(AUDIT)), graph.levels());
+        assertEquals(List.of(a, b, CUSTOMER), graph.cyclicTables());
+    }
+}
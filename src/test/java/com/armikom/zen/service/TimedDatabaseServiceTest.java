@@ -0,0 +1,48 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.enums.DatabaseEnvironment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimedDatabaseServiceTest {
+
+    @Test
+    public void testCallsAreTimedPerMethodAndEnvironment() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        FakeDatabaseService databases = new FakeDatabaseService();
+        DatabaseService service = TimedDatabaseService.wrap(databases, () -> registry);
+
+        assertTrue(service.createDatabase(DatabaseEnvironment.PREVIEW, "tour-buddy", "tour-buddy", "secret-123"));
+        assertTrue(service.databaseExists(DatabaseEnvironment.PREVIEW, "tour-buddy"));
+
+        assertEquals(1, registry.get("database.operation").tag("method", "createDatabase")
+                .tag("environment", "preview").tag("outcome", "success").timer().count());
+        assertEquals(1, registry.get("database.operation").tag("method", "databaseExists").timer().count());
+    }
+
+    @Test
+    public void testFailuresAreRethrownAndTimed() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DatabaseService service = TimedDatabaseService.wrap(new FakeDatabaseService(), () -> registry);
+
+        assertThrows(SQLException.class,
+                () -> service.cloneDatabase(DatabaseEnvironment.PREVIEW, "/backup/missing.bak", "tour-buddy"));
+
+        assertEquals(1, registry.get("database.operation").tag("method", "cloneDatabase")
+                .tag("outcome", "error").timer().count());
+    }
+
+    @Test
+    public void testCallsPassThroughWithoutRegistry() throws Exception {
+        DatabaseService service = TimedDatabaseService.wrap(new FakeDatabaseService(), () -> null);
+
+        assertTrue(service.createEmptyDatabase(DatabaseEnvironment.PREVIEW, "tour-buddy"));
+        assertTrue(service.databaseExists(DatabaseEnvironment.PREVIEW, "tour-buddy"));
+    }
+}
@@ -0,0 +1,94 @@
+package com.armikom.zen.service;
+
+import com.armikom.zen.dto.CloudflareApiResponse;
+import com.armikom.zen.dto.SimpleTunnelConfiguration;
+import com.armikom.zen.dto.SimpleTunnelConfiguration.SimpleIngressRule;
+import com.armikom.zen.dto.TunnelConfigurationEnvelope;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TunnelConfigurationManagerTest {
+
+    @Test
+    public void testRoutesStayBeforeCatchAll() {
+        List<SimpleIngressRule> ingress = new ArrayList<>();
+
+        assertTrue(TunnelConfigurationManager.applyRoute(ingress, "a.example.com", "http://a:5000", null));
+        assertTrue(TunnelConfigurationManager.applyRoute(ingress, "b.example.com", "http://b:5000", "/"));
+
+        assertEquals(3, ingress.size());
+        assertEquals("a.example.com", ingress.get(0).getHostname());
+        assertEquals("b.example.com", ingress.get(1).getHostname());
+        assertNull(ingress.get(1).getPath());
+        assertNull(ingress.get(2).getHostname());
+        assertEquals("http_status:404", ingress.get(2).getService());
+    }
+
+    @Test
+    public void testApplyIsIdempotentAndReplacesHostname() {
+        List<SimpleIngressRule> ingress = new ArrayList<>();
+        TunnelConfigurationManager.applyRoute(ingress, "a.example.com", "http://a:5000", null);
+
+        assertFalse(TunnelConfigurationManager.applyRoute(ingress, "a.example.com", "http://a:5000", ""));
+        assertTrue(TunnelConfigurationManager.applyRoute(ingress, "a.example.com", "http://a2:5000", null));
+
+        assertEquals(2, ingress.size());
+        assertEquals("http://a2:5000", ingress.get(0).getService());
+    }
+
+    @Test
+    public void testRemoveRoute() {
+        List<SimpleIngressRule> ingress = new ArrayList<>();
+        TunnelConfigurationManager.applyRoute(ingress, "a.example.com", "http://a:5000", null);
+
+        assertTrue(TunnelConfigurationManager.removeRoute(ingress, "a.example.com"));
+        assertFalse(TunnelConfigurationManager.removeRoute(ingress, "a.example.com"));
+        assertEquals(1, ingress.size());
+    }
+
+    @Test
+    public void testDescribeChanges() {
+        List<SimpleIngressRule> before = new ArrayList<>();
+        TunnelConfigurationManager.applyRoute(before, "a.example.com", "http://a:5000", null);
+        TunnelConfigurationManager.applyRoute(before, "b.example.com", "http://b:5000", null);
+        List<SimpleIngressRule> after = new ArrayList<>(before);
+        TunnelConfigurationManager.removeRoute(after, "a.example.com");
+        TunnelConfigurationManager.applyRoute(after, "b.example.com", "http://b2:5000", null);
+        TunnelConfigurationManager.applyRoute(after, "c.example.com", "http://c:5000", "/api");
+
+        assertEquals("~b.example.com -> http://b2:5000, +c.example.com/api -> http://c:5000, -a.example.com",
+                TunnelConfigurationManager.describeChanges(before, after));
+        assertEquals("no changes", TunnelConfigurationManager.describeChanges(before, before));
+    }
+
+    @Test
+    public void testConfigurationBindsToTypedRules() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        String json = "{\"success\":true,\"errors\":[],\"messages\":[],\"result\":{\"tunnel_id\":\"t\",\"version\":7," +
+                "\"config\":{\"ingress\":[{\"hostname\":\"a.example.com\",\"service\":\"http://a:5000\"," +
+                "\"originRequest\":{\"noTLSVerify\":true}},{\"service\":\"http_status:404\"}],\"warp-routing\":{\"enabled\":false}}}}";
+
+        CloudflareApiResponse<TunnelConfigurationEnvelope<SimpleTunnelConfiguration>> response = objectMapper.readValue(json,
+                new TypeReference<CloudflareApiResponse<TunnelConfigurationEnvelope<SimpleTunnelConfiguration>>>() {});
+
+        assertEquals(Long.valueOf(7), response.getResult().getVersion());
+        List<SimpleIngressRule> ingress = response.getResult().getConfig().getIngress();
+        assertEquals(2, ingress.size());
+        assertEquals("a.example.com", ingress.get(0).getHostname());
+        assertNull(ingress.get(1).getHostname());
+
+        // Requests carry only the config, without null fields
+        assertEquals("{\"config\":{\"ingress\":[{\"hostname\":\"a.example.com\",\"service\":\"http://a:5000\"}," +
+                        "{\"service\":\"http_status:404\"}]}}",
+                objectMapper.writeValueAsString(new TunnelConfigurationEnvelope<>(response.getResult().getConfig())));
+    }
+}